@@ -24,9 +24,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
@@ -60,6 +66,8 @@ import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 import org.eclipse.rdf4j.RDF4JConfigException;
 import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.common.concurrent.HashedWheelTimer;
+import org.eclipse.rdf4j.common.concurrent.HashedWheelTimer.Timeout;
 import org.eclipse.rdf4j.common.io.ByteSink;
 import org.eclipse.rdf4j.common.io.CharSink;
 import org.eclipse.rdf4j.common.io.Sink;
@@ -87,6 +95,7 @@ import org.eclipse.rdf4j.query.impl.BackgroundGraphResult;
 import org.eclipse.rdf4j.query.resultio.BooleanQueryResultFormat;
 import org.eclipse.rdf4j.query.resultio.BooleanQueryResultParser;
 import org.eclipse.rdf4j.query.resultio.BooleanQueryResultParserRegistry;
+import org.eclipse.rdf4j.query.resultio.PullTupleQueryResultParser;
 import org.eclipse.rdf4j.query.resultio.QueryResultFormat;
 import org.eclipse.rdf4j.query.resultio.QueryResultIO;
 import org.eclipse.rdf4j.query.resultio.QueryResultParseException;
@@ -151,6 +160,12 @@ public class SPARQLProtocolSession implements HttpClientDependent, AutoCloseable
 	 */
 	public static final String MAXIMUM_URL_LENGTH_PARAM = "rdf4j.sparql.url.maxlength";
 
+	/**
+	 * The time a request with a maximum query time is allowed to run past that time before it is aborted by the client,
+	 * to give the server the opportunity to report the timeout itself.
+	 */
+	private static final long CLIENT_TIMEOUT_GRACE_MILLIS = 1000;
+
 	/**
 	 * The threshold for URL length, beyond which we use the POST method. A threshold of 0 (or a negative value) means
 	 * that the POST method is used for <strong>every</strong> SPARQL query request.
@@ -183,10 +198,15 @@ public class SPARQLProtocolSession implements HttpClientDependent, AutoCloseable
 
 	private Map<String, String> additionalHttpHeaders = Collections.emptyMap();
 
+	private boolean pullTupleQueryResults;
+
+	private Executor asyncExecutor;
+
 	public SPARQLProtocolSession(HttpClient client, ExecutorService executor) {
 		this.httpClient = client;
 		this.httpContext = new HttpClientContext();
 		this.background = new BackgroundResultExecutor(executor);
+		this.asyncExecutor = executor;
 		valueFactory = SimpleValueFactory.getInstance();
 		httpContext.setCookieStore(new BasicCookieStore());
 
@@ -239,6 +259,44 @@ public class SPARQLProtocolSession implements HttpClientDependent, AutoCloseable
 		this.updateURL = updateURL;
 	}
 
+	/**
+	 * Sets whether tuple query results are parsed by the thread that consumes them, if the parser for the format of the
+	 * response supports it. By default, tuple query results are parsed by a background thread that hands the solutions
+	 * over to the consumer through a queue.
+	 *
+	 * @param pullTupleQueryResults true to parse tuple query results on demand
+	 * @see PullTupleQueryResultParser
+	 */
+	public void setPullTupleQueryResults(boolean pullTupleQueryResults) {
+		this.pullTupleQueryResults = pullTupleQueryResults;
+	}
+
+	/**
+	 * @return true if tuple query results are parsed by the thread that consumes them, where possible
+	 */
+	public boolean isPullTupleQueryResults() {
+		return pullTupleQueryResults;
+	}
+
+	/**
+	 * Sets the executor that sends the requests of the asynchronous query methods, such as
+	 * {@link #sendTupleQueryAsync(QueryLanguage, String, String, Dataset, boolean, int, Binding...)}. Its size bounds
+	 * the number of those requests that are in progress at the same time, further requests wait in its queue. By
+	 * default, the executor of this session is used.
+	 *
+	 * @param asyncExecutor the executor for asynchronous requests
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor) {
+		this.asyncExecutor = Objects.requireNonNull(asyncExecutor, "Executor was null");
+	}
+
+	/**
+	 * @return the executor that sends the requests of the asynchronous query methods
+	 */
+	public Executor getAsyncExecutor() {
+		return asyncExecutor;
+	}
+
 	/**
 	 * Sets the preferred format for encoding tuple query results.
 	 *
@@ -358,7 +416,135 @@ public class SPARQLProtocolSession implements HttpClientDependent, AutoCloseable
 			boolean includeInferred, int maxQueryTime, Binding... bindings) throws IOException, RepositoryException,
 			MalformedQueryException, UnauthorizedException, QueryInterruptedException {
 		HttpUriRequest method = getQueryMethod(ql, query, baseURI, dataset, includeInferred, maxQueryTime, bindings);
-		return getBackgroundTupleQueryResult(method);
+		Timeout timeout = scheduleAbort(method, maxQueryTime);
+		try {
+			return getBackgroundTupleQueryResult(method);
+		} catch (IOException e) {
+			throw timedOut(timeout, e);
+		} finally {
+			// the server has started to send the result, which is read at the pace of the consumer
+			cancel(timeout);
+		}
+	}
+
+	/**
+	 * Sends a tuple query without waiting for the response. The request is built on the calling thread and sent by the
+	 * {@link #setAsyncExecutor(Executor) asynchronous executor}, so many queries can be in progress without a thread
+	 * per query. The returned future completes once the server has started to send the results, which are then parsed
+	 * as they are consumed if {@link #setPullTupleQueryResults(boolean) pulling} is enabled and supported by the result
+	 * format, or by a background thread otherwise. Cancelling the future aborts the request. The maximum query time
+	 * only applies until the server has started to send the results.
+	 * <p>
+	 * Pulling is disabled by default. Without it, every result that is open holds a background thread until it has been
+	 * read or closed, so a caller that keeps many results open should enable pulling and request a result format that
+	 * supports it, such as SPARQL/JSON.
+	 *
+	 * @return a future that completes with the query result, or fails with the exception that
+	 *         {@link #sendTupleQuery(QueryLanguage, String, String, Dataset, boolean, int, Binding...)} would throw
+	 */
+	public CompletableFuture<TupleQueryResult> sendTupleQueryAsync(QueryLanguage ql, String query, String baseURI,
+			Dataset dataset, boolean includeInferred, int maxQueryTime, Binding... bindings) {
+		HttpUriRequest method = getQueryMethod(ql, query, baseURI, dataset, includeInferred, maxQueryTime, bindings);
+		return sendAsync(method, () -> {
+			Timeout timeout = scheduleAbort(method, maxQueryTime);
+			try {
+				return getBackgroundTupleQueryResult(method);
+			} catch (IOException e) {
+				throw timedOut(timeout, e);
+			} finally {
+				// the server has started to send the result, which is read at the pace of the consumer
+				cancel(timeout);
+			}
+		});
+	}
+
+	/**
+	 * Sends a graph query without waiting for the response. See
+	 * {@link #sendTupleQueryAsync(QueryLanguage, String, String, Dataset, boolean, int, Binding...)}; graph query
+	 * results are always parsed by a background thread.
+	 *
+	 * @return a future that completes with the query result, or fails with the exception that
+	 *         {@link #sendGraphQuery(QueryLanguage, String, String, Dataset, boolean, int, Binding...)} would throw
+	 */
+	public CompletableFuture<GraphQueryResult> sendGraphQueryAsync(QueryLanguage ql, String query, String baseURI,
+			Dataset dataset, boolean includeInferred, int maxQueryTime, Binding... bindings) {
+		HttpUriRequest method = getQueryMethod(ql, query, baseURI, dataset, includeInferred, maxQueryTime, bindings);
+		return sendAsync(method, () -> {
+			Timeout timeout = scheduleAbort(method, maxQueryTime);
+			try {
+				return getRDFBackground(method, false);
+			} catch (IOException e) {
+				throw timedOut(timeout, e);
+			} catch (RDFHandlerException e) {
+				throw new RepositoryException(e);
+			} finally {
+				// the server has started to send the result, which is read at the pace of the consumer
+				cancel(timeout);
+			}
+		});
+	}
+
+	/**
+	 * Sends a boolean query without waiting for the response. See
+	 * {@link #sendTupleQueryAsync(QueryLanguage, String, String, Dataset, boolean, int, Binding...)}.
+	 *
+	 * @return a future that completes with the query result, or fails with the exception that
+	 *         {@link #sendBooleanQuery(QueryLanguage, String, String, Dataset, boolean, int, Binding...)} would throw
+	 */
+	public CompletableFuture<Boolean> sendBooleanQueryAsync(QueryLanguage ql, String query, String baseURI,
+			Dataset dataset, boolean includeInferred, int maxQueryTime, Binding... bindings) {
+		HttpUriRequest method = getQueryMethod(ql, query, baseURI, dataset, includeInferred, maxQueryTime, bindings);
+		return sendAsync(method, () -> {
+			Timeout timeout = scheduleAbort(method, maxQueryTime);
+			try {
+				return getBoolean(method);
+			} catch (IOException e) {
+				throw timedOut(timeout, e);
+			} catch (RepositoryException | MalformedQueryException | QueryInterruptedException e) {
+				throw e;
+			} catch (RDF4JException e) {
+				throw new RepositoryException(e);
+			} finally {
+				cancel(timeout);
+			}
+		});
+	}
+
+	/**
+	 * Runs a request on the asynchronous executor. Cancelling the returned future aborts the request, and closes the
+	 * result if it arrives after the future was cancelled.
+	 */
+	private <T> CompletableFuture<T> sendAsync(HttpUriRequest method, Callable<T> request) {
+		CompletableFuture<T> future = new CompletableFuture<T>() {
+
+			@Override
+			public boolean cancel(boolean mayInterruptIfRunning) {
+				boolean cancelled = super.cancel(mayInterruptIfRunning);
+				if (cancelled) {
+					method.abort();
+				}
+				return cancelled;
+			}
+		};
+		try {
+			asyncExecutor.execute(() -> {
+				if (future.isDone()) {
+					// cancelled while queued
+					return;
+				}
+				try {
+					T result = request.call();
+					if (!future.complete(result) && result instanceof AutoCloseable) {
+						((AutoCloseable) result).close();
+					}
+				} catch (Throwable e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(new RepositoryException("Asynchronous request rejected", e));
+		}
+		return future;
 	}
 
 	public void sendTupleQuery(QueryLanguage ql, String query, String baseURI, Dataset dataset, boolean includeInferred,
@@ -366,7 +552,14 @@ public class SPARQLProtocolSession implements HttpClientDependent, AutoCloseable
 			throws IOException, TupleQueryResultHandlerException, RepositoryException, MalformedQueryException,
 			UnauthorizedException, QueryInterruptedException {
 		HttpUriRequest method = getQueryMethod(ql, query, baseURI, dataset, includeInferred, maxQueryTime, bindings);
-		getTupleQueryResult(method, handler);
+		Timeout timeout = scheduleAbort(method, maxQueryTime);
+		try {
+			getTupleQueryResult(method, handler);
+		} catch (IOException e) {
+			throw timedOut(timeout, e);
+		} finally {
+			cancel(timeout);
+		}
 	}
 
 	public void sendUpdate(QueryLanguage ql, String update, String baseURI, Dataset dataset, boolean includeInferred,
@@ -379,13 +572,17 @@ public class SPARQLProtocolSession implements HttpClientDependent, AutoCloseable
 			int maxQueryTime, Binding... bindings) throws IOException, RepositoryException, MalformedQueryException,
 			UnauthorizedException, QueryInterruptedException {
 		HttpUriRequest method = getUpdateMethod(ql, update, baseURI, dataset, includeInferred, maxQueryTime, bindings);
-
+		Timeout timeout = scheduleAbort(method, maxQueryTime);
 		try {
 			executeNoContent(method);
+		} catch (IOException e) {
+			throw timedOut(timeout, e);
 		} catch (RepositoryException | MalformedQueryException | QueryInterruptedException e) {
 			throw e;
 		} catch (RDF4JException e) {
 			throw new RepositoryException(e);
+		} finally {
+			cancel(timeout);
 		}
 	}
 
@@ -401,7 +598,15 @@ public class SPARQLProtocolSession implements HttpClientDependent, AutoCloseable
 		try {
 			HttpUriRequest method = getQueryMethod(ql, query, baseURI, dataset, includeInferred, maxQueryTime,
 					bindings);
-			return getRDFBackground(method, false);
+			Timeout timeout = scheduleAbort(method, maxQueryTime);
+			try {
+				return getRDFBackground(method, false);
+			} catch (IOException e) {
+				throw timedOut(timeout, e);
+			} finally {
+				// the server has started to send the result, which is read at the pace of the consumer
+				cancel(timeout);
+			}
 		} catch (RDFHandlerException e) {
 			// Found a bug in TupleQueryResultBuilder?
 			throw new RepositoryException(e);
@@ -418,7 +623,14 @@ public class SPARQLProtocolSession implements HttpClientDependent, AutoCloseable
 			int maxQueryTime, RDFHandler handler, Binding... bindings) throws IOException, RDFHandlerException,
 			RepositoryException, MalformedQueryException, UnauthorizedException, QueryInterruptedException {
 		HttpUriRequest method = getQueryMethod(ql, query, baseURI, dataset, includeInferred, maxQueryTime, bindings);
-		getRDF(method, handler, false);
+		Timeout timeout = scheduleAbort(method, maxQueryTime);
+		try {
+			getRDF(method, handler, false);
+		} catch (IOException e) {
+			throw timedOut(timeout, e);
+		} finally {
+			cancel(timeout);
+		}
 	}
 
 	public boolean sendBooleanQuery(QueryLanguage ql, String query, Dataset dataset, boolean includeInferred,
@@ -431,15 +643,52 @@ public class SPARQLProtocolSession implements HttpClientDependent, AutoCloseable
 			boolean includeInferred, int maxQueryTime, Binding... bindings) throws IOException, RepositoryException,
 			MalformedQueryException, UnauthorizedException, QueryInterruptedException {
 		HttpUriRequest method = getQueryMethod(ql, query, baseURI, dataset, includeInferred, maxQueryTime, bindings);
+		Timeout timeout = scheduleAbort(method, maxQueryTime);
 		try {
 			return getBoolean(method);
+		} catch (IOException e) {
+			throw timedOut(timeout, e);
 		} catch (RepositoryException | MalformedQueryException | QueryInterruptedException e) {
 			throw e;
 		} catch (RDF4JException e) {
 			throw new RepositoryException(e);
+		} finally {
+			cancel(timeout);
 		}
 	}
 
+	/**
+	 * Aborts the request if the server has not answered within the maximum query time plus a grace period. The maximum
+	 * query time is only a hint to the server, which may not enforce it at all. Requests that return a result that is
+	 * read by the caller must cancel the timeout once the response has arrived, so that a result that is consumed
+	 * slowly is not aborted.
+	 *
+	 * @return the scheduled timeout, or null if the query time is unlimited
+	 */
+	private Timeout scheduleAbort(HttpUriRequest method, int maxQueryTime) {
+		if (maxQueryTime <= 0) {
+			return null;
+		}
+		long delay = TimeUnit.SECONDS.toMillis(maxQueryTime) + CLIENT_TIMEOUT_GRACE_MILLIS;
+		return HashedWheelTimer.getDefault().schedule(method::abort, delay, TimeUnit.MILLISECONDS);
+	}
+
+	private static void cancel(Timeout timeout) {
+		if (timeout != null) {
+			timeout.cancel();
+		}
+	}
+
+	/**
+	 * Translates the failure of a request that was aborted by its timeout into a {@link QueryInterruptedException}.
+	 */
+	private static IOException timedOut(Timeout timeout, IOException e) throws QueryInterruptedException {
+		if (timeout != null && timeout.isExpired()) {
+			throw new QueryInterruptedException("Query evaluation exceeded the maximum query time", e);
+		}
+		return e;
+	}
+
 	/**
 	 * Get the additional HTTP headers which will be used
 	 *
@@ -654,7 +903,15 @@ public class SPARQLProtocolSession implements HttpClientDependent, AutoCloseable
 					.orElseThrow(() -> new RepositoryException(
 							"Server responded with an unsupported file format: " + mimeType));
 			TupleQueryResultParser parser = QueryResultIO.createTupleParser(format, getValueFactory());
-			tRes = background.parse(parser, response.getEntity().getContent());
+			if (pullTupleQueryResults && parser instanceof PullTupleQueryResultParser) {
+				try {
+					tRes = ((PullTupleQueryResultParser) parser).pullQueryResult(response.getEntity().getContent());
+				} catch (QueryResultParseException e) {
+					throw new RepositoryException("Malformed query result from server", e);
+				}
+			} else {
+				tRes = background.parse(parser, response.getEntity().getContent());
+			}
 			submitted = true;
 			return tRes;
 		} finally {
@@ -11,9 +11,12 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -43,6 +46,13 @@ public class SharedHttpClientSessionManager implements HttpClientSessionManager,
 	 */
 	public static final String CORE_POOL_SIZE_PROPERTY = "org.eclipse.rdf4j.client.executors.corePoolSize";
 
+	/**
+	 * Configurable system property {@code org.eclipse.rdf4j.client.executors.asyncPoolSize} for specifying the number
+	 * of threads that send {@link SPARQLProtocolSession#setAsyncExecutor(java.util.concurrent.Executor) asynchronous
+	 * query requests}. Defaults to twice the number of available processors.
+	 */
+	public static final String ASYNC_POOL_SIZE_PROPERTY = "org.eclipse.rdf4j.client.executors.asyncPoolSize";
+
 	private static final AtomicLong threadCount = new AtomicLong();
 
 	private final Logger logger = LoggerFactory.getLogger(SharedHttpClientSessionManager.class);
@@ -55,6 +65,8 @@ public class SharedHttpClientSessionManager implements HttpClientSessionManager,
 
 	private final ScheduledExecutorService executor;
 
+	private final ExecutorService asyncExecutor;
+
 	/**
 	 * Optional {@link HttpClientBuilder} to create the inner {@link #httpClient} (if not provided externally)
 	 */
@@ -111,12 +123,25 @@ public class SharedHttpClientSessionManager implements HttpClientSessionManager,
 			thread.setDaemon(true);
 			return thread;
 		});
+		final int asyncPoolSize = Integer.getInteger(ASYNC_POOL_SIZE_PROPERTY,
+				2 * Runtime.getRuntime().availableProcessors());
+		ThreadPoolExecutor asyncPool = new ThreadPoolExecutor(asyncPoolSize, asyncPoolSize, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), (Runnable runnable) -> {
+					Thread thread = backingThreadFactory.newThread(runnable);
+					thread.setName(String.format("rdf4j-SharedHttpClientSessionManager-async-%d",
+							threadCount.getAndIncrement()));
+					thread.setDaemon(true);
+					return thread;
+				});
+		asyncPool.allowCoreThreadTimeOut(true);
+		this.asyncExecutor = asyncPool;
 	}
 
 	public SharedHttpClientSessionManager(CloseableHttpClient dependentClient,
 			ScheduledExecutorService dependentExecutorService) {
 		this.httpClient = this.dependentClient = Objects.requireNonNull(dependentClient, "HTTP client was null");
 		this.executor = Objects.requireNonNull(dependentExecutorService, "Executor service was null");
+		this.asyncExecutor = dependentExecutorService;
 	}
 
 	@Override
@@ -176,6 +201,7 @@ public class SharedHttpClientSessionManager implements HttpClientSessionManager,
 		};
 		session.setQueryURL(queryEndpointUrl);
 		session.setUpdateURL(updateEndpointUrl);
+		session.setAsyncExecutor(asyncExecutor);
 		openSessions.put(session, true);
 		return session;
 	}
@@ -194,6 +220,7 @@ public class SharedHttpClientSessionManager implements HttpClientSessionManager,
 			}
 		};
 		session.setServerURL(serverURL);
+		session.setAsyncExecutor(asyncExecutor);
 		openSessions.put(session, true);
 		return session;
 	}
@@ -215,6 +242,9 @@ public class SharedHttpClientSessionManager implements HttpClientSessionManager,
 			}
 		} finally {
 			try {
+				if (asyncExecutor != executor) {
+					asyncExecutor.shutdownNow();
+				}
 				executor.shutdown();
 				executor.awaitTermination(10, TimeUnit.SECONDS);
 			} catch (InterruptedException e) {
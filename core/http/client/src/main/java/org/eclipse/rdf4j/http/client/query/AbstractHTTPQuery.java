@@ -8,11 +8,16 @@
 package org.eclipse.rdf4j.http.client.query;
 
 import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 import org.eclipse.rdf4j.http.client.SPARQLProtocolSession;
 import org.eclipse.rdf4j.query.Binding;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.Query;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.query.impl.AbstractQuery;
 
@@ -64,6 +69,39 @@ public abstract class AbstractHTTPQuery extends AbstractQuery {
 		return bindingsArray;
 	}
 
+	/**
+	 * Maps the failures of an asynchronous request to {@link QueryEvaluationException}s, the way the synchronous
+	 * evaluate methods do. Cancelling the returned future cancels the request.
+	 *
+	 * @param request the future returned by the asynchronous query method of the {@link SPARQLProtocolSession}
+	 * @param mapper  creates the exception for a failure that is not a {@link QueryEvaluationException}
+	 * @return a future that completes with the result of the request
+	 */
+	protected static <T> CompletableFuture<T> mapFailures(CompletableFuture<T> request,
+			Function<Throwable, ? extends QueryEvaluationException> mapper) {
+		CompletableFuture<T> result = new CompletableFuture<T>() {
+
+			@Override
+			public boolean cancel(boolean mayInterruptIfRunning) {
+				request.cancel(mayInterruptIfRunning);
+				return super.cancel(mayInterruptIfRunning);
+			}
+		};
+		request.whenComplete((value, e) -> {
+			if (e == null) {
+				result.complete(value);
+				return;
+			}
+			Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+			if (cause instanceof QueryEvaluationException || cause instanceof CancellationException) {
+				result.completeExceptionally(cause);
+			} else {
+				result.completeExceptionally(mapper.apply(cause));
+			}
+		});
+		return result;
+	}
+
 	@Override
 	public void setMaxExecutionTime(int maxExecutionTimeSeconds) {
 		super.setMaxExecutionTime(maxExecutionTimeSeconds);
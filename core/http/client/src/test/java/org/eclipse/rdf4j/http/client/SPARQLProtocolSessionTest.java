@@ -16,6 +16,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -24,6 +25,8 @@ import static org.mockito.Mockito.verify;
 import java.io.ByteArrayOutputStream;
 import java.util.HashMap;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.http.Header;
 import org.apache.http.HeaderElement;
@@ -36,7 +39,9 @@ import org.apache.http.ProtocolVersion;
 import org.apache.http.StatusLine;
 import org.apache.http.params.HttpParams;
 import org.eclipse.rdf4j.http.protocol.Protocol;
+import org.eclipse.rdf4j.query.QueryInterruptedException;
 import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.query.TupleQueryResultHandler;
 import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
 import org.eclipse.rdf4j.query.resultio.sparqljson.SPARQLStarResultsJSONWriter;
@@ -119,6 +124,69 @@ public class SPARQLProtocolSessionTest {
 		assertThat(out.toString()).startsWith("<");
 	}
 
+	@Test
+	public void testTupleQuery_SlowResultIsNotAborted() throws Exception {
+		// the response starts immediately, but takes longer than the maximum query time to complete
+		stubFor(post(urlEqualTo("/rdf4j-server/repositories/test"))
+				.willReturn(aResponse().withStatus(200)
+						.withHeader("Content-Type", TupleQueryResultFormat.SPARQL.getDefaultMIMEType())
+						.withBodyFile("repository-list.xml")
+						.withChunkedDribbleDelay(10, 3000)));
+
+		try (TupleQueryResult result = sparqlSession.sendTupleQuery(QueryLanguage.SPARQL,
+				"SELECT * WHERE { ?s ?p ?o}", null, null, true, 1)) {
+			assertThat(result.next().getValue("id").stringValue()).isEqualTo("test");
+			assertThat(result.hasNext()).isFalse();
+		}
+	}
+
+	@Test
+	public void testTupleQueryAsync() throws Exception {
+		stubFor(post(urlEqualTo("/rdf4j-server/repositories/test"))
+				.willReturn(aResponse().withStatus(200)
+						.withHeader("Content-Type", TupleQueryResultFormat.SPARQL.getDefaultMIMEType())
+						.withBodyFile("repository-list.xml")));
+
+		CompletableFuture<TupleQueryResult> future = sparqlSession.sendTupleQueryAsync(QueryLanguage.SPARQL,
+				"SELECT * WHERE { ?s ?p ?o}", null, null, true, -1);
+		try (TupleQueryResult result = future.get()) {
+			assertThat(result.getBindingNames()).contains("id", "title");
+			assertThat(result.next().getValue("id").stringValue()).isEqualTo("test");
+			assertThat(result.hasNext()).isFalse();
+		}
+	}
+
+	@Test
+	public void testTupleQueryAsync_SlowResultIsNotAborted() throws Exception {
+		stubFor(post(urlEqualTo("/rdf4j-server/repositories/test"))
+				.willReturn(aResponse().withStatus(200)
+						.withHeader("Content-Type", TupleQueryResultFormat.SPARQL.getDefaultMIMEType())
+						.withBodyFile("repository-list.xml")
+						.withChunkedDribbleDelay(10, 3000)));
+
+		CompletableFuture<TupleQueryResult> future = sparqlSession.sendTupleQueryAsync(QueryLanguage.SPARQL,
+				"SELECT * WHERE { ?s ?p ?o}", null, null, true, 1);
+		try (TupleQueryResult result = future.get()) {
+			assertThat(result.next().getValue("id").stringValue()).isEqualTo("test");
+			assertThat(result.hasNext()).isFalse();
+		}
+	}
+
+	@Test
+	public void testBooleanQueryAsync_Error() throws Exception {
+		stubFor(post(urlEqualTo("/rdf4j-server/repositories/test"))
+				.willReturn(aResponse().withStatus(503)));
+
+		CompletableFuture<Boolean> future = sparqlSession.sendBooleanQueryAsync(QueryLanguage.SPARQL,
+				"ASK { ?s ?p ?o}", null, null, true, -1);
+		try {
+			future.get();
+			fail("query should have failed");
+		} catch (ExecutionException e) {
+			assertThat(e.getCause()).isInstanceOf(QueryInterruptedException.class);
+		}
+	}
+
 	@Test
 	public void getContentTypeSerialisationTest() {
 		{
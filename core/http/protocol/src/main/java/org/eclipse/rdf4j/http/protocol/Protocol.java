@@ -210,6 +210,13 @@ public abstract class Protocol {
 	 */
 	public static final String DISTINCT_PARAM_NAME = "distinct";
 
+	/**
+	 * Parameter name for the explain parameter. Its value is the name of an
+	 * {@link org.eclipse.rdf4j.query.explanation.Explanation.Level}; if it is set, the explanation of the query plan is
+	 * returned instead of the query result.
+	 */
+	public static final String EXPLAIN_PARAM_NAME = "explain";
+
 	/**
 	 * Relative location of the protocol resource.
 	 */
@@ -54,6 +54,10 @@ public class GenericPlanNode {
 	// plans[0..n].totalTimeActual)
 	private Double totalTimeActual;
 
+	// The CPU time in milliseconds that the evaluation thread spent in this node-tree while the query was executed.
+	// This is lower than totalTimeActual when the node waits for I/O, locks or other threads.
+	private Double cpuTimeActual;
+
 	// true if this node introduces a new scope
 	private Boolean newScope;
 
@@ -164,6 +168,22 @@ public class GenericPlanNode {
 		}
 	}
 
+	/**
+	 * The CPU time in milliseconds that the evaluation thread spent in this node-tree (all children and so on) while
+	 * the query was executed.
+	 *
+	 * @return
+	 */
+	public Double getCpuTimeActual() {
+		return cpuTimeActual;
+	}
+
+	public void setCpuTimeActual(Double cpuTimeActual) {
+		if (cpuTimeActual >= 0) {
+			this.cpuTimeActual = cpuTimeActual;
+		}
+	}
+
 	public void setTimedOut(Boolean timedOut) {
 		this.timedOut = timedOut;
 	}
@@ -391,7 +411,8 @@ public class GenericPlanNode {
 				"resultSizeEstimate=" + toHumanReadableNumber(getResultSizeEstimate()),
 				"resultSizeActual=" + toHumanReadableNumber(getResultSizeActual()),
 				"totalTimeActual=" + toHumanReadableTime(getTotalTimeActual()),
-				"selfTimeActual=" + toHumanReadableTime(getSelfTimeActual()))
+				"selfTimeActual=" + toHumanReadableTime(getSelfTimeActual()),
+				"cpuTimeActual=" + toHumanReadableTime(getCpuTimeActual()))
 				.filter(s -> !s.endsWith(UNKNOWN)) // simple but hacky way of removing essentially null values
 				.reduce((a, b) -> a + ", " + b)
 				.orElse("");
@@ -457,7 +478,8 @@ public class GenericPlanNode {
 				"<tr><td >Total time actual</td><td BGCOLOR=\"" + totalTimeColor + "\">"
 						+ toHumanReadableTime(getTotalTimeActual()) + "</td></tr>",
 				"<tr><td >Self time actual</td><td BGCOLOR=\"" + selfTimeColor + "\">"
-						+ toHumanReadableTime(getSelfTimeActual()) + "</td></tr>")
+						+ toHumanReadableTime(getSelfTimeActual()) + "</td></tr>",
+				"<tr><td >CPU time actual</td><td>" + toHumanReadableTime(getCpuTimeActual()) + "</td></tr>")
 				.filter(s -> !s.contains(UNKNOWN)) // simple but hacky way of removing essentially null values
 				.reduce((a, b) -> a + " " + b)
 				.orElse(""));
@@ -7,6 +7,8 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.query.algebra.evaluation.impl;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -143,6 +145,7 @@ import org.eclipse.rdf4j.query.algebra.evaluation.iterator.OrderIterator;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.PathIteration;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ProjectionIterator;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.SPARQLMinusIteration;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.SpillingDistinctIteration;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ZeroLengthPathIteration;
 import org.eclipse.rdf4j.query.algebra.evaluation.util.EvaluationStrategies;
 import org.eclipse.rdf4j.query.algebra.evaluation.util.MathUtil;
@@ -309,6 +312,9 @@ public class StrictEvaluationStrategy implements EvaluationStrategy, FederatedSe
 		if (trackTime) {
 			// set resultsSizeActual to at least be 0 so we can track iterations that don't procude anything
 			expr.setTotalTimeNanosActual(Math.max(0, expr.getTotalTimeNanosActual()));
+			if (TimedIterator.CPU_TIME_SUPPORTED) {
+				expr.setCpuTimeNanosActual(Math.max(0, expr.getCpuTimeNanosActual()));
+			}
 			ret = new TimedIterator(ret, expr);
 		}
 
@@ -839,7 +845,25 @@ public class StrictEvaluationStrategy implements EvaluationStrategy, FederatedSe
 
 	public CloseableIteration<BindingSet, QueryEvaluationException> evaluate(Distinct distinct, BindingSet bindings)
 			throws QueryEvaluationException {
-		return new DistinctIteration<>(evaluate(distinct.getArg(), bindings));
+		if (isOrdered(distinct.getArg())) {
+			// spilling to disk does not preserve the order of the results
+			return new DistinctIteration<>(evaluate(distinct.getArg(), bindings));
+		}
+		return new SpillingDistinctIteration(evaluate(distinct.getArg(), bindings), iterationCacheSyncThreshold);
+	}
+
+	/**
+	 * @return true if the results of the expression are ordered by an {@link Order} that is only followed by operators
+	 *         that keep the order of their argument
+	 */
+	static boolean isOrdered(TupleExpr expr) {
+		while (expr instanceof UnaryTupleOperator && !(expr instanceof Group)) {
+			if (expr instanceof Order) {
+				return true;
+			}
+			expr = ((UnaryTupleOperator) expr).getArg();
+		}
+		return false;
 	}
 
 	public CloseableIteration<BindingSet, QueryEvaluationException> evaluate(Reduced reduced, BindingSet bindings)
@@ -2048,15 +2072,23 @@ public class StrictEvaluationStrategy implements EvaluationStrategy, FederatedSe
 	}
 
 	/**
-	 * This class wraps an iterator and tracks the time used to execute next() and hasNext()
+	 * Measures the wall clock time and, if the JVM supports it, the CPU time of the evaluation thread spent in the
+	 * iterator. Both include the time spent in the iterators of the child nodes.
 	 */
 	private static class TimedIterator extends IterationWrapper<BindingSet, QueryEvaluationException> {
 
+		private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+		static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()
+				&& THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+
 		CloseableIteration<BindingSet, QueryEvaluationException> iterator;
 		QueryModelNode queryModelNode;
 
 		Stopwatch stopwatch = Stopwatch.createUnstarted();
 
+		long cpuTimeNanos;
+
 		public TimedIterator(CloseableIteration<BindingSet, QueryEvaluationException> iterator,
 				QueryModelNode queryModelNode) {
 			super(iterator);
@@ -2066,18 +2098,30 @@ public class StrictEvaluationStrategy implements EvaluationStrategy, FederatedSe
 
 		@Override
 		public BindingSet next() throws QueryEvaluationException {
+			long cpuStart = currentThreadCpuTime();
 			stopwatch.start();
-			BindingSet next = iterator.next();
-			stopwatch.stop();
-			return next;
+			try {
+				return iterator.next();
+			} finally {
+				stopwatch.stop();
+				cpuTimeNanos += currentThreadCpuTime() - cpuStart;
+			}
 		}
 
 		@Override
 		public boolean hasNext() throws QueryEvaluationException {
+			long cpuStart = currentThreadCpuTime();
 			stopwatch.start();
-			boolean hasNext = super.hasNext();
-			stopwatch.stop();
-			return hasNext;
+			try {
+				return super.hasNext();
+			} finally {
+				stopwatch.stop();
+				cpuTimeNanos += currentThreadCpuTime() - cpuStart;
+			}
+		}
+
+		private static long currentThreadCpuTime() {
+			return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
 		}
 
 		@Override
@@ -2085,6 +2129,9 @@ public class StrictEvaluationStrategy implements EvaluationStrategy, FederatedSe
 			try {
 				queryModelNode.setTotalTimeNanosActual(
 						queryModelNode.getTotalTimeNanosActual() + stopwatch.elapsed(TimeUnit.NANOSECONDS));
+				if (CPU_TIME_SUPPORTED) {
+					queryModelNode.setCpuTimeNanosActual(queryModelNode.getCpuTimeNanosActual() + cpuTimeNanos);
+				}
 			} finally {
 				super.handleClose();
 
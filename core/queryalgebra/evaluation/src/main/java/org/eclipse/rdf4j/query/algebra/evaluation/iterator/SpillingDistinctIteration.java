@@ -0,0 +1,741 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Triple;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.Binding;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryBindingSet;
+
+/**
+ * Filters duplicate binding sets from the underlying iteration without keeping the binding sets themselves in memory.
+ * Every binding set is encoded into a compact binary key and the keys that have been seen are kept in an open
+ * addressing hash table, whose keys are stored in direct memory.
+ * <p>
+ * Once the table holds the maximum number of keys, binding sets whose key is not in the table are written to one of
+ * several partition files on disk, chosen by the hash of the key. A Bloom filter over the spilled keys allows most
+ * binding sets that have not been seen before to still be returned right away. When the underlying iteration is
+ * exhausted, the partitions are deduplicated one at a time, each with a new table. A partition that is still too large
+ * is partitioned again.
+ * <p>
+ * Binding sets that are written to disk are returned after the binding sets that are kept in memory, so the order of
+ * the underlying iteration is not preserved once the limit is reached. Use {@link DistinctIteration} if the order
+ * matters.
+ */
+public class SpillingDistinctIteration extends LookAheadIteration<BindingSet, QueryEvaluationException> {
+
+	private static final int PARTITION_BITS = 4;
+
+	/**
+	 * Partitions are not partitioned again beyond this depth, the keys are then kept in memory regardless of the limit.
+	 */
+	private static final int MAX_DEPTH = 4;
+
+	/*-----------*
+	 * Variables *
+	 *-----------*/
+
+	private final CloseableIteration<BindingSet, QueryEvaluationException> iter;
+
+	private final long maxKeysInMemory;
+
+	private final KeyEncoder encoder = new KeyEncoder();
+
+	private final Deque<Partition> pendingPartitions = new ArrayDeque<>();
+
+	private final List<Partition> partitions = new ArrayList<>();
+
+	private Pass pass;
+
+	/*--------------*
+	 * Constructors *
+	 *--------------*/
+
+	/**
+	 * @param iter            the binding sets to filter
+	 * @param maxKeysInMemory the number of distinct keys that is kept in memory before binding sets are written to
+	 *                        disk, 0 to only write to disk when the table can not grow any further
+	 */
+	public SpillingDistinctIteration(CloseableIteration<BindingSet, QueryEvaluationException> iter,
+			long maxKeysInMemory) {
+		this.iter = iter;
+		this.maxKeysInMemory = maxKeysInMemory > 0 ? maxKeysInMemory : Long.MAX_VALUE;
+		this.pass = new Pass(new IterationInput(iter), 0);
+	}
+
+	/*---------*
+	 * Methods *
+	 *---------*/
+
+	@Override
+	protected BindingSet getNextElement() throws QueryEvaluationException {
+		try {
+			while (pass != null) {
+				BindingSet next = pass.next();
+				if (next != null) {
+					return next;
+				}
+				pass.finish();
+				Partition partition = pendingPartitions.poll();
+				pass = partition != null ? new Pass(partition.read(), partition.depth + 1) : null;
+			}
+			return null;
+		} catch (IOException e) {
+			throw new QueryEvaluationException(e);
+		}
+	}
+
+	@Override
+	protected void handleClose() throws QueryEvaluationException {
+		try {
+			super.handleClose();
+		} finally {
+			try {
+				iter.close();
+			} finally {
+				if (pass != null) {
+					pass.release();
+				}
+				pass = null;
+				pendingPartitions.clear();
+				for (Partition partition : partitions) {
+					partition.delete();
+				}
+				partitions.clear();
+			}
+		}
+	}
+
+	/**
+	 * The number of partitions that have been written to disk, for testing.
+	 */
+	int getPartitionCount() {
+		return partitions.size();
+	}
+
+	/**
+	 * One pass over the underlying iteration or over a partition.
+	 */
+	private class Pass {
+
+		private final Input input;
+
+		private final int depth;
+
+		private final long seed;
+
+		private OffHeapKeySet keys = new OffHeapKeySet();
+
+		private BloomFilter spilled;
+
+		private Partition[] spillPartitions;
+
+		Pass(Input input, int depth) {
+			this.input = input;
+			this.depth = depth;
+			this.seed = KeyEncoder.mix(depth + 1);
+		}
+
+		BindingSet next() throws IOException {
+			BindingSet bindingSet;
+			while ((bindingSet = input.next()) != null) {
+				boolean returned = input.wasReturned();
+				int length = encoder.encode(bindingSet);
+				long hash = KeyEncoder.hash(encoder.buffer, length, seed);
+				if (keys.contains(hash, encoder.buffer, length)) {
+					continue;
+				}
+
+				if (spillPartitions == null) {
+					keys.add(hash, encoder.buffer, length);
+					if (depth < MAX_DEPTH && (keys.size() >= maxKeysInMemory || keys.isFull())) {
+						spillPartitions = new Partition[1 << PARTITION_BITS];
+						spilled = new BloomFilter(keys.size());
+					}
+					if (!returned) {
+						return bindingSet;
+					}
+				} else {
+					// a key that is not in the Bloom filter has not been spilled yet, so this is its first occurrence
+					boolean returnNow = !returned && !spilled.mightContain(hash);
+					spilled.add(hash);
+					partition(hash).write(bindingSet, returned || returnNow);
+					if (returnNow) {
+						return bindingSet;
+					}
+				}
+			}
+			return null;
+		}
+
+		private Partition partition(long hash) throws IOException {
+			int index = (int) (hash >>> (64 - PARTITION_BITS));
+			Partition partition = spillPartitions[index];
+			if (partition == null) {
+				partition = new Partition(depth);
+				partitions.add(partition);
+				spillPartitions[index] = partition;
+				pendingPartitions.add(partition);
+			}
+			return partition;
+		}
+
+		void finish() throws IOException {
+			release();
+			input.close();
+			if (spillPartitions != null) {
+				for (Partition partition : spillPartitions) {
+					if (partition != null) {
+						partition.finishWriting();
+					}
+				}
+			}
+		}
+
+		/**
+		 * Frees the memory of the key set, the binding sets that are still pending are written to disk.
+		 */
+		void release() {
+			if (keys != null) {
+				keys.release();
+				keys = null;
+			}
+			spilled = null;
+		}
+	}
+
+	private interface Input extends Closeable {
+
+		/**
+		 * @return the next binding set, or null if there are no more binding sets
+		 */
+		BindingSet next() throws IOException;
+
+		/**
+		 * @return true if the last binding set returned by {@link #next()} has already been returned by this iteration
+		 */
+		boolean wasReturned();
+	}
+
+	private static class IterationInput implements Input {
+
+		private final CloseableIteration<BindingSet, QueryEvaluationException> iter;
+
+		IterationInput(CloseableIteration<BindingSet, QueryEvaluationException> iter) {
+			this.iter = iter;
+		}
+
+		@Override
+		public BindingSet next() {
+			return iter.hasNext() ? iter.next() : null;
+		}
+
+		@Override
+		public boolean wasReturned() {
+			return false;
+		}
+
+		@Override
+		public void close() {
+			iter.close();
+		}
+	}
+
+	/**
+	 * A temporary file with the binding sets of one partition, each preceded by a flag that tells whether it has
+	 * already been returned. Each value is preceded by a marker for its type.
+	 */
+	private static class Partition {
+
+		private static final ValueFactory VF = SimpleValueFactory.getInstance();
+
+		private static final byte URI_RECORD_MARKER = 1;
+
+		private static final byte BNODE_RECORD_MARKER = 2;
+
+		private static final byte DATATYPE_LITERAL_RECORD_MARKER = 3;
+
+		private static final byte LANG_LITERAL_RECORD_MARKER = 4;
+
+		private static final byte TRIPLE_RECORD_MARKER = 5;
+
+		private final File file;
+
+		private final int depth;
+
+		private DataOutputStream output;
+
+		private DataInputStream input;
+
+		private long size;
+
+		Partition(int depth) throws IOException {
+			this.depth = depth;
+			this.file = File.createTempFile("rdf4j-distinct", null);
+			this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		}
+
+		void write(BindingSet bindingSet, boolean returned) throws IOException {
+			output.writeBoolean(returned);
+			output.writeInt(bindingSet.size());
+			for (Binding binding : bindingSet) {
+				output.writeUTF(binding.getName());
+				writeValue(binding.getValue());
+			}
+			size++;
+		}
+
+		private void writeValue(Value value) throws IOException {
+			if (value instanceof IRI) {
+				output.writeByte(URI_RECORD_MARKER);
+				writeString(value.stringValue());
+			} else if (value instanceof BNode) {
+				output.writeByte(BNODE_RECORD_MARKER);
+				writeString(((BNode) value).getID());
+			} else if (value instanceof Literal) {
+				Literal literal = (Literal) value;
+				Optional<String> language = literal.getLanguage();
+				if (language.isPresent()) {
+					output.writeByte(LANG_LITERAL_RECORD_MARKER);
+					writeString(literal.getLabel());
+					writeString(language.get());
+				} else {
+					output.writeByte(DATATYPE_LITERAL_RECORD_MARKER);
+					writeString(literal.getLabel());
+					writeString(literal.getDatatype().stringValue());
+				}
+			} else if (value instanceof Triple) {
+				Triple triple = (Triple) value;
+				output.writeByte(TRIPLE_RECORD_MARKER);
+				writeValue(triple.getSubject());
+				writeValue(triple.getPredicate());
+				writeValue(triple.getObject());
+			} else {
+				throw new IOException("Unsupported value type: " + value.getClass().getName());
+			}
+		}
+
+		private void writeString(String string) throws IOException {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			output.writeInt(bytes.length);
+			output.write(bytes);
+		}
+
+		void finishWriting() throws IOException {
+			if (output != null) {
+				output.close();
+				output = null;
+			}
+		}
+
+		Input read() throws IOException {
+			finishWriting();
+			input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			return new Input() {
+
+				private long remaining = size;
+
+				private boolean returned;
+
+				@Override
+				public BindingSet next() throws IOException {
+					if (remaining == 0) {
+						return null;
+					}
+					remaining--;
+					returned = input.readBoolean();
+					int count = input.readInt();
+					QueryBindingSet bindingSet = new QueryBindingSet(count);
+					for (int i = 0; i < count; i++) {
+						String name = input.readUTF();
+						bindingSet.addBinding(name, readValue());
+					}
+					return bindingSet;
+				}
+
+				@Override
+				public boolean wasReturned() {
+					return returned;
+				}
+
+				@Override
+				public void close() {
+					delete();
+				}
+			};
+		}
+
+		private Value readValue() throws IOException {
+			byte marker = input.readByte();
+			switch (marker) {
+			case URI_RECORD_MARKER:
+				return VF.createIRI(readString());
+			case BNODE_RECORD_MARKER:
+				return VF.createBNode(readString());
+			case LANG_LITERAL_RECORD_MARKER:
+				return VF.createLiteral(readString(), readString());
+			case DATATYPE_LITERAL_RECORD_MARKER:
+				return VF.createLiteral(readString(), VF.createIRI(readString()));
+			case TRIPLE_RECORD_MARKER:
+				return VF.createTriple((Resource) readValue(), (IRI) readValue(), readValue());
+			default:
+				throw new IOException("Unexpected record marker: " + marker);
+			}
+		}
+
+		private String readString() throws IOException {
+			byte[] bytes = new byte[input.readInt()];
+			input.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		void delete() {
+			try {
+				if (output != null) {
+					output.close();
+				}
+				if (input != null) {
+					input.close();
+				}
+			} catch (IOException e) {
+				// the file is deleted anyway
+			} finally {
+				output = null;
+				input = null;
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Encodes the bound values of a binding set, ordered by binding name, into a reusable buffer. Two binding sets have
+	 * the same encoding if and only if they are equal.
+	 */
+	static class KeyEncoder {
+
+		private static final byte IRI_VALUE = 1;
+
+		private static final byte BNODE_VALUE = 2;
+
+		private static final byte LITERAL_VALUE = 3;
+
+		private static final byte LANGUAGE_LITERAL_VALUE = 4;
+
+		private static final byte TRIPLE_VALUE = 5;
+
+		private static final byte OTHER_VALUE = 6;
+
+		private static final Comparator<Binding> BY_NAME = Comparator.comparing(Binding::getName);
+
+		byte[] buffer = new byte[256];
+
+		private int length;
+
+		private Binding[] bindings = new Binding[8];
+
+		/**
+		 * @return the length of the encoding in {@link #buffer}
+		 */
+		int encode(BindingSet bindingSet) {
+			int count = 0;
+			for (Binding binding : bindingSet) {
+				if (count == bindings.length) {
+					bindings = Arrays.copyOf(bindings, count * 2);
+				}
+				bindings[count++] = binding;
+			}
+			if (count > 1) {
+				Arrays.sort(bindings, 0, count, BY_NAME);
+			}
+
+			length = 0;
+			writeInt(count);
+			for (int i = 0; i < count; i++) {
+				writeString(bindings[i].getName());
+				writeValue(bindings[i].getValue());
+				bindings[i] = null;
+			}
+			return length;
+		}
+
+		private void writeValue(Value value) {
+			if (value instanceof IRI) {
+				writeByte(IRI_VALUE);
+				writeString(value.stringValue());
+			} else if (value instanceof BNode) {
+				writeByte(BNODE_VALUE);
+				writeString(((BNode) value).getID());
+			} else if (value instanceof Literal) {
+				Literal literal = (Literal) value;
+				Optional<String> language = literal.getLanguage();
+				if (language.isPresent()) {
+					// language tags are compared case insensitively
+					writeByte(LANGUAGE_LITERAL_VALUE);
+					writeString(literal.getLabel());
+					writeString(language.get().toLowerCase(Locale.ROOT));
+				} else {
+					writeByte(LITERAL_VALUE);
+					writeString(literal.getLabel());
+					writeString(literal.getDatatype().stringValue());
+				}
+			} else if (value instanceof Triple) {
+				Triple triple = (Triple) value;
+				writeByte(TRIPLE_VALUE);
+				writeValue(triple.getSubject());
+				writeValue(triple.getPredicate());
+				writeValue(triple.getObject());
+			} else {
+				writeByte(OTHER_VALUE);
+				writeString(value.getClass().getName());
+				writeString(value.stringValue());
+			}
+		}
+
+		private void writeString(String string) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			writeInt(bytes.length);
+			ensureCapacity(bytes.length);
+			System.arraycopy(bytes, 0, buffer, length, bytes.length);
+			length += bytes.length;
+		}
+
+		private void writeInt(int value) {
+			// variable length, 7 bits per byte
+			ensureCapacity(5);
+			while ((value & ~0x7F) != 0) {
+				buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buffer[length++] = (byte) value;
+		}
+
+		private void writeByte(byte value) {
+			ensureCapacity(1);
+			buffer[length++] = value;
+		}
+
+		private void ensureCapacity(int extra) {
+			if (length + extra > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+			}
+		}
+
+		static long hash(byte[] bytes, int length, long seed) {
+			long hash = seed ^ length;
+			for (int i = 0; i < length; i++) {
+				hash = (hash ^ bytes[i]) * 0x100000001B3L;
+			}
+			return mix(hash);
+		}
+
+		/**
+		 * The finalizer of MurmurHash3, spreads the bits of the key over the whole long.
+		 */
+		static long mix(long key) {
+			key ^= key >>> 33;
+			key *= 0xFF51AFD7ED558CCDL;
+			key ^= key >>> 33;
+			key *= 0xC4CEB9FE1A85EC53L;
+			key ^= key >>> 33;
+			return key;
+		}
+	}
+
+	/**
+	 * A set of encoded keys stored outside of the Java heap. The table consists of slots of a 64 bit hash and a 64 bit
+	 * reference to the key, the keys themselves are appended to chunks of direct memory. The table and the chunks start
+	 * small and grow as keys are added, and are freed by {@link #release()}.
+	 */
+	private static class OffHeapKeySet {
+
+		private static final int INITIAL_CAPACITY = 64;
+
+		/**
+		 * The capacity at which the table is considered full, the table only grows beyond it when partitioning is no
+		 * longer possible.
+		 */
+		private static final int MAX_CAPACITY = 1 << 22;
+
+		private static final int MIN_CHUNK_SIZE = 1 << 12;
+
+		private static final int MAX_CHUNK_SIZE = 1 << 20;
+
+		// hash and reference of each slot, interleaved
+		private long[] slots = new long[INITIAL_CAPACITY * 2];
+
+		private int mask = INITIAL_CAPACITY - 1;
+
+		private int size;
+
+		private final List<ByteBuffer> chunks = new ArrayList<>();
+
+		private ByteBuffer chunk;
+
+		long size() {
+			return size;
+		}
+
+		/**
+		 * @return true if the table has reached its maximum load
+		 */
+		boolean isFull() {
+			return size >= MAX_CAPACITY / 2;
+		}
+
+		boolean contains(long hash, byte[] key, int length) {
+			for (int slot = (int) hash & mask;; slot = (slot + 1) & mask) {
+				long reference = slots[slot * 2 + 1];
+				if (reference == 0) {
+					return false;
+				}
+				if (slots[slot * 2] == hash && keyEquals(reference, key, length)) {
+					return true;
+				}
+			}
+		}
+
+		/**
+		 * Adds a key that is not in the set yet.
+		 */
+		void add(long hash, byte[] key, int length) {
+			if (size >= (mask + 1) / 2) {
+				resize();
+			}
+			insert(slots, mask, hash, store(key, length));
+			size++;
+		}
+
+		/**
+		 * Drops the table and the chunks, so that their memory can be reclaimed. The set can not be used afterwards.
+		 */
+		void release() {
+			slots = null;
+			chunk = null;
+			chunks.clear();
+		}
+
+		private long store(byte[] key, int length) {
+			int needed = length + 4;
+			if (chunk == null || chunk.remaining() < needed) {
+				int chunkSize = chunk == null ? MIN_CHUNK_SIZE : Math.min(MAX_CHUNK_SIZE, chunk.capacity() * 2);
+				chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, needed));
+				chunks.add(chunk);
+			}
+			int position = chunk.position();
+			chunk.putInt(length);
+			chunk.put(key, 0, length);
+			// chunk numbers start at 1 so that a reference is never 0
+			return ((long) chunks.size() << 32) | position;
+		}
+
+		private boolean keyEquals(long reference, byte[] key, int length) {
+			ByteBuffer stored = chunks.get((int) (reference >>> 32) - 1);
+			int position = (int) reference;
+			if (stored.getInt(position) != length) {
+				return false;
+			}
+			position += 4;
+			for (int i = 0; i < length; i++) {
+				if (stored.get(position + i) != key[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void resize() {
+			int capacity = (mask + 1) * 2;
+			long[] newSlots = new long[capacity * 2];
+			int newMask = capacity - 1;
+			for (int slot = 0; slot <= mask; slot++) {
+				long reference = slots[slot * 2 + 1];
+				if (reference != 0) {
+					insert(newSlots, newMask, slots[slot * 2], reference);
+				}
+			}
+			slots = newSlots;
+			mask = newMask;
+		}
+
+		private static void insert(long[] slots, int mask, long hash, long reference) {
+			int slot = (int) hash & mask;
+			while (slots[slot * 2 + 1] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot * 2] = hash;
+			slots[slot * 2 + 1] = reference;
+		}
+	}
+
+	/**
+	 * A Bloom filter over key hashes, sized to the number of keys that are kept in memory.
+	 */
+	private static class BloomFilter {
+
+		private static final int HASHES = 3;
+
+		private final long[] bits;
+
+		private final long mask;
+
+		BloomFilter(long expectedKeys) {
+			long bitCount = Long.highestOneBit(Math.max(1 << 16, Math.min(1L << 30, expectedKeys * 8)));
+			this.bits = new long[(int) (bitCount >>> 6)];
+			this.mask = bitCount - 1;
+		}
+
+		void add(long hash) {
+			long step = KeyEncoder.mix(hash) | 1;
+			for (int i = 0; i < HASHES; i++) {
+				long bit = (hash + i * step) & mask;
+				bits[(int) (bit >>> 6)] |= 1L << bit;
+			}
+		}
+
+		boolean mightContain(long hash) {
+			long step = KeyEncoder.mix(hash) | 1;
+			for (int i = 0; i < HASHES; i++) {
+				long bit = (hash + i * step) & mask;
+				if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -8,6 +8,7 @@
 package org.eclipse.rdf4j.query.algebra.evaluation.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -15,11 +16,13 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.query.BindingSet;
@@ -134,4 +137,25 @@ public class StrictEvaluationStrategyTest {
 		assertThat(values).containsExactlyInAnyOrder("foo.bar", "FOO.BAR");
 	}
 
+	@Test
+	public void testDistinctKeepsOrder() throws Exception {
+		// a small cache threshold lets distinct spill to disk
+		strategy = new StrictEvaluationStrategy(new EmptyTripleSource(), null, null, 10, new EvaluationStatistics());
+
+		StringBuilder query = new StringBuilder("SELECT DISTINCT ?a WHERE { VALUES ?a {");
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			query.append(' ').append(i).append(' ').append(i / 2);
+			expected.add(19999 - i);
+		}
+		query.append(" } } ORDER BY DESC(?a)");
+		ParsedQuery pq = QueryParserUtil.parseQuery(QueryLanguage.SPARQL, query.toString(), null);
+
+		List<Integer> values = QueryResults.asList(strategy.evaluate(pq.getTupleExpr(), new EmptyBindingSet()))
+				.stream()
+				.map(bs -> ((Literal) bs.getValue("a")).intValue())
+				.collect(Collectors.toList());
+		assertEquals(expected, values);
+	}
+
 }
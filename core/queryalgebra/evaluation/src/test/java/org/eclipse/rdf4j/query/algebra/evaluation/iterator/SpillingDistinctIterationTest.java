@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.XMLSchema;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryBindingSet;
+import org.eclipse.rdf4j.query.impl.ListBindingSet;
+import org.junit.Test;
+
+public class SpillingDistinctIterationTest {
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@Test
+	public void testDuplicatesAreRemoved() {
+		QueryBindingSet first = new QueryBindingSet();
+		first.addBinding("a", vf.createIRI("urn:a"));
+		first.addBinding("b", vf.createLiteral("x", "en"));
+
+		// same bindings in a different order and a differently cased language tag
+		QueryBindingSet second = new QueryBindingSet();
+		second.addBinding("b", vf.createLiteral("x", "EN"));
+		second.addBinding("a", vf.createIRI("urn:a"));
+
+		BindingSet third = new ListBindingSet(Arrays.asList("a", "b", "c"), vf.createIRI("urn:a"),
+				vf.createLiteral("x", "en"), null);
+
+		QueryBindingSet plain = new QueryBindingSet();
+		plain.addBinding("a", vf.createIRI("urn:a"));
+		plain.addBinding("b", vf.createLiteral("x"));
+
+		QueryBindingSet typed = new QueryBindingSet();
+		typed.addBinding("a", vf.createIRI("urn:a"));
+		typed.addBinding("b", vf.createLiteral("x", XMLSchema.STRING));
+
+		QueryBindingSet bnode = new QueryBindingSet();
+		bnode.addBinding("a", vf.createBNode("urn:a"));
+		bnode.addBinding("b", vf.createLiteral("x"));
+
+		List<BindingSet> result = distinct(Arrays.asList(first, second, third, plain, typed, bnode), 0);
+
+		assertEquals(Arrays.asList(first, plain, bnode), result);
+	}
+
+	@Test
+	public void testSpillToDisk() {
+		List<BindingSet> input = randomInput(20000, 3000, 42);
+
+		SpillingDistinctIteration iteration = new SpillingDistinctIteration(iterate(input), 100);
+		List<BindingSet> result = new ArrayList<>();
+		int partitions = 0;
+		while (iteration.hasNext()) {
+			result.add(iteration.next());
+			partitions = Math.max(partitions, iteration.getPartitionCount());
+		}
+		// the partitions are deleted once the iteration is exhausted
+		assertTrue(partitions > 0);
+		assertEquals(0, iteration.getPartitionCount());
+
+		assertEquals(new HashSet<>(input).size(), result.size());
+		assertEquals(new HashSet<>(input), new HashSet<>(result));
+	}
+
+	@Test
+	public void testSpilledValuesAreKept() {
+		List<BindingSet> input = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			int n = i % 200;
+			QueryBindingSet bindings = new QueryBindingSet();
+			bindings.addBinding("iri", vf.createIRI("urn:s" + n));
+			bindings.addBinding("bnode", vf.createBNode("b" + n));
+			bindings.addBinding("lang", vf.createLiteral("\u00e9t\u00e9 " + n, "fr-CA"));
+			bindings.addBinding("typed", vf.createLiteral(n));
+			bindings.addBinding("triple", vf.createTriple(vf.createIRI("urn:s" + n), vf.createIRI("urn:p"),
+					vf.createTriple(vf.createBNode("b" + n), vf.createIRI("urn:p"), vf.createLiteral("o"))));
+			input.add(bindings);
+		}
+
+		List<BindingSet> result = distinct(input, 10);
+
+		assertEquals(200, result.size());
+		assertEquals(new HashSet<>(input), new HashSet<>(result));
+	}
+
+	@Test
+	public void testRepartition() {
+		List<BindingSet> input = randomInput(5000, 2000, 7);
+
+		List<BindingSet> result = distinct(input, 3);
+
+		assertEquals(new HashSet<>(input).size(), result.size());
+		assertEquals(new HashSet<>(input), new HashSet<>(result));
+	}
+
+	@Test
+	public void testCloseDeletesPartitions() {
+		Set<String> before = tempFiles();
+		SpillingDistinctIteration iteration = new SpillingDistinctIteration(iterate(randomInput(5000, 2000, 1)), 10);
+		assertTrue(iteration.hasNext());
+		iteration.next();
+		while (iteration.getPartitionCount() == 0) {
+			iteration.next();
+		}
+		iteration.close();
+
+		Set<String> after = tempFiles();
+		after.removeAll(before);
+		assertTrue(after.toString(), after.isEmpty());
+		assertFalse(iteration.hasNext());
+	}
+
+	private List<BindingSet> randomInput(int size, int distinct, long seed) {
+		Random random = new Random(seed);
+		List<BindingSet> input = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			int value = random.nextInt(distinct);
+			QueryBindingSet bindings = new QueryBindingSet();
+			bindings.addBinding("s", vf.createIRI("urn:s" + value % 97));
+			bindings.addBinding("o", vf.createLiteral(value));
+			input.add(bindings);
+		}
+		return input;
+	}
+
+	private List<BindingSet> distinct(List<BindingSet> input, long maxKeysInMemory) {
+		List<BindingSet> result = new ArrayList<>();
+		try (SpillingDistinctIteration iteration = new SpillingDistinctIteration(iterate(input), maxKeysInMemory)) {
+			while (iteration.hasNext()) {
+				result.add(iteration.next());
+			}
+		}
+		return result;
+	}
+
+	private static CloseableIteratorIteration<BindingSet, QueryEvaluationException> iterate(List<BindingSet> input) {
+		return new CloseableIteratorIteration<>(input.iterator());
+	}
+
+	private static Set<String> tempFiles() {
+		Set<String> files = new HashSet<>();
+		String[] names = new File(System.getProperty("java.io.tmpdir")).list();
+		if (names != null) {
+			for (String name : names) {
+				if (name.startsWith("rdf4j-distinct")) {
+					files.add(name);
+				}
+			}
+		}
+		return files;
+	}
+}
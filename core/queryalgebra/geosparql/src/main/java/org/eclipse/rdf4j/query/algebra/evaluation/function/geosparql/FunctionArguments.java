@@ -9,6 +9,7 @@ package org.eclipse.rdf4j.query.algebra.evaluation.function.geosparql;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.concurrent.ExecutionException;
 
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
@@ -25,8 +26,25 @@ import org.locationtech.spatial4j.io.ShapeReader;
 import org.locationtech.spatial4j.shape.Point;
 import org.locationtech.spatial4j.shape.Shape;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 class FunctionArguments {
 
+	/**
+	 * The maximum number of parsed shapes that are kept by {@link #getShape(Function, Value, SpatialContext)}.
+	 */
+	private static final int SHAPE_CACHE_SIZE = 4096;
+
+	/**
+	 * Shapes parsed with the default spatial context, by WKT. The same geometries, in particular the constant shapes of
+	 * a filter, are typically parsed for every solution and by every query that uses them.
+	 */
+	private static final Cache<String, Shape> shapeCache = CacheBuilder.newBuilder()
+			.maximumSize(SHAPE_CACHE_SIZE)
+			.build();
+
 	/**
 	 * Empty constructor
 	 */
@@ -79,13 +97,23 @@ class FunctionArguments {
 	public static Shape getShape(Function func, Value v, SpatialContext context) throws ValueExprEvaluationException {
 		Literal wktLiteral = getLiteral(func, v, GEO.WKT_LITERAL);
 		try {
-			ShapeReader reader = context.getFormats().getWktReader();
-			return reader.read(wktLiteral.getLabel());
+			if (context != SpatialSupport.getSpatialContext()) {
+				return readShape(wktLiteral.getLabel(), context);
+			}
+			return shapeCache.get(wktLiteral.getLabel(), () -> readShape(wktLiteral.getLabel(), context));
 		} catch (IOException | InvalidShapeException | ParseException e) {
 			throw new ValueExprEvaluationException("Invalid argument for " + func.getURI() + ": " + wktLiteral, e);
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			throw new ValueExprEvaluationException("Invalid argument for " + func.getURI() + ": " + wktLiteral,
+					e.getCause());
 		}
 	}
 
+	private static Shape readShape(String wkt, SpatialContext context) throws IOException, ParseException {
+		ShapeReader reader = context.getFormats().getWktReader();
+		return reader.read(wkt);
+	}
+
 	/**
 	 * Get the geo point
 	 *
@@ -31,6 +31,7 @@ public abstract class AbstractQueryModelNode implements QueryModelNode, Variable
 	private long resultSizeActual = -1;
 	private double costEstimate = -1;
 	private long totalTimeNanosActual = -1;
+	private long cpuTimeNanosActual = -1;
 
 	/*---------*
 	 * Methods *
@@ -182,6 +183,16 @@ public abstract class AbstractQueryModelNode implements QueryModelNode, Variable
 		this.totalTimeNanosActual = totalTimeNanosActual;
 	}
 
+	@Override
+	public long getCpuTimeNanosActual() {
+		return cpuTimeNanosActual;
+	}
+
+	@Override
+	public void setCpuTimeNanosActual(long cpuTimeNanosActual) {
+		this.cpuTimeNanosActual = cpuTimeNanosActual;
+	}
+
 	/**
 	 *
 	 * @return Human readable number. Eg. 12.1M for 1212213.4 and UNKNOWN for -1.
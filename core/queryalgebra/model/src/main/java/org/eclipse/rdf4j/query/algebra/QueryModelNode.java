@@ -135,4 +135,19 @@ public interface QueryModelNode extends Cloneable, Serializable {
 		// no-op
 	}
 
+	/**
+	 * The CPU time that the evaluation thread spent in this node and its children while the query was executed.
+	 *
+	 * @return the CPU time in nanoseconds, or -1 if it was not tracked
+	 */
+	@Experimental
+	default long getCpuTimeNanosActual() {
+		return -1;
+	}
+
+	@Experimental
+	default void setCpuTimeNanosActual(long cpuTime) {
+		// no-op
+	}
+
 }
@@ -141,7 +141,8 @@ public class QueryModelTreePrinter extends AbstractQueryModelVisitor<RuntimeExce
 				"costEstimate=" + toHumanReadableNumber(node.getCostEstimate()),
 				"resultSizeEstimate=" + toHumanReadableNumber(node.getResultSizeEstimate()),
 				"resultSizeActual=" + toHumanReadableNumber(node.getResultSizeActual()),
-				"totalTimeActual=" + toHumanReadableTime(node.getTotalTimeNanosActual()))
+				"totalTimeActual=" + toHumanReadableTime(node.getTotalTimeNanosActual()),
+				"cpuTimeActual=" + toHumanReadableTime(node.getCpuTimeNanosActual()))
 				.filter(s -> !s.endsWith("UNKNOWN"))
 				.reduce((a, b) -> a + ", " + b)
 				.orElse("");
@@ -55,6 +55,7 @@ public class QueryModelTreeToGenericPlanNode extends AbstractQueryModelVisitor<R
 
 		// convert from nanoseconds to milliseconds
 		genericPlanNode.setTotalTimeActual(node.getTotalTimeNanosActual() / 1_000_000.0);
+		genericPlanNode.setCpuTimeActual(node.getCpuTimeNanosActual() / 1_000_000.0);
 
 		if (node == topTupleExpr) {
 			top = genericPlanNode;
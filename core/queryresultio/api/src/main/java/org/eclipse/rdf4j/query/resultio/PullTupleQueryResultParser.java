@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+
+/**
+ * A {@link TupleQueryResultParser} that can also return the parsed solutions as a {@link TupleQueryResult} that is
+ * parsed on demand by the thread consuming it, instead of pushing them to a query result handler. This avoids handing
+ * every solution over from a background parser thread.
+ */
+public interface PullTupleQueryResultParser extends TupleQueryResultParser {
+
+	/**
+	 * Parses the head of the query result from the supplied InputStream and returns a result that parses the next
+	 * solution each time one is requested. The InputStream is closed when the result is closed or exhausted.
+	 *
+	 * @param in The InputStream from which to read the data.
+	 * @return a result that reads its solutions from the InputStream.
+	 * @throws IOException               If an I/O error occurred while the head was read from the InputStream.
+	 * @throws QueryResultParseException If the head could not be parsed. Errors in the solutions are reported by the
+	 *                                   returned result as {@link QueryEvaluationException}s.
+	 */
+	TupleQueryResult pullQueryResult(InputStream in) throws IOException, QueryResultParseException;
+}
@@ -16,8 +16,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -93,6 +95,23 @@ public abstract class AbstractSPARQLJSONParser extends AbstractQueryResultParser
 	 */
 	private static final String ORDERED = "ordered";
 
+	/**
+	 * The number of slots of the cache of recently created IRIs, must be a power of two.
+	 */
+	private static final int IRI_CACHE_SIZE = 1024;
+
+	/**
+	 * Recently created IRIs, indexed by the hash code of their string value. Results typically repeat the same
+	 * datatypes, predicates and classes many times, reusing the IRI objects for those saves both the creation and the
+	 * memory of the duplicates.
+	 */
+	private IRI[] iriCache;
+
+	/**
+	 * Language tags seen in the current result.
+	 */
+	private Map<String, String> languageCache;
+
 	/**
 	 *
 	 */
@@ -124,7 +143,7 @@ public abstract class AbstractSPARQLJSONParser extends AbstractQueryResultParser
 
 		boolean result = false;
 		try {
-			jp = configureNewJsonFactory().createParser(in);
+			jp = createJsonParser(in);
 
 			if (jp.nextToken() != JsonToken.START_OBJECT) {
 				throw new QueryResultParseException("Expected SPARQL Results JSON document to start with an Object",
@@ -458,10 +477,10 @@ public abstract class AbstractSPARQLJSONParser extends AbstractQueryResultParser
 
 		if (type.equals(LITERAL) || type.equals(TYPED_LITERAL)) {
 			if (language != null) {
-				result = valueFactory.createLiteral(value, language);
+				result = valueFactory.createLiteral(value, cachedLanguage(language));
 			} else if (datatype != null) {
 				IRI datatypeIri;
-				datatypeIri = valueFactory.createIRI(datatype);
+				datatypeIri = createIRI(datatype);
 
 				// For broken SPARQL endpoints which return LANGSTRING without a language, fall back
 				// to using STRING as the datatype
@@ -480,7 +499,7 @@ public abstract class AbstractSPARQLJSONParser extends AbstractQueryResultParser
 		} else if (type.equals(BNODE)) {
 			result = valueFactory.createBNode(value);
 		} else if (type.equals(URI)) {
-			result = valueFactory.createIRI(value);
+			result = createIRI(value);
 		}
 
 		logger.debug("result value: {}", result);
@@ -488,6 +507,21 @@ public abstract class AbstractSPARQLJSONParser extends AbstractQueryResultParser
 		return result;
 	}
 
+	private IRI createIRI(String iri) {
+		int slot = iri.hashCode() & (IRI_CACHE_SIZE - 1);
+		IRI result = iriCache[slot];
+		if (result == null || !result.stringValue().equals(iri)) {
+			result = valueFactory.createIRI(iri);
+			iriCache[slot] = result;
+		}
+		return result;
+	}
+
+	private String cachedLanguage(String language) {
+		String result = languageCache.putIfAbsent(language, language);
+		return result != null ? result : language;
+	}
+
 	@Override
 	public Collection<RioSetting<?>> getSupportedSettings() {
 		Collection<RioSetting<?>> result = new HashSet<>(super.getSupportedSettings());
@@ -507,6 +541,16 @@ public abstract class AbstractSPARQLJSONParser extends AbstractQueryResultParser
 		return result;
 	}
 
+	/**
+	 * Creates a parser for the supplied stream, configured using the settings from {@link #getParserConfig()}, and
+	 * starts a new result: values created for a previous result are not reused.
+	 */
+	JsonParser createJsonParser(InputStream in) throws IOException {
+		iriCache = new IRI[IRI_CACHE_SIZE];
+		languageCache = new HashMap<>();
+		return configureNewJsonFactory().createParser(in);
+	}
+
 	/**
 	 * Get an instance of JsonFactory configured using the settings from {@link #getParserConfig()}.
 	 *
@@ -514,12 +558,11 @@ public abstract class AbstractSPARQLJSONParser extends AbstractQueryResultParser
 	 */
 	private JsonFactory configureNewJsonFactory() {
 		final JsonFactory nextJsonFactory = new JsonFactory();
-		// Disable features that may work for most JSON where the field names are
-		// in limited supply,
-		// but does not work for SPARQL/JSON where a wide range of URIs are used for
-		// subjects and predicates
+		// Field names in SPARQL/JSON are the binding names and a few keywords, which are repeated for every solution.
+		// Canonicalizing them, in a symbol table that is private to this parse, avoids creating a new String for each
+		// of them. They are not interned, as binding names are not limited in number across queries.
 		nextJsonFactory.disable(JsonFactory.Feature.INTERN_FIELD_NAMES);
-		nextJsonFactory.disable(JsonFactory.Feature.CANONICALIZE_FIELD_NAMES);
+		nextJsonFactory.enable(JsonFactory.Feature.CANONICALIZE_FIELD_NAMES);
 		nextJsonFactory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
 		if (getParserConfig().isSet(JSONSettings.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER)) {
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.sparqljson;
+
+import static org.eclipse.rdf4j.query.resultio.sparqljson.AbstractSPARQLJSONParser.BINDINGS;
+import static org.eclipse.rdf4j.query.resultio.sparqljson.AbstractSPARQLJSONParser.BOOLEAN;
+import static org.eclipse.rdf4j.query.resultio.sparqljson.AbstractSPARQLJSONParser.HEAD;
+import static org.eclipse.rdf4j.query.resultio.sparqljson.AbstractSPARQLJSONParser.LINK;
+import static org.eclipse.rdf4j.query.resultio.sparqljson.AbstractSPARQLJSONParser.RESULTS;
+import static org.eclipse.rdf4j.query.resultio.sparqljson.AbstractSPARQLJSONParser.VARS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+import org.eclipse.rdf4j.query.resultio.QueryResultParseException;
+import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
+import org.eclipse.rdf4j.rio.helpers.RDFStarUtil;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads the solutions of a SPARQL/JSON tuple result one at a time, as they are requested.
+ *
+ * @see SPARQLResultsJSONParser#pullQueryResult(InputStream)
+ */
+class SPARQLResultsJSONIteration extends LookAheadIteration<BindingSet, QueryEvaluationException> {
+
+	private final AbstractSPARQLJSONParser parser;
+
+	private final InputStream in;
+
+	private final JsonParser jp;
+
+	private final boolean decodeRDFStar;
+
+	private final List<String> bindingNames = new ArrayList<>();
+
+	/**
+	 * Solutions that were read before the head, because the document lists the results first.
+	 */
+	private final Deque<BindingSet> buffered = new ArrayDeque<>();
+
+	/**
+	 * True while the parser is positioned in the bindings array.
+	 */
+	private boolean inBindings;
+
+	SPARQLResultsJSONIteration(AbstractSPARQLJSONParser parser, InputStream in)
+			throws IOException, QueryResultParseException {
+		this.parser = parser;
+		this.in = in;
+		this.jp = parser.createJsonParser(in);
+		this.decodeRDFStar = parser.getParserConfig().get(BasicParserSettings.PROCESS_ENCODED_RDF_STAR);
+		boolean success = false;
+		try {
+			readHead();
+			success = true;
+		} catch (JsonProcessingException e) {
+			throw new QueryResultParseException("Could not parse SPARQL/JSON", e, e.getLocation().getLineNr(),
+					e.getLocation().getColumnNr());
+		} finally {
+			if (!success) {
+				close();
+			}
+		}
+	}
+
+	List<String> getBindingNames() {
+		return bindingNames;
+	}
+
+	@Override
+	protected BindingSet getNextElement() throws QueryEvaluationException {
+		if (!buffered.isEmpty()) {
+			return buffered.poll();
+		}
+		if (!inBindings) {
+			return null;
+		}
+		try {
+			BindingSet next = readSolution();
+			if (next == null) {
+				// the rest of the document can only contain fields we ignore
+				inBindings = false;
+			}
+			return next;
+		} catch (IOException | QueryResultParseException e) {
+			throw new QueryEvaluationException(e);
+		}
+	}
+
+	@Override
+	protected void handleClose() throws QueryEvaluationException {
+		try {
+			super.handleClose();
+		} finally {
+			try {
+				jp.close();
+				in.close();
+			} catch (IOException e) {
+				throw new QueryEvaluationException(e);
+			}
+		}
+	}
+
+	/**
+	 * Reads the document until both the variables have been read and the parser is positioned at the first solution, or
+	 * until the end of the document.
+	 */
+	private void readHead() throws IOException {
+		if (jp.nextToken() != JsonToken.START_OBJECT) {
+			throw parseException("Expected SPARQL Results JSON document to start with an Object");
+		}
+
+		boolean varsFound = false;
+		while (!inBindings) {
+			JsonToken token = jp.nextToken();
+			if (token == null || token == JsonToken.END_OBJECT) {
+				return;
+			}
+
+			String field = jp.getCurrentName();
+			if (HEAD.equals(field)) {
+				readHeadObject();
+				varsFound = true;
+			} else if (RESULTS.equals(field)) {
+				readResults(varsFound);
+			} else if (BOOLEAN.equals(field)) {
+				throw parseException(
+						"Found boolean results when attempting to parse SPARQL Results JSON to tuple results");
+			} else {
+				// skip unknown fields, including composite values
+				jp.nextToken();
+				jp.skipChildren();
+			}
+		}
+	}
+
+	private void readHeadObject() throws IOException {
+		if (jp.nextToken() != JsonToken.START_OBJECT) {
+			throw parseException("Did not find object under " + HEAD + " field");
+		}
+		while (jp.nextToken() != JsonToken.END_OBJECT) {
+			String field = jp.getCurrentName();
+			if (VARS.equals(field)) {
+				if (jp.nextToken() != JsonToken.START_ARRAY) {
+					throw parseException("Expected variable labels to be an array");
+				}
+				while (jp.nextToken() != JsonToken.END_ARRAY) {
+					bindingNames.add(jp.getText());
+				}
+			} else if (LINK.equals(field)) {
+				if (jp.nextToken() != JsonToken.START_ARRAY) {
+					throw parseException("Expected links to be an array");
+				}
+				jp.skipChildren();
+			} else {
+				throw parseException("Found unexpected object in head field: " + field);
+			}
+		}
+	}
+
+	/**
+	 * Reads the results object up to the bindings array. If the variables have not been read yet, all solutions are
+	 * buffered and the rest of the results object is read.
+	 */
+	private void readResults(boolean varsFound) throws IOException {
+		if (jp.nextToken() != JsonToken.START_OBJECT) {
+			throw parseException("Found unexpected token in results object: " + jp.getCurrentName());
+		}
+		while (jp.nextToken() != JsonToken.END_OBJECT) {
+			if (BINDINGS.equals(jp.getCurrentName())) {
+				if (jp.nextToken() != JsonToken.START_ARRAY) {
+					throw parseException("Found unexpected token in bindings object");
+				}
+				if (varsFound) {
+					inBindings = true;
+					return;
+				}
+				BindingSet next;
+				while ((next = readSolution()) != null) {
+					buffered.add(next);
+				}
+			} else {
+				// the non-standard distinct and ordered fields
+				jp.nextToken();
+				jp.skipChildren();
+			}
+		}
+	}
+
+	/**
+	 * @return the next solution in the bindings array, or null at the end of the array
+	 */
+	private BindingSet readSolution() throws IOException {
+		JsonToken token = jp.nextToken();
+		if (token == JsonToken.END_ARRAY) {
+			return null;
+		}
+		if (token != JsonToken.START_OBJECT) {
+			throw parseException("Did not find object in bindings array: " + jp.getCurrentName());
+		}
+
+		MapBindingSet bindingSet = new MapBindingSet(bindingNames.size());
+		while (jp.nextToken() != JsonToken.END_OBJECT) {
+			if (jp.getCurrentToken() != JsonToken.FIELD_NAME) {
+				throw parseException("Did not find binding name");
+			}
+			String name = jp.getCurrentName();
+			Value value = parser.parseValue(jp, name);
+			if (decodeRDFStar) {
+				value = RDFStarUtil.fromRDFEncodedValue(value);
+			}
+			bindingSet.addBinding(name, value);
+		}
+		return bindingSet;
+	}
+
+	private QueryResultParseException parseException(String message) {
+		return new QueryResultParseException(message, jp.getCurrentLocation().getLineNr(),
+				jp.getCurrentLocation().getColumnNr());
+	}
+}
@@ -25,12 +25,14 @@ import org.eclipse.rdf4j.model.Triple;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.query.QueryResultHandlerException;
+import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.query.TupleQueryResultHandler;
 import org.eclipse.rdf4j.query.TupleQueryResultHandlerException;
+import org.eclipse.rdf4j.query.impl.IteratingTupleQueryResult;
+import org.eclipse.rdf4j.query.resultio.PullTupleQueryResultParser;
 import org.eclipse.rdf4j.query.resultio.QueryResultFormat;
 import org.eclipse.rdf4j.query.resultio.QueryResultParseException;
 import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
-import org.eclipse.rdf4j.query.resultio.TupleQueryResultParser;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
@@ -41,7 +43,7 @@ import com.fasterxml.jackson.core.JsonToken;
  * @see <a href="http://www.w3.org/TR/sparql11-results-json/">SPARQL 1.1 Query Results JSON Format</a>
  * @author Peter Ansell
  */
-public class SPARQLResultsJSONParser extends AbstractSPARQLJSONParser implements TupleQueryResultParser {
+public class SPARQLResultsJSONParser extends AbstractSPARQLJSONParser implements PullTupleQueryResultParser {
 
 	/**
 	 * Default constructor.
@@ -87,6 +89,12 @@ public class SPARQLResultsJSONParser extends AbstractSPARQLJSONParser implements
 		}
 	}
 
+	@Override
+	public TupleQueryResult pullQueryResult(InputStream in) throws IOException, QueryResultParseException {
+		SPARQLResultsJSONIteration solutions = new SPARQLResultsJSONIteration(this, in);
+		return new IteratingTupleQueryResult(solutions.getBindingNames(), solutions);
+	}
+
 	@Override
 	protected Triple parseTripleValue(JsonParser jp, String fieldName) throws IOException {
 		Value subject = null, predicate = null, object = null;
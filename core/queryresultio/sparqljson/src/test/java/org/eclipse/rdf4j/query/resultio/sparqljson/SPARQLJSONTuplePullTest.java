@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.sparqljson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.query.TupleQueryResultHandlerException;
+import org.eclipse.rdf4j.query.resultio.AbstractQueryResultIOTupleTest;
+import org.eclipse.rdf4j.query.resultio.BooleanQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.QueryResultParseException;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.UnsupportedQueryResultFormatException;
+import org.junit.Test;
+
+/**
+ * Tests parsing of SPARQL/JSON tuple results on demand, using {@link SPARQLResultsJSONParser#pullQueryResult}.
+ */
+public class SPARQLJSONTuplePullTest extends AbstractQueryResultIOTupleTest {
+
+	@Override
+	protected String getFileName() {
+		return "test.srj";
+	}
+
+	@Override
+	protected TupleQueryResultFormat getTupleFormat() {
+		return TupleQueryResultFormat.JSON;
+	}
+
+	@Override
+	protected BooleanQueryResultFormat getMatchingBooleanFormatOrNull() {
+		return BooleanQueryResultFormat.JSON;
+	}
+
+	@Override
+	protected TupleQueryResult parseTupleInternal(TupleQueryResultFormat format, InputStream in) throws IOException,
+			QueryResultParseException, TupleQueryResultHandlerException, UnsupportedQueryResultFormatException {
+		return new SPARQLResultsJSONParser(SimpleValueFactory.getInstance()).pullQueryResult(in);
+	}
+
+	@Test
+	public void testBindings1() throws Exception {
+		InputStream stream = this.getClass().getResourceAsStream("/sparqljson/bindings1.srj");
+		assertNotNull("Could not find test resource", stream);
+
+		try (TupleQueryResult result = new SPARQLResultsJSONParser().pullQueryResult(stream)) {
+			assertEquals(Arrays.asList("book", "title"), result.getBindingNames());
+
+			int count = 0;
+			while (result.hasNext()) {
+				BindingSet bindings = result.next();
+				assertTrue(bindings.getValue("book").stringValue().startsWith("http://example.org/book/book"));
+				assertTrue(bindings.getValue("title").stringValue().startsWith("Harry Potter"));
+				count++;
+			}
+			assertEquals(7, count);
+		}
+	}
+
+	@Test
+	public void testResultsBeforeHead() throws Exception {
+		String json = "{\"results\": {\"bindings\": [{\"a\": {\"type\": \"literal\", \"value\": \"1\"}},"
+				+ " {\"a\": {\"type\": \"literal\", \"value\": \"2\"}}]}, \"head\": {\"vars\": [\"a\"]}}";
+
+		try (TupleQueryResult result = pull(json)) {
+			assertEquals(Arrays.asList("a"), result.getBindingNames());
+			assertEquals("1", result.next().getValue("a").stringValue());
+			assertEquals("2", result.next().getValue("a").stringValue());
+			assertFalse(result.hasNext());
+		}
+	}
+
+	@Test
+	public void testRepeatedDatatypesAreShared() throws Exception {
+		String json = "{\"head\": {\"vars\": [\"a\"]}, \"results\": {\"bindings\": ["
+				+ "{\"a\": {\"type\": \"literal\", \"value\": \"1\", \"datatype\": \"http://example.org/type\"}},"
+				+ "{\"a\": {\"type\": \"literal\", \"value\": \"2\", \"datatype\": \"http://example.org/type\"}}]}}";
+
+		try (TupleQueryResult result = pull(json)) {
+			Literal first = (Literal) result.next().getValue("a");
+			Literal second = (Literal) result.next().getValue("a");
+			assertEquals("http://example.org/type", first.getDatatype().stringValue());
+			assertSame(first.getDatatype(), second.getDatatype());
+		}
+	}
+
+	@Test(expected = QueryResultParseException.class)
+	public void testBooleanResult() throws Exception {
+		pull("{\"head\": {}, \"boolean\": true}");
+	}
+
+	private TupleQueryResult pull(String json) throws IOException {
+		return new SPARQLResultsJSONParser()
+				.pullQueryResult(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+}
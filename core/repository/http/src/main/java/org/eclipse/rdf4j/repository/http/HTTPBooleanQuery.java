@@ -8,6 +8,7 @@
 package org.eclipse.rdf4j.repository.http;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.rdf4j.http.client.SPARQLProtocolSession;
 import org.eclipse.rdf4j.http.client.query.AbstractHTTPQuery;
@@ -48,6 +49,26 @@ public class HTTPBooleanQuery extends AbstractHTTPQuery implements BooleanQuery
 		}
 	}
 
+	/**
+	 * Evaluates the query without blocking the calling thread. See {@link SPARQLProtocolSession#sendBooleanQueryAsync}.
+	 *
+	 * @return a future that completes with the query result, or fails with a {@link QueryEvaluationException}
+	 */
+	public CompletableFuture<Boolean> evaluateAsync() {
+		SPARQLProtocolSession client = getHttpClient();
+		try {
+			conn.flushTransactionState(Protocol.Action.QUERY);
+		} catch (RepositoryException e) {
+			CompletableFuture<Boolean> failed = new CompletableFuture<>();
+			failed.completeExceptionally(new HTTPQueryEvaluationException(e.getMessage(), e));
+			return failed;
+		}
+		return mapFailures(
+				client.sendBooleanQueryAsync(queryLanguage, queryString, baseURI, dataset, getIncludeInferred(),
+						getMaxExecutionTime(), getBindingsArray()),
+				e -> new HTTPQueryEvaluationException(e.getMessage(), e));
+	}
+
 	@Override
 	public Explanation explain(Explanation.Level level) {
 		throw new UnsupportedOperationException();
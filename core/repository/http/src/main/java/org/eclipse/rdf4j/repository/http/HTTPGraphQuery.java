@@ -8,6 +8,7 @@
 package org.eclipse.rdf4j.repository.http;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.rdf4j.http.client.SPARQLProtocolSession;
 import org.eclipse.rdf4j.http.client.query.AbstractHTTPQuery;
@@ -52,6 +53,26 @@ public class HTTPGraphQuery extends AbstractHTTPQuery implements GraphQuery {
 		}
 	}
 
+	/**
+	 * Evaluates the query without blocking the calling thread. See {@link SPARQLProtocolSession#sendGraphQueryAsync}.
+	 *
+	 * @return a future that completes with the query result, or fails with a {@link QueryEvaluationException}
+	 */
+	public CompletableFuture<GraphQueryResult> evaluateAsync() {
+		SPARQLProtocolSession client = getHttpClient();
+		try {
+			conn.flushTransactionState(Protocol.Action.QUERY);
+		} catch (RepositoryException e) {
+			CompletableFuture<GraphQueryResult> failed = new CompletableFuture<>();
+			failed.completeExceptionally(new HTTPQueryEvaluationException(e.getMessage(), e));
+			return failed;
+		}
+		return mapFailures(
+				client.sendGraphQueryAsync(queryLanguage, queryString, baseURI, dataset, getIncludeInferred(),
+						getMaxExecutionTime(), getBindingsArray()),
+				e -> new HTTPQueryEvaluationException(e.getMessage(), e));
+	}
+
 	/*
 	 * public GraphQueryResult evaluate() throws QueryEvaluationException { HTTPClient client =
 	 * httpCon.getRepository().getHTTPClient(); try { return client.sendGraphQuery(queryLanguage, queryString, baseURI,
@@ -11,6 +11,9 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -81,6 +84,11 @@ public class HTTPRepository extends AbstractRepository implements HttpClientDepe
 
 	private volatile Boolean compatibleMode = null;
 
+	/**
+	 * Sends the batches of statements that connections add outside of a transaction, created on first use.
+	 */
+	private ExecutorService autoBatchExecutor;
+
 	private volatile Map<String, String> additionalHttpHeaders = Collections.emptyMap();
 
 	private HTTPRepository() {
@@ -302,6 +310,12 @@ public class HTTPRepository extends AbstractRepository implements HttpClientDepe
 
 	@Override
 	protected void shutDownInternal() throws RepositoryException {
+		synchronized (this) {
+			if (autoBatchExecutor != null) {
+				autoBatchExecutor.shutdown();
+				autoBatchExecutor = null;
+			}
+		}
 		try {
 			SharedHttpClientSessionManager toCloseDependentClient = dependentSessionManager;
 			dependentSessionManager = null;
@@ -315,6 +329,22 @@ public class HTTPRepository extends AbstractRepository implements HttpClientDepe
 		}
 	}
 
+	/**
+	 * @return the executor that connections use to send batches of statements in the background
+	 */
+	synchronized ExecutorService getAutoBatchExecutor() {
+		if (autoBatchExecutor == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			// the number of threads is bounded by the batches each connection allows in flight
+			autoBatchExecutor = Executors.newCachedThreadPool(runnable -> {
+				Thread thread = new Thread(runnable, "rdf4j-HTTPRepository-batch-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return autoBatchExecutor;
+	}
+
 	/**
 	 * Creates a new {@link RDF4JProtocolSession} object.
 	 *
@@ -18,11 +18,17 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.http.client.HttpClient;
 import org.eclipse.rdf4j.OpenRDFUtil;
@@ -104,6 +110,21 @@ class HTTPRepositoryConnection extends AbstractRepositoryConnection implements H
 
 	private Model toRemove;
 
+	/**
+	 * Statements added outside of a transaction that have not been sent yet, see
+	 * {@link HTTPRepositorySettings#AUTO_BATCH_SIZE}.
+	 */
+	private Model autoBatch;
+
+	private long autoBatchBytes;
+
+	private final Deque<Future<?>> autoBatchesInFlight = new ArrayDeque<>();
+
+	/**
+	 * Sessions used to send batches in the background, a session is not shared by concurrent requests.
+	 */
+	private final Queue<RDF4JProtocolSession> autoBatchSessions = new ConcurrentLinkedQueue<>();
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -150,6 +171,7 @@ class HTTPRepositoryConnection extends AbstractRepositoryConnection implements H
 	public void begin() throws RepositoryException {
 		verifyIsOpen();
 		verifyNotTxnActive("Connection already has an active transaction");
+		flushAutoBatch();
 
 		if (this.getRepository().useCompatibleMode()) {
 			active = true;
@@ -170,6 +192,7 @@ class HTTPRepositoryConnection extends AbstractRepositoryConnection implements H
 	public void begin(TransactionSetting... settings) {
 		verifyIsOpen();
 		verifyNotTxnActive("Connection already has an active transaction");
+		flushAutoBatch();
 
 		if (this.getRepository().useCompatibleMode()) {
 			active = true;
@@ -240,6 +263,7 @@ class HTTPRepositoryConnection extends AbstractRepositoryConnection implements H
 
 	@Override
 	public RepositoryResult<Resource> getContextIDs() throws RepositoryException {
+		flushAutoBatch();
 		try {
 			List<Resource> contextList = new ArrayList<>();
 
@@ -363,6 +387,7 @@ class HTTPRepositoryConnection extends AbstractRepositoryConnection implements H
 	@Override
 	public void close() throws RepositoryException {
 		try {
+			flushAutoBatch();
 			if (isActive()) {
 				logger.warn("Rolling back transaction due to connection close", new Throwable());
 				rollback();
@@ -370,6 +395,10 @@ class HTTPRepositoryConnection extends AbstractRepositoryConnection implements H
 		} finally {
 			super.close();
 			client.close();
+			RDF4JProtocolSession session;
+			while ((session = autoBatchSessions.poll()) != null) {
+				session.close();
+			}
 		}
 	}
 
@@ -501,6 +530,15 @@ class HTTPRepositoryConnection extends AbstractRepositoryConnection implements H
 			// operation is not part of a transaction - just send directly
 			OpenRDFUtil.verifyContextNotNull(contexts);
 
+			if (isAutoBatching()) {
+				if (contexts.length == 0) {
+					addToAutoBatch(st.getSubject(), st.getPredicate(), st.getObject(), st.getContext());
+				} else {
+					addToAutoBatch(st.getSubject(), st.getPredicate(), st.getObject(), contexts);
+				}
+				return;
+			}
+
 			final Model m = new LinkedHashModel();
 
 			if (contexts.length == 0) {
@@ -523,6 +561,10 @@ class HTTPRepositoryConnection extends AbstractRepositoryConnection implements H
 					new Object[] { subject, predicate, object, contexts });
 			// operation is not part of a transaction - just send directly
 			OpenRDFUtil.verifyContextNotNull(contexts);
+			if (isAutoBatching()) {
+				addToAutoBatch(subject, predicate, object, contexts);
+				return;
+			}
 			final Model m = new LinkedHashModel();
 			m.add(subject, predicate, object, contexts);
 			addModel(m);
@@ -574,6 +616,130 @@ class HTTPRepositoryConnection extends AbstractRepositoryConnection implements H
 		}
 	}
 
+	private boolean isAutoBatching() {
+		return getParserConfig().get(HTTPRepositorySettings.AUTO_BATCH_SIZE) > 0;
+	}
+
+	private void addToAutoBatch(Resource subject, IRI predicate, Value object, Resource... contexts)
+			throws RepositoryException {
+		if (autoBatch == null) {
+			autoBatch = new LinkedHashModel();
+		}
+		if (autoBatch.add(subject, predicate, object, contexts)) {
+			// the statement is stored once per context
+			long size = subject.stringValue().length() + predicate.stringValue().length()
+					+ object.stringValue().length();
+			autoBatchBytes += size * Math.max(1, contexts.length);
+			for (Resource context : contexts) {
+				if (context != null) {
+					autoBatchBytes += context.stringValue().length();
+				}
+			}
+		}
+
+		if (autoBatch.size() >= getParserConfig().get(HTTPRepositorySettings.AUTO_BATCH_SIZE)
+				|| autoBatchBytes >= getParserConfig().get(HTTPRepositorySettings.AUTO_BATCH_MAX_BYTES)) {
+			sendAutoBatch();
+		}
+	}
+
+	/**
+	 * Sends the buffered statements in the background, after waiting for a free request slot. If a batch that was sent
+	 * earlier failed, its exception is thrown and the buffered statements are kept for the next attempt.
+	 */
+	private void sendAutoBatch() throws RepositoryException {
+		int maxInFlight = Math.max(1, getParserConfig().get(HTTPRepositorySettings.AUTO_BATCH_MAX_IN_FLIGHT));
+		RepositoryException failure = awaitAutoBatches(maxInFlight - 1);
+		if (failure != null) {
+			throw failure;
+		}
+
+		Model batch = autoBatch;
+		autoBatch = null;
+		autoBatchBytes = 0;
+
+		byte[] data;
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			Rio.write(batch, out, RDFFormat.BINARY);
+			data = out.toByteArray();
+		} catch (RDFHandlerException e) {
+			throw new RepositoryException("error while writing statement", e);
+		}
+
+		autoBatchesInFlight.addLast(getRepository().getAutoBatchExecutor().submit(() -> {
+			RDF4JProtocolSession session = autoBatchSessions.poll();
+			if (session == null) {
+				session = getRepository().createHTTPClient();
+			}
+			try {
+				session.addData(new ByteArrayInputStream(data), null, RDFFormat.BINARY);
+			} finally {
+				autoBatchSessions.add(session);
+			}
+			return null;
+		}));
+	}
+
+	/**
+	 * Waits for the oldest batches until at most the given number is in flight.
+	 *
+	 * @return the exception of the first batch that failed, with the exceptions of later failed batches suppressed, or
+	 *         null if all batches succeeded
+	 */
+	private RepositoryException awaitAutoBatches(int maxInFlight) {
+		RepositoryException failure = null;
+		while (autoBatchesInFlight.size() > maxInFlight) {
+			Future<?> batch = autoBatchesInFlight.removeFirst();
+			RepositoryException exception = null;
+			try {
+				batch.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				batch.cancel(true);
+				exception = new RepositoryException(e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				exception = cause instanceof RepositoryException ? (RepositoryException) cause
+						: new RepositoryException(cause);
+			}
+			if (exception != null) {
+				if (failure == null) {
+					failure = exception;
+				} else {
+					failure.addSuppressed(exception);
+				}
+			}
+		}
+		return failure;
+	}
+
+	/**
+	 * Sends all buffered statements added outside of a transaction and waits for all batches to complete.
+	 *
+	 * @throws RepositoryException if any of the batches failed
+	 */
+	private void flushAutoBatch() throws RepositoryException {
+		RepositoryException failure = awaitAutoBatches(0);
+		if (autoBatch != null) {
+			Model batch = autoBatch;
+			autoBatch = null;
+			autoBatchBytes = 0;
+			try {
+				addModel(batch);
+			} catch (RepositoryException e) {
+				if (failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
 	private void removeModel(Model m) throws RepositoryException {
 		RDFFormat format = RDFFormat.BINARY;
 		try {
@@ -590,6 +756,8 @@ class HTTPRepositoryConnection extends AbstractRepositoryConnection implements H
 	}
 
 	protected void flushTransactionState(Action action) throws RepositoryException {
+		flushAutoBatch();
+
 		if (this.getRepository().useCompatibleMode()) {
 			// no need to flush, using old-style transactions.
 			return;
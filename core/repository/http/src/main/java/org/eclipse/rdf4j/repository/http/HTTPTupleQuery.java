@@ -8,6 +8,7 @@
 package org.eclipse.rdf4j.repository.http;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.rdf4j.http.client.SPARQLProtocolSession;
 import org.eclipse.rdf4j.http.client.query.AbstractHTTPQuery;
@@ -51,6 +52,26 @@ public class HTTPTupleQuery extends AbstractHTTPQuery implements TupleQuery {
 		}
 	}
 
+	/**
+	 * Evaluates the query without blocking the calling thread. See {@link SPARQLProtocolSession#sendTupleQueryAsync}.
+	 *
+	 * @return a future that completes with the query result, or fails with a {@link QueryEvaluationException}
+	 */
+	public CompletableFuture<TupleQueryResult> evaluateAsync() {
+		SPARQLProtocolSession client = getHttpClient();
+		try {
+			conn.flushTransactionState(Protocol.Action.QUERY);
+		} catch (RepositoryException e) {
+			CompletableFuture<TupleQueryResult> failed = new CompletableFuture<>();
+			failed.completeExceptionally(new HTTPQueryEvaluationException(e.getMessage(), e));
+			return failed;
+		}
+		return mapFailures(
+				client.sendTupleQueryAsync(queryLanguage, queryString, baseURI, dataset, getIncludeInferred(),
+						getMaxExecutionTime(), getBindingsArray()),
+				e -> new HTTPQueryEvaluationException(e.getMessage(), e));
+	}
+
 	@Override
 	public void evaluate(TupleQueryResultHandler handler)
 			throws QueryEvaluationException, TupleQueryResultHandlerException {
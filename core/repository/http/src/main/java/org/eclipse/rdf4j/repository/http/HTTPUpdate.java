@@ -43,6 +43,7 @@ public class HTTPUpdate extends AbstractHTTPUpdate {
 					// execute update immediately
 					SPARQLProtocolSession client = getHttpClient();
 					try {
+						httpCon.flushTransactionState(Action.UPDATE);
 						client.sendUpdate(getQueryLanguage(), getQueryString(), getBaseURI(), dataset, includeInferred,
 								getMaxExecutionTime(), getBindingsArray());
 					} catch (UnauthorizedException | QueryInterruptedException | MalformedQueryException
@@ -31,4 +31,35 @@ public class HTTPRepositorySettings {
 	public static final RioSetting<Integer> MAX_STATEMENT_BUFFER_SIZE = new RioSettingImpl<>(
 			"org.eclipse.rdf4j.http.maxstatementbuffersize", "Maximum number of statement buffered in memory", 200000);
 
+	/**
+	 * Maximum number of statements that statements added outside of a transaction are batched into before they are sent
+	 * to the remote repository.
+	 * <p>
+	 * By default this is 0 and every statement added outside of a transaction is sent in its own request. When enabled,
+	 * batches are sent in the background. Buffered statements are also sent, and in-flight batches are waited for,
+	 * before any read, update, transaction start or close of the connection. A batch that failed is reported by the
+	 * first of these calls, or by an add that waits for a free request slot, in the order the batches were sent.
+	 */
+	public static final RioSetting<Integer> AUTO_BATCH_SIZE = new RioSettingImpl<>(
+			"org.eclipse.rdf4j.http.autobatchsize", "Number of statements batched outside of a transaction", 0);
+
+	/**
+	 * Approximate maximum size in bytes of a batch of statements added outside of a transaction, see
+	 * {@link #AUTO_BATCH_SIZE}.
+	 * <p>
+	 * Defaults to 4 MiB.
+	 */
+	public static final RioSetting<Long> AUTO_BATCH_MAX_BYTES = new RioSettingImpl<>(
+			"org.eclipse.rdf4j.http.autobatchmaxbytes", "Approximate maximum size in bytes of a batch",
+			4L * 1024 * 1024);
+
+	/**
+	 * Maximum number of batches of statements added outside of a transaction that are sent concurrently, see
+	 * {@link #AUTO_BATCH_SIZE}. Adding statements blocks while this many batches are in flight.
+	 * <p>
+	 * Defaults to 2.
+	 */
+	public static final RioSetting<Integer> AUTO_BATCH_MAX_IN_FLIGHT = new RioSettingImpl<>(
+			"org.eclipse.rdf4j.http.autobatchmaxinflight", "Maximum number of batches sent concurrently", 2);
+
 }
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.repository.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.rdf4j.IsolationLevel;
+import org.eclipse.rdf4j.http.client.RDF4JProtocolSession;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.repository.http.helpers.HTTPRepositorySettings;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+
+public class HTTPRepositoryConnectionTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final IRI PREDICATE = vf.createIRI("urn:p");
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	/**
+	 * The batches received by the server, in the order they were received.
+	 */
+	private final List<Model> batches = Collections.synchronizedList(new ArrayList<>());
+
+	private RDF4JProtocolSession client;
+
+	private RDF4JProtocolSession batchClient;
+
+	private HTTPRepository repository;
+
+	private HTTPRepositoryConnection connection;
+
+	@Before
+	public void setUp() throws Exception {
+		client = mock(RDF4JProtocolSession.class);
+		batchClient = mock(RDF4JProtocolSession.class);
+		recordBatches(client);
+		recordBatches(batchClient);
+
+		repository = mock(HTTPRepository.class);
+		when(repository.createHTTPClient()).thenReturn(batchClient);
+		when(repository.getAutoBatchExecutor()).thenReturn(executor);
+
+		connection = new HTTPRepositoryConnection(repository, client);
+		connection.getParserConfig().set(HTTPRepositorySettings.AUTO_BATCH_SIZE, 3);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testBatchIsSentWhenFull() throws Exception {
+		connection.add(statement(1));
+		connection.add(statement(2));
+		verify(repository, never()).getAutoBatchExecutor();
+
+		connection.add(statement(3));
+		connection.size();
+
+		assertEquals(1, batches.size());
+		assertEquals(3, batches.get(0).size());
+		verify(client, never()).addData(any(), any(), any());
+	}
+
+	@Test
+	public void testBatchIsSentWhenTooLarge() throws Exception {
+		IRI subject = vf.createIRI("urn:s");
+		IRI object = vf.createIRI("urn:o");
+		IRI context1 = vf.createIRI("urn:context:1");
+		IRI context2 = vf.createIRI("urn:context:2");
+		// the statement is stored once in each context
+		long size = 2 * (subject.stringValue().length() + PREDICATE.stringValue().length()
+				+ object.stringValue().length()) + context1.stringValue().length() + context2.stringValue().length();
+
+		connection.getParserConfig().set(HTTPRepositorySettings.AUTO_BATCH_SIZE, 100);
+		connection.getParserConfig().set(HTTPRepositorySettings.AUTO_BATCH_MAX_BYTES, size + 1);
+		connection.add(subject, PREDICATE, object, context1, context2);
+		verify(repository, never()).getAutoBatchExecutor();
+
+		connection.add(subject, PREDICATE, vf.createIRI("urn:x"));
+		connection.size();
+
+		assertEquals(1, batches.size());
+		assertEquals(3, batches.get(0).size());
+		verify(client, never()).addData(any(), any(), any());
+	}
+
+	@Test
+	public void testBatchIsSentBeforeQuery() throws Exception {
+		connection.add(statement(1));
+		connection.prepareTupleQuery(QueryLanguage.SPARQL, "SELECT * WHERE { ?s ?p ?o }").evaluate();
+
+		InOrder order = inOrder(client);
+		order.verify(client).addData(any(), isNull(), any());
+		order.verify(client).sendTupleQuery(any(), any(), any(), any(), anyBoolean(), anyInt(), any());
+		assertEquals(1, batches.size());
+	}
+
+	@Test
+	public void testBatchIsSentBeforeRemove() throws Exception {
+		connection.add(statement(1));
+		connection.remove(statement(1));
+
+		InOrder order = inOrder(client);
+		order.verify(client).addData(any(), isNull(), any());
+		order.verify(client).removeData(any(), isNull(), any());
+		assertEquals(1, batches.size());
+	}
+
+	@Test
+	public void testBatchIsSentBeforeBegin() throws Exception {
+		connection.add(statement(1));
+		connection.begin();
+
+		InOrder order = inOrder(client);
+		order.verify(client).addData(any(), isNull(), any());
+		order.verify(client).beginTransaction(ArgumentMatchers.<IsolationLevel>any());
+		assertEquals(1, batches.size());
+	}
+
+	@Test
+	public void testFailedBatchIsReported() throws Exception {
+		RepositoryException failure = new RepositoryException("batch failed");
+		doThrow(failure).when(batchClient).addData(any(), any(), any());
+
+		for (int i = 0; i < 3; i++) {
+			connection.add(statement(i));
+		}
+		try {
+			connection.begin();
+			fail("expected exception");
+		} catch (RepositoryException e) {
+			assertSame(failure, e);
+		}
+		verify(client, never()).beginTransaction(ArgumentMatchers.<IsolationLevel>any());
+
+		// the failure is only reported once
+		connection.begin();
+		verify(client).beginTransaction(ArgumentMatchers.<IsolationLevel>any());
+	}
+
+	private void recordBatches(RDF4JProtocolSession session) throws Exception {
+		doAnswer(invocation -> {
+			batches.add(Rio.parse((InputStream) invocation.getArgument(0), "", RDFFormat.BINARY));
+			return null;
+		}).when(session).addData(any(), isNull(), any());
+	}
+
+	private static Statement statement(int i) {
+		return vf.createStatement(vf.createIRI("urn:s" + i), PREDICATE, vf.createIRI("urn:o" + i));
+	}
+}
@@ -19,6 +19,7 @@ import org.eclipse.rdf4j.http.client.SessionManagerDependent;
 import org.eclipse.rdf4j.http.client.SharedHttpClientSessionManager;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.RepositoryException;
 import org.eclipse.rdf4j.repository.base.AbstractRepository;
@@ -36,6 +37,14 @@ public class SPARQLRepository extends AbstractRepository implements HttpClientDe
 	 * @see #enableQuadMode(boolean)
 	 */
 	private boolean quadMode = false;
+
+	/**
+	 * Flag indicating if tuple query results are parsed by the consuming thread.
+	 *
+	 * @see #enablePullTupleQueryResults(boolean)
+	 */
+	private boolean pullTupleQueryResults = false;
+
 	/**
 	 * The HTTP client that takes care of the client-server communication.
 	 */
@@ -140,6 +149,11 @@ public class SPARQLRepository extends AbstractRepository implements HttpClientDe
 		if (username != null) {
 			httpClient.setUsernameAndPassword(username, password);
 		}
+		if (pullTupleQueryResults) {
+			httpClient.setPullTupleQueryResults(true);
+			// the SPARQL/JSON parser supports reading solutions on demand
+			httpClient.setPreferredTupleQueryResultFormat(TupleQueryResultFormat.JSON);
+		}
 		return httpClient;
 	}
 
@@ -244,4 +258,18 @@ public class SPARQLRepository extends AbstractRepository implements HttpClientDe
 	public void enableQuadMode(boolean flag) {
 		this.quadMode = flag;
 	}
+
+	/**
+	 * Parse tuple query results in the thread that consumes them, rather than in a background thread that hands each
+	 * solution over to the consumer. This avoids a thread and a queue per result, which makes many small queries
+	 * cheaper. SPARQL/JSON is requested as the preferred result format, as its parser supports this mode.
+	 * <p>
+	 * Note: the setting is only applied in newly created {@link SPARQLConnection}s.
+	 *
+	 * @param flag flag to enable or disable pull-based parsing of tuple query results
+	 * @see SPARQLProtocolSession#setPullTupleQueryResults(boolean)
+	 */
+	public void enablePullTupleQueryResults(boolean flag) {
+		this.pullTupleQueryResults = flag;
+	}
 }
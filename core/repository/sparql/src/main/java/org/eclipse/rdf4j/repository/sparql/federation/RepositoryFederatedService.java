@@ -7,17 +7,41 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.repository.sparql.federation;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.EmptyIteration;
 import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
 import org.eclipse.rdf4j.common.iteration.SilentIteration;
+import org.eclipse.rdf4j.common.iteration.UnionIteration;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.query.Binding;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.BooleanQuery;
@@ -34,6 +58,7 @@ import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.RepositoryException;
 import org.eclipse.rdf4j.repository.sparql.query.InsertBindingSetCursor;
 import org.eclipse.rdf4j.repository.sparql.query.QueryStringUtil;
+import org.eclipse.rdf4j.repository.sparql.query.SPARQLQueryBindingSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,11 +71,21 @@ public class RepositoryFederatedService implements FederatedService {
 
 	private static final String ROW_IDX_VAR = "__rowIdx";
 
+	/**
+	 * Identifies the group of input bindings that a result of a block belongs to, see {@link BindingGroups}. It is
+	 * never sent to the endpoint.
+	 */
+	private static final String GROUP_IDX_VAR = "__groupIdx";
+
 	final static Logger logger = LoggerFactory.getLogger(RepositoryFederatedService.class);
 
 	/**
 	 * A convenience iteration for SERVICE expression which evaluates intermediate results in batches and manages all
-	 * results. Uses {@link JoinExecutorBase} facilities to guarantee correct access to the final results
+	 * results. Uses {@link JoinExecutorBase} facilities to guarantee correct access to the final results.
+	 * <p>
+	 * Up to {@link #getMaxParallelRequests()} blocks are evaluated at the same time by the worker pool of the service.
+	 * Their results are added in the order of the blocks if {@link #isPreserveOrder()} is set, and in the order in
+	 * which the requests complete otherwise.
 	 *
 	 * @author as
 	 */
@@ -74,18 +109,117 @@ public class RepositoryFederatedService implements FederatedService {
 
 		@Override
 		protected void handleBindings() throws Exception {
-			while (!isClosed() && leftIter.hasNext()) {
+			ResultCache cache = maxCachedResults > 0 ? new ResultCache(maxCachedResults) : null;
 
-				ArrayList<BindingSet> blockBindings = new ArrayList<>(blockSize);
-				for (int i = 0; i < blockSize; i++) {
-					if (!leftIter.hasNext()) {
-						break;
+			// a shared connection is not used by several threads
+			int parallelism = useFreshConnection ? maxParallelRequests : 1;
+			if (parallelism <= 1) {
+				while (!isClosed() && leftIter.hasNext()) {
+					addResult(evaluateBlock(service, nextBlock(), cache));
+				}
+				return;
+			}
+
+			ExecutorService executor = getExecutor();
+			// the requests in the order they complete, unless the order of the results is preserved
+			BlockingQueue<Future<CloseableIteration<BindingSet, QueryEvaluationException>>> completed = preserveOrder
+					? null
+					: new LinkedBlockingQueue<>();
+			Deque<Future<CloseableIteration<BindingSet, QueryEvaluationException>>> pending = new ArrayDeque<>();
+			try {
+				while (!isClosed() && leftIter.hasNext()) {
+					List<BindingSet> block = nextBlock();
+					BlockRequest request = new BlockRequest(() -> evaluateBlock(service, block, cache), completed);
+					pending.add(request);
+					executor.execute(request);
+					if (pending.size() >= parallelism) {
+						addResult(nextResult(pending, completed));
 					}
-					blockBindings.add(leftIter.next());
 				}
-				CloseableIteration<BindingSet, QueryEvaluationException> materializedIter = new CollectionIteration<>(
-						blockBindings);
-				addResult(evaluateInternal(service, materializedIter, service.getBaseURI()));
+				while (!pending.isEmpty()) {
+					addResult(nextResult(pending, completed));
+				}
+			} finally {
+				// only left after a failure: release the results of the other requests. A request that is still
+				// running closes its own result once it sees that it was cancelled.
+				for (Future<CloseableIteration<BindingSet, QueryEvaluationException>> future : pending) {
+					if (!future.cancel(false)) {
+						try {
+							Iterations.closeCloseable(future.get());
+						} catch (Exception e) {
+							logger.debug("Failed to close result of SERVICE request", e);
+						}
+					}
+				}
+			}
+		}
+
+		private List<BindingSet> nextBlock() throws QueryEvaluationException {
+			List<BindingSet> blockBindings = new ArrayList<>(blockSize);
+			for (int i = 0; i < blockSize; i++) {
+				if (!leftIter.hasNext()) {
+					break;
+				}
+				blockBindings.add(leftIter.next());
+			}
+			return blockBindings;
+		}
+
+		private CloseableIteration<BindingSet, QueryEvaluationException> nextResult(
+				Deque<Future<CloseableIteration<BindingSet, QueryEvaluationException>>> pending,
+				BlockingQueue<Future<CloseableIteration<BindingSet, QueryEvaluationException>>> completed)
+				throws Exception {
+			Future<CloseableIteration<BindingSet, QueryEvaluationException>> future;
+			if (completed == null) {
+				future = pending.peek();
+			} else {
+				future = completed.take();
+			}
+			try {
+				return future.get();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof Exception) {
+					throw (Exception) cause;
+				}
+				throw new QueryEvaluationException(cause);
+			} finally {
+				pending.remove(future);
+			}
+		}
+	}
+
+	/**
+	 * The request for a block of bindings that is sent by the executor. The result of a request that completes after it
+	 * was cancelled is closed, as nobody will consume it.
+	 */
+	private static class BlockRequest extends FutureTask<CloseableIteration<BindingSet, QueryEvaluationException>> {
+
+		private final BlockingQueue<Future<CloseableIteration<BindingSet, QueryEvaluationException>>> completed;
+
+		BlockRequest(Callable<CloseableIteration<BindingSet, QueryEvaluationException>> request,
+				BlockingQueue<Future<CloseableIteration<BindingSet, QueryEvaluationException>>> completed) {
+			super(request);
+			this.completed = completed;
+		}
+
+		@Override
+		protected void set(CloseableIteration<BindingSet, QueryEvaluationException> result) {
+			super.set(result);
+			// the result is only discarded when the request was cancelled before it completed
+			if (isCancelled()) {
+				try {
+					Iterations.closeCloseable(result);
+				} catch (Exception e) {
+					logger.debug("Failed to close result of cancelled SERVICE request", e);
+				}
+			}
+		}
+
+		@Override
+		protected void done() {
+			if (completed != null) {
+				completed.add(this);
 			}
 		}
 	}
@@ -165,6 +299,188 @@ public class RepositoryFederatedService implements FederatedService {
 		}
 	}
 
+	/**
+	 * The input bindings of a block, grouped by their bindings for the variables of the SERVICE. Bindings in the same
+	 * group join with the same results, so each group is sent only once.
+	 */
+	private static class BindingGroups {
+
+		private final Map<BindingSet, List<BindingSet>> groups = new LinkedHashMap<>();
+
+		private final List<BindingSet> keys;
+
+		private BindingGroups(List<BindingSet> bindings, Set<String> serviceVars) {
+			for (BindingSet b : bindings) {
+				SPARQLQueryBindingSet key = new SPARQLQueryBindingSet(serviceVars.size());
+				for (Binding binding : b) {
+					if (serviceVars.contains(binding.getName())) {
+						key.addBinding(binding);
+					}
+				}
+				groups.computeIfAbsent(key, k -> new ArrayList<>(1)).add(b);
+			}
+			keys = new ArrayList<>(groups.keySet());
+		}
+
+		private int size() {
+			return keys.size();
+		}
+
+		private BindingSet key(int group) {
+			return keys.get(group);
+		}
+
+		private List<BindingSet> inputs(int group) {
+			return groups.get(keys.get(group));
+		}
+
+		/**
+		 * @return the key with an additional binding that identifies the group, which is kept in the results of the key
+		 *         as the input bindings are inserted again through the {@link #ROW_IDX_VAR} of each row
+		 */
+		private static BindingSet tag(BindingSet bindings, int group) {
+			SPARQLQueryBindingSet tagged = new SPARQLQueryBindingSet(bindings.size() + 1);
+			tagged.addAll(bindings);
+			tagged.addBinding(GROUP_IDX_VAR, SimpleValueFactory.getInstance().createLiteral(group));
+			return tagged;
+		}
+
+		/**
+		 * @return the group of a tagged result, or -1 if it is not tagged
+		 */
+		private static int groupOf(BindingSet result) {
+			Value group = result.getValue(GROUP_IDX_VAR);
+			return group instanceof Literal ? ((Literal) group).intValue() : -1;
+		}
+
+		private static BindingSet untag(BindingSet result) {
+			SPARQLQueryBindingSet untagged = new SPARQLQueryBindingSet(result.size());
+			for (Binding b : result) {
+				if (!GROUP_IDX_VAR.equals(b.getName())) {
+					untagged.addBinding(b);
+				}
+			}
+			return untagged;
+		}
+	}
+
+	/**
+	 * The results of the requests sent for a single SERVICE evaluation, by the bindings of the group that they were
+	 * sent for (see {@link BindingGroups}). The total number of cached results is limited by the capacity.
+	 */
+	private static class ResultCache {
+
+		private final Map<BindingSet, List<BindingSet>> results = new ConcurrentHashMap<>();
+
+		private final AtomicInteger capacity;
+
+		private ResultCache(int capacity) {
+			this.capacity = new AtomicInteger(capacity);
+		}
+
+		private List<BindingSet> get(BindingSet key) {
+			return results.get(key);
+		}
+
+		/**
+		 * Reads the tagged results of a request for the given groups, and adds them to the cache if they fit. Results
+		 * are read when the request is sent rather than when they are consumed, as all blocks are sent before the first
+		 * result is consumed.
+		 *
+		 * @return an iteration over the tagged results
+		 */
+		private CloseableIteration<BindingSet, QueryEvaluationException> read(
+				CloseableIteration<BindingSet, QueryEvaluationException> iter, BindingGroups groups,
+				List<Integer> sent) throws QueryEvaluationException {
+			List<BindingSet> read = new ArrayList<>();
+			try {
+				while (iter.hasNext()) {
+					if (read.size() >= capacity.get()) {
+						// too many to cache, the remaining results are streamed
+						return new UnionIteration<>(new CollectionIteration<>(read), iter);
+					}
+					read.add(iter.next());
+				}
+			} catch (RuntimeException e) {
+				iter.close();
+				throw e;
+			}
+			iter.close();
+			add(read, groups, sent);
+			return new CollectionIteration<>(read);
+		}
+
+		private void add(List<BindingSet> read, BindingGroups groups, List<Integer> sent) {
+			if (capacity.addAndGet(-read.size()) < 0) {
+				capacity.addAndGet(read.size());
+				return;
+			}
+			Map<Integer, List<BindingSet>> byGroup = new HashMap<>();
+			for (Integer group : sent) {
+				byGroup.put(group, new ArrayList<>(1));
+			}
+			for (BindingSet result : read) {
+				List<BindingSet> groupResults = byGroup.get(BindingGroups.groupOf(result));
+				if (groupResults != null) {
+					groupResults.add(BindingGroups.untag(result));
+				}
+			}
+			for (Map.Entry<Integer, List<BindingSet>> entry : byGroup.entrySet()) {
+				results.put(groups.key(entry.getKey()), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Joins the tagged results of a block with the input bindings of the group that each result belongs to.
+	 */
+	private static class BlockJoinIteration extends LookAheadIteration<BindingSet, QueryEvaluationException> {
+
+		private final CloseableIteration<BindingSet, QueryEvaluationException> results;
+
+		private final BindingGroups groups;
+
+		private BindingSet currentResult;
+
+		private Iterator<BindingSet> currentInputs = Collections.emptyIterator();
+
+		private BlockJoinIteration(CloseableIteration<BindingSet, QueryEvaluationException> results,
+				BindingGroups groups) {
+			this.results = results;
+			this.groups = groups;
+		}
+
+		@Override
+		protected BindingSet getNextElement() throws QueryEvaluationException {
+			while (!currentInputs.hasNext()) {
+				if (!results.hasNext()) {
+					return null;
+				}
+				currentResult = results.next();
+				int group = BindingGroups.groupOf(currentResult);
+				currentInputs = group < 0 ? Collections.emptyIterator() : groups.inputs(group).iterator();
+			}
+			BindingSet input = currentInputs.next();
+			SPARQLQueryBindingSet res = new SPARQLQueryBindingSet(input.size() + currentResult.size());
+			res.addAll(input);
+			for (Binding b : currentResult) {
+				if (!res.hasBinding(b.getName()) && !GROUP_IDX_VAR.equals(b.getName())) {
+					res.addBinding(b);
+				}
+			}
+			return res;
+		}
+
+		@Override
+		protected void handleClose() throws QueryEvaluationException {
+			try {
+				super.handleClose();
+			} finally {
+				results.close();
+			}
+		}
+	}
+
 	private final Repository rep;
 
 	/**
@@ -174,11 +490,31 @@ public class RepositoryFederatedService implements FederatedService {
 	 */
 	protected int boundJoinBlockSize = 15;
 
+	/**
+	 * The maximum number of blocks that a single SERVICE evaluation sends at the same time. This requires
+	 * {@link #setUseFreshConnection(boolean) fresh connections}, as connections are not shared between threads.
+	 */
+	protected int maxParallelRequests = 4;
+
+	/**
+	 * Whether the results of the blocks are returned in the order of the blocks, or as the requests complete
+	 */
+	protected boolean preserveOrder = true;
+
+	/**
+	 * The maximum number of results that a single SERVICE evaluation keeps to answer repeated input bindings without
+	 * another request. If set to 0, every block is sent as is.
+	 */
+	protected int maxCachedResults = 10000;
+
 	/**
 	 * Whether to use a fresh repository connection for individual queries
 	 */
 	private boolean useFreshConnection = true;
 
+	// worker pool for parallel requests, created on first use
+	private ExecutorService executor;
+
 	// flag indicating whether the repository shall be closed in #shutdown()
 	protected boolean shutDown = true;
 
@@ -306,6 +642,46 @@ public class RepositoryFederatedService implements FederatedService {
 		}
 	}
 
+	/**
+	 * Evaluate a block of input bindings. If a cache is given, input bindings that agree on the variables of the
+	 * SERVICE are sent only once, and those that were sent for an earlier block are answered from the cache.
+	 */
+	private CloseableIteration<BindingSet, QueryEvaluationException> evaluateBlock(Service service,
+			List<BindingSet> block, ResultCache cache) throws QueryEvaluationException {
+		if (cache == null) {
+			return evaluateInternal(service, new CollectionIteration<>(block), service.getBaseURI());
+		}
+
+		BindingGroups groups = new BindingGroups(block, service.getServiceVars());
+		List<BindingSet> cachedResults = new ArrayList<>();
+		// the groups to send, by the variables they bind, as the VALUES clause of a request has the same variables
+		// in every row
+		Map<Set<String>, List<Integer>> uncached = new LinkedHashMap<>();
+		for (int group = 0; group < groups.size(); group++) {
+			BindingSet key = groups.key(group);
+			List<BindingSet> keyResults = cache.get(key);
+			if (keyResults == null) {
+				uncached.computeIfAbsent(key.getBindingNames(), names -> new ArrayList<>()).add(group);
+			} else {
+				for (BindingSet result : keyResults) {
+					cachedResults.add(BindingGroups.tag(result, group));
+				}
+			}
+		}
+
+		CloseableIteration<BindingSet, QueryEvaluationException> results = new CollectionIteration<>(cachedResults);
+		for (List<Integer> sent : uncached.values()) {
+			List<BindingSet> tagged = new ArrayList<>(sent.size());
+			for (Integer group : sent) {
+				tagged.add(BindingGroups.tag(groups.key(group), group));
+			}
+			CloseableIteration<BindingSet, QueryEvaluationException> remote = evaluateInternal(service,
+					new CollectionIteration<>(tagged), service.getBaseURI());
+			results = new UnionIteration<>(results, cache.read(remote, groups, sent));
+		}
+		return new BlockJoinIteration(results, groups);
+	}
+
 	/**
 	 * Evaluate the SPARQL query that can be constructed from the SERVICE node at the initialized {@link Repository} of
 	 * this {@link FederatedService}. Use specified bindings as constraints to the query. Try to evaluate using VALUES
@@ -494,6 +870,47 @@ public class RepositoryFederatedService implements FederatedService {
 		this.boundJoinBlockSize = boundJoinBlockSize;
 	}
 
+	public int getMaxParallelRequests() {
+		return maxParallelRequests;
+	}
+
+	/**
+	 * @param maxParallelRequests the maximum number of blocks that a single SERVICE evaluation sends at the same time,
+	 *                            1 to send them one after the other
+	 */
+	public synchronized void setMaxParallelRequests(int maxParallelRequests) {
+		this.maxParallelRequests = maxParallelRequests;
+		if (executor != null) {
+			// running requests are completed, new ones use a pool of the new size
+			executor.shutdown();
+			executor = null;
+		}
+	}
+
+	public boolean isPreserveOrder() {
+		return preserveOrder;
+	}
+
+	/**
+	 * @param preserveOrder whether the results of parallel requests are returned in the order of the input bindings,
+	 *                      rather than as soon as they are available
+	 */
+	public void setPreserveOrder(boolean preserveOrder) {
+		this.preserveOrder = preserveOrder;
+	}
+
+	public int getMaxCachedResults() {
+		return maxCachedResults;
+	}
+
+	/**
+	 * @param maxCachedResults the maximum number of results that a single SERVICE evaluation keeps to answer repeated
+	 *                         input bindings, 0 to disable the cache
+	 */
+	public void setMaxCachedResults(int maxCachedResults) {
+		this.maxCachedResults = maxCachedResults;
+	}
+
 	/**
 	 *
 	 * @param flag whether to use a fresh {@link RepositoryConnection} for each individual query
@@ -505,6 +922,12 @@ public class RepositoryFederatedService implements FederatedService {
 	@Override
 	public void shutdown() throws QueryEvaluationException {
 		boolean foundException = false;
+		synchronized (this) {
+			if (executor != null) {
+				executor.shutdownNow();
+				executor = null;
+			}
+		}
 		try {
 			if (managedConn != null) {
 				managedConn.close();
@@ -528,6 +951,22 @@ public class RepositoryFederatedService implements FederatedService {
 		}
 	}
 
+	private synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			ThreadFactory backingThreadFactory = Executors.defaultThreadFactory();
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(maxParallelRequests, maxParallelRequests, 60L,
+					TimeUnit.SECONDS, new LinkedBlockingQueue<>(), (Runnable runnable) -> {
+						Thread thread = backingThreadFactory.newThread(runnable);
+						thread.setName("rdf4j-federated-service-" + thread.getName());
+						thread.setDaemon(true);
+						return thread;
+					});
+			pool.allowCoreThreadTimeOut(true);
+			executor = pool;
+		}
+		return executor;
+	}
+
 	/**
 	 * Return a fresh {@link RepositoryConnection} from the configured repository.
 	 *
@@ -8,6 +8,7 @@
 package org.eclipse.rdf4j.repository.sparql.query;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.rdf4j.http.client.SPARQLProtocolSession;
 import org.eclipse.rdf4j.http.client.query.AbstractHTTPQuery;
@@ -42,6 +43,18 @@ public class SPARQLBooleanQuery extends AbstractHTTPQuery implements BooleanQuer
 		}
 	}
 
+	/**
+	 * Evaluates the query without blocking the calling thread. See {@link SPARQLProtocolSession#sendBooleanQueryAsync}.
+	 *
+	 * @return a future that completes with the query result, or fails with a {@link QueryEvaluationException}
+	 */
+	public CompletableFuture<Boolean> evaluateAsync() {
+		SPARQLProtocolSession client = getHttpClient();
+		return mapFailures(client.sendBooleanQueryAsync(queryLanguage, getQueryString(), baseURI, dataset,
+				getIncludeInferred(), getMaxExecutionTime(), getBindingsArray()),
+				e -> new QueryEvaluationException(e.getMessage(), e));
+	}
+
 	private String getQueryString() {
 		return QueryStringUtil.getBooleanQueryString(queryString, getBindings());
 	}
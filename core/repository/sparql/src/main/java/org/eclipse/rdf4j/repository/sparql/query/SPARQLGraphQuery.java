@@ -8,6 +8,7 @@
 package org.eclipse.rdf4j.repository.sparql.query;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.rdf4j.http.client.SPARQLProtocolSession;
 import org.eclipse.rdf4j.http.client.query.AbstractHTTPQuery;
@@ -46,6 +47,18 @@ public class SPARQLGraphQuery extends AbstractHTTPQuery implements GraphQuery {
 		}
 	}
 
+	/**
+	 * Evaluates the query without blocking the calling thread. See {@link SPARQLProtocolSession#sendGraphQueryAsync}.
+	 *
+	 * @return a future that completes with the query result, or fails with a {@link QueryEvaluationException}
+	 */
+	public CompletableFuture<GraphQueryResult> evaluateAsync() {
+		SPARQLProtocolSession client = getHttpClient();
+		return mapFailures(client.sendGraphQueryAsync(queryLanguage, getQueryString(), baseURI, dataset,
+				getIncludeInferred(), getMaxExecutionTime(), getBindingsArray()),
+				e -> new QueryEvaluationException(e.getMessage(), e));
+	}
+
 	@Override
 	public void evaluate(RDFHandler handler) throws QueryEvaluationException, RDFHandlerException {
 
@@ -8,6 +8,7 @@
 package org.eclipse.rdf4j.repository.sparql.query;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.rdf4j.http.client.SPARQLProtocolSession;
 import org.eclipse.rdf4j.http.client.query.AbstractHTTPQuery;
@@ -47,6 +48,18 @@ public class SPARQLTupleQuery extends AbstractHTTPQuery implements TupleQuery {
 		}
 	}
 
+	/**
+	 * Evaluates the query without blocking the calling thread. See {@link SPARQLProtocolSession#sendTupleQueryAsync}.
+	 *
+	 * @return a future that completes with the query result, or fails with a {@link QueryEvaluationException}
+	 */
+	public CompletableFuture<TupleQueryResult> evaluateAsync() {
+		SPARQLProtocolSession client = getHttpClient();
+		return mapFailures(client.sendTupleQueryAsync(QueryLanguage.SPARQL, getQueryString(), baseURI, dataset,
+				getIncludeInferred(), getMaxExecutionTime(), getBindingsArray()),
+				e -> new QueryEvaluationException(e.getMessage(), e));
+	}
+
 	@Override
 	public void evaluate(TupleQueryResultHandler handler)
 			throws QueryEvaluationException, TupleQueryResultHandlerException {
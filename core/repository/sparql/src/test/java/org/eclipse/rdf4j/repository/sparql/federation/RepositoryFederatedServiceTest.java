@@ -1,10 +1,50 @@
 package org.eclipse.rdf4j.repository.sparql.federation;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.algebra.Service;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
+import org.eclipse.rdf4j.query.impl.IteratingTupleQueryResult;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+import org.eclipse.rdf4j.query.parser.sparql.SPARQLParser;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.junit.Assert;
 import org.junit.Test;
 
 public class RepositoryFederatedServiceTest {
 
+	private static final Pattern VALUES_ROW = Pattern.compile("\\(\"(\\d+)\" <([^>]+)> (\"[^\"]*\" )?\\)");
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
 	@Test
 	public void testInsertValuesClause() throws Exception {
 
@@ -45,4 +85,237 @@ public class RepositoryFederatedServiceTest {
 				inst.insertValuesClause("SELECT   * WHERE { ?s ?p ?var }",
 						"VALUES (?var ?__rowIdx) { (:val1 1) (:val2 2) }"));
 	}
+
+	@Test
+	public void testRepeatedBindingsAreSentOnce() throws Exception {
+		List<Value> sent = Collections.synchronizedList(new ArrayList<>());
+		RepositoryFederatedService inst = new RepositoryFederatedService(endpoint(sent), false);
+		inst.setBoundJoinBlockSize(2);
+		inst.setMaxParallelRequests(1);
+
+		List<BindingSet> results = evaluate(inst, "a", "a", "b", "a", "c", "b");
+
+		Assert.assertEquals(Arrays.asList(iri("a"), iri("b"), iri("c")), sent);
+		assertJoined(results, "a", "a", "b", "a", "c", "b");
+	}
+
+	@Test
+	public void testBindingsOfDifferentVariables() throws Exception {
+		List<Value> sent = Collections.synchronizedList(new ArrayList<>());
+		RepositoryFederatedService inst = new RepositoryFederatedService(endpoint(sent), false);
+		inst.setBoundJoinBlockSize(3);
+		inst.setMaxParallelRequests(1);
+
+		// as from an OPTIONAL: some inputs also bind ?o, the results of ?s alone must not be taken for those of ?s
+		// and ?o together
+		String[] subjects = { "a", "a", "b", "a", "a", "b" };
+		Service service = parseService("SELECT * WHERE { ?s <urn:q> ?x SERVICE <urn:service> { ?s <urn:p> ?o } }");
+		List<BindingSet> input = new ArrayList<>();
+		for (int i = 0; i < subjects.length; i++) {
+			MapBindingSet bindings = new MapBindingSet();
+			bindings.addBinding("s", iri(subjects[i]));
+			bindings.addBinding("x", vf.createLiteral(i));
+			if (i % 3 == 1) {
+				bindings.addBinding("o", vf.createLiteral("urn:" + subjects[i] + "-o"));
+			}
+			input.add(bindings);
+		}
+		List<BindingSet> results = Iterations.asList(inst.evaluate(service, new CollectionIteration<>(input), null));
+
+		// the second block is answered from the cache
+		Assert.assertEquals(Arrays.asList(iri("a"), iri("b"), iri("a")), sent);
+		assertJoined(results, subjects);
+	}
+
+	@Test
+	public void testWithoutCache() throws Exception {
+		List<Value> sent = Collections.synchronizedList(new ArrayList<>());
+		RepositoryFederatedService inst = new RepositoryFederatedService(endpoint(sent), false);
+		inst.setBoundJoinBlockSize(2);
+		inst.setMaxCachedResults(0);
+
+		try {
+			List<BindingSet> results = evaluate(inst, "a", "a", "b", "a", "c", "b");
+
+			Assert.assertEquals(6, sent.size());
+			assertJoined(results, "a", "a", "b", "a", "c", "b");
+		} finally {
+			inst.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelRequestsPreserveOrder() throws Exception {
+		List<Value> sent = Collections.synchronizedList(new ArrayList<>());
+		RepositoryFederatedService inst = new RepositoryFederatedService(endpoint(sent), false);
+		inst.setBoundJoinBlockSize(3);
+		inst.setMaxParallelRequests(4);
+
+		String[] subjects = new String[50];
+		for (int i = 0; i < subjects.length; i++) {
+			subjects[i] = "s" + i;
+		}
+		try {
+			List<BindingSet> results = evaluate(inst, subjects);
+			Assert.assertEquals(50, sent.size());
+			assertJoined(results, subjects);
+			for (int i = 0; i < results.size(); i++) {
+				Assert.assertEquals(vf.createLiteral(i), results.get(i).getValue("x"));
+			}
+
+			inst.setPreserveOrder(false);
+			sent.clear();
+			assertJoined(evaluate(inst, subjects), subjects);
+			Assert.assertEquals(50, sent.size());
+		} finally {
+			inst.shutdown();
+		}
+	}
+
+	@Test
+	public void testResultOfCancelledRequestIsClosed() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch closed = new CountDownLatch(1);
+		Repository repository = mock(Repository.class);
+		RepositoryConnection connection = mock(RepositoryConnection.class);
+		when(repository.getConnection()).thenReturn(connection);
+		when(connection.prepareTupleQuery(any(QueryLanguage.class), anyString(), any())).thenAnswer(invocation -> {
+			TupleQuery query = mock(TupleQuery.class);
+			MapBindingSet queryBindings = new MapBindingSet();
+			doAnswer(setBinding -> {
+				queryBindings.addBinding(setBinding.getArgument(0), setBinding.getArgument(1));
+				return null;
+			}).when(query).setBinding(anyString(), any(Value.class));
+			when(query.evaluate()).thenAnswer(evaluate -> {
+				if (queryBindings.getValue("s").equals(iri("fail"))) {
+					throw new QueryEvaluationException("request failed");
+				}
+				// still running when the other request fails
+				release.await();
+				MapBindingSet row = new MapBindingSet();
+				row.addBinding("o", vf.createLiteral("o"));
+				return new IteratingTupleQueryResult(Collections.singletonList("o"),
+						Collections.singletonList(row)) {
+
+					@Override
+					protected void handleClose() throws QueryEvaluationException {
+						closed.countDown();
+						super.handleClose();
+					}
+				};
+			});
+			return query;
+		});
+
+		RepositoryFederatedService inst = new RepositoryFederatedService(repository, false);
+		inst.setBoundJoinBlockSize(1);
+		inst.setMaxCachedResults(0);
+		inst.setMaxParallelRequests(2);
+		inst.setPreserveOrder(false);
+		try {
+			try {
+				evaluate(inst, "slow", "fail");
+				Assert.fail("expected exception");
+			} catch (QueryEvaluationException e) {
+				// expected
+			}
+			release.countDown();
+			Assert.assertTrue(closed.await(10, TimeUnit.SECONDS));
+		} finally {
+			release.countDown();
+			inst.shutdown();
+		}
+	}
+
+	private List<BindingSet> evaluate(RepositoryFederatedService inst, String... subjects) {
+		Service service = parseService(
+				"SELECT * WHERE { ?s <urn:q> ?x SERVICE <urn:service> { ?s <urn:p> ?o } }");
+		List<BindingSet> input = new ArrayList<>();
+		for (int i = 0; i < subjects.length; i++) {
+			MapBindingSet bindings = new MapBindingSet();
+			bindings.addBinding("s", iri(subjects[i]));
+			bindings.addBinding("x", vf.createLiteral(i));
+			input.add(bindings);
+		}
+		CloseableIteration<BindingSet, QueryEvaluationException> result = inst.evaluate(service,
+				new CollectionIteration<>(input), null);
+		return Iterations.asList(result);
+	}
+
+	/**
+	 * Asserts that every input binding is joined with its result exactly once.
+	 */
+	private void assertJoined(List<BindingSet> results, String... subjects) {
+		Assert.assertEquals(subjects.length, results.size());
+		Set<Integer> inputs = new HashSet<>();
+		for (BindingSet b : results) {
+			int i = ((Literal) b.getValue("x")).intValue();
+			Assert.assertTrue(inputs.add(i));
+			Assert.assertEquals(iri(subjects[i]), b.getValue("s"));
+			Assert.assertEquals(vf.createLiteral("urn:" + subjects[i] + "-o"), b.getValue("o"));
+			Assert.assertFalse(b.hasBinding("__rowIdx"));
+			Assert.assertFalse(b.hasBinding("__groupIdx"));
+		}
+	}
+
+	private IRI iri(String local) {
+		return vf.createIRI("urn:" + local);
+	}
+
+	private Service parseService(String query) {
+		List<Service> services = new ArrayList<>();
+		TupleExpr expr = new SPARQLParser().parseQuery(query, null).getTupleExpr();
+		expr.visit(new AbstractQueryModelVisitor<RuntimeException>() {
+
+			@Override
+			public void meet(Service node) {
+				services.add(node);
+			}
+		});
+		return services.get(0);
+	}
+
+	/**
+	 * @param sent collects the values of ?s that requests are sent for
+	 * @return a repository that answers the SERVICE query with a binding of ?o for every binding of ?s
+	 */
+	private Repository endpoint(List<Value> sent) {
+		Repository repository = mock(Repository.class);
+		RepositoryConnection connection = mock(RepositoryConnection.class);
+		when(repository.getConnection()).thenReturn(connection);
+		when(connection.prepareTupleQuery(any(QueryLanguage.class), anyString(), any())).thenAnswer(invocation -> {
+			String queryString = invocation.getArgument(1);
+			TupleQuery query = mock(TupleQuery.class);
+			MapBindingSet queryBindings = new MapBindingSet();
+			doAnswer(setBinding -> {
+				queryBindings.addBinding(setBinding.getArgument(0), setBinding.getArgument(1));
+				return null;
+			}).when(query).setBinding(anyString(), any(Value.class));
+			when(query.evaluate()).thenAnswer(evaluate -> {
+				List<BindingSet> rows = new ArrayList<>();
+				Matcher m = VALUES_ROW.matcher(queryString);
+				while (m.find()) {
+					sent.add(vf.createIRI(m.group(2)));
+					MapBindingSet row = new MapBindingSet();
+					row.addBinding("__rowIdx", vf.createLiteral(m.group(1)));
+					if (m.group(3) == null) {
+						row.addBinding("o", vf.createLiteral(m.group(2) + "-o"));
+					} else if (!m.group(3).equals("\"" + m.group(2) + "-o\" ")) {
+						continue;
+					}
+					rows.add(row);
+				}
+				if (rows.isEmpty()) {
+					Value s = queryBindings.getValue("s");
+					sent.add(s);
+					MapBindingSet row = new MapBindingSet();
+					row.addBinding("o", vf.createLiteral(s.stringValue() + "-o"));
+					rows.add(row);
+				}
+				return new IteratingTupleQueryResult(Arrays.asList("__rowIdx", "o"), rows);
+			});
+			return query;
+		});
+		return repository;
+	}
 }
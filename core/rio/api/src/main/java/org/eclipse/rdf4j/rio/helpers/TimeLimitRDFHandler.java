@@ -8,10 +8,10 @@
 package org.eclipse.rdf4j.rio.helpers;
 
 import java.lang.ref.WeakReference;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.rdf4j.common.concurrent.HashedWheelTimer;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.rio.RDFHandler;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
@@ -20,11 +20,9 @@ import org.slf4j.LoggerFactory;
 
 public class TimeLimitRDFHandler extends RDFHandlerWrapper {
 
-	private static final Timer timer = new Timer("TimeLimitRDFHandler", true);
-
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
-	private final InterruptTask interruptTask;
+	private final HashedWheelTimer.Timeout timeout;
 
 	private volatile boolean isInterrupted = false;
 
@@ -35,9 +33,7 @@ public class TimeLimitRDFHandler extends RDFHandlerWrapper {
 
 		assert timeLimit > 0 : "time limit must be a positive number, is: " + timeLimit;
 
-		interruptTask = new InterruptTask(this);
-
-		timer.schedule(interruptTask, timeLimit);
+		timeout = HashedWheelTimer.getDefault().schedule(new InterruptTask(this), timeLimit, TimeUnit.MILLISECONDS);
 	}
 
 	private boolean isEnded() {
@@ -54,6 +50,7 @@ public class TimeLimitRDFHandler extends RDFHandlerWrapper {
 	public void endRDF() throws RDFHandlerException {
 		checkInterrupted();
 		if (ended.compareAndSet(false, true)) {
+			timeout.cancel();
 			super.endRDF();
 		}
 	}
@@ -94,7 +91,7 @@ public class TimeLimitRDFHandler extends RDFHandlerWrapper {
 		}
 	}
 
-	private static class InterruptTask extends TimerTask {
+	private static class InterruptTask implements Runnable {
 
 		private WeakReference<TimeLimitRDFHandler> handlerRef;
 
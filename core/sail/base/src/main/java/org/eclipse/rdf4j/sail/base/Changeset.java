@@ -9,7 +9,6 @@ package org.eclipse.rdf4j.sail.base;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -19,7 +18,6 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import org.eclipse.rdf4j.IsolationLevels;
 import org.eclipse.rdf4j.model.IRI;
@@ -62,16 +60,16 @@ abstract class Changeset implements SailSink, ModelFactory {
 	/**
 	 * Statements that have been added as part of a transaction, but has not yet been committed.
 	 *
-	 * DO NOT EXPOSE THE MODEL OUTSIDE OF THIS CLASS BECAUSE IT IS NOT THREAD-SAFE
+	 * DO NOT EXPOSE THE BUFFER OUTSIDE OF THIS CLASS BECAUSE IT IS NOT THREAD-SAFE
 	 */
-	private Model approved;
+	private StatementBuffer approved;
 
 	/**
 	 * Explicit statements that have been removed as part of a transaction, but have not yet been committed.
 	 *
-	 * DO NOT EXPOSE THE MODEL OUTSIDE OF THIS CLASS BECAUSE IT IS NOT THREAD-SAFE
+	 * DO NOT EXPOSE THE BUFFER OUTSIDE OF THIS CLASS BECAUSE IT IS NOT THREAD-SAFE
 	 */
-	private Model deprecated;
+	private StatementBuffer deprecated;
 
 	/**
 	 * Set of contexts of the {@link #approved} statements.
@@ -108,6 +106,17 @@ abstract class Changeset implements SailSink, ModelFactory {
 		// no-op
 	}
 
+	/**
+	 * Creates the buffer that holds approved or deprecated statements. By default all statements are kept on the heap,
+	 * subclasses can return a buffer that overflows into a {@link Model} created by {@link #createEmptyModel()} when
+	 * memory runs low.
+	 *
+	 * @return a new, empty {@link StatementBuffer}
+	 */
+	StatementBuffer createStatementBuffer() {
+		return new StatementBuffer();
+	}
+
 	@Override
 	public void prepare() throws SailException {
 		if (prepend != null && observed != null) {
@@ -253,7 +262,7 @@ abstract class Changeset implements SailSink, ModelFactory {
 			deprecated.remove(subj, pred, obj, ctx);
 		}
 		if (approved == null) {
-			approved = createEmptyModel();
+			approved = createStatementBuffer();
 		}
 		approved.add(subj, pred, obj, ctx);
 		if (ctx != null) {
@@ -270,7 +279,7 @@ abstract class Changeset implements SailSink, ModelFactory {
 			deprecated.remove(statement);
 		}
 		if (approved == null) {
-			approved = createEmptyModel();
+			approved = createStatementBuffer();
 		}
 		approved.add(statement);
 		if (statement.getContext() != null) {
@@ -287,7 +296,7 @@ abstract class Changeset implements SailSink, ModelFactory {
 			approved.remove(statement);
 		}
 		if (deprecated == null) {
-			deprecated = createEmptyModel();
+			deprecated = createStatementBuffer();
 		}
 		deprecated.add(statement);
 		Resource ctx = statement.getContext();
@@ -413,14 +422,14 @@ abstract class Changeset implements SailSink, ModelFactory {
 		if (deprecated == null) {
 			return Collections.emptyList();
 		}
-		return new ArrayList<>(deprecated);
+		return deprecated.toList();
 	}
 
 	synchronized List<Statement> getApprovedStatements() {
 		if (approved == null) {
 			return Collections.emptyList();
 		}
-		return new ArrayList<>(approved);
+		return approved.toList();
 	}
 
 	synchronized boolean hasDeprecated(Statement statement) {
@@ -441,17 +450,9 @@ abstract class Changeset implements SailSink, ModelFactory {
 			return Collections.emptyList();
 		}
 
-		Iterable<Statement> statements = approved.getStatements(subj, pred, obj, contexts);
-
-		// This is a synchronized context, users of this method will be allowed to use the results at their leisure. We
-		// provide a copy of the data so that there will be no concurrent modification exceptions!
-		if (statements instanceof Collection) {
-			return new ArrayList<>((Collection<? extends Statement>) statements);
-		} else {
-			return StreamSupport
-					.stream(statements.spliterator(), false)
-					.collect(Collectors.toList());
-		}
+		// This is a synchronized context, users of this method will be allowed to use the results at their leisure. The
+		// buffer provides a copy of the data so that there will be no concurrent modification exceptions!
+		return approved.getStatements(subj, pred, obj, contexts);
 	}
 
 	synchronized Iterable<Triple> getApprovedTriples(Resource subj, IRI pred, Value obj) {
@@ -461,7 +462,9 @@ abstract class Changeset implements SailSink, ModelFactory {
 
 		// TODO none of this is particularly well thought-out in terms of performance, but we are aiming
 		// for functionally complete first.
-		Stream<Triple> approvedSubjectTriples = approved.parallelStream()
+		List<Statement> approvedStatements = approved.toList();
+
+		Stream<Triple> approvedSubjectTriples = approvedStatements.parallelStream()
 				.filter(st -> st.getSubject() instanceof Triple)
 				.map(st -> (Triple) st.getSubject())
 				.filter(t -> {
@@ -477,7 +480,7 @@ abstract class Changeset implements SailSink, ModelFactory {
 					return true;
 				});
 
-		Stream<Triple> approvedObjectTriples = approved.parallelStream()
+		Stream<Triple> approvedObjectTriples = approvedStatements.parallelStream()
 				.filter(st -> st.getObject() instanceof Triple)
 				.map(st -> (Triple) st.getObject())
 				.filter(t -> {
@@ -64,11 +64,17 @@ class SailSourceBranch implements SailSource {
 	private final SailSource backingSource;
 
 	/**
-	 * The {@link Model} instances that should be used to store {@link SailSink#approve(Resource, IRI, Value, Resource)}
-	 * and {@link SailSink#deprecate(Resource, IRI, Value, Resource)} statements.
+	 * The {@link Model} instances that {@link SailSink#approve(Resource, IRI, Value, Resource)} and
+	 * {@link SailSink#deprecate(Resource, IRI, Value, Resource)} statements overflow into when memory runs low.
 	 */
 	private final ModelFactory modelFactory;
 
+	/**
+	 * If approved and deprecated statements should overflow into {@link #modelFactory} models when memory runs low.
+	 * Only enabled when a {@link ModelFactory} was provided, as the default in-memory models would not free any memory.
+	 */
+	private final boolean overflow;
+
 	/**
 	 * If this {@link SailSource} should be flushed to the backing {@link SailSource} when it is not in use.
 	 */
@@ -95,7 +101,7 @@ class SailSourceBranch implements SailSource {
 	 * @param backingSource
 	 */
 	public SailSourceBranch(SailSource backingSource) {
-		this(backingSource, new DynamicModelFactory(), false);
+		this(backingSource, new DynamicModelFactory(), false, false);
 	}
 
 	/**
@@ -117,9 +123,15 @@ class SailSourceBranch implements SailSource {
 	 * @param autoFlush
 	 */
 	public SailSourceBranch(SailSource backingSource, ModelFactory modelFactory, boolean autoFlush) {
+		this(backingSource, modelFactory, autoFlush, true);
+	}
+
+	private SailSourceBranch(SailSource backingSource, ModelFactory modelFactory, boolean autoFlush,
+			boolean overflow) {
 		this.backingSource = backingSource;
 		this.modelFactory = modelFactory;
 		this.autoFlush = autoFlush;
+		this.overflow = overflow;
 	}
 
 	@Override
@@ -190,6 +202,11 @@ class SailSourceBranch implements SailSource {
 			public Model createEmptyModel() {
 				return modelFactory.createEmptyModel();
 			}
+
+			@Override
+			StatementBuffer createStatementBuffer() {
+				return overflow ? new StatementBuffer(this) : new StatementBuffer();
+			}
 		};
 		try {
 			semaphore.lock();
@@ -228,7 +245,7 @@ class SailSourceBranch implements SailSource {
 
 	@Override
 	public SailSource fork() {
-		return new SailSourceBranch(this, modelFactory);
+		return new SailSourceBranch(this, modelFactory, false, overflow);
 	}
 
 	@Override
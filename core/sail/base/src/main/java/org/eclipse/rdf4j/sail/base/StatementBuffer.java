@@ -0,0 +1,417 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ModelFactory;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The set of statements that a {@link Changeset} has approved or deprecated. Statements are appended to a buffer and
+ * can be added, removed and looked up in constant time. Indexes on subject, predicate, object or context are only built
+ * once a pattern lookup needs them, so transactions that only add or remove statements never pay any indexing cost.
+ * <p>
+ * If an overflow {@link ModelFactory} is provided, the statements are moved into a {@link Model} created by it when the
+ * JVM runs low on memory, which allows stores to spill large transactions to disk.
+ * <p>
+ * This class is not thread-safe.
+ */
+class StatementBuffer {
+
+	private static final Logger logger = LoggerFactory.getLogger(StatementBuffer.class);
+
+	private static final Runtime RUNTIME = Runtime.getRuntime();
+
+	/**
+	 * Number of statements added between two checks of the available memory.
+	 */
+	private static final int LARGE_BLOCK = 10000;
+
+	/**
+	 * Minimum number of removed slots in the buffer before it is compacted.
+	 */
+	private static final int MIN_COMPACTION_SIZE = 1024;
+
+	private static final int SUBJECT = 0;
+
+	private static final int PREDICATE = 1;
+
+	private static final int OBJECT = 2;
+
+	private static final int CONTEXT = 3;
+
+	private static final List<Function<Statement, Value>> COMPONENTS = Arrays.asList(Statement::getSubject,
+			Statement::getPredicate, Statement::getObject, Statement::getContext);
+
+	/**
+	 * Factory for the {@link Model} that takes over when memory runs low, or <tt>null</tt> if this buffer never
+	 * overflows.
+	 */
+	private final ModelFactory overflowFactory;
+
+	/**
+	 * Append-only buffer of statements. Removed statements leave a <tt>null</tt> slot until the buffer is compacted.
+	 */
+	private Statement[] buffer = new Statement[16];
+
+	/**
+	 * Number of used slots in {@link #buffer}, including removed ones.
+	 */
+	private int end;
+
+	/**
+	 * Position in the {@link #buffer} of each statement that is currently in this set.
+	 */
+	private Map<Statement, Integer> positions = new HashMap<>();
+
+	/**
+	 * Lazily built indexes from a subject, predicate, object or context to the positions of the statements that use it.
+	 * An index is <tt>null</tt> until a lookup needs it, after which it is kept up to date until the next compaction.
+	 */
+	@SuppressWarnings("unchecked")
+	private final Map<Value, IntList>[] indexes = new Map[4];
+
+	/**
+	 * Non-null once the statements have been moved into an overflow model.
+	 */
+	private Model overflow;
+
+	private long baseline = 0;
+
+	private long maxBlockSize = 0;
+
+	/**
+	 * Creates a buffer that keeps all statements on the heap.
+	 */
+	StatementBuffer() {
+		this(null);
+	}
+
+	/**
+	 * Creates a buffer that moves its statements into a model created by the given factory when memory runs low.
+	 *
+	 * @param overflowFactory the factory of the overflow model, or <tt>null</tt> to keep all statements on the heap.
+	 */
+	StatementBuffer(ModelFactory overflowFactory) {
+		this.overflowFactory = overflowFactory;
+	}
+
+	int size() {
+		if (overflow != null) {
+			return overflow.size();
+		}
+		return positions.size();
+	}
+
+	boolean isEmpty() {
+		return size() == 0;
+	}
+
+	boolean add(Resource subj, IRI pred, Value obj, Resource ctx) {
+		return add(createStatement(subj, pred, obj, ctx));
+	}
+
+	boolean add(Statement st) {
+		if (overflow != null) {
+			return overflow.add(st);
+		}
+		if (positions.containsKey(st)) {
+			return false;
+		}
+		if (end == buffer.length) {
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+		int pos = end++;
+		buffer[pos] = st;
+		positions.put(st, pos);
+		for (int i = 0; i < indexes.length; i++) {
+			if (indexes[i] != null) {
+				indexes[i].computeIfAbsent(COMPONENTS.get(i).apply(st), v -> new IntList()).add(pos);
+			}
+		}
+		checkMemoryOverflow();
+		return true;
+	}
+
+	boolean contains(Statement st) {
+		if (overflow != null) {
+			return overflow.contains(st);
+		}
+		return positions.containsKey(st);
+	}
+
+	/**
+	 * Checks whether a statement matches the given pattern, following the semantics of
+	 * {@link Model#contains(Resource, IRI, Value, Resource...)}.
+	 */
+	boolean contains(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		if (overflow != null) {
+			return overflow.contains(subj, pred, obj, contexts);
+		}
+		if (isFullyBound(subj, pred, obj, contexts)) {
+			return positions.containsKey(createStatement(subj, pred, obj, contexts[0]));
+		}
+		return !find(subj, pred, obj, contexts, 1).isEmpty();
+	}
+
+	boolean remove(Statement st) {
+		if (overflow != null) {
+			return overflow.remove(st);
+		}
+		Integer pos = positions.remove(st);
+		if (pos == null) {
+			return false;
+		}
+		buffer[pos] = null;
+		compactIfSparse();
+		return true;
+	}
+
+	/**
+	 * Removes all statements that match the given pattern, following the semantics of
+	 * {@link Model#remove(Resource, IRI, Value, Resource...)}.
+	 */
+	boolean remove(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		if (overflow != null) {
+			return overflow.remove(subj, pred, obj, contexts);
+		}
+		if (isFullyBound(subj, pred, obj, contexts)) {
+			return remove(createStatement(subj, pred, obj, contexts[0]));
+		}
+		List<Statement> matches = find(subj, pred, obj, contexts, Integer.MAX_VALUE);
+		for (Statement st : matches) {
+			buffer[positions.remove(st)] = null;
+		}
+		compactIfSparse();
+		return !matches.isEmpty();
+	}
+
+	void clear() {
+		if (overflow != null) {
+			overflow.clear();
+		}
+		buffer = new Statement[16];
+		end = 0;
+		positions = new HashMap<>();
+		Arrays.fill(indexes, null);
+	}
+
+	/**
+	 * Gets a copy of all statements that match the given pattern in the order they were added.
+	 */
+	List<Statement> getStatements(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		if (overflow != null) {
+			return new ArrayList<>(overflow.filter(subj, pred, obj, contexts));
+		}
+		if (isFullyBound(subj, pred, obj, contexts)) {
+			Statement st = createStatement(subj, pred, obj, contexts[0]);
+			Integer pos = positions.get(st);
+			return pos == null ? Collections.emptyList() : Collections.singletonList(buffer[pos]);
+		}
+		return find(subj, pred, obj, contexts, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Gets a copy of all statements in the order they were added.
+	 */
+	List<Statement> toList() {
+		if (overflow != null) {
+			return new ArrayList<>(overflow);
+		}
+		List<Statement> result = new ArrayList<>(positions.size());
+		for (int i = 0; i < end; i++) {
+			if (buffer[i] != null) {
+				result.add(buffer[i]);
+			}
+		}
+		return result;
+	}
+
+	private List<Statement> find(Resource subj, IRI pred, Value obj, Resource[] contexts, int limit) {
+		Map<Value, IntList> index = null;
+		Value key = null;
+		if (subj != null) {
+			index = getIndex(SUBJECT);
+			key = subj;
+		} else if (obj != null) {
+			index = getIndex(OBJECT);
+			key = obj;
+		} else if (contexts.length == 1) {
+			index = getIndex(CONTEXT);
+			key = contexts[0];
+		} else if (pred != null) {
+			index = getIndex(PREDICATE);
+			key = pred;
+		}
+
+		List<Statement> result = new ArrayList<>();
+		if (index == null) {
+			for (int i = 0; i < end && result.size() < limit; i++) {
+				Statement st = buffer[i];
+				if (st != null && matches(st, subj, pred, obj, contexts)) {
+					result.add(st);
+				}
+			}
+		} else {
+			IntList candidates = index.get(key);
+			if (candidates != null) {
+				for (int i = 0; i < candidates.size && result.size() < limit; i++) {
+					Statement st = buffer[candidates.values[i]];
+					if (st != null && matches(st, subj, pred, obj, contexts)) {
+						result.add(st);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private Map<Value, IntList> getIndex(int component) {
+		Map<Value, IntList> index = indexes[component];
+		if (index == null) {
+			index = new HashMap<>();
+			Function<Statement, Value> getter = COMPONENTS.get(component);
+			for (int i = 0; i < end; i++) {
+				if (buffer[i] != null) {
+					index.computeIfAbsent(getter.apply(buffer[i]), v -> new IntList()).add(i);
+				}
+			}
+			indexes[component] = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Rewrites the buffer without the slots of removed statements once they outnumber the remaining statements. The
+	 * indexes refer to positions in the old buffer and are dropped, to be rebuilt when next needed.
+	 */
+	private void compactIfSparse() {
+		int removed = end - positions.size();
+		if (removed < MIN_COMPACTION_SIZE || removed < positions.size()) {
+			return;
+		}
+		Statement[] compacted = new Statement[Math.max(16, positions.size() * 2)];
+		int j = 0;
+		for (int i = 0; i < end; i++) {
+			Statement st = buffer[i];
+			if (st != null) {
+				compacted[j] = st;
+				positions.put(st, j);
+				j++;
+			}
+		}
+		buffer = compacted;
+		end = j;
+		Arrays.fill(indexes, null);
+	}
+
+	private void checkMemoryOverflow() {
+		if (overflowFactory == null) {
+			return;
+		}
+		int size = positions.size();
+		if (size >= LARGE_BLOCK && size % LARGE_BLOCK == 0) {
+			// estimated memory used
+			long maxMemory = RUNTIME.maxMemory();
+			long used = RUNTIME.totalMemory() - RUNTIME.freeMemory();
+			long freeToAllocateMemory = maxMemory - used;
+
+			if (baseline > 0) {
+				long blockSize = used - baseline;
+				if (blockSize > maxBlockSize) {
+					maxBlockSize = blockSize;
+				}
+				// overflow if either the estimated size of the next block is larger than remaining memory, or if
+				// less than 10% of the heap is still free
+				if (freeToAllocateMemory < Math.min(0.1 * maxMemory, maxBlockSize)) {
+					logger.debug("overflowing changeset at {} statements. max block size: {}", size, maxBlockSize);
+					overflow();
+				}
+			}
+			baseline = used;
+		}
+	}
+
+	private void overflow() {
+		Model model = overflowFactory.createEmptyModel();
+		for (int i = 0; i < end; i++) {
+			if (buffer[i] != null) {
+				model.add(buffer[i]);
+			}
+		}
+		overflow = model;
+		buffer = new Statement[0];
+		end = 0;
+		positions = new HashMap<>();
+		Arrays.fill(indexes, null);
+	}
+
+	private static boolean isFullyBound(Resource subj, IRI pred, Value obj, Resource[] contexts) {
+		return subj != null && pred != null && obj != null && contexts != null && contexts.length == 1;
+	}
+
+	private static boolean matches(Statement st, Resource subj, IRI pred, Value obj, Resource[] contexts) {
+		if (subj != null && !subj.equals(st.getSubject())) {
+			return false;
+		}
+		if (pred != null && !pred.equals(st.getPredicate())) {
+			return false;
+		}
+		if (obj != null && !obj.equals(st.getObject())) {
+			return false;
+		}
+		if (contexts == null || contexts.length == 0) {
+			return true;
+		}
+		for (Resource context : contexts) {
+			if (Objects.equals(context, st.getContext())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Statement createStatement(Resource subj, IRI pred, Value obj, Resource ctx) {
+		if (ctx == null) {
+			return SimpleValueFactory.getInstance().createStatement(subj, pred, obj);
+		}
+		return SimpleValueFactory.getInstance().createStatement(subj, pred, obj, ctx);
+	}
+
+	/**
+	 * A growable list of buffer positions.
+	 */
+	private static final class IntList {
+
+		private int[] values = new int[2];
+
+		private int size;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.junit.Test;
+
+public class StatementBufferTest {
+
+	private final SimpleValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final IRI s1 = vf.createIRI("urn:s1");
+	private final IRI s2 = vf.createIRI("urn:s2");
+	private final IRI g1 = vf.createIRI("urn:g1");
+
+	@Test
+	public void testAddIsSetSemantics() {
+		StatementBuffer buffer = new StatementBuffer();
+
+		assertTrue(buffer.add(s1, RDF.TYPE, RDFS.RESOURCE, null));
+		assertFalse(buffer.add(vf.createStatement(s1, RDF.TYPE, RDFS.RESOURCE)));
+		assertTrue(buffer.add(s1, RDF.TYPE, RDFS.RESOURCE, g1));
+
+		assertEquals(2, buffer.size());
+	}
+
+	@Test
+	public void testContainsPattern() {
+		StatementBuffer buffer = new StatementBuffer();
+		buffer.add(s1, RDF.TYPE, RDFS.RESOURCE, g1);
+
+		assertTrue(buffer.contains(s1, RDF.TYPE, RDFS.RESOURCE, g1));
+		assertTrue(buffer.contains(null, RDF.TYPE, null));
+		assertTrue(buffer.contains(null, null, null, g1));
+		assertFalse(buffer.contains(null, null, null, (IRI) null));
+		assertFalse(buffer.contains(s2, null, null));
+
+		// the subject index is built by now and should be maintained on add
+		buffer.add(s2, RDF.TYPE, RDFS.CLASS, null);
+		assertTrue(buffer.contains(s2, null, null));
+		assertTrue(buffer.contains(null, null, null, (IRI) null));
+	}
+
+	@Test
+	public void testRemoveKeepsInsertionOrder() {
+		StatementBuffer buffer = new StatementBuffer();
+		Statement st1 = vf.createStatement(s1, RDF.TYPE, RDFS.RESOURCE);
+		Statement st2 = vf.createStatement(s2, RDF.TYPE, RDFS.RESOURCE);
+		Statement st3 = vf.createStatement(s2, RDF.TYPE, RDFS.CLASS);
+		buffer.add(st1);
+		buffer.add(st2);
+		buffer.add(st3);
+
+		assertTrue(buffer.remove(st2));
+		assertFalse(buffer.remove(st2));
+		assertEquals(Arrays.asList(st1, st3), buffer.toList());
+
+		buffer.add(st2);
+		assertEquals(Arrays.asList(st1, st3, st2), buffer.toList());
+		assertEquals(Arrays.asList(st3, st2), buffer.getStatements(s2, null, null));
+	}
+
+	@Test
+	public void testRemovePattern() {
+		StatementBuffer buffer = new StatementBuffer();
+		buffer.add(s1, RDF.TYPE, RDFS.RESOURCE, g1);
+		buffer.add(s2, RDF.TYPE, RDFS.RESOURCE, g1);
+		buffer.add(s2, RDF.TYPE, RDFS.RESOURCE, null);
+
+		assertTrue(buffer.remove(null, null, null, g1));
+
+		assertEquals(1, buffer.size());
+		assertFalse(buffer.contains(null, null, null, g1));
+		assertTrue(buffer.contains(s2, RDF.TYPE, RDFS.RESOURCE, (IRI) null));
+	}
+
+	@Test
+	public void testCompaction() {
+		StatementBuffer buffer = new StatementBuffer();
+		for (int i = 0; i < 5000; i++) {
+			buffer.add(vf.createIRI("urn:s" + i), RDF.TYPE, RDFS.RESOURCE, null);
+		}
+		// build the predicate index before the buffer is compacted
+		assertEquals(5000, buffer.getStatements(null, RDF.TYPE, null).size());
+
+		for (int i = 0; i < 4990; i++) {
+			buffer.remove(vf.createIRI("urn:s" + i), RDF.TYPE, RDFS.RESOURCE, (IRI) null);
+		}
+
+		List<Statement> remaining = buffer.getStatements(null, RDF.TYPE, null);
+		assertEquals(10, remaining.size());
+		assertEquals(vf.createIRI("urn:s4990"), remaining.get(0).getSubject());
+		assertTrue(buffer.contains(vf.createIRI("urn:s4999"), null, null));
+	}
+}
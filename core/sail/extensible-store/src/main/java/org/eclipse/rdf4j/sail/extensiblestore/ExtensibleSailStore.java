@@ -7,6 +7,13 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.extensiblestore;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
@@ -17,6 +24,7 @@ import org.eclipse.rdf4j.sail.base.SailStore;
 import org.eclipse.rdf4j.sail.extensiblestore.evaluationstatistics.DynamicStatistics;
 import org.eclipse.rdf4j.sail.extensiblestore.evaluationstatistics.EvaluationStatisticsEnum;
 import org.eclipse.rdf4j.sail.extensiblestore.evaluationstatistics.EvaluationStatisticsWrapper;
+import org.eclipse.rdf4j.sail.extensiblestore.evaluationstatistics.ExtensibleDynamicEvaluationStatistics;
 import org.eclipse.rdf4j.sail.extensiblestore.evaluationstatistics.ExtensibleEvaluationStatistics;
 import org.eclipse.rdf4j.sail.extensiblestore.valuefactory.ExtensibleStatement;
 import org.eclipse.rdf4j.sail.extensiblestore.valuefactory.ExtensibleStatementHelper;
@@ -38,6 +46,7 @@ public class ExtensibleSailStore implements SailStore {
 	private Thread evaluationStatisticsMaintainerThread;
 	private DataStructureInterface dataStructure;
 	private volatile boolean closed;
+	private File evaluationStatisticsFile;
 
 	public ExtensibleSailStore(DataStructureInterface dataStructure,
 			NamespaceStoreInterface namespaceStore, EvaluationStatisticsEnum evaluationStatisticsEnum,
@@ -58,7 +67,7 @@ public class ExtensibleSailStore implements SailStore {
 	}
 
 	synchronized private void startEvaluationStatisticsMaintainerThread() {
-		if (!closed) {
+		if (closed) {
 			return;
 		}
 		evaluationStatisticsMaintainerThread = new Thread(new EvaluationStatisticsThread());
@@ -72,6 +81,7 @@ public class ExtensibleSailStore implements SailStore {
 		if (evaluationStatisticsMaintainerThread != null) {
 			evaluationStatisticsMaintainerThread.interrupt();
 		}
+		saveEvaluationStatistics();
 		sailSource.close();
 		sailSourceInferred.close();
 	}
@@ -96,9 +106,63 @@ public class ExtensibleSailStore implements SailStore {
 		return sailSourceInferred;
 	}
 
+	/**
+	 * Set the file that the dynamic evaluation statistics are saved to when the store is closed, and loaded from when
+	 * the store is initialized. Needs to be called before {@link #init()}.
+	 */
+	public void setEvaluationStatisticsFile(File evaluationStatisticsFile) {
+		this.evaluationStatisticsFile = evaluationStatisticsFile;
+	}
+
 	public void init() {
 		sailSource.init();
 		sailSourceInferred.init();
+		loadEvaluationStatistics();
+	}
+
+	private void loadEvaluationStatistics() {
+		if (evaluationStatisticsFile == null || !evaluationStatisticsFile.isFile()
+				|| !(evaluationStatistics instanceof ExtensibleDynamicEvaluationStatistics)) {
+			return;
+		}
+
+		try (InputStream in = Files.newInputStream(evaluationStatisticsFile.toPath())) {
+			((ExtensibleDynamicEvaluationStatistics) evaluationStatistics).readFrom(in);
+			double staleness = ((DynamicStatistics) evaluationStatistics).staleness(dataStructure.getEstimatedSize());
+			logger.debug("Loaded evaluation statistics with staleness {}", staleness);
+		} catch (IOException e) {
+			logger.warn("Could not load evaluation statistics from {}", evaluationStatisticsFile, e);
+		}
+
+		// the file would be out of date if the store is not closed cleanly, the staleness check would then have to
+		// detect it. Without a file the statistics are recalculated instead.
+		try {
+			Files.delete(evaluationStatisticsFile.toPath());
+		} catch (IOException e) {
+			logger.warn("Could not delete evaluation statistics file {}", evaluationStatisticsFile, e);
+		}
+	}
+
+	private void saveEvaluationStatistics() {
+		if (evaluationStatisticsFile == null
+				|| !(evaluationStatistics instanceof ExtensibleDynamicEvaluationStatistics)) {
+			return;
+		}
+
+		ExtensibleDynamicEvaluationStatistics statistics = (ExtensibleDynamicEvaluationStatistics) evaluationStatistics;
+		File tempFile = new File(evaluationStatisticsFile.getPath() + ".tmp");
+		try {
+			statistics.waitForQueue();
+			try (OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+				statistics.writeTo(out);
+			}
+			Files.move(tempFile.toPath(), evaluationStatisticsFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			logger.warn("Could not save evaluation statistics to {}", evaluationStatisticsFile, e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
 	private void startRecalculateStatistics() {
@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.extensiblestore;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -38,6 +39,10 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Implement the DataStructureInterface and the NamespaceStoreInterface. In your ExtensibleStore-extending class
  * implement a constructor and set the following variables: namespaceStore, dataStructure, dataStructureInferred.
+ * Optionally set readCacheMaxStatements and readCacheTier to configure the {@link ReadCache}.
+ * </p>
+ * <p>
+ * If a data dir is set, the dynamic evaluation statistics are saved there on shutdown and loaded again on startup.
  * </p>
  * <p>
  * Note that the entire ExtensibleStore and all code in this package is experimental. Method signatures, class names,
@@ -53,12 +58,24 @@ public abstract class ExtensibleStore<T extends DataStructureInterface, N extend
 
 	private static final Logger logger = LoggerFactory.getLogger(ExtensibleStore.class);
 
+	static final String EVALUATION_STATISTICS_FILE = "evaluation-statistics.bin";
+
 	protected ExtensibleSailStore sailStore;
 
 	protected N namespaceStore;
 
 	protected T dataStructure;
 
+	/**
+	 * The maximum number of statements in the in-memory tier of the {@link ReadCache}.
+	 */
+	protected long readCacheMaxStatements = ReadCache.DEFAULT_MAX_CACHED_STATEMENTS;
+
+	/**
+	 * An optional second tier for the {@link ReadCache}, or null.
+	 */
+	protected ReadCacheTier readCacheTier;
+
 	final boolean cacheEnabled;
 
 	private EvaluationStrategyFactory evalStratFactory;
@@ -86,12 +103,16 @@ public abstract class ExtensibleStore<T extends DataStructureInterface, N extend
 		DataStructureInterface dataStructure = Objects.requireNonNull(this.dataStructure);
 
 		if (cacheEnabled) {
-			dataStructure = new ReadCache(dataStructure);
+			dataStructure = new ReadCache(dataStructure, readCacheMaxStatements, readCacheTier);
 		}
 
 		sailStore = new ExtensibleSailStore(dataStructure,
 				Objects.requireNonNull(namespaceStore), getEvaluationStatisticsType(), getExtensibleStatementHelper());
 
+		if (getDataDir() != null) {
+			sailStore.setEvaluationStatisticsFile(new File(getDataDir(), EVALUATION_STATISTICS_FILE));
+		}
+
 		sailStore.init();
 		namespaceStore.init();
 	}
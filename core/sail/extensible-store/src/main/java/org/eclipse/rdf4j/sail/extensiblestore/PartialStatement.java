@@ -30,6 +30,49 @@ public class PartialStatement {
 		this.inferred = inferred;
 	}
 
+	boolean isInferred() {
+		return inferred;
+	}
+
+	/**
+	 * @return true if a statement can match both this pattern and the other pattern
+	 */
+	boolean overlaps(PartialStatement other) {
+		return inferred == other.inferred &&
+				overlaps(subject, other.subject) &&
+				overlaps(predicate, other.predicate) &&
+				overlaps(object, other.object) &&
+				overlaps(context, other.context);
+	}
+
+	/**
+	 * @return the pattern with the same subject, predicate and object that matches any context
+	 */
+	PartialStatement withoutContext() {
+		if (context != null && context.length == 0) {
+			return this;
+		}
+		return new PartialStatement(subject, predicate, object, inferred);
+	}
+
+	private static boolean overlaps(Value value, Value other) {
+		return value == null || other == null || value.equals(other);
+	}
+
+	private static boolean overlaps(Resource[] contexts, Resource[] otherContexts) {
+		if (contexts == null || contexts.length == 0 || otherContexts == null || otherContexts.length == 0) {
+			return true;
+		}
+		for (Resource context : contexts) {
+			for (Resource otherContext : otherContexts) {
+				if (Objects.equals(context, otherContext)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -8,8 +8,14 @@
 package org.eclipse.rdf4j.sail.extensiblestore;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
@@ -23,39 +29,78 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+
+/**
+ * Caches the results of getStatements(...) calls on any {@link DataStructureInterface}.
+ * <p>
+ * Writes only invalidate the cached results that they overlap with, so read-mostly workloads keep most of the cache
+ * when there are occasional updates. The size of the cache is bounded by the number of cached statements. Results that
+ * are evicted because the cache is full can be moved to an optional second tier, see {@link ReadCacheTier}.
+ */
 public class ReadCache implements DataStructureInterface {
 
 	private static final Logger logger = LoggerFactory.getLogger(ReadCache.class);
 
+	public static final long DEFAULT_MAX_CACHED_STATEMENTS = 1_000_000;
+
+	// after this many writes that have not been flushed the complete cache is invalidated on flush, instead of the
+	// patterns of the individual writes
+	private static final int UNFLUSHED_WRITES_LIMIT = 10_000;
+
 	DataStructureInterface delegate;
 
 	final int STATEMENTS_PER_CACHE_ITEM_LIMIT = 100000;
 
-	// A soft values-based cache of unlimited size. We currently handle retention and removal manually.
-	Cache<PartialStatement, List<ExtensibleStatement>> cache = CacheBuilder.newBuilder().softValues().build();
+	private final ReadCacheTier secondTier;
+
+	private final Cache<PartialStatement, List<ExtensibleStatement>> cache;
 
-	// The cache ticket is incremented every time the cache is cleared. A getStatements operation retrieves the current
-	// cacheTicket when the iteration is opened. When the iteration is closed it checks the retrieved ticket against the
-	// currentTicket, if they are the same then the statements can be cached. If the tickets don't match it means that
-	// there was a write operation at some point after the iteration was opened, and the statements accumulated in the
-	// iteration are stale and can not be cached.
-	private volatile long cacheTicket = Long.MIN_VALUE;
+	// All cached patterns in either tier, grouped by their subject, predicate and object. For a written statement the
+	// overlapping patterns can then be found with eight lookups.
+	private final Map<PartialStatement, Set<PartialStatement>> index = new HashMap<>();
+
+	// Iterations that are currently filling the cache. A write that overlaps the pattern of such an iteration marks it
+	// as stale, since it may have read the data from before the write, and its statements will not be cached. Weak
+	// keys, so that iterations that are never closed are not leaked.
+	private final Set<PendingRead> pendingReads = Collections.newSetFromMap(new WeakHashMap<>());
+
+	// Writes to the delegate may only become visible to reads once the delegate has been flushed, so reads before the
+	// flush could cache the data from before the write. Writes are invalidated again when the delegate is flushed.
+	private final List<PartialStatement> unflushedWrites = new ArrayList<>();
+
+	private boolean unflushedWritesOverflow;
 
 	public ReadCache(DataStructureInterface delegate) {
+		this(delegate, DEFAULT_MAX_CACHED_STATEMENTS, null);
+	}
+
+	/**
+	 * @param delegate            the data structure to cache
+	 * @param maxCachedStatements the maximum number of statements in the in-memory cache
+	 * @param secondTier          a second tier for results that are evicted from the in-memory cache, or null
+	 */
+	public ReadCache(DataStructureInterface delegate, long maxCachedStatements, ReadCacheTier secondTier) {
 		this.delegate = delegate;
+		this.secondTier = secondTier;
+		this.cache = CacheBuilder.newBuilder()
+				.maximumWeight(maxCachedStatements)
+				.weigher((PartialStatement key, List<ExtensibleStatement> value) -> value.size() + 1)
+				.removalListener(this::onRemoval)
+				.build();
 	}
 
 	@Override
 	public void addStatement(ExtensibleStatement statement) {
 		delegate.addStatement(statement);
-		clearCache();
+		invalidateWrite(statement);
 	}
 
 	@Override
 	public void removeStatement(ExtensibleStatement statement) {
 		delegate.removeStatement(statement);
-		clearCache();
+		invalidateWrite(statement);
 	}
 
 	@Override
@@ -70,7 +115,10 @@ public class ReadCache implements DataStructureInterface {
 			return cached;
 		}
 
-		long localCacheTicket = cacheTicket;
+		PendingRead pendingRead = new PendingRead(partialStatement);
+		synchronized (this) {
+			pendingReads.add(pendingRead);
+		}
 
 		return new CloseableIteration<ExtensibleStatement, SailException>() {
 
@@ -108,9 +156,12 @@ public class ReadCache implements DataStructureInterface {
 			@Override
 			public void close() throws SailException {
 				if (!statements.hasNext()) {
-					submitToCache(localCacheTicket, partialStatement, cache);
+					submitToCache(pendingRead, cache);
 				} else {
 					logger.trace("iteration was not fully consumed before being closed and could not be cached");
+					synchronized (ReadCache.this) {
+						pendingReads.remove(pendingRead);
+					}
 				}
 				statements.close();
 
@@ -123,10 +174,22 @@ public class ReadCache implements DataStructureInterface {
 			PartialStatement partialStatement) {
 		List<ExtensibleStatement> statements = cache.getIfPresent(partialStatement);
 
+		if (statements == null && secondTier != null && isIndexed(partialStatement)) {
+			statements = secondTier.get(partialStatement);
+			if (statements != null) {
+				// promote to the in-memory cache, the pattern is still indexed
+				cache.put(partialStatement, statements);
+			} else {
+				// evicted by the second tier
+				unindex(partialStatement);
+			}
+		}
+
 		if (statements != null) {
+			List<ExtensibleStatement> finalStatements = statements;
 
 			return new LookAheadIteration<ExtensibleStatement, SailException>() {
-				Iterator<ExtensibleStatement> iterator = statements.iterator();
+				Iterator<ExtensibleStatement> iterator = finalStatements.iterator();
 
 				@Override
 				protected ExtensibleStatement getNextElement() throws SailException {
@@ -145,6 +208,7 @@ public class ReadCache implements DataStructureInterface {
 	@Override
 	public void flushForReading() {
 		delegate.flushForReading();
+		invalidateUnflushedWrites();
 	}
 
 	@Override
@@ -155,38 +219,175 @@ public class ReadCache implements DataStructureInterface {
 	@Override
 	public void clear(boolean inferred, Resource[] contexts) {
 		delegate.clear(inferred, contexts);
-		clearCache();
+		invalidateWrite(new PartialStatement(null, null, null, inferred, contexts));
 	}
 
 	@Override
 	public void flushForCommit() {
 		delegate.flushForCommit();
-		clearCache();
+		invalidateUnflushedWrites();
 	}
 
 	@Override
 	public boolean removeStatementsByQuery(Resource subj, IRI pred, Value obj, boolean inferred, Resource[] contexts) {
 		boolean removed = delegate.removeStatementsByQuery(subj, pred, obj, inferred, contexts);
-		clearCache();
+		invalidateWrite(new PartialStatement(subj, pred, obj, inferred, contexts));
 		return removed;
 	}
 
+	/**
+	 * Invalidates the complete cache.
+	 */
 	synchronized public void clearCache() {
 		cache.invalidateAll();
-		// overflow is not a problem since we use == to compare in submitToCache
-		cacheTicket++;
+		if (secondTier != null) {
+			secondTier.invalidateAll();
+		}
+		index.clear();
+		pendingReads.forEach(pendingRead -> pendingRead.stale = true);
+		unflushedWrites.clear();
+		unflushedWritesOverflow = false;
+	}
+
+	synchronized private void submitToCache(PendingRead pendingRead, List<ExtensibleStatement> statements) {
+		if (pendingReads.remove(pendingRead) && !pendingRead.stale && statements != null) {
+			cache.put(pendingRead.partialStatement, statements);
+			index(pendingRead.partialStatement);
+		}
+	}
+
+	/**
+	 * Invalidates the cached patterns that match the written statement.
+	 */
+	private void invalidateWrite(ExtensibleStatement statement) {
+		invalidateWrite(new PartialStatement(statement.getSubject(), statement.getPredicate(), statement.getObject(),
+				statement.isInferred(), statement.getContext()));
+	}
+
+	/**
+	 * Invalidates the cached patterns that overlap with a written pattern, and remembers the pattern until the delegate
+	 * has been flushed.
+	 */
+	synchronized private void invalidateWrite(PartialStatement write) {
+		invalidateOverlapping(write);
+		addUnflushedWrite(write);
+	}
+
+	synchronized private void invalidateUnflushedWrites() {
+		if (unflushedWritesOverflow) {
+			clearCache();
+		} else {
+			unflushedWrites.forEach(this::invalidateOverlapping);
+			unflushedWrites.clear();
+		}
+	}
+
+	private void invalidateOverlapping(PartialStatement write) {
+		if (!index.isEmpty()) {
+			List<PartialStatement> overlapping = new ArrayList<>();
+			if (write.subject != null && write.predicate != null && write.object != null) {
+				// a single statement, only the patterns that are indexed under one of its eight generalisations can
+				// overlap with it, the context of the patterns is checked by overlaps(...)
+				for (int i = 0; i < 8; i++) {
+					PartialStatement key = new PartialStatement((i & 1) == 0 ? write.subject : null,
+							(i & 2) == 0 ? write.predicate : null, (i & 4) == 0 ? write.object : null,
+							write.isInferred());
+					addOverlapping(index.get(key), write, overlapping);
+				}
+			} else {
+				for (Set<PartialStatement> patterns : index.values()) {
+					addOverlapping(patterns, write, overlapping);
+				}
+			}
+			overlapping.forEach(this::invalidate);
+		}
+
+		for (PendingRead pendingRead : pendingReads) {
+			if (!pendingRead.stale && pendingRead.partialStatement.overlaps(write)) {
+				pendingRead.stale = true;
+			}
+		}
+	}
+
+	private static void addOverlapping(Set<PartialStatement> patterns, PartialStatement write,
+			List<PartialStatement> overlapping) {
+		if (patterns != null) {
+			for (PartialStatement pattern : patterns) {
+				if (pattern.overlaps(write)) {
+					overlapping.add(pattern);
+				}
+			}
+		}
+	}
+
+	private void addUnflushedWrite(PartialStatement write) {
+		if (unflushedWritesOverflow) {
+			return;
+		}
+		if (unflushedWrites.size() < UNFLUSHED_WRITES_LIMIT) {
+			unflushedWrites.add(write);
+		} else {
+			unflushedWrites.clear();
+			unflushedWritesOverflow = true;
+		}
+	}
+
+	private void invalidate(PartialStatement pattern) {
+		unindex(pattern);
+		cache.invalidate(pattern);
+		if (secondTier != null) {
+			secondTier.invalidate(pattern);
+		}
+	}
+
+	private boolean isIndexed(PartialStatement pattern) {
+		Set<PartialStatement> patterns = index.get(pattern.withoutContext());
+		return patterns != null && patterns.contains(pattern);
+	}
+
+	private void index(PartialStatement pattern) {
+		index.computeIfAbsent(pattern.withoutContext(), k -> new HashSet<>()).add(pattern);
 	}
 
-	synchronized public void submitToCache(Long localCacheTicket, PartialStatement partialStatement,
-			List<ExtensibleStatement> statements) {
-		if (localCacheTicket == cacheTicket && statements != null) {
-			cache.put(partialStatement, statements);
+	private void unindex(PartialStatement pattern) {
+		PartialStatement key = pattern.withoutContext();
+		Set<PartialStatement> patterns = index.get(key);
+		if (patterns != null) {
+			patterns.remove(pattern);
+			if (patterns.isEmpty()) {
+				index.remove(key);
+			}
 		}
+	}
 
+	// called by the cache, while holding the lock on this ReadCache
+	private void onRemoval(RemovalNotification<PartialStatement, List<ExtensibleStatement>> notification) {
+		RemovalCause cause = notification.getCause();
+		if (cause == RemovalCause.EXPLICIT || cause == RemovalCause.REPLACED) {
+			// the index is updated by whoever invalidated or replaced the entry
+			return;
+		}
+		if (secondTier != null && notification.getKey() != null && notification.getValue() != null) {
+			// the pattern stays indexed while it is in the second tier
+			secondTier.put(notification.getKey(), notification.getValue());
+		} else if (notification.getKey() != null) {
+			unindex(notification.getKey());
+		}
 	}
 
 	@Override
 	public long getEstimatedSize() {
 		return delegate.getEstimatedSize();
 	}
+
+	private static class PendingRead {
+
+		private final PartialStatement partialStatement;
+
+		private boolean stale;
+
+		private PendingRead(PartialStatement partialStatement) {
+			this.partialStatement = partialStatement;
+		}
+	}
 }
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.extensiblestore;
+
+import java.util.List;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.sail.extensiblestore.valuefactory.ExtensibleStatement;
+
+/**
+ * A second tier for the {@link ReadCache}, for instance an off-heap or on-disk cache. Entries that are evicted from the
+ * in-memory cache because it is full are moved to the second tier, and are moved back when they are read again.
+ * <p>
+ * The {@link ReadCache} decides which entries are stale and invalidates them. A tier may evict entries on its own to
+ * limit its size. Implementations need to be thread safe.
+ */
+@Experimental
+public interface ReadCacheTier {
+
+	/**
+	 * @return the cached statements, or null if the statements are not cached
+	 */
+	List<ExtensibleStatement> get(PartialStatement partialStatement);
+
+	void put(PartialStatement partialStatement, List<ExtensibleStatement> statements);
+
+	void invalidate(PartialStatement partialStatement);
+
+	void invalidateAll();
+
+}
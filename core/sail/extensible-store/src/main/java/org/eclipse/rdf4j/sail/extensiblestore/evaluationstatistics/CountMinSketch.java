@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.extensiblestore.evaluationstatistics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A count-min sketch of fixed size that estimates how often a key has been counted. Counts can also be decremented, as
+ * long as the true count of every key stays non-negative the estimate is never lower than the true count. Two sketches
+ * of the same size can be merged by adding their counters.
+ */
+class CountMinSketch {
+
+	private static final int DEPTH = 4;
+
+	private static final long[] SEEDS = { 0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L,
+			0xD6E8FEB86659FD93L };
+
+	private final int log2Width;
+
+	private final int mask;
+
+	private final long[] counters;
+
+	CountMinSketch(int log2Width) {
+		this.log2Width = log2Width;
+		this.mask = (1 << log2Width) - 1;
+		this.counters = new long[DEPTH << log2Width];
+	}
+
+	void add(long key, long delta) {
+		for (int row = 0; row < DEPTH; row++) {
+			counters[index(row, key)] += delta;
+		}
+	}
+
+	long estimate(long key) {
+		long min = Long.MAX_VALUE;
+		for (int row = 0; row < DEPTH; row++) {
+			min = Math.min(min, counters[index(row, key)]);
+		}
+		return Math.max(0, min);
+	}
+
+	void merge(CountMinSketch other) {
+		if (other.log2Width != log2Width) {
+			throw new IllegalArgumentException("Can not merge sketches of different sizes");
+		}
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] += other.counters[i];
+		}
+	}
+
+	void clear() {
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] = 0;
+		}
+	}
+
+	void writeTo(DataOutput out) throws IOException {
+		for (long counter : counters) {
+			out.writeLong(counter);
+		}
+	}
+
+	void readFrom(DataInput in) throws IOException {
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] = in.readLong();
+		}
+	}
+
+	private int index(int row, long key) {
+		return (row << log2Width) | ((int) mix(key ^ SEEDS[row]) & mask);
+	}
+
+	/**
+	 * The finalizer of MurmurHash3, spreads the bits of the key over the whole long.
+	 */
+	static long mix(long key) {
+		key ^= key >>> 33;
+		key *= 0xFF51AFD7ED558CCDL;
+		key ^= key >>> 33;
+		key *= 0xC4CEB9FE1A85EC53L;
+		key ^= key >>> 33;
+		return key;
+	}
+
+}
@@ -21,6 +21,11 @@ import org.eclipse.rdf4j.sail.extensiblestore.valuefactory.ExtensibleStatement;
 /**
  * A wrapper around a data structure to support evaluation statistics that need to be notified of added or removed
  * statements.
+ * <p>
+ * Every added or removed statement is passed on to the statistics, also when it does not change the data structure.
+ * Checking that would need a lookup in the data structure for every statement. The store adds statements that it
+ * already contains, for instance when the same data is loaded again, so the statistics have to tolerate duplicates or
+ * detect them through {@link DynamicStatistics#staleness(long)}.
  */
 @Experimental
 public class EvaluationStatisticsWrapper implements DataStructureInterface {
@@ -87,7 +92,7 @@ public class EvaluationStatisticsWrapper implements DataStructureInterface {
 
 	@Override
 	public void removeStatement(Collection<ExtensibleStatement> statements) {
-		delegate.addStatement(statements);
+		delegate.removeStatement(statements);
 		statements.forEach(dynamicStatistics::remove);
 	}
 
@@ -7,12 +7,13 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.extensiblestore.evaluationstatistics;
 
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Stream;
 
 import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.model.IRI;
@@ -26,11 +27,6 @@ import org.eclipse.rdf4j.sail.extensiblestore.valuefactory.ExtensibleStatement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
-
-import net.agkn.hll.HLL;
-
 /**
  * <p>
  * ExtensibleDynamicEvaluationStatistics aims to keep an internal estimate of the cardinality of various statement
@@ -38,27 +34,32 @@ import net.agkn.hll.HLL;
  * </p>
  *
  * <p>
- * It support getting the overall size, any single dimension cardinality (eg. ?a rdf:type ?b) and also two
- * multidimensional patterns (:Peter rdf:type ?b; and ?a rdf:type foaf:Person).
+ * It support getting the overall size, any single dimension cardinality (eg. ?a rdf:type ?b) and also three
+ * multidimensional patterns (:Peter rdf:type ?b; ?a rdf:type foaf:Person and :Peter ?b foaf:Person).
  * </p>
  *
  * <p>
- * Since evaluation statistics are best-effort, we use HLL as sets to keep the number of statements for each pattern we
- * support. HLL is a very memory efficient set implementation. Furthermore we hash each pattern into a fixed bucket
- * size, 1024 for single dimension and 64 per dimension for multidimensional patterns.
+ * Since evaluation statistics are best-effort, we use a count-min sketch for each pattern we support. A count-min
+ * sketch has a fixed size, so the memory use does not grow with the number of statements. The estimate for a pattern is
+ * never lower than the actual number of statements, but hash collisions can make it higher. This means that adding
+ * ':peter rdf:type foaf:Person' and ':lisa rdf:type foaf:Person' could potentially return getCardinality(:peter, ?b,
+ * ?c) = 2, although this is unlikely since a collision needs to happen in every row of the sketch.
  * </p>
  *
  * <p>
- * This means that adding ':peter rdf:type foaf:Person' and ':lisa rdf:type foaf:Person' could potentially return
- * getCardinality(:peter, ?b, ?c) = 2 if both :peter and :lisa hash to the same of the 1024 buckets in subjectIndex.
+ * Removing a statement decrements the same counters that adding it incremented, so removing and re-adding statements
+ * does not skew the estimates. Unlike a set, a sketch can not tell whether it has already counted a statement. Adding a
+ * statement that is already in the store counts it twice, and removing a statement that is not in the store decrements
+ * the counters of a statement that was never counted. The statistics also become stale when statements are removed with
+ * {@link #removeByQuery(Resource, IRI, Value, boolean, Resource...)} or when the store is not notified of every change.
+ * This class therefore needs to be monitored by calling the staleness(...) method, which compares the number of counted
+ * statements with the size of the store. This will automatically be done every 60 seconds by the ExtensibleSailStore,
+ * which recalculates the statistics when they are too stale.
  * </p>
  *
  * <p>
- * HLL does not support "remove" operations, so there are two sets of every index. One for all added statements and one
- * for all removed statements. If the user adds, removes and re-adds the same statement then the cardinality for that
- * statement will be incorrect. We call this effect "staleness". To prevent staleness from affecting the returned
- * cardinalities this class needs to be monitored by calling the staleness(...) method. This will automatically be done
- * every 60 seconds by the ExtensibleSailStore.
+ * Statistics of the same type can be combined with {@link #merge(ExtensibleDynamicEvaluationStatistics)}, and can be
+ * saved with {@link #writeTo(OutputStream)} and restored with {@link #readFrom(InputStream)}.
  * </p>
  *
  */
@@ -66,50 +67,35 @@ import net.agkn.hll.HLL;
 public class ExtensibleDynamicEvaluationStatistics extends ExtensibleEvaluationStatistics implements DynamicStatistics {
 	private static final Logger logger = LoggerFactory.getLogger(ExtensibleDynamicEvaluationStatistics.class);
 	private static final int QUEUE_LIMIT = 128;
-	private static final int SINGLE_DIMENSION_INDEX_SIZE = 1024;
+	private static final int SKETCH_LOG2_WIDTH = 14;
+
+	private static final int SERIALIZATION_MAGIC = 0x52344553;
+	private static final int SERIALIZATION_VERSION = 1;
 
 	ConcurrentLinkedQueue<StatementQueueItem> queue = new ConcurrentLinkedQueue<>();
 
 	AtomicInteger queueSize = new AtomicInteger();
 
-	private final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
-
-	private final HLL EMPTY_HLL = getHLL();
-
-	private final HLL size = getHLL();
-	private final HLL size_removed = getHLL();
+	// negative if more statements were removed than added, the cardinalities are at least 0
+	private long size;
+	private long defaultContextSize;
 
-	private final Map<Integer, HLL> subjectIndex = new HashMap<>();
-	private final Map<Integer, HLL> predicateIndex = new HashMap<>();
-	private final Map<Integer, HLL> objectIndex = new HashMap<>();
-	private final Map<Integer, HLL> contextIndex = new HashMap<>();
-	private final HLL defaultContext = getHLL();
+	private final CountMinSketch subjectIndex = new CountMinSketch(SKETCH_LOG2_WIDTH);
+	private final CountMinSketch predicateIndex = new CountMinSketch(SKETCH_LOG2_WIDTH);
+	private final CountMinSketch objectIndex = new CountMinSketch(SKETCH_LOG2_WIDTH);
+	private final CountMinSketch contextIndex = new CountMinSketch(SKETCH_LOG2_WIDTH);
 
-	private final HLL[][] subjectPredicateIndex = new HLL[64][64];
-	private final HLL[][] predicateObjectIndex = new HLL[64][64];
+	private final CountMinSketch subjectPredicateIndex = new CountMinSketch(SKETCH_LOG2_WIDTH);
+	private final CountMinSketch predicateObjectIndex = new CountMinSketch(SKETCH_LOG2_WIDTH);
+	private final CountMinSketch subjectObjectIndex = new CountMinSketch(SKETCH_LOG2_WIDTH);
 
-	private final Map<Integer, HLL> subjectIndex_removed = new HashMap<>();
-	private final Map<Integer, HLL> predicateIndex_removed = new HashMap<>();
-	private final Map<Integer, HLL> objectIndex_removed = new HashMap<>();
-	private final Map<Integer, HLL> contextIndex_removed = new HashMap<>();
-	private final HLL defaultContext_removed = getHLL();
+	private final CountMinSketch[] sketches = { subjectIndex, predicateIndex, objectIndex, contextIndex,
+			subjectPredicateIndex, predicateObjectIndex, subjectObjectIndex };
 
-	private final HLL[][] subjectPredicateIndex_removed = new HLL[64][64];
-	private final HLL[][] predicateObjectIndex_removed = new HLL[64][64];
 	volatile private Thread queueConsumingThread;
 
 	public ExtensibleDynamicEvaluationStatistics(ExtensibleSailStore extensibleSailStore) {
 		super(extensibleSailStore);
-
-		Stream.of(subjectPredicateIndex, predicateObjectIndex, subjectPredicateIndex_removed,
-				predicateObjectIndex_removed).forEach(index -> {
-					for (int i = 0; i < index.length; i++) {
-						for (int j = 0; j < index[i].length; j++) {
-							index[i][j] = getHLL();
-						}
-					}
-				});
-
 	}
 
 	@Override
@@ -120,7 +106,7 @@ public class ExtensibleDynamicEvaluationStatistics extends ExtensibleEvaluationS
 	@Override
 	synchronized public double staleness(long expectedSize) {
 
-		double estimatedSize = size.cardinality() - size_removed.cardinality();
+		double estimatedSize = size;
 
 		// add 500 because this is our minimum margin of error
 		estimatedSize += 500;
@@ -146,106 +132,154 @@ public class ExtensibleDynamicEvaluationStatistics extends ExtensibleEvaluationS
 
 	}
 
+	/**
+	 * Add the statistics of another instance to this one, for instance statistics that were calculated in parallel for
+	 * separate parts of the data. Statements that are still queued in the other instance are not included.
+	 */
+	public void merge(ExtensibleDynamicEvaluationStatistics other) {
+		if (other == this) {
+			throw new IllegalArgumentException("Can not merge statistics with itself");
+		}
+		synchronized (this) {
+			synchronized (other) {
+				size += other.size;
+				defaultContextSize += other.defaultContextSize;
+				for (int i = 0; i < sketches.length; i++) {
+					sketches[i].merge(other.sketches[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Write the current statistics to the output stream. Statements that are still queued are not included, call
+	 * {@link #waitForQueue()} first to include them.
+	 */
+	synchronized public void writeTo(OutputStream outputStream) throws IOException {
+		DataOutputStream out = new DataOutputStream(outputStream);
+		out.writeInt(SERIALIZATION_MAGIC);
+		out.writeInt(SERIALIZATION_VERSION);
+		out.writeInt(SKETCH_LOG2_WIDTH);
+		out.writeLong(size);
+		out.writeLong(defaultContextSize);
+		for (CountMinSketch sketch : sketches) {
+			sketch.writeTo(out);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Replace the current statistics with statistics previously written with {@link #writeTo(OutputStream)}.
+	 *
+	 * @throws IOException if the stream could not be read or was not written by a compatible version
+	 */
+	synchronized public void readFrom(InputStream inputStream) throws IOException {
+		DataInputStream in = new DataInputStream(inputStream);
+		if (in.readInt() != SERIALIZATION_MAGIC) {
+			throw new IOException("Not a serialized evaluation statistics stream");
+		}
+		int version = in.readInt();
+		int log2Width = in.readInt();
+		if (version != SERIALIZATION_VERSION || log2Width != SKETCH_LOG2_WIDTH) {
+			throw new IOException("Unsupported evaluation statistics version: " + version);
+		}
+		try {
+			size = in.readLong();
+			defaultContextSize = in.readLong();
+			for (CountMinSketch sketch : sketches) {
+				sketch.readFrom(in);
+			}
+		} catch (IOException e) {
+			// don't keep half read statistics around
+			size = 0;
+			defaultContextSize = 0;
+			for (CountMinSketch sketch : sketches) {
+				sketch.clear();
+			}
+			throw e;
+		}
+	}
+
 	class ExtensibleDynamicEvaluationStatisticsCardinalityCalculator extends CardinalityCalculator {
 
 		@Override
-		synchronized protected double getCardinality(StatementPattern sp) {
-			double min = size.cardinality() - size_removed.cardinality();
+		protected double getCardinality(StatementPattern sp) {
+			synchronized (ExtensibleDynamicEvaluationStatistics.this) {
+				double min = Math.max(0, size);
 
-			min = Math.min(min, getSubjectCardinality(sp.getSubjectVar()));
-			min = Math.min(min, getPredicateCardinality(sp.getPredicateVar()));
-			min = Math.min(min, getObjectCardinality(sp.getObjectVar()));
+				min = Math.min(min, getSubjectCardinality(sp.getSubjectVar()));
+				min = Math.min(min, getPredicateCardinality(sp.getPredicateVar()));
+				min = Math.min(min, getObjectCardinality(sp.getObjectVar()));
 
-			// skip more complex evaluations if min is unlikely to get lower
-			if (min < 2) {
-				return min;
-			}
+				// skip more complex evaluations if min is unlikely to get lower
+				if (min < 2) {
+					return min;
+				}
 
-			if (sp.getSubjectVar().getValue() != null && sp.getPredicateVar().getValue() != null) {
-				min = Math.min(min,
-						getHllCardinality(
-								subjectPredicateIndex,
-								subjectPredicateIndex_removed,
-								sp.getSubjectVar().getValue(),
-								sp.getPredicateVar().getValue()));
-			}
+				Value subject = sp.getSubjectVar().getValue();
+				Value predicate = sp.getPredicateVar().getValue();
+				Value object = sp.getObjectVar().getValue();
 
-			if (sp.getPredicateVar().getValue() != null && sp.getObjectVar().getValue() != null) {
-				min = Math.min(min,
-						getHllCardinality(
-								predicateObjectIndex,
-								predicateObjectIndex_removed,
-								sp.getPredicateVar().getValue(),
-								sp.getObjectVar().getValue()));
-			}
+				if (subject != null && predicate != null) {
+					min = Math.min(min, subjectPredicateIndex.estimate(pairKey(subject, predicate)));
+				}
+
+				if (predicate != null && object != null) {
+					min = Math.min(min, predicateObjectIndex.estimate(pairKey(predicate, object)));
+				}
 
-			return min;
+				if (subject != null && object != null) {
+					min = Math.min(min, subjectObjectIndex.estimate(pairKey(subject, object)));
+				}
+
+				return min;
+			}
 
 		}
 
 		@Override
-		synchronized protected double getSubjectCardinality(Var var) {
-			if (var.getValue() == null) {
-				return size.cardinality();
-			} else {
-				return getHllCardinality(subjectIndex, subjectIndex_removed, var.getValue());
-			}
+		protected double getSubjectCardinality(Var var) {
+			return getCardinality(subjectIndex, var);
+		}
 
+		@Override
+		protected double getPredicateCardinality(Var var) {
+			return getCardinality(predicateIndex, var);
 		}
 
 		@Override
-		synchronized protected double getPredicateCardinality(Var var) {
-			if (var.getValue() == null) {
-				return size.cardinality();
-			} else {
-				return getHllCardinality(predicateIndex, predicateIndex_removed, var.getValue());
-			}
+		protected double getObjectCardinality(Var var) {
+			return getCardinality(objectIndex, var);
 		}
 
 		@Override
-		synchronized protected double getObjectCardinality(Var var) {
-			if (var.getValue() == null) {
-				return size.cardinality();
-			} else {
-				return getHllCardinality(objectIndex, objectIndex_removed, var.getValue());
+		protected double getContextCardinality(Var var) {
+			synchronized (ExtensibleDynamicEvaluationStatistics.this) {
+				if (var.getValue() == null) {
+					return Math.max(0, defaultContextSize);
+				} else {
+					return contextIndex.estimate(key(var.getValue()));
+				}
 			}
 		}
 
-		@Override
-		synchronized protected double getContextCardinality(Var var) {
-			if (var.getValue() == null) {
-				return defaultContext.cardinality() - defaultContext_removed.cardinality();
-			} else {
-				return getHllCardinality(contextIndex, contextIndex_removed, var.getValue());
+		private double getCardinality(CountMinSketch index, Var var) {
+			synchronized (ExtensibleDynamicEvaluationStatistics.this) {
+				if (var.getValue() == null) {
+					return Math.max(0, size);
+				} else {
+					return index.estimate(key(var.getValue()));
+				}
 			}
 		}
 	}
 
-	;
-
-	private double getHllCardinality(HLL[][] index, HLL[][] index_removed,
-			Value value1, Value value2) {
-
-		int value1IndexIntoAdded = Math.abs(value1.hashCode() % index.length);
-		int value2IndexIntoAdded = Math.abs(value2.hashCode() % index.length);
-		double cardinalityAdded = index[value1IndexIntoAdded][value2IndexIntoAdded].cardinality();
-
-		int value1IndexIntoRemoved = Math.abs(value1.hashCode() % index_removed.length);
-		int value2IndexIntoRemoved = Math.abs(value2.hashCode() % index_removed.length);
-		double removedStatements = index_removed[value1IndexIntoRemoved][value2IndexIntoRemoved].cardinality();
-
-		return cardinalityAdded - removedStatements;
+	private static long key(Value value) {
+		return value.hashCode();
 	}
 
-	private double getHllCardinality(Map<Integer, HLL> index,
-			Map<Integer, HLL> index_removed, Value value) {
-
-		int indexIntoMap = Math.abs(value.hashCode() % SINGLE_DIMENSION_INDEX_SIZE);
-
-		double cardinalityAdded = index.getOrDefault(indexIntoMap, EMPTY_HLL).cardinality();
-		double cardinalityRemoved = index_removed.getOrDefault(indexIntoMap, EMPTY_HLL).cardinality();
-
-		return cardinalityAdded - cardinalityRemoved;
+	private static long pairKey(Value value1, Value value2) {
+		return ((long) value1.hashCode() << 32) | (value2.hashCode() & 0xFFFFFFFFL);
 	}
 
 	@Override
@@ -264,27 +298,7 @@ public class ExtensibleDynamicEvaluationStatistics extends ExtensibleEvaluationS
 			queueConsumingThread = new Thread(() -> {
 				try {
 					while (!queue.isEmpty()) {
-						StatementQueueItem poll = queue.poll();
-						queueSize.decrementAndGet();
-						Statement statement = poll.statement;
-						long statementHash = HASH_FUNCTION
-								.hashString(statement.toString(), StandardCharsets.UTF_8)
-								.asLong();
-
-						if (poll.type == StatementQueueItem.Type.added) {
-
-							handleStatement(statement, statementHash, size, subjectIndex, predicateIndex, objectIndex,
-									subjectPredicateIndex, predicateObjectIndex, defaultContext, contextIndex);
-
-						} else { // removed
-
-							assert poll.type == StatementQueueItem.Type.removed;
-
-							handleStatement(statement, statementHash, size_removed, subjectIndex_removed,
-									predicateIndex_removed, objectIndex_removed, subjectPredicateIndex_removed,
-									predicateObjectIndex_removed, defaultContext_removed, contextIndex_removed);
-
-						}
+						consumeQueue();
 
 						if (queue.isEmpty()) {
 							try {
@@ -306,27 +320,38 @@ public class ExtensibleDynamicEvaluationStatistics extends ExtensibleEvaluationS
 		}
 	}
 
-	synchronized private void handleStatement(Statement statement, long statementHash, HLL size,
-			Map<Integer, HLL> subjectIndex, Map<Integer, HLL> predicateIndex,
-			Map<Integer, HLL> objectIndex, HLL[][] subjectPredicateIndex,
-			HLL[][] predicateObjectIndex, HLL defaultContext,
-			Map<Integer, HLL> contextIndex) {
-		size.addRaw(statementHash);
-		int subjectHash = statement.getSubject().hashCode();
-		int predicateHash = statement.getPredicate().hashCode();
-		int objectHash = statement.getObject().hashCode();
+	private void consumeQueue() {
+		StatementQueueItem poll;
+		while ((poll = queue.poll()) != null) {
+			queueSize.decrementAndGet();
+			if (poll.type == StatementQueueItem.Type.added) {
+				handleStatement(poll.statement, 1);
+			} else { // removed
+				assert poll.type == StatementQueueItem.Type.removed;
+				handleStatement(poll.statement, -1);
+			}
+		}
+	}
+
+	synchronized private void handleStatement(Statement statement, long delta) {
+		size += delta;
+
+		Resource subject = statement.getSubject();
+		IRI predicate = statement.getPredicate();
+		Value object = statement.getObject();
 
-		indexOneValue(statementHash, subjectIndex, subjectHash);
-		indexOneValue(statementHash, predicateIndex, predicateHash);
-		indexOneValue(statementHash, objectIndex, objectHash);
+		subjectIndex.add(key(subject), delta);
+		predicateIndex.add(key(predicate), delta);
+		objectIndex.add(key(object), delta);
 
-		indexTwoValues(statementHash, subjectPredicateIndex, subjectHash, predicateHash);
-		indexTwoValues(statementHash, predicateObjectIndex, predicateHash, objectHash);
+		subjectPredicateIndex.add(pairKey(subject, predicate), delta);
+		predicateObjectIndex.add(pairKey(predicate, object), delta);
+		subjectObjectIndex.add(pairKey(subject, object), delta);
 
 		if (statement.getContext() == null) {
-			defaultContext.addRaw(statementHash);
+			defaultContextSize += delta;
 		} else {
-			indexOneValue(statementHash, contextIndex, statement.getContext().hashCode());
+			contextIndex.add(key(statement.getContext()), delta);
 		}
 	}
 
@@ -345,24 +370,6 @@ public class ExtensibleDynamicEvaluationStatistics extends ExtensibleEvaluationS
 		}
 	}
 
-	private void indexTwoValues(long statementHash, HLL[][] index, int indexHash, int indexHash2) {
-		index[Math.abs(indexHash % index.length)][Math.abs(indexHash2 % index.length)].addRaw(statementHash);
-	}
-
-	private void indexOneValue(long statementHash, Map<Integer, HLL> index, int indexHash) {
-		index.compute(Math.abs(indexHash % SINGLE_DIMENSION_INDEX_SIZE), (key, val) -> {
-			if (val == null) {
-				val = getHLL();
-			}
-			val.addRaw(statementHash);
-			return val;
-		});
-	}
-
-	private HLL getHLL() {
-		return new HLL(13/* log2m */, 5/* registerWidth */);
-	}
-
 	@Override
 	public void remove(ExtensibleStatement statement) {
 
@@ -380,6 +387,9 @@ public class ExtensibleDynamicEvaluationStatistics extends ExtensibleEvaluationS
 		// we should be able to handle cases where we are removing with up to two specified dimensions.
 	}
 
+	/**
+	 * Wait until all queued statements have been added to the statistics.
+	 */
 	public void waitForQueue() throws InterruptedException {
 		while (queueConsumingThread != null) {
 			try {
@@ -387,5 +397,7 @@ public class ExtensibleDynamicEvaluationStatistics extends ExtensibleEvaluationS
 			} catch (NullPointerException ignored) {
 			}
 		}
+		// the consuming thread is only started once the queue is large enough
+		consumeQueue();
 	}
 }
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.extensiblestore;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.extensiblestore.valuefactory.ExtensibleContextStatement;
+import org.eclipse.rdf4j.sail.extensiblestore.valuefactory.ExtensibleStatement;
+import org.eclipse.rdf4j.sail.extensiblestore.valuefactory.ExtensibleStatementImpl;
+import org.junit.Test;
+
+public class ReadCacheTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final IRI A = vf.createIRI("http://example.com/a");
+	private static final IRI B = vf.createIRI("http://example.com/b");
+	private static final IRI P = vf.createIRI("http://example.com/p");
+	private static final IRI Q = vf.createIRI("http://example.com/q");
+	private static final IRI GRAPH = vf.createIRI("http://example.com/graph");
+
+	@Test
+	public void testUnrelatedWritesKeepTheCache() {
+		CountingDataStructure delegate = new CountingDataStructure();
+		ReadCache readCache = new ReadCache(delegate);
+		readCache.addStatement(statement(A, P, A));
+		readCache.flushForCommit();
+
+		assertEquals(1, count(readCache, A, P, null));
+		assertEquals(1, count(readCache, A, P, null));
+		assertEquals(1, delegate.reads);
+
+		readCache.addStatement(statement(B, P, A));
+		readCache.addStatement(statement(A, Q, A));
+		readCache.flushForCommit();
+
+		assertEquals(1, count(readCache, A, P, null));
+		assertEquals(1, delegate.reads);
+	}
+
+	@Test
+	public void testOverlappingWritesInvalidateTheCache() {
+		CountingDataStructure delegate = new CountingDataStructure();
+		ReadCache readCache = new ReadCache(delegate);
+
+		assertEquals(0, count(readCache, null, P, A));
+		assertEquals(0, count(readCache, A, null, null));
+		assertEquals(0, count(readCache, null, null, null, GRAPH));
+		assertEquals(3, delegate.reads);
+
+		readCache.addStatement(statement(A, P, A));
+
+		// the statement is in the default graph
+		assertEquals(0, count(readCache, null, null, null, GRAPH));
+		assertEquals(3, delegate.reads);
+
+		assertEquals(1, count(readCache, null, P, A));
+		assertEquals(1, count(readCache, A, null, null));
+		assertEquals(5, delegate.reads);
+
+		readCache.addStatement(new ExtensibleContextStatement(B, P, A, GRAPH, false));
+		assertEquals(1, count(readCache, null, null, null, GRAPH));
+		assertEquals(2, count(readCache, null, P, A));
+		assertEquals(1, count(readCache, A, null, null));
+		assertEquals(7, delegate.reads);
+
+		// the delegate reads the statements to remove
+		readCache.removeStatementsByQuery(null, P, null, false, new Resource[0]);
+		assertEquals(8, delegate.reads);
+		assertEquals(0, count(readCache, null, null, null, GRAPH));
+		assertEquals(0, count(readCache, null, P, A));
+		assertEquals(0, count(readCache, A, null, null));
+		assertEquals(11, delegate.reads);
+	}
+
+	@Test
+	public void testWriteDuringReadIsNotCached() {
+		CountingDataStructure delegate = new CountingDataStructure();
+		ReadCache readCache = new ReadCache(delegate);
+
+		try (CloseableIteration<? extends ExtensibleStatement, SailException> statements = readCache
+				.getStatements(A, null, null, false)) {
+			readCache.addStatement(statement(A, P, A));
+			while (statements.hasNext()) {
+				statements.next();
+			}
+		}
+
+		assertEquals(1, count(readCache, A, null, null));
+		assertEquals(2, delegate.reads);
+	}
+
+	@Test
+	public void testSecondTier() {
+		CountingDataStructure delegate = new CountingDataStructure();
+		MapTier tier = new MapTier();
+		ReadCache readCache = new ReadCache(delegate, 3, tier);
+		readCache.addStatement(statement(A, P, A));
+		readCache.addStatement(statement(B, P, B));
+
+		assertEquals(1, count(readCache, A, null, null));
+		assertEquals(1, count(readCache, B, null, null));
+		assertEquals(2, delegate.reads);
+
+		// the first result was evicted to the second tier
+		assertEquals(1, tier.map.size());
+		assertEquals(1, count(readCache, A, null, null));
+		assertEquals(1, count(readCache, B, null, null));
+		assertEquals(2, delegate.reads);
+
+		// writes invalidate both tiers
+		readCache.addStatement(statement(A, Q, B));
+		readCache.addStatement(statement(B, Q, A));
+		assertEquals(2, count(readCache, A, null, null));
+		assertEquals(2, count(readCache, B, null, null));
+		assertEquals(4, delegate.reads);
+	}
+
+	private static ExtensibleStatement statement(Resource subject, IRI predicate, Value object) {
+		return new ExtensibleStatementImpl(subject, predicate, object, false);
+	}
+
+	private static int count(ReadCache readCache, Resource subject, IRI predicate, Value object,
+			Resource... context) {
+		int count = 0;
+		try (CloseableIteration<? extends ExtensibleStatement, SailException> statements = readCache
+				.getStatements(subject, predicate, object, false, context)) {
+			while (statements.hasNext()) {
+				statements.next();
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static class CountingDataStructure extends NaiveHashSetDataStructure {
+
+		int reads;
+
+		@Override
+		public synchronized CloseableIteration<? extends ExtensibleStatement, SailException> getStatements(
+				Resource subject, IRI predicate, Value object, boolean inferred, Resource... context) {
+			reads++;
+			return super.getStatements(subject, predicate, object, inferred, context);
+		}
+	}
+
+	private static class MapTier implements ReadCacheTier {
+
+		final Map<PartialStatement, List<ExtensibleStatement>> map = new ConcurrentHashMap<>();
+
+		@Override
+		public List<ExtensibleStatement> get(PartialStatement partialStatement) {
+			return map.get(partialStatement);
+		}
+
+		@Override
+		public void put(PartialStatement partialStatement, List<ExtensibleStatement> statements) {
+			map.put(partialStatement, new ArrayList<>(statements));
+		}
+
+		@Override
+		public void invalidate(PartialStatement partialStatement) {
+			map.remove(partialStatement);
+		}
+
+		@Override
+		public void invalidateAll() {
+			map.clear();
+		}
+	}
+}
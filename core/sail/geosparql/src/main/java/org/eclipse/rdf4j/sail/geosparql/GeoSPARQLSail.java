@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.geosparql;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.sail.NotifyingSail;
+import org.eclipse.rdf4j.sail.NotifyingSailConnection;
+import org.eclipse.rdf4j.sail.SailConnection;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.helpers.NotifyingSailWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A stackable Sail that keeps a {@link SpatialIndex} of the WKT literals in the underlying store, and uses it to
+ * evaluate GeoSPARQL filters on those literals without testing every geometry in the store. See
+ * {@link SpatialFilterOptimizer} for the filters that are supported. The GeoSPARQL functions themselves are provided by
+ * the rdf4j-queryalgebra-geosparql module, which must be on the classpath. In a repository configuration, the Sail is
+ * stacked on another Sail with a {@link org.eclipse.rdf4j.sail.geosparql.config.GeoSPARQLSailConfig}.
+ * <p>
+ * If the underlying store has a data directory, the index is written to a file in that directory when the Sail is shut
+ * down, and read back when it is initialized. The file is deleted once it has been read, so an index that may not match
+ * the store after an unclean shutdown is never used: in that case, or if there is no data directory, the index is built
+ * by reading all statements when the Sail is initialized.
+ * <p>
+ * The index is updated when a transaction is committed. The WKT literals that are added are in the index before the
+ * statements of the transaction become visible. Queries evaluated by a connection with uncommitted changes see the WKT
+ * literals it added.
+ */
+public class GeoSPARQLSail extends NotifyingSailWrapper {
+
+	/**
+	 * The name of the file in the data directory that stores the index.
+	 */
+	public static final String INDEX_FILE = "geosparql-index";
+
+	private static final Logger logger = LoggerFactory.getLogger(GeoSPARQLSail.class);
+
+	private volatile SpatialIndex spatialIndex;
+
+	/**
+	 * Held while the index is updated after a commit, and while it is rebuilt.
+	 */
+	private final Lock indexLock = new ReentrantLock();
+
+	public GeoSPARQLSail() {
+		super();
+	}
+
+	public GeoSPARQLSail(NotifyingSail baseSail) {
+		super(baseSail);
+	}
+
+	/**
+	 * @return the index of the WKT literals in the store, or null if the Sail has not been initialized
+	 */
+	public SpatialIndex getSpatialIndex() {
+		return spatialIndex;
+	}
+
+	Lock getIndexLock() {
+		return indexLock;
+	}
+
+	@Override
+	public NotifyingSailConnection getConnection() throws SailException {
+		if (spatialIndex == null) {
+			throw new SailException("Sail is shut down or not initialized");
+		}
+		return new GeoSPARQLSailConnection(super.getConnection(), this);
+	}
+
+	@Override
+	public void initialize() throws SailException {
+		super.initialize();
+
+		File indexFile = getIndexFile();
+		if (indexFile != null && indexFile.exists()) {
+			try {
+				spatialIndex = SpatialIndex.read(indexFile);
+				logger.debug("Read spatial index with {} literals", spatialIndex.size());
+			} catch (IOException e) {
+				logger.warn("Could not read spatial index, rebuilding it", e);
+			}
+			try {
+				Files.delete(indexFile.toPath());
+			} catch (IOException e) {
+				spatialIndex = null;
+				throw new SailException("Could not delete spatial index file " + indexFile, e);
+			}
+		}
+		if (spatialIndex == null) {
+			SpatialIndex index = new SpatialIndex();
+			buildIndex(index);
+			spatialIndex = index;
+		}
+	}
+
+	/**
+	 * Rebuilds the index from the statements in the store. Transactions that are committed in the meantime update the
+	 * new index once it is in place.
+	 *
+	 * @throws SailException if the statements could not be read
+	 */
+	public void reindex() throws SailException {
+		indexLock.lock();
+		try {
+			SpatialIndex index = new SpatialIndex();
+			buildIndex(index);
+			spatialIndex = index;
+		} finally {
+			indexLock.unlock();
+		}
+	}
+
+	private void buildIndex(SpatialIndex index) throws SailException {
+		List<Literal> batch = new ArrayList<>();
+		try (SailConnection con = getBaseSail().getConnection();
+				CloseableIteration<? extends Statement, SailException> statements = con.getStatements(null, null,
+						null, true)) {
+			while (statements.hasNext()) {
+				Statement st = statements.next();
+				if (SpatialIndex.isWktLiteral(st.getObject())) {
+					batch.add((Literal) st.getObject());
+					if (batch.size() >= 10000) {
+						index.addAll(batch);
+						batch.clear();
+					}
+				}
+			}
+		}
+		index.addAll(batch);
+		logger.debug("Built spatial index with {} literals", index.size());
+	}
+
+	@Override
+	public void shutDown() throws SailException {
+		SpatialIndex index = spatialIndex;
+		spatialIndex = null;
+		try {
+			File indexFile = getIndexFile();
+			if (index != null && indexFile != null) {
+				index.write(indexFile);
+			}
+		} catch (IOException e) {
+			// the index is rebuilt on the next initialization
+			logger.warn("Could not write spatial index", e);
+		} finally {
+			super.shutDown();
+		}
+	}
+
+	private File getIndexFile() {
+		File dataDir = getDataDir();
+		return dataDir == null ? null : new File(dataDir, INDEX_FILE);
+	}
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.geosparql;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.Dataset;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.sail.NotifyingSailConnection;
+import org.eclipse.rdf4j.sail.SailConnectionListener;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.helpers.NotifyingSailConnectionWrapper;
+
+/**
+ * A connection to a {@link GeoSPARQLSail}. It collects the WKT literals that are added and removed in a transaction,
+ * updates the {@link SpatialIndex} when the transaction is committed, and applies the {@link SpatialFilterOptimizer} to
+ * the queries it evaluates.
+ */
+public class GeoSPARQLSailConnection extends NotifyingSailConnectionWrapper {
+
+	private final GeoSPARQLSail sail;
+
+	/**
+	 * WKT literals added in the current transaction.
+	 */
+	private final Set<Literal> added = new HashSet<>();
+
+	/**
+	 * WKT literals of which a statement was removed in the current transaction.
+	 */
+	private final Set<Literal> removed = new HashSet<>();
+
+	private final SailConnectionListener connectionListener = new SailConnectionListener() {
+
+		@Override
+		public void statementAdded(Statement statement) {
+			if (SpatialIndex.isWktLiteral(statement.getObject())) {
+				added.add((Literal) statement.getObject());
+			}
+		}
+
+		@Override
+		public void statementRemoved(Statement statement) {
+			if (SpatialIndex.isWktLiteral(statement.getObject())) {
+				removed.add((Literal) statement.getObject());
+			}
+		}
+	};
+
+	public GeoSPARQLSailConnection(NotifyingSailConnection wrappedConnection, GeoSPARQLSail sail) {
+		super(wrappedConnection);
+		this.sail = sail;
+		wrappedConnection.addConnectionListener(connectionListener);
+	}
+
+	@Override
+	public void begin() throws SailException {
+		super.begin();
+		added.clear();
+		removed.clear();
+	}
+
+	@Override
+	public void commit() throws SailException {
+		try {
+			// added before the statements become visible, so that queries don't miss them; a literal in the index
+			// that no statement refers to only costs a lookup
+			SpatialIndex index = sail.getSpatialIndex();
+			if (index != null) {
+				index.addAll(added);
+			}
+
+			super.commit();
+
+			Lock lock = sail.getIndexLock();
+			lock.lock();
+			try {
+				// the index may have been rebuilt without the changes of this transaction
+				index = sail.getSpatialIndex();
+				if (index != null) {
+					index.addAll(added);
+
+					// a literal is only removed from the index once no statement refers to it. Another transaction
+					// that adds the literal either committed before this check, or adds it again after its commit.
+					List<Literal> unused = new ArrayList<>();
+					for (Literal literal : removed) {
+						if (!hasStatement(null, null, literal, true)) {
+							unused.add(literal);
+						}
+					}
+					index.removeAll(unused);
+				}
+			} finally {
+				lock.unlock();
+			}
+		} finally {
+			added.clear();
+			removed.clear();
+		}
+	}
+
+	@Override
+	public void rollback() throws SailException {
+		try {
+			super.rollback();
+		} finally {
+			added.clear();
+			removed.clear();
+		}
+	}
+
+	@Override
+	public void close() throws SailException {
+		try {
+			getWrappedConnection().removeConnectionListener(connectionListener);
+		} finally {
+			super.close();
+		}
+	}
+
+	@Override
+	public CloseableIteration<? extends BindingSet, QueryEvaluationException> evaluate(TupleExpr tupleExpr,
+			Dataset dataset, BindingSet bindings, boolean includeInferred) throws SailException {
+		SpatialIndex index = sail.getSpatialIndex();
+		if (index != null) {
+			// Don't modify the original tuple expression
+			tupleExpr = tupleExpr.clone();
+			if (!(tupleExpr instanceof QueryRoot)) {
+				tupleExpr = new QueryRoot(tupleExpr);
+			}
+			new SpatialFilterOptimizer(index, added, this, includeInferred).optimize(tupleExpr, dataset, bindings);
+		}
+		return super.evaluate(tupleExpr, dataset, bindings, includeInferred);
+	}
+}
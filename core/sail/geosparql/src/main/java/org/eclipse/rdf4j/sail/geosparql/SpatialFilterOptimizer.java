@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.geosparql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.vocabulary.GEOF;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.Dataset;
+import org.eclipse.rdf4j.query.algebra.And;
+import org.eclipse.rdf4j.query.algebra.BindingSetAssignment;
+import org.eclipse.rdf4j.query.algebra.Compare;
+import org.eclipse.rdf4j.query.algebra.Compare.CompareOp;
+import org.eclipse.rdf4j.query.algebra.Filter;
+import org.eclipse.rdf4j.query.algebra.FunctionCall;
+import org.eclipse.rdf4j.query.algebra.Join;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.ValueConstant;
+import org.eclipse.rdf4j.query.algebra.ValueExpr;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryOptimizer;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
+import org.eclipse.rdf4j.query.impl.ListBindingSet;
+import org.eclipse.rdf4j.sail.SailConnection;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.geosparql.SpatialIndex.Candidates;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.spatial4j.distance.DistanceUtils;
+
+/**
+ * Uses a {@link SpatialIndex} to restrict the WKT literals that are tested by spatial filters. A filter such as
+ * <code>FILTER(geof:sfWithin(?wkt, "POLYGON(...)"^^geo:wktLiteral))</code> or
+ * <code>FILTER(geof:distance(?wkt, "POINT(...)"^^geo:wktLiteral, uom:metre) &lt; 1000)</code> that applies to the
+ * object variable of a statement pattern is rewritten so that the statement pattern is joined with the literals of
+ * which the bounding box intersects the area of the filter. The filter itself is left in place to test the exact
+ * relation.
+ * <p>
+ * As the index does not keep the literals, they are read from the statements that match the pattern, and only those
+ * that are candidates of the index are kept. This does not parse any geometry, which is what makes evaluating the
+ * filter on every literal expensive.
+ * <p>
+ * Only relations that imply that the bounding boxes of the geometries intersect are rewritten, so for example
+ * geof:sfDisjoint is not.
+ */
+public class SpatialFilterOptimizer implements QueryOptimizer {
+
+	/**
+	 * Relations that only hold if the bounding boxes of both geometries intersect.
+	 */
+	private static final Set<String> INTERSECTING_RELATIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			GEOF.SF_EQUALS.stringValue(), GEOF.SF_INTERSECTS.stringValue(), GEOF.SF_TOUCHES.stringValue(),
+			GEOF.SF_CROSSES.stringValue(), GEOF.SF_WITHIN.stringValue(), GEOF.SF_CONTAINS.stringValue(),
+			GEOF.SF_OVERLAPS.stringValue(), GEOF.EH_EQUALS.stringValue(), GEOF.EH_MEET.stringValue(),
+			GEOF.EH_OVERLAP.stringValue(), GEOF.EH_COVERS.stringValue(), GEOF.EH_COVERED_BY.stringValue(),
+			GEOF.EH_INSIDE.stringValue(), GEOF.EH_CONTAINS.stringValue(), GEOF.RCC8_EQ.stringValue(),
+			GEOF.RCC8_EC.stringValue(), GEOF.RCC8_PO.stringValue(), GEOF.RCC8_TPPI.stringValue(),
+			GEOF.RCC8_TPP.stringValue(), GEOF.RCC8_NTPP.stringValue(), GEOF.RCC8_NTPPI.stringValue())));
+
+	/**
+	 * Lookups that return up to this many literals are always used.
+	 */
+	private static final int MIN_CANDIDATES = 16;
+
+	/**
+	 * Margin in degrees added to the bounding box of a distance filter, to allow for rounding errors.
+	 */
+	private static final double DISTANCE_MARGIN = 1e-7;
+
+	private final SpatialIndex index;
+
+	private final Collection<Literal> pending;
+
+	private final SailConnection connection;
+
+	private final boolean includeInferred;
+
+	/**
+	 * @param index           the index of the literals in the store
+	 * @param pending         literals that may have been added to the store but not to the index yet, these are always
+	 *                        included in the lookups
+	 * @param connection      the connection that the literals are read from
+	 * @param includeInferred whether inferred statements are read
+	 */
+	public SpatialFilterOptimizer(SpatialIndex index, Collection<Literal> pending, SailConnection connection,
+			boolean includeInferred) {
+		this.index = index;
+		this.pending = pending;
+		this.connection = connection;
+		this.includeInferred = includeInferred;
+	}
+
+	@Override
+	public void optimize(TupleExpr tupleExpr, Dataset dataset, BindingSet bindings) {
+		tupleExpr.visit(new FilterFinder(bindings));
+	}
+
+	private class FilterFinder extends AbstractQueryModelVisitor<RuntimeException> {
+
+		private final BindingSet bindings;
+
+		FilterFinder(BindingSet bindings) {
+			this.bindings = bindings;
+		}
+
+		@Override
+		public void meet(Filter filter) {
+			super.meet(filter);
+
+			List<ValueExpr> conjuncts = new ArrayList<>();
+			collectConjuncts(filter.getCondition(), conjuncts);
+			for (ValueExpr conjunct : conjuncts) {
+				SpatialConstraint constraint = getConstraint(conjunct);
+				if (constraint == null || bindings.hasBinding(constraint.varName)) {
+					continue;
+				}
+				StatementPattern pattern = findPattern(filter.getArg(), constraint.varName);
+				if (pattern != null) {
+					restrict(pattern, constraint, bindings);
+				}
+			}
+		}
+	}
+
+	private void restrict(StatementPattern pattern, SpatialConstraint constraint, BindingSet bindings) {
+		Candidates candidates = index.getCandidates(constraint.area);
+		if (candidates.size() > MIN_CANDIDATES && candidates.size() * 2 > index.size()) {
+			// joining with most of the index is no cheaper than testing every literal
+			return;
+		}
+
+		Value subject = getValue(pattern.getSubjectVar(), bindings);
+		Value predicate = getValue(pattern.getPredicateVar(), bindings);
+		Set<Literal> literals = new HashSet<>();
+		try (CloseableIteration<? extends Statement, SailException> statements = connection.getStatements(
+				subject instanceof Resource ? (Resource) subject : null,
+				predicate instanceof IRI ? (IRI) predicate : null, null, includeInferred)) {
+			while (statements.hasNext()) {
+				Value object = statements.next().getObject();
+				if (SpatialIndex.isWktLiteral(object) && !literals.contains(object)
+						&& (pending.contains(object) || candidates.contains((Literal) object))) {
+					literals.add((Literal) object);
+				}
+			}
+		}
+
+		List<String> names = Collections.singletonList(constraint.varName);
+		List<BindingSet> bindingSets = new ArrayList<>(literals.size());
+		for (Literal literal : literals) {
+			bindingSets.add(new ListBindingSet(names, literal));
+		}
+		BindingSetAssignment assignment = new BindingSetAssignment();
+		assignment.setBindingNames(Collections.singleton(constraint.varName));
+		assignment.setBindingSets(bindingSets);
+
+		Join join = new Join();
+		pattern.replaceWith(join);
+		join.setLeftArg(assignment);
+		join.setRightArg(pattern);
+	}
+
+	private static void collectConjuncts(ValueExpr condition, List<ValueExpr> conjuncts) {
+		if (condition instanceof And) {
+			collectConjuncts(((And) condition).getLeftArg(), conjuncts);
+			collectConjuncts(((And) condition).getRightArg(), conjuncts);
+		} else {
+			conjuncts.add(condition);
+		}
+	}
+
+	/**
+	 * Finds a statement pattern that binds the variable as its object and is joined with the rest of the filtered
+	 * expression.
+	 */
+	private static StatementPattern findPattern(TupleExpr expr, String varName) {
+		if (expr instanceof StatementPattern) {
+			Var object = ((StatementPattern) expr).getObjectVar();
+			if (!object.hasValue() && object.getName().equals(varName)) {
+				return (StatementPattern) expr;
+			}
+		} else if (expr instanceof Join) {
+			StatementPattern pattern = findPattern(((Join) expr).getLeftArg(), varName);
+			return pattern != null ? pattern : findPattern(((Join) expr).getRightArg(), varName);
+		} else if (expr instanceof Filter) {
+			return findPattern(((Filter) expr).getArg(), varName);
+		}
+		return null;
+	}
+
+	private static SpatialConstraint getConstraint(ValueExpr expr) {
+		if (expr instanceof FunctionCall) {
+			FunctionCall call = (FunctionCall) expr;
+			if (!INTERSECTING_RELATIONS.contains(call.getURI()) || call.getArgs().size() != 2) {
+				return null;
+			}
+			return getRelationConstraint(call.getArgs().get(0), call.getArgs().get(1));
+		} else if (expr instanceof Compare) {
+			Compare compare = (Compare) expr;
+			CompareOp op = compare.getOperator();
+			if (op == CompareOp.LT || op == CompareOp.LE) {
+				return getDistanceConstraint(compare.getLeftArg(), compare.getRightArg());
+			} else if (op == CompareOp.GT || op == CompareOp.GE) {
+				return getDistanceConstraint(compare.getRightArg(), compare.getLeftArg());
+			}
+		}
+		return null;
+	}
+
+	private static SpatialConstraint getRelationConstraint(ValueExpr arg1, ValueExpr arg2) {
+		String varName = getVarName(arg1);
+		Envelope area = SpatialIndex.getEnvelope(getConstant(arg2));
+		if (varName == null || area == null) {
+			varName = getVarName(arg2);
+			area = SpatialIndex.getEnvelope(getConstant(arg1));
+		}
+		if (varName == null || area == null) {
+			return null;
+		}
+		return new SpatialConstraint(varName, area);
+	}
+
+	/**
+	 * Returns a constraint for <code>geof:distance(?var, point, units) &lt; maxDistance</code>.
+	 */
+	private static SpatialConstraint getDistanceConstraint(ValueExpr distance, ValueExpr maxDistance) {
+		if (!(distance instanceof FunctionCall)) {
+			return null;
+		}
+		FunctionCall call = (FunctionCall) distance;
+		if (!GEOF.DISTANCE.stringValue().equals(call.getURI()) || call.getArgs().size() != 3) {
+			return null;
+		}
+		Value max = getConstant(maxDistance);
+		Value units = getConstant(call.getArgs().get(2));
+		if (!(max instanceof Literal) || !(units instanceof IRI)) {
+			return null;
+		}
+
+		SpatialConstraint constraint = getRelationConstraint(call.getArgs().get(0), call.getArgs().get(1));
+		if (constraint == null || constraint.area.getWidth() != 0 || constraint.area.getHeight() != 0) {
+			// the distance is only defined between points
+			return null;
+		}
+
+		try {
+			double degrees = toDegrees(((Literal) max).doubleValue(), (IRI) units);
+			Envelope area = getCircleEnvelope(constraint.area.getMinX(), constraint.area.getMinY(), degrees);
+			return area == null ? null : new SpatialConstraint(constraint.varName, area);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the bounding box of the points within a great-circle distance of the center, or null if the circle
+	 * contains a pole or crosses the dateline.
+	 */
+	private static Envelope getCircleEnvelope(double lon, double lat, double degrees) {
+		if (!(degrees >= 0) || Math.abs(lat) + degrees >= 90) {
+			return null;
+		}
+		double halfWidth = Math.toDegrees(
+				Math.asin(Math.sin(Math.toRadians(degrees)) / Math.cos(Math.toRadians(lat))));
+		if (Double.isNaN(halfWidth) || lon - halfWidth < -180 || lon + halfWidth > 180) {
+			return null;
+		}
+		Envelope area = new Envelope(lon - halfWidth, lon + halfWidth, lat - degrees, lat + degrees);
+		area.expandBy(DISTANCE_MARGIN);
+		return area;
+	}
+
+	private static double toDegrees(double distance, IRI units) {
+		if (GEOF.UOM_DEGREE.equals(units)) {
+			return distance;
+		} else if (GEOF.UOM_RADIAN.equals(units)) {
+			return DistanceUtils.toDegrees(distance);
+		} else if (GEOF.UOM_UNITY.equals(units)) {
+			return distance * 180.0;
+		} else if (GEOF.UOM_METRE.equals(units)) {
+			return DistanceUtils.dist2Degrees(distance / 1000.0, DistanceUtils.EARTH_MEAN_RADIUS_KM);
+		}
+		// an invalid unit, the function will fail
+		return Double.NaN;
+	}
+
+	private static String getVarName(ValueExpr expr) {
+		if (expr instanceof Var && !((Var) expr).hasValue()) {
+			return ((Var) expr).getName();
+		}
+		return null;
+	}
+
+	private static Value getValue(Var var, BindingSet bindings) {
+		return var.hasValue() ? var.getValue() : bindings.getValue(var.getName());
+	}
+
+	private static Value getConstant(ValueExpr expr) {
+		if (expr instanceof ValueConstant) {
+			return ((ValueConstant) expr).getValue();
+		} else if (expr instanceof Var) {
+			return ((Var) expr).getValue();
+		}
+		return null;
+	}
+
+	private static class SpatialConstraint {
+
+		final String varName;
+
+		final Envelope area;
+
+		SpatialConstraint(String varName, Envelope area) {
+			this.varName = varName;
+			this.area = area;
+		}
+	}
+}
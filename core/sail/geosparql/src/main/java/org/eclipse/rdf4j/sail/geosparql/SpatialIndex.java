@@ -0,0 +1,376 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.geosparql;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.vocabulary.GEO;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+/**
+ * An index of the bounding boxes of the distinct WKT literals in a store, used to find the literals that may satisfy a
+ * spatial filter. Lookups return a superset of the matching literals: the exact relation is still evaluated by the
+ * filter.
+ * <p>
+ * The index does not keep the literals themselves, which may be large geometries, but identifies every literal by a
+ * 128-bit hash of its label. A lookup returns the {@link Candidates} that the literals produced by the store are
+ * matched against.
+ * <p>
+ * The bounding boxes are kept in an {@link STRtree}. As an STR-tree can not be modified once it has been built, new
+ * literals are kept in a small list that is searched linearly, and the tree is rebuilt once that list, or the number of
+ * removed literals still in the tree, grows too large.
+ * <p>
+ * Literals of which the bounding box can not be determined, because JTS can not parse them or because they are wider
+ * than 180 degrees and therefore interpreted as crossing the dateline, are returned by every lookup.
+ */
+public class SpatialIndex {
+
+	private static final int FILE_FORMAT_VERSION = 2;
+
+	private static final int MIN_UNINDEXED = 1024;
+
+	private static final int STR_TREE_NODE_CAPACITY = 10;
+
+	/**
+	 * The bounding boxes of all bounded literals.
+	 */
+	private final Map<Key, Envelope> entries = new HashMap<>();
+
+	/**
+	 * Literals that are returned by every lookup.
+	 */
+	private final Set<Key> unbounded = new HashSet<>();
+
+	/**
+	 * Bounded literals that were added after the tree was built.
+	 */
+	private final Map<Key, Envelope> unindexed = new HashMap<>();
+
+	private STRtree tree;
+
+	/**
+	 * The number of literals in the tree that have been removed from the index since it was built.
+	 */
+	private int removedFromTree;
+
+	/**
+	 * Returns the bounding box of a WKT literal in the coordinates of its geometry, if it can be determined.
+	 *
+	 * @param value a value
+	 * @return the bounding box of the value, or null if the value is not a WKT literal, can not be parsed, or is
+	 *         interpreted as crossing the dateline
+	 */
+	public static Envelope getEnvelope(Value value) {
+		if (!isWktLiteral(value)) {
+			return null;
+		}
+		String wkt = value.stringValue().trim();
+		if (wkt.startsWith("<")) {
+			// strip the optional CRS IRI
+			int end = wkt.indexOf('>');
+			if (end < 0) {
+				return null;
+			}
+			wkt = wkt.substring(end + 1);
+		}
+		try {
+			Envelope envelope = new WKTReader().read(wkt).getEnvelopeInternal();
+			if (envelope.isNull() || envelope.getWidth() > 180) {
+				return null;
+			}
+			return envelope;
+		} catch (ParseException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param value a value
+	 * @return true if the value is a literal with datatype geo:wktLiteral
+	 */
+	public static boolean isWktLiteral(Value value) {
+		return value instanceof Literal && GEO.WKT_LITERAL.equals(((Literal) value).getDatatype());
+	}
+
+	/**
+	 * Adds WKT literals to the index. Literals that are already in the index are ignored.
+	 *
+	 * @param literals the literals to add
+	 */
+	public synchronized void addAll(Collection<Literal> literals) {
+		for (Literal literal : literals) {
+			Key key = Key.of(literal);
+			if (entries.containsKey(key) || unbounded.contains(key)) {
+				continue;
+			}
+			Envelope envelope = getEnvelope(literal);
+			if (envelope == null) {
+				unbounded.add(key);
+			} else {
+				entries.put(key, envelope);
+				unindexed.put(key, envelope);
+			}
+		}
+		rebuildIfNeeded();
+	}
+
+	/**
+	 * Removes WKT literals from the index.
+	 *
+	 * @param literals the literals to remove
+	 */
+	public synchronized void removeAll(Collection<Literal> literals) {
+		for (Literal literal : literals) {
+			Key key = Key.of(literal);
+			if (entries.remove(key) != null) {
+				if (unindexed.remove(key) == null) {
+					removedFromTree++;
+				}
+			} else {
+				unbounded.remove(key);
+			}
+		}
+		rebuildIfNeeded();
+	}
+
+	/**
+	 * Removes all literals from the index.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		unbounded.clear();
+		unindexed.clear();
+		tree = null;
+		removedFromTree = 0;
+	}
+
+	/**
+	 * @param literal a literal
+	 * @return true if the literal is in the index
+	 */
+	public synchronized boolean contains(Literal literal) {
+		Key key = Key.of(literal);
+		return entries.containsKey(key) || unbounded.contains(key);
+	}
+
+	/**
+	 * @return the number of literals in the index
+	 */
+	public synchronized int size() {
+		return entries.size() + unbounded.size();
+	}
+
+	/**
+	 * Returns the literals of which the bounding box intersects the given area, and all literals of which the bounding
+	 * box is unknown.
+	 *
+	 * @param area the area to look up
+	 * @return the literals that may be related to a geometry within the area
+	 */
+	public synchronized Candidates getCandidates(Envelope area) {
+		Set<Key> result = new HashSet<>(unbounded);
+		if (tree != null) {
+			@SuppressWarnings("unchecked")
+			List<Key> matches = tree.query(area);
+			for (Key key : matches) {
+				// skip literals that were removed after the tree was built
+				if (entries.containsKey(key)) {
+					result.add(key);
+				}
+			}
+		}
+		for (Map.Entry<Key, Envelope> entry : unindexed.entrySet()) {
+			if (entry.getValue().intersects(area)) {
+				result.add(entry.getKey());
+			}
+		}
+		return new Candidates(result);
+	}
+
+	private void rebuildIfNeeded() {
+		int threshold = Math.max(MIN_UNINDEXED, entries.size() / 8);
+		if (unindexed.size() > threshold || removedFromTree > threshold) {
+			rebuild();
+		}
+	}
+
+	private void rebuild() {
+		unindexed.clear();
+		removedFromTree = 0;
+		if (entries.isEmpty()) {
+			tree = null;
+			return;
+		}
+		STRtree newTree = new STRtree(STR_TREE_NODE_CAPACITY);
+		for (Map.Entry<Key, Envelope> entry : entries.entrySet()) {
+			newTree.insert(entry.getValue(), entry.getKey());
+		}
+		newTree.build();
+		tree = newTree;
+	}
+
+	/**
+	 * Writes the index to a file, replacing the file if it exists.
+	 *
+	 * @param file the file to write to
+	 * @throws IOException if the file could not be written
+	 */
+	public synchronized void write(File file) throws IOException {
+		File tmp = new File(file.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+			out.writeInt(FILE_FORMAT_VERSION);
+			out.writeInt(entries.size());
+			for (Map.Entry<Key, Envelope> entry : entries.entrySet()) {
+				entry.getKey().write(out);
+				Envelope envelope = entry.getValue();
+				out.writeDouble(envelope.getMinX());
+				out.writeDouble(envelope.getMaxX());
+				out.writeDouble(envelope.getMinY());
+				out.writeDouble(envelope.getMaxY());
+			}
+			out.writeInt(unbounded.size());
+			for (Key key : unbounded) {
+				key.write(out);
+			}
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Reads an index that was written by {@link #write(File)}.
+	 *
+	 * @param file the file to read
+	 * @return the index
+	 * @throws IOException if the file could not be read or is not a spatial index
+	 */
+	public static SpatialIndex read(File file) throws IOException {
+		SpatialIndex index = new SpatialIndex();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			int version = in.readInt();
+			if (version != FILE_FORMAT_VERSION) {
+				throw new IOException("Unsupported spatial index version " + version + ": " + file);
+			}
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				Key key = Key.read(in);
+				Envelope envelope = new Envelope(in.readDouble(), in.readDouble(), in.readDouble(),
+						in.readDouble());
+				index.entries.put(key, envelope);
+			}
+			int unbounded = in.readInt();
+			for (int i = 0; i < unbounded; i++) {
+				index.unbounded.add(Key.read(in));
+			}
+		}
+		index.rebuild();
+		return index;
+	}
+
+	/**
+	 * The literals returned by a lookup.
+	 */
+	public static final class Candidates {
+
+		private final Set<Key> keys;
+
+		Candidates(Set<Key> keys) {
+			this.keys = keys;
+		}
+
+		/**
+		 * @param literal a literal
+		 * @return true if the literal is one of the candidates
+		 */
+		public boolean contains(Literal literal) {
+			return keys.contains(Key.of(literal));
+		}
+
+		/**
+		 * @return the number of candidates
+		 */
+		public int size() {
+			return keys.size();
+		}
+	}
+
+	/**
+	 * Identifies a WKT literal by the MD5 hash of its label. Two literals with the same key are treated as the same
+	 * literal, which is very unlikely to happen by accident.
+	 */
+	static final class Key {
+
+		private final long high;
+
+		private final long low;
+
+		private Key(long high, long low) {
+			this.high = high;
+			this.low = low;
+		}
+
+		static Key of(Literal literal) {
+			try {
+				ByteBuffer hash = ByteBuffer.wrap(
+						MessageDigest.getInstance("MD5").digest(literal.getLabel().getBytes(StandardCharsets.UTF_8)));
+				return new Key(hash.getLong(), hash.getLong());
+			} catch (NoSuchAlgorithmException e) {
+				// every Java platform supports MD5
+				throw new IllegalStateException(e);
+			}
+		}
+
+		static Key read(DataInputStream in) throws IOException {
+			return new Key(in.readLong(), in.readLong());
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			out.writeLong(high);
+			out.writeLong(low);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return high == other.high && low == other.low;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(high);
+		}
+	}
+}
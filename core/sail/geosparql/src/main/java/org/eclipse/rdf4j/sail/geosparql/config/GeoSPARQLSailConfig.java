@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.geosparql.config;
+
+import org.eclipse.rdf4j.sail.config.AbstractDelegatingSailImplConfig;
+import org.eclipse.rdf4j.sail.config.SailImplConfig;
+
+/**
+ * The configuration of a {@link org.eclipse.rdf4j.sail.geosparql.GeoSPARQLSail}, which is stacked on the Sail of its
+ * delegate configuration.
+ */
+public class GeoSPARQLSailConfig extends AbstractDelegatingSailImplConfig {
+
+	public GeoSPARQLSailConfig() {
+		super(GeoSPARQLSailFactory.SAIL_TYPE);
+	}
+
+	public GeoSPARQLSailConfig(SailImplConfig delegate) {
+		super(GeoSPARQLSailFactory.SAIL_TYPE, delegate);
+	}
+}
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.geosparql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.GEO;
+import org.eclipse.rdf4j.model.vocabulary.GEOF;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GeoSPARQLSailTest {
+
+	private static final String PREFIXES = "PREFIX geo: <" + GEO.NAMESPACE + ">\n" + "PREFIX geof: <"
+			+ GEOF.NAMESPACE + ">\n" + "PREFIX uom: <" + GEOF.UOM_NAMESPACE + ">\n";
+
+	private static final String WITHIN_QUERY = PREFIXES + "SELECT ?s WHERE { ?s geo:asWKT ?wkt . "
+			+ "FILTER(geof:sfWithin(?wkt, \"POLYGON((0 0, 3 0, 3 3, 0 3, 0 0))\"^^geo:wktLiteral)) }";
+
+	private static final String DISTANCE_QUERY = PREFIXES + "SELECT ?s WHERE { ?s geo:asWKT ?wkt . "
+			+ "FILTER(geof:distance(?wkt, \"POINT(1 1.001)\"^^geo:wktLiteral, uom:metre) < 1000) }";
+
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final IRI a = vf.createIRI("urn:a");
+
+	private final IRI b = vf.createIRI("urn:b");
+
+	private final IRI c = vf.createIRI("urn:c");
+
+	private final IRI d = vf.createIRI("urn:d");
+
+	private File dataDir;
+
+	private GeoSPARQLSail sail;
+
+	private SailRepository repository;
+
+	@Before
+	public void setUp() throws Exception {
+		dataDir = tmpFolder.newFolder();
+		MemoryStore store = new MemoryStore(dataDir);
+		store.setPersist(true);
+		sail = new GeoSPARQLSail(store);
+		repository = new SailRepository(sail);
+		repository.init();
+
+		try (RepositoryConnection con = repository.getConnection()) {
+			con.add(a, GEO.AS_WKT, vf.createLiteral("POINT(1 1)", GEO.WKT_LITERAL));
+			con.add(b, GEO.AS_WKT, vf.createLiteral("POINT(5 5)", GEO.WKT_LITERAL));
+			con.add(c, GEO.AS_WKT, vf.createLiteral("POLYGON((0 0, 2 0, 2 2, 0 2, 0 0))", GEO.WKT_LITERAL));
+		}
+	}
+
+	@After
+	public void tearDown() {
+		repository.shutDown();
+	}
+
+	@Test
+	public void testWithin() {
+		assertEquals(3, sail.getSpatialIndex().size());
+		assertEquals(new HashSet<>(Arrays.asList(a, c)), query(WITHIN_QUERY));
+	}
+
+	@Test
+	public void testDistance() {
+		assertEquals(Collections.singleton(a), query(DISTANCE_QUERY));
+	}
+
+	@Test
+	public void testUncommittedChanges() {
+		try (RepositoryConnection con = repository.getConnection()) {
+			con.begin();
+			con.add(d, GEO.AS_WKT, vf.createLiteral("POINT(2.5 2.5)", GEO.WKT_LITERAL));
+			con.remove(a, null, null);
+			assertEquals(new HashSet<>(Arrays.asList(c, d)), query(con, WITHIN_QUERY));
+			con.rollback();
+		}
+		assertEquals(new HashSet<>(Arrays.asList(a, c)), query(WITHIN_QUERY));
+		assertEquals(3, sail.getSpatialIndex().size());
+	}
+
+	@Test
+	public void testRemove() {
+		try (RepositoryConnection con = repository.getConnection()) {
+			// the literal is still used by another statement
+			con.add(d, GEO.AS_WKT, vf.createLiteral("POINT(1 1)", GEO.WKT_LITERAL));
+			con.remove(a, null, null);
+			assertEquals(3, sail.getSpatialIndex().size());
+			assertEquals(new HashSet<>(Arrays.asList(c, d)), query(con, WITHIN_QUERY));
+
+			con.remove(d, null, null);
+			assertEquals(2, sail.getSpatialIndex().size());
+			assertEquals(Collections.singleton(c), query(con, WITHIN_QUERY));
+		}
+	}
+
+	@Test
+	public void testRestart() {
+		File indexFile = new File(dataDir, GeoSPARQLSail.INDEX_FILE);
+		repository.shutDown();
+		assertTrue(indexFile.exists());
+
+		repository.init();
+		assertFalse(indexFile.exists());
+		assertEquals(3, sail.getSpatialIndex().size());
+		assertEquals(new HashSet<>(Arrays.asList(a, c)), query(WITHIN_QUERY));
+	}
+
+	@Test
+	public void testReindex() {
+		sail.getSpatialIndex().clear();
+		assertTrue(query(WITHIN_QUERY).isEmpty());
+
+		sail.reindex();
+		assertEquals(new HashSet<>(Arrays.asList(a, c)), query(WITHIN_QUERY));
+	}
+
+	@Test
+	public void testCommitDuringReindex() throws Exception {
+		CompletableFuture<Void> commit;
+		Lock lock = sail.getIndexLock();
+		lock.lock();
+		try {
+			commit = CompletableFuture.runAsync(() -> {
+				try (RepositoryConnection con = repository.getConnection()) {
+					con.add(d, GEO.AS_WKT, vf.createLiteral("POINT(2.5 2.5)", GEO.WKT_LITERAL));
+				}
+			});
+			try (RepositoryConnection con = repository.getConnection()) {
+				for (int i = 0; i < 1000 && !con.hasStatement(d, null, null, false); i++) {
+					Thread.sleep(10);
+				}
+				assertTrue(con.hasStatement(d, null, null, false));
+			}
+			// an index that was rebuilt from the statements before the commit
+			sail.getSpatialIndex().clear();
+		} finally {
+			lock.unlock();
+		}
+		commit.get(10, TimeUnit.SECONDS);
+
+		assertEquals(Collections.singleton(d), query(WITHIN_QUERY));
+	}
+
+	private Set<Value> query(String query) {
+		try (RepositoryConnection con = repository.getConnection()) {
+			return query(con, query);
+		}
+	}
+
+	private Set<Value> query(RepositoryConnection con, String query) {
+		Set<Value> subjects = new HashSet<>();
+		try (TupleQueryResult result = con.prepareTupleQuery(query).evaluate()) {
+			for (BindingSet bindings : result) {
+				subjects.add(bindings.getValue("s"));
+			}
+		}
+		return subjects;
+	}
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.geosparql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.GEO;
+import org.eclipse.rdf4j.model.vocabulary.GEOF;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.algebra.BindingSetAssignment;
+import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
+import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.eclipse.rdf4j.query.parser.sparql.SPARQLParser;
+import org.eclipse.rdf4j.sail.SailConnection;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpatialFilterOptimizerTest {
+
+	private static final String PREFIXES = "PREFIX geo: <" + GEO.NAMESPACE + ">\n" + "PREFIX geof: <"
+			+ GEOF.NAMESPACE + ">\n" + "PREFIX uom: <" + GEOF.UOM_NAMESPACE + ">\n";
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final SpatialIndex index = new SpatialIndex();
+
+	private final List<Literal> points = new ArrayList<>();
+
+	private MemoryStore store;
+
+	private SailConnection connection;
+
+	@Before
+	public void setUp() {
+		store = new MemoryStore();
+		store.init();
+		connection = store.getConnection();
+
+		connection.begin();
+		for (int i = 0; i < 100; i++) {
+			Literal point = vf.createLiteral("POINT(" + (i % 10) + " " + (i / 10) + ")", GEO.WKT_LITERAL);
+			points.add(point);
+			connection.addStatement(vf.createIRI("urn:s" + i), GEO.AS_WKT, point);
+		}
+		connection.commit();
+		index.addAll(points);
+	}
+
+	@After
+	public void tearDown() {
+		connection.close();
+		store.shutDown();
+	}
+
+	@Test
+	public void testWithin() {
+		Set<Value> candidates = optimize("SELECT ?s WHERE { ?s geo:asWKT ?wkt . "
+				+ "FILTER(geof:sfWithin(?wkt, \"POLYGON((0.5 0.5, 1.5 0.5, 1.5 1.5, 0.5 1.5, 0.5 0.5))\"^^geo:wktLiteral)) }",
+				Collections.emptyList());
+
+		assertEquals(Collections.singleton(points.get(11)), candidates);
+	}
+
+	@Test
+	public void testConjunctionWithPending() {
+		Literal pending = vf.createLiteral("POINT(50 50)", GEO.WKT_LITERAL);
+		connection.begin();
+		connection.addStatement(vf.createIRI("urn:pending"), GEO.AS_WKT, pending);
+		Set<Value> candidates = optimize("SELECT ?s WHERE { ?s geo:asWKT ?wkt . ?s a ?type . "
+				+ "FILTER(?type != geo:Feature && geof:sfIntersects(\"POINT(3 4)\"^^geo:wktLiteral, ?wkt)) }",
+				Collections.singletonList(pending));
+
+		assertEquals(new HashSet<>(Arrays.asList(points.get(43), pending)), candidates);
+		connection.rollback();
+	}
+
+	@Test
+	public void testLiteralsAreReadFromMatchingStatements() {
+		Set<Value> candidates = optimize("SELECT ?wkt WHERE { <urn:s12> geo:asWKT ?wkt . "
+				+ "FILTER(geof:sfWithin(?wkt, \"POLYGON((0.5 0.5, 2.5 0.5, 2.5 2.5, 0.5 2.5, 0.5 0.5))\"^^geo:wktLiteral)) }",
+				Collections.emptyList());
+
+		assertEquals(Collections.singleton(points.get(12)), candidates);
+	}
+
+	@Test
+	public void testDistance() {
+		// 0.5 degrees is about 55 km
+		Set<Value> candidates = optimize("SELECT ?s WHERE { ?s geo:asWKT ?wkt . "
+				+ "FILTER(geof:distance(?wkt, \"POINT(5 5)\"^^geo:wktLiteral, uom:metre) < 60000) }",
+				Collections.emptyList());
+
+		assertEquals(Collections.singleton(points.get(55)), candidates);
+	}
+
+	@Test
+	public void testDisjointIsNotRewritten() {
+		assertNull(optimize("SELECT ?s WHERE { ?s geo:asWKT ?wkt . "
+				+ "FILTER(geof:sfDisjoint(?wkt, \"POINT(1 1)\"^^geo:wktLiteral)) }", Collections.emptyList()));
+	}
+
+	@Test
+	public void testOptionalIsNotRewritten() {
+		assertNull(optimize("SELECT ?s WHERE { ?s a geo:Feature OPTIONAL { ?s geo:asWKT ?wkt } "
+				+ "FILTER(geof:sfWithin(?wkt, \"POINT(1 1)\"^^geo:wktLiteral)) }", Collections.emptyList()));
+	}
+
+	@Test
+	public void testLargeAreaIsNotRewritten() {
+		assertNull(optimize("SELECT ?s WHERE { ?s geo:asWKT ?wkt . "
+				+ "FILTER(geof:sfWithin(?wkt, \"POLYGON((-1 -1, 20 -1, 20 20, -1 20, -1 -1))\"^^geo:wktLiteral)) }",
+				Collections.emptyList()));
+	}
+
+	/**
+	 * @return the values of the binding set assignment that was added to the query, or null if there is none
+	 */
+	private Set<Value> optimize(String query, List<Literal> pending) {
+		TupleExpr expr = new QueryRoot(new SPARQLParser().parseQuery(PREFIXES + query, null).getTupleExpr());
+		new SpatialFilterOptimizer(index, pending, connection, false).optimize(expr, null,
+				EmptyBindingSet.getInstance());
+
+		List<BindingSetAssignment> assignments = new ArrayList<>();
+		expr.visit(new AbstractQueryModelVisitor<RuntimeException>() {
+
+			@Override
+			public void meet(BindingSetAssignment node) {
+				assignments.add(node);
+			}
+		});
+		if (assignments.isEmpty()) {
+			return null;
+		}
+		assertEquals(1, assignments.size());
+		Set<Value> values = new HashSet<>();
+		for (BindingSet bindings : assignments.get(0).getBindingSets()) {
+			values.add(bindings.getValue("wkt"));
+		}
+		return values;
+	}
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.geosparql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.GEO;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.jts.geom.Envelope;
+
+public class SpatialIndexTest {
+
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final Literal point = wkt("POINT(1 1)");
+
+	private final Literal farPoint = wkt("POINT(5 5)");
+
+	private final Literal polygon = wkt("POLYGON((0 0, 2 0, 2 2, 0 2, 0 0))");
+
+	private final Literal envelope = wkt("ENVELOPE(10, 20, 20, 10)");
+
+	private final Literal wide = wkt("LINESTRING(-170 0, 170 0)");
+
+	@Test
+	public void testGetEnvelope() {
+		Envelope env = SpatialIndex.getEnvelope(wkt("<http://www.opengis.net/def/crs/OGC/1.3/CRS84> POINT(3 4)"));
+		assertEquals(3, env.getMinX(), 0);
+		assertEquals(4, env.getMaxY(), 0);
+
+		assertNull(SpatialIndex.getEnvelope(vf.createLiteral("POINT(3 4)")));
+		assertNull(SpatialIndex.getEnvelope(envelope));
+		// interpreted as crossing the dateline
+		assertNull(SpatialIndex.getEnvelope(wide));
+	}
+
+	@Test
+	public void testCandidates() {
+		SpatialIndex index = new SpatialIndex();
+		index.addAll(Arrays.asList(point, farPoint, polygon, envelope, wide));
+		assertEquals(5, index.size());
+
+		List<Literal> all = Arrays.asList(point, farPoint, polygon, envelope, wide);
+		SpatialIndex.Candidates candidates = index.getCandidates(new Envelope(0.5, 1.5, 0.5, 1.5));
+		assertEquals(4, candidates.size());
+		assertEquals(new HashSet<>(Arrays.asList(point, polygon, envelope, wide)), filter(candidates, all));
+
+		index.removeAll(Arrays.asList(point, envelope));
+		candidates = index.getCandidates(new Envelope(0.5, 1.5, 0.5, 1.5));
+		assertEquals(2, candidates.size());
+		assertEquals(new HashSet<>(Arrays.asList(polygon, wide)), filter(candidates, all));
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	public void testRebuild() {
+		SpatialIndex index = new SpatialIndex();
+		List<Literal> points = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			points.add(wkt("POINT(" + (i % 100) + " " + (i / 100) + ")"));
+		}
+		index.addAll(points);
+		index.addAll(points.subList(0, 10));
+		assertEquals(5000, index.size());
+
+		Envelope area = new Envelope(9.5, 10.5, 9.5, 11.5);
+		assertEquals(new HashSet<>(Arrays.asList(points.get(1010), points.get(1110))),
+				filter(index.getCandidates(area), points));
+		assertEquals(2, index.getCandidates(area).size());
+
+		index.removeAll(points.subList(0, 2500));
+		assertEquals(2500, index.size());
+		assertEquals(0, index.getCandidates(area).size());
+		assertEquals(1, index.getCandidates(new Envelope(10, 10, 30, 30)).size());
+	}
+
+	@Test
+	public void testWriteRead() throws Exception {
+		SpatialIndex index = new SpatialIndex();
+		index.addAll(Arrays.asList(point, farPoint, polygon, envelope));
+
+		File file = new File(tmpFolder.getRoot(), GeoSPARQLSail.INDEX_FILE);
+		index.write(file);
+		SpatialIndex read = SpatialIndex.read(file);
+
+		List<Literal> all = Arrays.asList(point, farPoint, polygon, envelope);
+		assertEquals(4, read.size());
+		assertTrue(read.contains(polygon));
+		assertEquals(filter(index.getCandidates(new Envelope(0.5, 1.5, 0.5, 1.5)), all),
+				filter(read.getCandidates(new Envelope(0.5, 1.5, 0.5, 1.5)), all));
+		assertEquals(new HashSet<>(Arrays.asList(farPoint, envelope)),
+				filter(read.getCandidates(new Envelope(4, 6, 4, 6)), all));
+	}
+
+	@Test
+	public void testIndexFileDoesNotContainLiterals() throws Exception {
+		SpatialIndex index = new SpatialIndex();
+		index.addAll(Arrays.asList(polygon, envelope));
+
+		File file = new File(tmpFolder.getRoot(), GeoSPARQLSail.INDEX_FILE);
+		index.write(file);
+
+		// a version, two counts, a bounded literal with its bounding box, and an unbounded literal
+		assertEquals(4 + 4 + 16 + 4 * 8 + 4 + 16, file.length());
+	}
+
+	private static Set<Literal> filter(SpatialIndex.Candidates candidates, Collection<Literal> literals) {
+		return literals.stream().filter(candidates::contains).collect(Collectors.toSet());
+	}
+
+	private Literal wkt(String wkt) {
+		return vf.createLiteral(wkt, GEO.WKT_LITERAL);
+	}
+}
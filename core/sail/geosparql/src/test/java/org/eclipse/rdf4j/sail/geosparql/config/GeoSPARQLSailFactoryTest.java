@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.geosparql.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.GEO;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.repository.sail.config.SailRepositoryConfig;
+import org.eclipse.rdf4j.repository.sail.config.SailRepositoryFactory;
+import org.eclipse.rdf4j.sail.config.SailConfigException;
+import org.eclipse.rdf4j.sail.config.SailRegistry;
+import org.eclipse.rdf4j.sail.geosparql.GeoSPARQLSail;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.eclipse.rdf4j.sail.memory.config.MemoryStoreConfig;
+import org.junit.Test;
+
+public class GeoSPARQLSailFactoryTest {
+
+	@Test
+	public void testFactoryIsRegistered() {
+		assertTrue(
+				SailRegistry.getInstance().get(GeoSPARQLSailFactory.SAIL_TYPE).get() instanceof GeoSPARQLSailFactory);
+	}
+
+	@Test(expected = SailConfigException.class)
+	public void testInvalidType() {
+		new GeoSPARQLSailFactory().getSail(new MemoryStoreConfig());
+	}
+
+	@Test
+	public void testStackedOnConfiguredSail() {
+		SailRepositoryConfig config = new SailRepositoryConfig(new GeoSPARQLSailConfig(new MemoryStoreConfig()));
+		SailRepository repository = (SailRepository) new SailRepositoryFactory().getRepository(config);
+		repository.init();
+		try {
+			GeoSPARQLSail sail = (GeoSPARQLSail) repository.getSail();
+			assertTrue(sail.getBaseSail() instanceof MemoryStore);
+
+			ValueFactory vf = SimpleValueFactory.getInstance();
+			try (RepositoryConnection con = repository.getConnection()) {
+				con.add(vf.createIRI("urn:a"), GEO.AS_WKT, vf.createLiteral("POINT(1 1)", GEO.WKT_LITERAL));
+			}
+			assertEquals(1, sail.getSpatialIndex().size());
+		} finally {
+			repository.shutDown();
+		}
+	}
+}
@@ -30,6 +30,12 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 
 	static private final Logger logger = LoggerFactory.getLogger(AbstractForwardChainingInferencerConnection.class);
 
+	/**
+	 * The maximum number of removed statements for which the inferred statements are maintained incrementally. When
+	 * more statements are removed in a single update, the closure is recomputed from scratch instead.
+	 */
+	protected static final int MAX_INCREMENTAL_REMOVALS = 100_000;
+
 	/*-----------*
 	 * Variables *
 	 *-----------*/
@@ -46,6 +52,18 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 	 */
 	private Model newStatements;
 
+	/**
+	 * Contains the statements that have been reported by the base Sail as removed, used to maintain the inferred
+	 * statements incrementally.
+	 */
+	private Model removedStatements;
+
+	/**
+	 * true while inferred statements are being removed by the incremental maintenance, so that their removal is not
+	 * mistaken for the removal of explicit statements.
+	 */
+	private boolean maintainingInferred;
+
 	protected int totalInferred;
 
 	/*--------------*
@@ -65,6 +83,10 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 	// Called by base sail
 	@Override
 	public void statementAdded(Statement st) {
+		if (removedStatements != null) {
+			removedStatements.remove(st);
+		}
+
 		if (statementsRemoved) {
 			// No need to record, starting from scratch anyway
 			return;
@@ -81,16 +103,39 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 	// Called by base sail
 	@Override
 	public void statementRemoved(Statement st) {
+		if (maintainingInferred) {
+			return;
+		}
+
 		boolean removed = (newStatements != null) ? newStatements.remove(st) : false;
-		if (!removed) {
-			// trigger full rebuild
-			statementsRemoved = true;
-			newStatements = null;
+		if (!removed && !statementsRemoved) {
+			if (removedStatements == null) {
+				removedStatements = createModel();
+			}
+			removedStatements.add(st);
+
+			if (removedStatements.size() > MAX_INCREMENTAL_REMOVALS) {
+				// trigger full rebuild
+				statementsRemoved = true;
+				newStatements = null;
+				removedStatements = null;
+			}
 		}
 	}
 
 	@Override
 	public void flushUpdates() throws SailException {
+		super.flushUpdates();
+
+		if (!needsFullRecomputation() && removedStatements != null) {
+			Model removed = removedStatements;
+			removedStatements = null;
+			if (!maintainInferred(removed)) {
+				statementsRemoved = true;
+				newStatements = null;
+			}
+		}
+
 		if (needsFullRecomputation()) {
 			logger.debug("full recomputation needed, starting inferencing from scratch");
 			clearInferred();
@@ -101,8 +146,7 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 
 			newStatements = new SailModel(getWrappedConnection(), true);
 			statementsRemoved = false;
-		} else {
-			super.flushUpdates();
+			removedStatements = null;
 		}
 
 		if (hasNewStatements()) {
@@ -135,6 +179,66 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 
 		statementsRemoved = false;
 		newStatements = null;
+		removedStatements = null;
+	}
+
+	/**
+	 * Maintains the inferred statements after the removal of explicit statements, following the delete and rederive
+	 * (DRed) approach. All inferred statements that might depend on the removed statements are retracted, after which
+	 * those that can still be inferred from the remaining statements are added again. The rederived statements are
+	 * treated as new statements, so that the inferencing that follows restores everything that depends on them.
+	 *
+	 * @param removed the removed statements
+	 * @return false if the inferred statements could not be maintained incrementally
+	 */
+	private boolean maintainInferred(Model removed) throws SailException {
+		Model affected = getAffectedInferredStatements(removed);
+		if (affected == null) {
+			return false;
+		}
+
+		maintainingInferred = true;
+		try {
+			for (Statement st : affected) {
+				removeInferredStatement(st.getSubject(), st.getPredicate(), st.getObject());
+			}
+		} finally {
+			maintainingInferred = false;
+		}
+		super.flushUpdates();
+
+		int rederived = 0;
+		for (Model candidates : new Model[] { affected, removed }) {
+			for (Statement st : candidates) {
+				if (isDerivable(st) && addInferredStatement(st.getSubject(), st.getPredicate(), st.getObject())) {
+					rederived++;
+				}
+			}
+		}
+
+		logger.debug("{} removed statements affected {} inferred statements, {} could be rederived", removed.size(),
+				affected.size(), rederived);
+		return true;
+	}
+
+	/**
+	 * Returns the inferred statements that might have been inferred from the supplied removed statements, directly or
+	 * indirectly. Implementations that can't determine these statements return <tt>null</tt>, in which case the closure
+	 * is recomputed from scratch. The default implementation returns <tt>null</tt>.
+	 *
+	 * @param removed the explicit statements that have been removed, they are no longer present in the underlying Sail
+	 */
+	protected Model getAffectedInferredStatements(Model removed) throws SailException {
+		return null;
+	}
+
+	/**
+	 * Indicates if the statement can be inferred in a single step from the statements in the underlying Sail, or if it
+	 * is an axiom. Only called when {@link #getAffectedInferredStatements(Model)} returns a value other than
+	 * <tt>null</tt>.
+	 */
+	protected boolean isDerivable(Statement st) throws SailException {
+		return false;
 	}
 
 	/**
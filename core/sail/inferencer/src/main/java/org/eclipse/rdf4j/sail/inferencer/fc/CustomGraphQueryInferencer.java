@@ -7,9 +7,13 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.inferencer.fc;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.model.IRI;
@@ -22,10 +26,22 @@ import org.eclipse.rdf4j.query.MalformedQueryException;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.query.UnsupportedQueryLanguageException;
+import org.eclipse.rdf4j.query.algebra.ArbitraryLengthPath;
+import org.eclipse.rdf4j.query.algebra.BNodeGenerator;
+import org.eclipse.rdf4j.query.algebra.Difference;
+import org.eclipse.rdf4j.query.algebra.Exists;
+import org.eclipse.rdf4j.query.algebra.Group;
+import org.eclipse.rdf4j.query.algebra.LeftJoin;
+import org.eclipse.rdf4j.query.algebra.MultiProjection;
+import org.eclipse.rdf4j.query.algebra.Projection;
+import org.eclipse.rdf4j.query.algebra.Service;
+import org.eclipse.rdf4j.query.algebra.Slice;
 import org.eclipse.rdf4j.query.algebra.StatementPattern;
 import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.ZeroLengthPath;
 import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
 import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
 import org.eclipse.rdf4j.query.parser.ParsedGraphQuery;
 import org.eclipse.rdf4j.query.parser.QueryParserUtil;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
@@ -40,7 +56,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A forward-chaining inferencer that infers new statements using a SPARQL or SeRQL graph query.
+ * A forward-chaining inferencer that infers new statements using one or more SPARQL or SeRQL graph queries (rules).
+ * <p>
+ * Rules are applied until a fixed point is reached. When statements have only been added, rules are evaluated
+ * semi-naively: every rule is only evaluated for the new statements that match one of its statement patterns, and the
+ * statements it infers are in turn used as the input of the next round. Rules that can't be evaluated this way (for
+ * example rules with <tt>OPTIONAL</tt>, <tt>MINUS</tt>, negation, aggregates or property path closures), and any change
+ * that removes statements, cause all rules to be re-evaluated over the complete store, using the matcher queries to
+ * retract inferred statements that no longer hold.
+ * <p>
+ * Rules that create blank nodes, for example in their <tt>CONSTRUCT</tt> template, infer new statements every time they
+ * are evaluated and would never reach a fixed point. They are only evaluated in the first round of an update, so the
+ * statements they infer are used as the input of the other rules, but not of themselves or of other rules that create
+ * blank nodes.
  *
  * @author Dale Visser
  */
@@ -48,9 +76,13 @@ public class CustomGraphQueryInferencer extends NotifyingSailWrapper {
 
 	private static final Logger logger = LoggerFactory.getLogger(CustomGraphQueryInferencer.class);
 
-	private ParsedGraphQuery customQuery;
+	/**
+	 * The maximum number of added statements that are evaluated semi-naively in a single transaction. If more
+	 * statements are added, all rules are re-evaluated over the complete store instead.
+	 */
+	protected static final int MAX_INCREMENTAL_ADDITIONS = 100_000;
 
-	private ParsedGraphQuery customMatcher;
+	private final List<Rule> rules = new ArrayList<>();
 
 	private final Collection<Value> watchPredicates = new HashSet<>();
 
@@ -58,8 +90,6 @@ public class CustomGraphQueryInferencer extends NotifyingSailWrapper {
 
 	private final Collection<Value> watchObjects = new HashSet<>();
 
-	private boolean hasWatchValues;
-
 	public CustomGraphQueryInferencer() {
 		super();
 	}
@@ -108,31 +138,38 @@ public class CustomGraphQueryInferencer extends NotifyingSailWrapper {
 	 */
 	public final void setFields(QueryLanguage language, String queryText, String matcherText)
 			throws MalformedQueryException, SailException {
-		customQuery = QueryParserUtil.parseGraphQuery(language, queryText, null);
+		rules.clear();
+		watchSubjects.clear();
+		watchPredicates.clear();
+		watchObjects.clear();
+		addRule(language, queryText, matcherText);
+	}
+
+	/**
+	 * Adds a rule to the rules of this inferencer. All rules are applied together until none of them infers any new
+	 * statements.
+	 *
+	 * @param language    language that <tt>queryText</tt> and <tt>matcherText</tt> are expressed in
+	 * @param queryText   a query that returns an RDF graph of inferred statements to be added to the underlying Sail
+	 * @param matcherText a query that returns an RDF graph of existing inferred statements already added previously, if
+	 *                    empty it is derived from <tt>queryText</tt>
+	 * @throws MalformedQueryException if there is a problem parsing either of the given queries
+	 * @throws SailException           if a problem occurs interpreting the rule pattern
+	 */
+	public final void addRule(QueryLanguage language, String queryText, String matcherText)
+			throws MalformedQueryException, SailException {
+		ParsedGraphQuery customQuery = QueryParserUtil.parseGraphQuery(language, queryText, null);
 		String matcherQuery = matcherText;
 		if (matcherText.trim().isEmpty()) {
 			matcherQuery = CustomGraphQueryInferencerConfig.buildMatcherQueryFromRuleQuery(language, queryText);
 		}
-		customMatcher = QueryParserUtil.parseGraphQuery(language, matcherQuery, null);
-		customQuery.getTupleExpr().visit(new AbstractQueryModelVisitor<SailException>() {
+		ParsedGraphQuery customMatcher = QueryParserUtil.parseGraphQuery(language, matcherQuery, null);
 
-			@Override
-			public void meet(StatementPattern statement) throws SailException {
-				Var var = statement.getSubjectVar();
-				if (var.hasValue()) {
-					watchSubjects.add(var.getValue());
-				}
-				var = statement.getPredicateVar();
-				if (var.hasValue()) {
-					watchPredicates.add(var.getValue());
-				}
-				var = statement.getObjectVar();
-				if (var.hasValue()) {
-					watchObjects.add(var.getValue());
-				}
-			}
-		});
-		hasWatchValues = !(watchSubjects.isEmpty() && watchPredicates.isEmpty() && watchObjects.isEmpty());
+		Rule rule = new Rule(customQuery, customMatcher);
+		rules.add(rule);
+		watchSubjects.addAll(rule.watchSubjects);
+		watchPredicates.addAll(rule.watchPredicates);
+		watchObjects.addAll(rule.watchObjects);
 	}
 
 	@Override
@@ -185,13 +222,208 @@ public class CustomGraphQueryInferencer extends NotifyingSailWrapper {
 		return Collections.unmodifiableCollection(watchObjects);
 	}
 
+	/**
+	 * A rule query with its matcher query and the statement patterns it is triggered by.
+	 */
+	private static class Rule {
+
+		private final ParsedGraphQuery query;
+
+		private final ParsedGraphQuery matcher;
+
+		private final List<StatementPattern> patterns = new ArrayList<>();
+
+		private final Collection<Value> watchPredicates = new HashSet<>();
+
+		private final Collection<Value> watchSubjects = new HashSet<>();
+
+		private final Collection<Value> watchObjects = new HashSet<>();
+
+		private final boolean hasWatchValues;
+
+		/**
+		 * true if the rule can be evaluated semi-naively, which requires that adding statements never invalidates any
+		 * of its previous results.
+		 */
+		private final boolean incremental;
+
+		/**
+		 * true if the rule creates new blank nodes every time it is evaluated, so that it is only evaluated in the
+		 * first round of an update.
+		 */
+		private final boolean generative;
+
+		private Rule(ParsedGraphQuery query, ParsedGraphQuery matcher) {
+			this.query = query;
+			this.matcher = matcher;
+
+			IncrementalChecker checker = new IncrementalChecker();
+			query.getTupleExpr().visit(checker);
+			incremental = checker.incremental && checker.projections <= 1;
+			generative = checker.generative;
+
+			hasWatchValues = !(watchSubjects.isEmpty() && watchPredicates.isEmpty() && watchObjects.isEmpty());
+		}
+
+		/**
+		 * @return true if adding or removing the statement may change the result of the rule
+		 */
+		private boolean isTriggeredBy(Statement statement) {
+			if (incremental) {
+				for (StatementPattern pattern : patterns) {
+					if (bind(pattern, statement) != null) {
+						return true;
+					}
+				}
+				return false;
+			}
+
+			return !hasWatchValues || watchPredicates.contains(statement.getPredicate())
+					|| watchSubjects.contains(statement.getSubject()) || watchObjects.contains(statement.getObject());
+		}
+
+		/**
+		 * Binds the variables of a statement pattern to the values of a statement.
+		 *
+		 * @return the bindings, or null if the statement doesn't match the pattern
+		 */
+		private static BindingSet bind(StatementPattern pattern, Statement statement) {
+			MapBindingSet bindings = new MapBindingSet();
+			if (!bind(pattern.getSubjectVar(), statement.getSubject(), bindings)
+					|| !bind(pattern.getPredicateVar(), statement.getPredicate(), bindings)
+					|| !bind(pattern.getObjectVar(), statement.getObject(), bindings)) {
+				return null;
+			}
+
+			Var contextVar = pattern.getContextVar();
+			if (contextVar != null
+					&& (statement.getContext() == null || !bind(contextVar, statement.getContext(), bindings))) {
+				return null;
+			}
+
+			return bindings;
+		}
+
+		private static boolean bind(Var var, Value value, MapBindingSet bindings) {
+			if (var.hasValue()) {
+				return var.getValue().equals(value);
+			}
+
+			Value bound = bindings.getValue(var.getName());
+			if (bound != null) {
+				return bound.equals(value);
+			}
+
+			bindings.addBinding(var.getName(), value);
+			return true;
+		}
+
+		private class IncrementalChecker extends AbstractQueryModelVisitor<RuntimeException> {
+
+			private boolean incremental = true;
+
+			private int projections;
+
+			private boolean generative;
+
+			@Override
+			public void meet(StatementPattern statement) {
+				patterns.add(statement);
+
+				Var var = statement.getSubjectVar();
+				if (var.hasValue()) {
+					watchSubjects.add(var.getValue());
+				}
+				var = statement.getPredicateVar();
+				if (var.hasValue()) {
+					watchPredicates.add(var.getValue());
+				}
+				var = statement.getObjectVar();
+				if (var.hasValue()) {
+					watchObjects.add(var.getValue());
+				}
+			}
+
+			@Override
+			public void meet(Projection node) {
+				projections++;
+				super.meet(node);
+			}
+
+			@Override
+			public void meet(MultiProjection node) {
+				projections++;
+				super.meet(node);
+			}
+
+			@Override
+			public void meet(LeftJoin node) {
+				incremental = false;
+				super.meet(node);
+			}
+
+			@Override
+			public void meet(Difference node) {
+				incremental = false;
+				super.meet(node);
+			}
+
+			@Override
+			public void meet(Exists node) {
+				incremental = false;
+				super.meet(node);
+			}
+
+			@Override
+			public void meet(Group node) {
+				incremental = false;
+				super.meet(node);
+			}
+
+			@Override
+			public void meet(Slice node) {
+				incremental = false;
+				super.meet(node);
+			}
+
+			@Override
+			public void meet(ArbitraryLengthPath node) {
+				incremental = false;
+				super.meet(node);
+			}
+
+			@Override
+			public void meet(ZeroLengthPath node) {
+				incremental = false;
+				super.meet(node);
+			}
+
+			@Override
+			public void meet(Service node) {
+				incremental = false;
+				super.meet(node);
+			}
+
+			@Override
+			public void meet(BNodeGenerator node) {
+				generative = true;
+				super.meet(node);
+			}
+		}
+	}
+
 	private class Connection extends InferencerConnectionWrapper implements SailConnectionListener {
 
 		/**
-		 * Flag indicating whether an update of the inferred statements is needed.
+		 * Flag indicating whether all rules need to be re-evaluated over the complete store.
 		 */
 		private boolean updateNeeded = false;
 
+		/**
+		 * Statements added since the rules were last applied that have not been evaluated yet.
+		 */
+		private Set<Statement> addedStatements = new LinkedHashSet<>();
+
 		private Connection(InferencerConnection con) {
 			super(con);
 			con.addConnectionListener(this);
@@ -199,46 +431,80 @@ public class CustomGraphQueryInferencer extends NotifyingSailWrapper {
 
 		@Override
 		public void statementAdded(Statement statement) {
-			setUpdateNeededIfMatching(statement);
+			if (updateNeeded) {
+				return;
+			}
+			for (Rule rule : rules) {
+				if (rule.isTriggeredBy(statement)) {
+					if (!rule.incremental || addedStatements.size() >= MAX_INCREMENTAL_ADDITIONS) {
+						updateNeeded = true;
+						addedStatements.clear();
+						return;
+					}
+					addedStatements.add(statement);
+				}
+			}
 		}
 
 		@Override
 		public void statementRemoved(Statement statement) {
-			setUpdateNeededIfMatching(statement);
-		}
-
-		private void setUpdateNeededIfMatching(Statement statement) {
-			updateNeeded = hasWatchValues ? watchPredicates.contains(statement.getPredicate())
-					|| watchSubjects.contains(statement.getSubject()) || watchObjects.contains(statement.getObject())
-					: true;
+			if (updateNeeded) {
+				return;
+			}
+			for (Rule rule : rules) {
+				if (rule.isTriggeredBy(statement)) {
+					updateNeeded = true;
+					addedStatements.clear();
+					return;
+				}
+			}
 		}
 
 		@Override
 		public void rollback() throws SailException {
 			super.rollback();
 			updateNeeded = false;
+			addedStatements.clear();
 		}
 
 		@Override
 		public void flushUpdates() throws SailException {
 			super.flushUpdates();
-			Collection<Statement> forRemoval = new HashSet<>(256);
-			Collection<Statement> forAddition = new HashSet<>(256);
 			Resource[] contexts = new Resource[] { null };
-			while (updateNeeded) {
+			boolean firstRound = true;
+			while (updateNeeded || !addedStatements.isEmpty()) {
 				try {
-					// Determine which statements should be added and which should be
-					// removed
-					forRemoval.clear();
-					forAddition.clear();
-					buildDeltaSets(forRemoval, forAddition);
-					for (Statement st : forRemoval) {
-						removeInferredStatement(st.getSubject(), st.getPredicate(), st.getObject(), contexts);
-					}
-					for (Statement st : forAddition) {
-						addInferredStatement(st.getSubject(), st.getPredicate(), st.getObject(), contexts);
+					if (updateNeeded) {
+						// Determine which statements should be added and which should be
+						// removed
+						updateNeeded = false;
+						addedStatements.clear();
+						Collection<Statement> forRemoval = new HashSet<>(256);
+						Collection<Statement> forAddition = new HashSet<>(256);
+						buildDeltaSets(forRemoval, forAddition, firstRound);
+						for (Statement st : forRemoval) {
+							removeInferredStatement(st.getSubject(), st.getPredicate(), st.getObject(), contexts);
+						}
+						for (Statement st : forAddition) {
+							addInferredStatement(st.getSubject(), st.getPredicate(), st.getObject(), contexts);
+						}
+					} else {
+						// Only evaluate the rules for the new statements, the statements this
+						// infers are collected for the next iteration by statementAdded(...)
+						Set<Statement> delta = addedStatements;
+						addedStatements = new LinkedHashSet<>();
+						Collection<Statement> forAddition = new HashSet<>(256);
+						for (Rule rule : rules) {
+							if (firstRound || !rule.generative) {
+								evaluateIncrementally(rule, delta, forAddition);
+							}
+						}
+						logger.debug("new virtual properties from {} added statements: {}", delta.size(),
+								forAddition.size());
+						for (Statement st : forAddition) {
+							addInferredStatement(st.getSubject(), st.getPredicate(), st.getObject(), contexts);
+						}
 					}
-					updateNeeded = false;
 				} catch (RDFHandlerException e) {
 					Throwable cause = e.getCause();
 					if (cause instanceof SailException) {
@@ -249,14 +515,33 @@ public class CustomGraphQueryInferencer extends NotifyingSailWrapper {
 				} catch (QueryEvaluationException e) {
 					throw new SailException(e);
 				}
+				firstRound = false;
 				super.flushUpdates();
 			}
 		}
 
-		private void buildDeltaSets(Collection<Statement> forRemoval, Collection<Statement> forAddition)
+		private void evaluateIncrementally(Rule rule, Set<Statement> delta, Collection<Statement> statements)
 				throws SailException, RDFHandlerException, QueryEvaluationException {
-			evaluateIntoStatements(customMatcher, forRemoval);
-			evaluateIntoStatements(customQuery, forAddition);
+			for (StatementPattern pattern : rule.patterns) {
+				for (Statement statement : delta) {
+					BindingSet bindings = Rule.bind(pattern, statement);
+					if (bindings != null) {
+						evaluateIntoStatements(rule.query, bindings, statements);
+					}
+				}
+			}
+		}
+
+		private void buildDeltaSets(Collection<Statement> forRemoval, Collection<Statement> forAddition,
+				boolean includeGenerative) throws SailException, RDFHandlerException, QueryEvaluationException {
+			for (Rule rule : rules) {
+				if (rule.generative && !includeGenerative) {
+					// keep the statements it inferred in the first round
+					continue;
+				}
+				evaluateIntoStatements(rule.matcher, EmptyBindingSet.getInstance(), forRemoval);
+				evaluateIntoStatements(rule.query, EmptyBindingSet.getInstance(), forAddition);
+			}
 			logger.debug("existing virtual properties: {}", forRemoval.size());
 			logger.debug("new virtual properties: {}", forAddition.size());
 			Collection<Statement> inCommon = new HashSet<>(forRemoval);
@@ -267,16 +552,17 @@ public class CustomGraphQueryInferencer extends NotifyingSailWrapper {
 			logger.debug("virtual properties to add: {}", forAddition.size());
 		}
 
-		private void evaluateIntoStatements(ParsedGraphQuery query, Collection<Statement> statements)
+		private void evaluateIntoStatements(ParsedGraphQuery query, BindingSet bindings,
+				Collection<Statement> statements)
 				throws SailException, RDFHandlerException, QueryEvaluationException {
 			try (CloseableIteration<? extends BindingSet, QueryEvaluationException> bindingsIter = getWrappedConnection()
-					.evaluate(query.getTupleExpr(), null, EmptyBindingSet.getInstance(), true)) {
+					.evaluate(query.getTupleExpr(), null, bindings, true)) {
 				ValueFactory factory = getValueFactory();
 				while (bindingsIter.hasNext()) {
-					BindingSet bindings = bindingsIter.next();
-					Value subj = bindings.getValue("subject");
-					Value pred = bindings.getValue("predicate");
-					Value obj = bindings.getValue("object");
+					BindingSet result = bindingsIter.next();
+					Value subj = result.getValue("subject");
+					Value pred = result.getValue("predicate");
+					Value obj = result.getValue("object");
 					if (subj instanceof Resource && pred instanceof IRI && obj != null) {
 						statements.add(factory.createStatement((Resource) subj, (IRI) pred, obj));
 					}
@@ -7,14 +7,25 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.inferencer.fc;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
+import org.eclipse.rdf4j.common.iteration.UnionIteration;
 import org.eclipse.rdf4j.common.text.ASCIIUtil;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.DynamicModelFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.eclipse.rdf4j.model.vocabulary.RDFS;
 import org.eclipse.rdf4j.sail.Sail;
@@ -37,6 +48,10 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 	static private final Logger logger = LoggerFactory.getLogger(ForwardChainingRDFSInferencerConnection.class);
 
+	private static final List<Statement> AXIOMS = createAxioms();
+
+	private static final Set<Statement> AXIOM_SET = new HashSet<>(AXIOMS);
+
 	/*-----------*
 	 * Variables *
 	 *-----------*/
@@ -58,6 +73,19 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 	 */
 	private int[] ruleCount = new int[RDFSRules.RULECOUNT];
 
+	/**
+	 * The removed statements while the affected inferred statements are being determined, <tt>null</tt> otherwise.
+	 */
+	private Model removedPremises;
+
+	/**
+	 * The inferred statements that might depend on the removed statements, <tt>null</tt> unless they are being
+	 * determined.
+	 */
+	private Model overdeleted;
+
+	private Model overdeletedThisIteration;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -83,65 +111,76 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 	protected void addAxiomStatements() throws SailException {
 		logger.debug("Inserting axiom statements");
 
+		for (Statement axiom : AXIOMS) {
+			addInferredStatement(axiom.getSubject(), axiom.getPredicate(), axiom.getObject());
+		}
+	}
+
+	private static List<Statement> createAxioms() {
+		ValueFactory vf = SimpleValueFactory.getInstance();
+		List<Statement> axioms = new ArrayList<>();
+
 		// RDF axiomatic triples (from RDF Semantics, section 3.1):
 
-		addInferredStatement(RDF.TYPE, RDF.TYPE, RDF.PROPERTY);
-		addInferredStatement(RDF.SUBJECT, RDF.TYPE, RDF.PROPERTY);
-		addInferredStatement(RDF.PREDICATE, RDF.TYPE, RDF.PROPERTY);
-		addInferredStatement(RDF.OBJECT, RDF.TYPE, RDF.PROPERTY);
+		axioms.add(vf.createStatement(RDF.TYPE, RDF.TYPE, RDF.PROPERTY));
+		axioms.add(vf.createStatement(RDF.SUBJECT, RDF.TYPE, RDF.PROPERTY));
+		axioms.add(vf.createStatement(RDF.PREDICATE, RDF.TYPE, RDF.PROPERTY));
+		axioms.add(vf.createStatement(RDF.OBJECT, RDF.TYPE, RDF.PROPERTY));
 
-		addInferredStatement(RDF.FIRST, RDF.TYPE, RDF.PROPERTY);
-		addInferredStatement(RDF.REST, RDF.TYPE, RDF.PROPERTY);
-		addInferredStatement(RDF.VALUE, RDF.TYPE, RDF.PROPERTY);
+		axioms.add(vf.createStatement(RDF.FIRST, RDF.TYPE, RDF.PROPERTY));
+		axioms.add(vf.createStatement(RDF.REST, RDF.TYPE, RDF.PROPERTY));
+		axioms.add(vf.createStatement(RDF.VALUE, RDF.TYPE, RDF.PROPERTY));
 
-		addInferredStatement(RDF.NIL, RDF.TYPE, RDF.LIST);
+		axioms.add(vf.createStatement(RDF.NIL, RDF.TYPE, RDF.LIST));
 
 		// RDFS axiomatic triples (from RDF Semantics, section 4.1):
 
-		addInferredStatement(RDF.TYPE, RDFS.DOMAIN, RDFS.RESOURCE);
-		addInferredStatement(RDFS.DOMAIN, RDFS.DOMAIN, RDF.PROPERTY);
-		addInferredStatement(RDFS.RANGE, RDFS.DOMAIN, RDF.PROPERTY);
-		addInferredStatement(RDFS.SUBPROPERTYOF, RDFS.DOMAIN, RDF.PROPERTY);
-		addInferredStatement(RDFS.SUBCLASSOF, RDFS.DOMAIN, RDFS.CLASS);
-		addInferredStatement(RDF.SUBJECT, RDFS.DOMAIN, RDF.STATEMENT);
-		addInferredStatement(RDF.PREDICATE, RDFS.DOMAIN, RDF.STATEMENT);
-		addInferredStatement(RDF.OBJECT, RDFS.DOMAIN, RDF.STATEMENT);
-		addInferredStatement(RDFS.MEMBER, RDFS.DOMAIN, RDFS.RESOURCE);
-		addInferredStatement(RDF.FIRST, RDFS.DOMAIN, RDF.LIST);
-		addInferredStatement(RDF.REST, RDFS.DOMAIN, RDF.LIST);
-		addInferredStatement(RDFS.SEEALSO, RDFS.DOMAIN, RDFS.RESOURCE);
-		addInferredStatement(RDFS.ISDEFINEDBY, RDFS.DOMAIN, RDFS.RESOURCE);
-		addInferredStatement(RDFS.COMMENT, RDFS.DOMAIN, RDFS.RESOURCE);
-		addInferredStatement(RDFS.LABEL, RDFS.DOMAIN, RDFS.RESOURCE);
-		addInferredStatement(RDF.VALUE, RDFS.DOMAIN, RDFS.RESOURCE);
-
-		addInferredStatement(RDF.TYPE, RDFS.RANGE, RDFS.CLASS);
-		addInferredStatement(RDFS.DOMAIN, RDFS.RANGE, RDFS.CLASS);
-		addInferredStatement(RDFS.RANGE, RDFS.RANGE, RDFS.CLASS);
-		addInferredStatement(RDFS.SUBPROPERTYOF, RDFS.RANGE, RDF.PROPERTY);
-		addInferredStatement(RDFS.SUBCLASSOF, RDFS.RANGE, RDFS.CLASS);
-		addInferredStatement(RDF.SUBJECT, RDFS.RANGE, RDFS.RESOURCE);
-		addInferredStatement(RDF.PREDICATE, RDFS.RANGE, RDFS.RESOURCE);
-		addInferredStatement(RDF.OBJECT, RDFS.RANGE, RDFS.RESOURCE);
-		addInferredStatement(RDFS.MEMBER, RDFS.RANGE, RDFS.RESOURCE);
-		addInferredStatement(RDF.FIRST, RDFS.RANGE, RDFS.RESOURCE);
-		addInferredStatement(RDF.REST, RDFS.RANGE, RDF.LIST);
-		addInferredStatement(RDFS.SEEALSO, RDFS.RANGE, RDFS.RESOURCE);
-		addInferredStatement(RDFS.ISDEFINEDBY, RDFS.RANGE, RDFS.RESOURCE);
-		addInferredStatement(RDFS.COMMENT, RDFS.RANGE, RDFS.LITERAL);
-		addInferredStatement(RDFS.LABEL, RDFS.RANGE, RDFS.LITERAL);
-		addInferredStatement(RDF.VALUE, RDFS.RANGE, RDFS.RESOURCE);
-
-		addInferredStatement(RDF.ALT, RDFS.SUBCLASSOF, RDFS.CONTAINER);
-		addInferredStatement(RDF.BAG, RDFS.SUBCLASSOF, RDFS.CONTAINER);
-		addInferredStatement(RDF.SEQ, RDFS.SUBCLASSOF, RDFS.CONTAINER);
-		addInferredStatement(RDFS.CONTAINERMEMBERSHIPPROPERTY, RDFS.SUBCLASSOF, RDF.PROPERTY);
-
-		addInferredStatement(RDFS.ISDEFINEDBY, RDFS.SUBPROPERTYOF, RDFS.SEEALSO);
-
-		addInferredStatement(RDF.XMLLITERAL, RDF.TYPE, RDFS.DATATYPE);
-		addInferredStatement(RDF.XMLLITERAL, RDFS.SUBCLASSOF, RDFS.LITERAL);
-		addInferredStatement(RDFS.DATATYPE, RDFS.SUBCLASSOF, RDFS.CLASS);
+		axioms.add(vf.createStatement(RDF.TYPE, RDFS.DOMAIN, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDFS.DOMAIN, RDFS.DOMAIN, RDF.PROPERTY));
+		axioms.add(vf.createStatement(RDFS.RANGE, RDFS.DOMAIN, RDF.PROPERTY));
+		axioms.add(vf.createStatement(RDFS.SUBPROPERTYOF, RDFS.DOMAIN, RDF.PROPERTY));
+		axioms.add(vf.createStatement(RDFS.SUBCLASSOF, RDFS.DOMAIN, RDFS.CLASS));
+		axioms.add(vf.createStatement(RDF.SUBJECT, RDFS.DOMAIN, RDF.STATEMENT));
+		axioms.add(vf.createStatement(RDF.PREDICATE, RDFS.DOMAIN, RDF.STATEMENT));
+		axioms.add(vf.createStatement(RDF.OBJECT, RDFS.DOMAIN, RDF.STATEMENT));
+		axioms.add(vf.createStatement(RDFS.MEMBER, RDFS.DOMAIN, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDF.FIRST, RDFS.DOMAIN, RDF.LIST));
+		axioms.add(vf.createStatement(RDF.REST, RDFS.DOMAIN, RDF.LIST));
+		axioms.add(vf.createStatement(RDFS.SEEALSO, RDFS.DOMAIN, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDFS.ISDEFINEDBY, RDFS.DOMAIN, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDFS.COMMENT, RDFS.DOMAIN, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDFS.LABEL, RDFS.DOMAIN, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDF.VALUE, RDFS.DOMAIN, RDFS.RESOURCE));
+
+		axioms.add(vf.createStatement(RDF.TYPE, RDFS.RANGE, RDFS.CLASS));
+		axioms.add(vf.createStatement(RDFS.DOMAIN, RDFS.RANGE, RDFS.CLASS));
+		axioms.add(vf.createStatement(RDFS.RANGE, RDFS.RANGE, RDFS.CLASS));
+		axioms.add(vf.createStatement(RDFS.SUBPROPERTYOF, RDFS.RANGE, RDF.PROPERTY));
+		axioms.add(vf.createStatement(RDFS.SUBCLASSOF, RDFS.RANGE, RDFS.CLASS));
+		axioms.add(vf.createStatement(RDF.SUBJECT, RDFS.RANGE, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDF.PREDICATE, RDFS.RANGE, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDF.OBJECT, RDFS.RANGE, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDFS.MEMBER, RDFS.RANGE, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDF.FIRST, RDFS.RANGE, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDF.REST, RDFS.RANGE, RDF.LIST));
+		axioms.add(vf.createStatement(RDFS.SEEALSO, RDFS.RANGE, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDFS.ISDEFINEDBY, RDFS.RANGE, RDFS.RESOURCE));
+		axioms.add(vf.createStatement(RDFS.COMMENT, RDFS.RANGE, RDFS.LITERAL));
+		axioms.add(vf.createStatement(RDFS.LABEL, RDFS.RANGE, RDFS.LITERAL));
+		axioms.add(vf.createStatement(RDF.VALUE, RDFS.RANGE, RDFS.RESOURCE));
+
+		axioms.add(vf.createStatement(RDF.ALT, RDFS.SUBCLASSOF, RDFS.CONTAINER));
+		axioms.add(vf.createStatement(RDF.BAG, RDFS.SUBCLASSOF, RDFS.CONTAINER));
+		axioms.add(vf.createStatement(RDF.SEQ, RDFS.SUBCLASSOF, RDFS.CONTAINER));
+		axioms.add(vf.createStatement(RDFS.CONTAINERMEMBERSHIPPROPERTY, RDFS.SUBCLASSOF, RDF.PROPERTY));
+
+		axioms.add(vf.createStatement(RDFS.ISDEFINEDBY, RDFS.SUBPROPERTYOF, RDFS.SEEALSO));
+
+		axioms.add(vf.createStatement(RDF.XMLLITERAL, RDF.TYPE, RDFS.DATATYPE));
+		axioms.add(vf.createStatement(RDF.XMLLITERAL, RDFS.SUBCLASSOF, RDFS.LITERAL));
+		axioms.add(vf.createStatement(RDFS.DATATYPE, RDFS.SUBCLASSOF, RDFS.CLASS));
+
+		return Collections.unmodifiableList(axioms);
 	}
 
 	@Override
@@ -306,6 +345,198 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 		return result;
 	}
 
+	/**
+	 * Determines the inferred statements that might depend on the removed statements by applying the rules to the
+	 * removed statements, as if they were new, and collecting the inferred statements that the rules produce instead of
+	 * adding them. The rules are joined against the removed statements as well, so that the state before the removal is
+	 * used.
+	 */
+	@Override
+	protected Model getAffectedInferredStatements(Model removed) throws SailException {
+		removedPremises = removed;
+		overdeleted = createModel();
+		try {
+			Model iteration = removed;
+			while (!iteration.isEmpty()) {
+				Arrays.fill(checkRule, true);
+				int overdeletedBefore = overdeleted.size();
+				Model next = createModel();
+				overdeletedThisIteration = next;
+				applyRules(iteration);
+
+				if (overdeleted.size() > MAX_INCREMENTAL_REMOVALS) {
+					logger.debug("removal affects too many inferred statements, falling back to full recomputation");
+					return null;
+				}
+				logger.trace("overdeleted {} inferred statements", overdeleted.size() - overdeletedBefore);
+				iteration = next;
+			}
+			return overdeleted;
+		} finally {
+			removedPremises = null;
+			overdeleted = null;
+			overdeletedThisIteration = null;
+		}
+	}
+
+	@Override
+	protected boolean isDerivable(Statement st) throws SailException {
+		Resource subj = st.getSubject();
+		IRI pred = st.getPredicate();
+		Value obj = st.getObject();
+
+		if (AXIOM_SET.contains(SimpleValueFactory.getInstance().createStatement(subj, pred, obj))) {
+			return true;
+		}
+
+		if (pred.equals(RDF.TYPE)) {
+			if (obj.equals(RDF.PROPERTY) && subj instanceof IRI) {
+				// Rdf1
+				if (hasPremise(null, (IRI) subj, null)) {
+					return true;
+				}
+			} else if (obj.equals(RDFS.RESOURCE)) {
+				// Rdfs4a, Rdfs4b
+				if (hasPremise(subj, null, null) || hasPremise(null, null, subj)) {
+					return true;
+				}
+			} else if (obj.equals(RDFS.CONTAINERMEMBERSHIPPROPERTY) && subj instanceof IRI) {
+				// RX1
+				String prefix = RDF.NAMESPACE + "_";
+				String predURI = subj.toString();
+				if (predURI.startsWith(prefix) && isValidPredicateNumber(predURI.substring(prefix.length()))
+						&& hasPremise(null, (IRI) subj, null)) {
+					return true;
+				}
+			}
+
+			if (obj instanceof Resource) {
+				// Rdfs2
+				try (CloseableIteration<? extends Statement, SailException> t1Iter = getPremises(null, RDFS.DOMAIN,
+						obj)) {
+					while (t1Iter.hasNext()) {
+						Resource aaa = t1Iter.next().getSubject();
+						if (aaa instanceof IRI && hasPremise(subj, (IRI) aaa, null)) {
+							return true;
+						}
+					}
+				}
+				// Rdfs3
+				try (CloseableIteration<? extends Statement, SailException> t1Iter = getPremises(null, RDFS.RANGE,
+						obj)) {
+					while (t1Iter.hasNext()) {
+						Resource aaa = t1Iter.next().getSubject();
+						if (aaa instanceof IRI && hasPremise(null, (IRI) aaa, subj)) {
+							return true;
+						}
+					}
+				}
+				// Rdfs9
+				try (CloseableIteration<? extends Statement, SailException> t1Iter = getPremises(null,
+						RDFS.SUBCLASSOF, obj)) {
+					while (t1Iter.hasNext()) {
+						Resource xxx = t1Iter.next().getSubject();
+						if (hasPremise(subj, RDF.TYPE, xxx)) {
+							return true;
+						}
+					}
+				}
+			}
+		} else if (pred.equals(RDFS.SUBPROPERTYOF)) {
+			// Rdfs6
+			if (subj.equals(obj) && hasPremise(subj, RDF.TYPE, RDF.PROPERTY)) {
+				return true;
+			}
+			// Rdfs12
+			if (obj.equals(RDFS.MEMBER) && hasPremise(subj, RDF.TYPE, RDFS.CONTAINERMEMBERSHIPPROPERTY)) {
+				return true;
+			}
+			// Rdfs5
+			if (hasTransitivePremises(subj, RDFS.SUBPROPERTYOF, obj)) {
+				return true;
+			}
+		} else if (pred.equals(RDFS.SUBCLASSOF)) {
+			// Rdfs8, Rdfs10
+			if ((obj.equals(RDFS.RESOURCE) || subj.equals(obj)) && hasPremise(subj, RDF.TYPE, RDFS.CLASS)) {
+				return true;
+			}
+			// Rdfs13
+			if (obj.equals(RDFS.LITERAL) && hasPremise(subj, RDF.TYPE, RDFS.DATATYPE)) {
+				return true;
+			}
+			// Rdfs11
+			if (hasTransitivePremises(subj, RDFS.SUBCLASSOF, obj)) {
+				return true;
+			}
+		}
+
+		// Rdfs7
+		try (CloseableIteration<? extends Statement, SailException> t1Iter = getPremises(null, RDFS.SUBPROPERTYOF,
+				pred)) {
+			while (t1Iter.hasNext()) {
+				Resource aaa = t1Iter.next().getSubject();
+				if (aaa instanceof IRI && hasPremise(subj, (IRI) aaa, obj)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	// subj pred yyy && yyy pred obj
+	private boolean hasTransitivePremises(Resource subj, IRI pred, Value obj) throws SailException {
+		try (CloseableIteration<? extends Statement, SailException> t1Iter = getPremises(subj, pred, null)) {
+			while (t1Iter.hasNext()) {
+				Value yyy = t1Iter.next().getObject();
+				if (yyy instanceof Resource && hasPremise((Resource) yyy, pred, obj)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean hasPremise(Resource subj, IRI pred, Value obj) throws SailException {
+		try (CloseableIteration<? extends Statement, SailException> iter = getPremises(subj, pred, obj)) {
+			return iter.hasNext();
+		}
+	}
+
+	/**
+	 * Returns the statements that the rules are joined against. While the affected inferred statements are being
+	 * determined, these include the removed statements.
+	 */
+	private CloseableIteration<? extends Statement, SailException> getPremises(Resource subj, IRI pred, Value obj)
+			throws SailException {
+		CloseableIteration<? extends Statement, SailException> statements = getWrappedConnection()
+				.getStatements(subj, pred, obj, true);
+		if (removedPremises == null) {
+			return statements;
+		}
+		return new UnionIteration<>(statements,
+				new CloseableIteratorIteration<>(removedPremises.filter(subj, pred, obj).iterator()));
+	}
+
+	/**
+	 * Adds a statement inferred by one of the rules. While the affected inferred statements are being determined, the
+	 * statement is collected instead, provided that it is an inferred statement in the underlying Sail.
+	 */
+	private boolean inferStatement(Resource subj, IRI pred, Value obj) throws SailException {
+		if (overdeleted == null) {
+			return addInferredStatement(subj, pred, obj);
+		}
+
+		if (overdeleted.contains(subj, pred, obj)
+				|| getWrappedConnection().hasStatement(subj, pred, obj, false, (Resource) null)
+				|| !getWrappedConnection().hasStatement(subj, pred, obj, true)) {
+			return false;
+		}
+		overdeleted.add(subj, pred, obj);
+		overdeletedThisIteration.add(subj, pred, obj);
+		return true;
+	}
+
 	// xxx aaa yyy --> aaa rdf:type rdf:Property
 	private int applyRuleRdf1() throws SailException {
 		int nofInferred = 0;
@@ -313,7 +544,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 		Iterable<Statement> iter = newThisIteration.getStatements(null, null, null);
 
 		for (Statement st : iter) {
-			boolean added = addInferredStatement(st.getPredicate(), RDF.TYPE, RDF.PROPERTY);
+			boolean added = inferStatement(st.getPredicate(), RDF.TYPE, RDF.PROPERTY);
 
 			if (added) {
 				nofInferred++;
@@ -334,14 +565,14 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 			IRI aaa = nt.getPredicate();
 
 			CloseableIteration<? extends Statement, SailException> t1Iter;
-			t1Iter = getWrappedConnection().getStatements(aaa, RDFS.DOMAIN, null, true);
+			t1Iter = getPremises(aaa, RDFS.DOMAIN, null);
 
 			while (t1Iter.hasNext()) {
 				Statement t1 = t1Iter.next();
 
 				Value zzz = t1.getObject();
 				if (zzz instanceof Resource) {
-					boolean added = addInferredStatement(xxx, RDF.TYPE, zzz);
+					boolean added = inferStatement(xxx, RDF.TYPE, zzz);
 					if (added) {
 						nofInferred++;
 					}
@@ -365,13 +596,13 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (aaa instanceof IRI && zzz instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, (IRI) aaa, null, true);
+				t1Iter = getPremises(null, (IRI) aaa, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
 
 					Resource xxx = t1.getSubject();
-					boolean added = addInferredStatement(xxx, RDF.TYPE, zzz);
+					boolean added = inferStatement(xxx, RDF.TYPE, zzz);
 					if (added) {
 						nofInferred++;
 					}
@@ -395,14 +626,14 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (uuu instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(aaa, RDFS.RANGE, null, true);
+				t1Iter = getPremises(aaa, RDFS.RANGE, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
 
 					Value zzz = t1.getObject();
 					if (zzz instanceof Resource) {
-						boolean added = addInferredStatement((Resource) uuu, RDF.TYPE, zzz);
+						boolean added = inferStatement((Resource) uuu, RDF.TYPE, zzz);
 						if (added) {
 							nofInferred++;
 						}
@@ -426,14 +657,14 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (aaa instanceof IRI && zzz instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, (IRI) aaa, null, true);
+				t1Iter = getPremises(null, (IRI) aaa, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
 
 					Value uuu = t1.getObject();
 					if (uuu instanceof Resource) {
-						boolean added = addInferredStatement((Resource) uuu, RDF.TYPE, zzz);
+						boolean added = inferStatement((Resource) uuu, RDF.TYPE, zzz);
 						if (added) {
 							nofInferred++;
 						}
@@ -454,7 +685,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 		Iterable<Statement> iter = newThisIteration.getStatements(null, null, null);
 
 		for (Statement st : iter) {
-			boolean added = addInferredStatement(st.getSubject(), RDF.TYPE, RDFS.RESOURCE);
+			boolean added = inferStatement(st.getSubject(), RDF.TYPE, RDFS.RESOURCE);
 			if (added) {
 				nofInferred++;
 			}
@@ -472,7 +703,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 		for (Statement st : iter) {
 			Value uuu = st.getObject();
 			if (uuu instanceof Resource) {
-				boolean added = addInferredStatement((Resource) uuu, RDF.TYPE, RDFS.RESOURCE);
+				boolean added = inferStatement((Resource) uuu, RDF.TYPE, RDFS.RESOURCE);
 				if (added) {
 					nofInferred++;
 				}
@@ -495,14 +726,14 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (bbb instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements((Resource) bbb, RDFS.SUBPROPERTYOF, null, true);
+				t1Iter = getPremises((Resource) bbb, RDFS.SUBPROPERTYOF, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
 
 					Value ccc = t1.getObject();
 					if (ccc instanceof Resource) {
-						boolean added = addInferredStatement(aaa, RDFS.SUBPROPERTYOF, ccc);
+						boolean added = inferStatement(aaa, RDFS.SUBPROPERTYOF, ccc);
 						if (added) {
 							nofInferred++;
 						}
@@ -529,13 +760,13 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (ccc instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, RDFS.SUBPROPERTYOF, bbb, true);
+				t1Iter = getPremises(null, RDFS.SUBPROPERTYOF, bbb);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
 
 					Resource aaa = t1.getSubject();
-					boolean added = addInferredStatement(aaa, RDFS.SUBPROPERTYOF, ccc);
+					boolean added = inferStatement(aaa, RDFS.SUBPROPERTYOF, ccc);
 					if (added) {
 						nofInferred++;
 					}
@@ -555,7 +786,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 		for (Statement st : iter) {
 			Resource xxx = st.getSubject();
-			boolean added = addInferredStatement(xxx, RDFS.SUBPROPERTYOF, xxx);
+			boolean added = inferStatement(xxx, RDFS.SUBPROPERTYOF, xxx);
 			if (added) {
 				nofInferred++;
 			}
@@ -576,14 +807,14 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 			Value yyy = nt.getObject();
 
 			CloseableIteration<? extends Statement, SailException> t1Iter;
-			t1Iter = getWrappedConnection().getStatements(aaa, RDFS.SUBPROPERTYOF, null, true);
+			t1Iter = getPremises(aaa, RDFS.SUBPROPERTYOF, null);
 
 			while (t1Iter.hasNext()) {
 				Statement t1 = t1Iter.next();
 
 				Value bbb = t1.getObject();
 				if (bbb instanceof IRI) {
-					boolean added = addInferredStatement(xxx, (IRI) bbb, yyy);
+					boolean added = inferStatement(xxx, (IRI) bbb, yyy);
 					if (added) {
 						nofInferred++;
 					}
@@ -607,7 +838,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (aaa instanceof IRI && bbb instanceof IRI) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, (IRI) aaa, null, true);
+				t1Iter = getPremises(null, (IRI) aaa, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -615,7 +846,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 					Resource xxx = t1.getSubject();
 					Value yyy = t1.getObject();
 
-					boolean added = addInferredStatement(xxx, (IRI) bbb, yyy);
+					boolean added = inferStatement(xxx, (IRI) bbb, yyy);
 					if (added) {
 						nofInferred++;
 					}
@@ -636,7 +867,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 		for (Statement st : iter) {
 			Resource xxx = st.getSubject();
 
-			boolean added = addInferredStatement(xxx, RDFS.SUBCLASSOF, RDFS.RESOURCE);
+			boolean added = inferStatement(xxx, RDFS.SUBCLASSOF, RDFS.RESOURCE);
 			if (added) {
 				nofInferred++;
 			}
@@ -657,14 +888,14 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (yyy instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, RDF.TYPE, xxx, true);
+				t1Iter = getPremises(null, RDF.TYPE, xxx);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
 
 					Resource aaa = t1.getSubject();
 
-					boolean added = addInferredStatement(aaa, RDF.TYPE, yyy);
+					boolean added = inferStatement(aaa, RDF.TYPE, yyy);
 					if (added) {
 						nofInferred++;
 					}
@@ -688,7 +919,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (xxx instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements((Resource) xxx, RDFS.SUBCLASSOF, null, true);
+				t1Iter = getPremises((Resource) xxx, RDFS.SUBCLASSOF, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -696,7 +927,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 					Value yyy = t1.getObject();
 
 					if (yyy instanceof Resource) {
-						boolean added = addInferredStatement(aaa, RDF.TYPE, yyy);
+						boolean added = inferStatement(aaa, RDF.TYPE, yyy);
 						if (added) {
 							nofInferred++;
 						}
@@ -718,7 +949,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 		for (Statement st : iter) {
 			Resource xxx = st.getSubject();
 
-			boolean added = addInferredStatement(xxx, RDFS.SUBCLASSOF, xxx);
+			boolean added = inferStatement(xxx, RDFS.SUBCLASSOF, xxx);
 			if (added) {
 				nofInferred++;
 			}
@@ -740,7 +971,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (yyy instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements((Resource) yyy, RDFS.SUBCLASSOF, null, true);
+				t1Iter = getPremises((Resource) yyy, RDFS.SUBCLASSOF, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -748,7 +979,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 					Value zzz = t1.getObject();
 
 					if (zzz instanceof Resource) {
-						boolean added = addInferredStatement(xxx, RDFS.SUBCLASSOF, zzz);
+						boolean added = inferStatement(xxx, RDFS.SUBCLASSOF, zzz);
 						if (added) {
 							nofInferred++;
 						}
@@ -774,14 +1005,14 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (zzz instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, RDFS.SUBCLASSOF, yyy, true);
+				t1Iter = getPremises(null, RDFS.SUBCLASSOF, yyy);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
 
 					Resource xxx = t1.getSubject();
 
-					boolean added = addInferredStatement(xxx, RDFS.SUBCLASSOF, zzz);
+					boolean added = inferStatement(xxx, RDFS.SUBCLASSOF, zzz);
 					if (added) {
 						nofInferred++;
 					}
@@ -803,7 +1034,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 		for (Statement st : iter) {
 			Resource xxx = st.getSubject();
 
-			boolean added = addInferredStatement(xxx, RDFS.SUBPROPERTYOF, RDFS.MEMBER);
+			boolean added = inferStatement(xxx, RDFS.SUBPROPERTYOF, RDFS.MEMBER);
 			if (added) {
 				nofInferred++;
 			}
@@ -821,7 +1052,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 		for (Statement st : iter) {
 			Resource xxx = st.getSubject();
 
-			boolean added = addInferredStatement(xxx, RDFS.SUBCLASSOF, RDFS.LITERAL);
+			boolean added = inferStatement(xxx, RDFS.SUBCLASSOF, RDFS.LITERAL);
 			if (added) {
 				nofInferred++;
 			}
@@ -844,7 +1075,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 			String predURI = predNode.toString();
 
 			if (predURI.startsWith(prefix) && isValidPredicateNumber(predURI.substring(prefix.length()))) {
-				boolean added = addInferredStatement(predNode, RDF.TYPE, RDFS.CONTAINERMEMBERSHIPPROPERTY);
+				boolean added = inferStatement(predNode, RDF.TYPE, RDFS.CONTAINERMEMBERSHIPPROPERTY);
 				if (added) {
 					nofInferred++;
 				}
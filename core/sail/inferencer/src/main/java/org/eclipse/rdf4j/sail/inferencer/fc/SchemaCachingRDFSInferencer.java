@@ -10,19 +10,14 @@ package org.eclipse.rdf4j.sail.inferencer.fc;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.rdf4j.IsolationLevel;
 import org.eclipse.rdf4j.IsolationLevels;
-import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.ValueFactory;
@@ -80,13 +75,7 @@ public class SchemaCachingRDFSInferencer extends NotifyingSailWrapper {
 	private final Collection<Statement> domainStatements = new HashSet<>();
 
 	// Forward chained schema cache as lookup tables
-	private final Map<Resource, Set<Resource>> calculatedTypes = new HashMap<>();
-
-	private final Map<Resource, Set<Resource>> calculatedProperties = new HashMap<>();
-
-	private final Map<Resource, Set<Resource>> calculatedRange = new HashMap<>();
-
-	private final Map<Resource, Set<Resource>> calculatedDomain = new HashMap<>();
+	private volatile SchemaClosure schemaClosure = SchemaClosure.EMPTY_SCHEMA;
 
 	// The inferencer has been instantiated from another inferencer and shares it's schema with that one
 	private boolean sharedSchema;
@@ -170,10 +159,7 @@ public class SchemaCachingRDFSInferencer extends NotifyingSailWrapper {
 		rangeStatements.clear();
 		domainStatements.clear();
 
-		calculatedTypes.clear();
-		calculatedProperties.clear();
-		calculatedRange.clear();
-		calculatedDomain.clear();
+		schemaClosure = SchemaClosure.EMPTY_SCHEMA;
 	}
 
 	/**
@@ -291,41 +277,8 @@ public class SchemaCachingRDFSInferencer extends NotifyingSailWrapper {
 
 		ret.sharedSchema = true;
 
-		sailToInstantiateFrom.calculatedTypes.forEach((key, value) -> {
-			value.forEach(v -> {
-				if (!ret.calculatedTypes.containsKey(key)) {
-					ret.calculatedTypes.put(key, new HashSet<>());
-				}
-				ret.calculatedTypes.get(key).add(v);
-			});
-		});
-
-		sailToInstantiateFrom.calculatedProperties.forEach((key, value) -> {
-			value.forEach(v -> {
-				if (!ret.calculatedProperties.containsKey(key)) {
-					ret.calculatedProperties.put(key, new HashSet<>());
-				}
-				ret.calculatedProperties.get(key).add(v);
-			});
-		});
-
-		sailToInstantiateFrom.calculatedRange.forEach((key, value) -> {
-			value.forEach(v -> {
-				if (!ret.calculatedRange.containsKey(key)) {
-					ret.calculatedRange.put(key, new HashSet<>());
-				}
-				ret.calculatedRange.get(key).add(v);
-			});
-		});
-
-		sailToInstantiateFrom.calculatedDomain.forEach((key, value) -> {
-			value.forEach(v -> {
-				if (!ret.calculatedDomain.containsKey(key)) {
-					ret.calculatedDomain.put(key, new HashSet<>());
-				}
-				ret.calculatedDomain.get(key).add(v);
-			});
-		});
+		// the closure is immutable, so it can be shared as is
+		ret.schemaClosure = sailToInstantiateFrom.schemaClosure;
 
 		return ret;
 
@@ -337,40 +290,35 @@ public class SchemaCachingRDFSInferencer extends NotifyingSailWrapper {
 	}
 
 	void calculateInferenceMaps(SchemaCachingRDFSInferencerConnection conn, boolean addInferred) {
-		calculateSubClassOf(subClassOfStatements);
-		properties.forEach(predicate -> {
-			if (addInferred) {
-				conn.addInferredStatementInternal(predicate, RDF.TYPE, RDF.PROPERTY);
-			}
-			calculatedProperties.put(predicate, new HashSet<>());
-		});
-		calculateSubPropertyOf(subPropertyOfStatements);
-
-		calculateRangeDomain(rangeStatements, calculatedRange);
-		calculateRangeDomain(domainStatements, calculatedDomain);
-
 		if (addInferred) {
-			calculatedTypes.forEach((subClass, superClasses) -> {
-				conn.addInferredStatementInternal(subClass, RDFS.SUBCLASSOF, subClass);
+			properties.forEach(predicate -> conn.addInferredStatementInternal(predicate, RDF.TYPE, RDF.PROPERTY));
+		}
 
-				superClasses.forEach(superClass -> {
-					conn.addInferredStatementInternal(subClass, RDFS.SUBCLASSOF, superClass);
-					conn.addInferredStatementInternal(superClass, RDFS.SUBCLASSOF, superClass);
+		SchemaClosure closure = SchemaClosure.calculate(types, properties, subClassOfStatements,
+				subPropertyOfStatements, rangeStatements, domainStatements);
 
-				});
-			});
-		}
 		if (addInferred) {
-			calculatedProperties.forEach((sub, sups) -> {
-				conn.addInferredStatementInternal(sub, RDFS.SUBPROPERTYOF, sub);
+			for (int subClass : closure.getTypes()) {
+				Resource subClassResource = closure.getResource(subClass);
+				conn.addInferredStatementInternal(subClassResource, RDFS.SUBCLASSOF, subClassResource);
+
+				for (int superClass : closure.resolveTypes(subClass)) {
+					conn.addInferredStatementInternal(subClassResource, RDFS.SUBCLASSOF,
+							closure.getResource(superClass));
+				}
+			}
 
-				sups.forEach(sup -> {
-					conn.addInferredStatementInternal(sub, RDFS.SUBPROPERTYOF, sup);
-					conn.addInferredStatementInternal(sup, RDFS.SUBPROPERTYOF, sup);
+			for (int sub : closure.getProperties()) {
+				Resource subResource = closure.getResource(sub);
+				conn.addInferredStatementInternal(subResource, RDFS.SUBPROPERTYOF, subResource);
 
-				});
-			});
+				for (int sup : closure.resolveProperties(sub)) {
+					conn.addInferredStatementInternal(subResource, RDFS.SUBPROPERTYOF, closure.getResource(sup));
+				}
+			}
 		}
+
+		schemaClosure = closure;
 	}
 
 	void addSubClassOfStatement(Statement st) {
@@ -413,175 +361,8 @@ public class SchemaCachingRDFSInferencer extends NotifyingSailWrapper {
 		properties.add(property);
 	}
 
-	Set<Resource> resolveTypes(Resource value) {
-		Set<Resource> iris = calculatedTypes.get(value);
-
-		return iris != null ? iris : Collections.emptySet();
-	}
-
-	Set<Resource> resolveProperties(Resource predicate) {
-		Set<Resource> iris = calculatedProperties.get(predicate);
-
-		return iris != null ? iris : Collections.emptySet();
-	}
-
-	Set<Resource> resolveRangeTypes(IRI predicate) {
-		Set<Resource> iris = calculatedRange.get(predicate);
-
-		return iris != null ? iris : Collections.emptySet();
-	}
-
-	Set<Resource> resolveDomainTypes(IRI predicate) {
-		Set<Resource> iris = calculatedDomain.get(predicate);
-
-		return iris != null ? iris : Collections.emptySet();
-	}
-
-	private void calculateSubClassOf(Collection<Statement> subClassOfStatements) {
-		types.forEach(type -> {
-			if (!calculatedTypes.containsKey(type)) {
-				calculatedTypes.put(type, new HashSet<>());
-			}
-
-			calculatedTypes.get(type).add(type);
-
-		});
-
-		subClassOfStatements.forEach(s -> {
-			Resource subClass = s.getSubject();
-			if (!calculatedTypes.containsKey(subClass)) {
-				calculatedTypes.put(subClass, new HashSet<>());
-			}
-
-			calculatedTypes.get(subClass).add((Resource) s.getObject());
-
-		});
-
-		// Fixed point approach to finding all sub-classes.
-		// prevSize is the size of the previous application of the function
-		// newSize is the size of the current application of the function
-		// Fixed point is reached when they are the same.
-		// Eg. Two consecutive applications return the same number of subclasses
-		long prevSize = 0;
-		final long[] newSize = { -1 };
-		while (prevSize != newSize[0]) {
-
-			prevSize = newSize[0];
-
-			newSize[0] = 0;
-
-			calculatedTypes.forEach((key, value) -> {
-				List<Resource> temp = new ArrayList<>();
-				value.forEach(superClass -> temp.addAll(resolveTypes(superClass)));
-
-				value.addAll(temp);
-				newSize[0] += value.size();
-			});
-
-		}
-	}
-
-	private void calculateSubPropertyOf(Collection<Statement> subPropertyOfStatemenets) {
-
-		subPropertyOfStatemenets.forEach(s -> {
-			Resource subClass = s.getSubject();
-			Resource superClass = (Resource) s.getObject();
-			if (!calculatedProperties.containsKey(subClass)) {
-				calculatedProperties.put(subClass, new HashSet<>());
-			}
-
-			if (!calculatedProperties.containsKey(superClass)) {
-				calculatedProperties.put(superClass, new HashSet<>());
-			}
-
-			calculatedProperties.get(subClass).add((Resource) s.getObject());
-
-		});
-
-		// Fixed point approach to finding all sub-properties.
-		// prevSize is the size of the previous application of the function
-		// newSize is the size of the current application of the function
-		// Fixed point is reached when they are the same.
-		long prevSize = 0;
-		final long[] newSize = { -1 };
-		while (prevSize != newSize[0]) {
-
-			prevSize = newSize[0];
-
-			newSize[0] = 0;
-
-			calculatedProperties.forEach((key, value) -> {
-				List<Resource> temp = new ArrayList<>();
-				value.forEach(superProperty -> temp.addAll(resolveProperties(superProperty)));
-
-				value.addAll(temp);
-				newSize[0] += value.size();
-			});
-
-		}
-	}
-
-	private void calculateRangeDomain(Collection<Statement> rangeOrDomainStatements,
-			Map<Resource, Set<Resource>> calculatedRangeOrDomain) {
-
-		rangeOrDomainStatements.forEach(s -> {
-			Resource predicate = s.getSubject();
-			if (!calculatedProperties.containsKey(predicate)) {
-				calculatedProperties.put(predicate, new HashSet<>());
-			}
-
-			if (!calculatedRangeOrDomain.containsKey(predicate)) {
-				calculatedRangeOrDomain.put(predicate, new HashSet<>());
-			}
-
-			calculatedRangeOrDomain.get(predicate).add((Resource) s.getObject());
-
-			if (!calculatedTypes.containsKey(s.getObject())) {
-				calculatedTypes.put((Resource) s.getObject(), new HashSet<>());
-			}
-
-		});
-
-		calculatedProperties.keySet()
-				.stream()
-				.filter(
-						key -> !calculatedRangeOrDomain.containsKey(key))
-				.forEach(
-						key -> calculatedRangeOrDomain.put(key, new HashSet<>()));
-
-		// Fixed point approach to finding all ranges or domains.
-		// prevSize is the size of the previous application of the function
-		// newSize is the size of the current application of the function
-		// Fixed point is reached when they are the same.
-		long prevSize = 0;
-		final long[] newSize = { -1 };
-		while (prevSize != newSize[0]) {
-
-			prevSize = newSize[0];
-
-			newSize[0] = 0;
-
-			calculatedRangeOrDomain.forEach((key, value) -> {
-				List<Resource> resolvedBySubProperty = new ArrayList<>();
-				resolveProperties(key).forEach(newPredicate -> {
-					Set<Resource> iris = calculatedRangeOrDomain.get(newPredicate);
-					if (iris != null) {
-						resolvedBySubProperty.addAll(iris);
-					}
-
-				});
-
-				List<Resource> resolvedBySubClass = new ArrayList<>();
-				value.addAll(resolvedBySubProperty);
-
-				value.stream().map(this::resolveTypes).forEach(resolvedBySubClass::addAll);
-
-				value.addAll(resolvedBySubClass);
-
-				newSize[0] += value.size();
-			});
-
-		}
+	SchemaClosure getSchemaClosure() {
+		return schemaClosure;
 	}
 
 	@Override
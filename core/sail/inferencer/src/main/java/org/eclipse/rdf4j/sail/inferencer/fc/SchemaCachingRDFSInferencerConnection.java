@@ -9,6 +9,7 @@
 package org.eclipse.rdf4j.sail.inferencer.fc;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 import org.eclipse.rdf4j.IsolationLevel;
@@ -131,14 +132,27 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 			throws SailException {
 		super.clearInferred(contexts);
 		inferredCleared = true;
+		resetLastSubject();
 	}
 
 	private long originalSchemaSize = -1;
 
+	// the subject of the last added statement and what has already been inferred for it
+	private Resource lastSubject;
+
+	private Resource[] lastSubjectContext;
+
+	private SchemaClosure lastSubjectSchema;
+
+	private boolean lastSubjectIsResource;
+
+	private final BitSet lastSubjectTypes = new BitSet();
+
 	@Override
 	public void commit()
 			throws SailException {
 		super.commit();
+		resetLastSubject();
 
 		statementsRemoved = false;
 		statementsAdded = false;
@@ -224,8 +238,20 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 			processForSchemaCache(sail.getValueFactory().createStatement(subject, predicate, object));
 		}
 
+		SchemaClosure closure = sail.getSchemaClosure();
+		if (closure != lastSubjectSchema || !subject.equals(lastSubject)
+				|| !Arrays.equals(inferredContext, lastSubjectContext)) {
+			resetLastSubject();
+			lastSubject = subject;
+			lastSubjectContext = inferredContext;
+			lastSubjectSchema = closure;
+		}
+
 		if (sail.useAllRdfsRules) {
-			addInferredStatementInternal(subject, RDF.TYPE, RDFS.RESOURCE, inferredContext);
+			if (!lastSubjectIsResource) {
+				addInferredStatementInternal(subject, RDF.TYPE, RDFS.RESOURCE, inferredContext);
+				lastSubjectIsResource = true;
+			}
 
 			if (object instanceof Resource) {
 				addInferredStatementInternal((Resource) object, RDF.TYPE, RDFS.RESOURCE, inferredContext);
@@ -263,53 +289,76 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 
 		}
 
+		int rdfsClass = closure.getId(RDFS.CLASS);
+
 		if (predicate.equals(RDF.TYPE)) {
 			if (!(object instanceof Resource)) {
 				throw new SailException("Expected object to a a Resource: " + object.toString());
 			}
 
-			sail.resolveTypes((Resource) object).stream().peek(inferredType -> {
-				if (sail.useAllRdfsRules && inferredType.equals(RDFS.CLASS)) {
+			int objectId = closure.getId((Resource) object);
+			for (int inferredType : closure.resolveTypes(objectId)) {
+				if (inferredType != objectId) {
+					inferSubjectType(closure, inferredType, rdfsClass, inferredContext);
+				} else if (sail.useAllRdfsRules && inferredType == rdfsClass) {
 					addInferredStatementInternal(subject, RDFS.SUBCLASSOF, RDFS.RESOURCE, inferredContext);
 				}
-			})
-					.filter(inferredType -> !inferredType.equals(object))
-					.forEach(
-							inferredType -> addInferredStatementInternal(subject, RDF.TYPE, inferredType,
-									inferredContext));
+			}
 		}
 
-		sail.resolveProperties(predicate)
-				.stream()
-				.filter(inferredProperty -> !inferredProperty.equals(predicate))
-				.filter(inferredPropery -> inferredPropery instanceof IRI)
-				.map(inferredPropery -> ((IRI) inferredPropery))
-				.forEach(inferredProperty -> addInferredStatementInternal(subject, inferredProperty, object,
-						inferredContext));
+		int predicateId = closure.getId(predicate);
+		for (int inferredProperty : closure.resolveProperties(predicateId)) {
+			if (inferredProperty != predicateId) {
+				Resource inferredPropertyResource = closure.getResource(inferredProperty);
+				if (inferredPropertyResource instanceof IRI) {
+					addInferredStatementInternal(subject, (IRI) inferredPropertyResource, object, inferredContext);
+				}
+			}
+		}
 
 		if (object instanceof Resource) {
-			sail.resolveRangeTypes(predicate)
-					.stream()
-					.peek(inferredType -> {
-						if (sail.useAllRdfsRules && inferredType.equals(RDFS.CLASS)) {
-							addInferredStatementInternal(((Resource) object), RDFS.SUBCLASSOF, RDFS.RESOURCE,
-									inferredContext);
-						}
-					})
-					.forEach(inferredType -> addInferredStatementInternal(((Resource) object), RDF.TYPE, inferredType,
-							inferredContext));
+			for (int inferredType : closure.resolveRangeTypes(predicate)) {
+				if (sail.useAllRdfsRules && inferredType == rdfsClass) {
+					addInferredStatementInternal(((Resource) object), RDFS.SUBCLASSOF, RDFS.RESOURCE,
+							inferredContext);
+				}
+				addInferredStatementInternal(((Resource) object), RDF.TYPE, closure.getResource(inferredType),
+						inferredContext);
+			}
+		}
+
+		for (int inferredType : closure.resolveDomainTypes(predicate)) {
+			inferSubjectType(closure, inferredType, rdfsClass, inferredContext);
+		}
+
+	}
+
+	/**
+	 * Infers a type of the subject of the statement that is currently being added. Consecutive statements usually have
+	 * the same subject, so the types that were already inferred for it are remembered and not added again.
+	 */
+	private void inferSubjectType(SchemaClosure closure, int type, int rdfsClass, Resource[] inferredContext) {
+		if (lastSubjectTypes.get(type)) {
+			return;
 		}
+		lastSubjectTypes.set(type);
 
-		sail.resolveDomainTypes(predicate)
-				.stream()
-				.peek(inferredType -> {
-					if (sail.useAllRdfsRules && inferredType.equals(RDFS.CLASS)) {
-						addInferredStatementInternal(subject, RDFS.SUBCLASSOF, RDFS.RESOURCE, inferredContext);
-					}
-				})
-				.forEach(inferredType -> addInferredStatementInternal((subject), RDF.TYPE, inferredType,
-						inferredContext));
+		if (sail.useAllRdfsRules && type == rdfsClass) {
+			addInferredStatementInternal(lastSubject, RDFS.SUBCLASSOF, RDFS.RESOURCE, inferredContext);
+		}
+		addInferredStatementInternal(lastSubject, RDF.TYPE, closure.getResource(type), inferredContext);
+	}
 
+	/**
+	 * Forgets the inferences that were made for the last subject, must be called whenever inferred statements may have
+	 * been removed.
+	 */
+	private void resetLastSubject() {
+		lastSubject = null;
+		lastSubjectContext = null;
+		lastSubjectSchema = null;
+		lastSubjectIsResource = false;
+		lastSubjectTypes.clear();
 	}
 
 	void addAxiomStatements() {
@@ -753,6 +802,7 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 			throws SailException {
 
 		super.rollback();
+		resetLastSubject();
 
 		sail.clearInferenceTables();
 		regenerateCacheAndInferenceMaps(false);
@@ -785,6 +835,7 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 					"Isolation level " + level + " not compatible with this Sail");
 		}
 		super.begin(compatibleLevel);
+		resetLastSubject();
 
 		schemaChange = false;
 	}
@@ -822,6 +873,7 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 	@Override
 	public void statementRemoved(Statement st) {
 		statementsRemoved = true;
+		resetLastSubject();
 		if (!schemaChange && isSchemaStatement(st)) {
 			schemaChange = true;
 		}
@@ -0,0 +1,302 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.inferencer.fc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * The forward chained schema of a {@link SchemaCachingRDFSInferencer}. The resources of the schema are interned as int
+ * IDs, and the super classes, super properties, ranges and domains of every resource are stored as sorted arrays of
+ * these IDs. For schemas with many classes this is considerably more compact than sets of resources, and the closures
+ * are computed with a single traversal per resource instead of iterating to a fixed point.
+ * <p>
+ * Instances are immutable, a new instance is calculated whenever the schema changes.
+ */
+class SchemaClosure {
+
+	static final int[] EMPTY = new int[0];
+
+	static final SchemaClosure EMPTY_SCHEMA = new SchemaClosure(new HashMap<>(), new ArrayList<>());
+
+	private final Map<Resource, Integer> ids;
+
+	private final List<Resource> resources;
+
+	// the closures, indexed by ID, null if a resource has no entry
+	private int[][] types;
+
+	private int[][] properties;
+
+	private int[][] range;
+
+	private int[][] domain;
+
+	private SchemaClosure(Map<Resource, Integer> ids, List<Resource> resources) {
+		this.ids = ids;
+		this.resources = resources;
+		this.types = new int[0][];
+		this.properties = new int[0][];
+		this.range = new int[0][];
+		this.domain = new int[0][];
+	}
+
+	/**
+	 * Calculates the closure of a schema.
+	 *
+	 * @param types                   all classes, the super classes of a class include the class itself
+	 * @param properties              all properties, the super properties of a property only include the property
+	 *                                itself if it is part of a cycle
+	 * @param subClassOfStatements    the rdfs:subClassOf statements
+	 * @param subPropertyOfStatements the rdfs:subPropertyOf statements
+	 * @param rangeStatements         the rdfs:range statements
+	 * @param domainStatements        the rdfs:domain statements
+	 */
+	static SchemaClosure calculate(Collection<Resource> types, Collection<Resource> properties,
+			Collection<Statement> subClassOfStatements, Collection<Statement> subPropertyOfStatements,
+			Collection<Statement> rangeStatements, Collection<Statement> domainStatements) {
+
+		SchemaClosure closure = new SchemaClosure(new HashMap<>(), new ArrayList<>());
+
+		int[] typeIds = closure.internAll(types);
+		int[] propertyIds = closure.internAll(properties);
+		int[][] subClassOf = closure.edges(subClassOfStatements);
+		int[][] subPropertyOf = closure.edges(subPropertyOfStatements);
+		int[][] directRange = closure.edges(rangeStatements);
+		int[][] directDomain = closure.edges(domainStatements);
+
+		int size = closure.resources.size();
+		BitSet visited = new BitSet(size);
+
+		closure.types = new int[size][];
+		for (int type : typeIds) {
+			closure.types[type] = reachable(type, subClassOf, true, visited);
+		}
+
+		closure.properties = new int[size][];
+		for (int property : propertyIds) {
+			closure.properties[property] = reachable(property, subPropertyOf, false, visited);
+		}
+
+		closure.range = closure.rangeOrDomain(directRange, visited);
+		closure.domain = closure.rangeOrDomain(directDomain, visited);
+
+		return closure;
+	}
+
+	/**
+	 * @return the ID of the resource, or -1 if it is not part of the schema
+	 */
+	int getId(Resource resource) {
+		Integer id = ids.get(resource);
+		return id != null ? id : -1;
+	}
+
+	Resource getResource(int id) {
+		return resources.get(id);
+	}
+
+	/**
+	 * @return the IDs of the classes, in no particular order
+	 */
+	int[] getTypes() {
+		return keys(types);
+	}
+
+	/**
+	 * @return the IDs of the properties, in no particular order
+	 */
+	int[] getProperties() {
+		return keys(properties);
+	}
+
+	int[] resolveTypes(Resource type) {
+		return resolve(types, type);
+	}
+
+	int[] resolveTypes(int type) {
+		return resolve(types, type);
+	}
+
+	int[] resolveProperties(Resource property) {
+		return resolve(properties, property);
+	}
+
+	int[] resolveProperties(int property) {
+		return resolve(properties, property);
+	}
+
+	int[] resolveRangeTypes(Resource property) {
+		return resolve(range, property);
+	}
+
+	int[] resolveDomainTypes(Resource property) {
+		return resolve(domain, property);
+	}
+
+	private int[] resolve(int[][] closure, Resource resource) {
+		return resolve(closure, getId(resource));
+	}
+
+	private static int[] resolve(int[][] closure, int id) {
+		if (id < 0 || id >= closure.length || closure[id] == null) {
+			return EMPTY;
+		}
+		return closure[id];
+	}
+
+	private static int[] keys(int[][] closure) {
+		int count = 0;
+		for (int[] ids : closure) {
+			if (ids != null) {
+				count++;
+			}
+		}
+
+		int[] keys = new int[count];
+		int i = 0;
+		for (int id = 0; id < closure.length; id++) {
+			if (closure[id] != null) {
+				keys[i++] = id;
+			}
+		}
+		return keys;
+	}
+
+	private int intern(Resource resource) {
+		Integer id = ids.get(resource);
+		if (id == null) {
+			id = resources.size();
+			ids.put(resource, id);
+			resources.add(resource);
+		}
+		return id;
+	}
+
+	private int[] internAll(Collection<Resource> resources) {
+		return resources.stream().mapToInt(this::intern).toArray();
+	}
+
+	/**
+	 * Interns the subjects and objects of the statements and returns the objects of every subject as adjacency lists.
+	 */
+	private int[][] edges(Collection<Statement> statements) {
+		int[][] edges = new int[0][];
+		int[] counts = new int[0];
+
+		for (Statement statement : statements) {
+			int subject = intern(statement.getSubject());
+			int object = intern((Resource) statement.getObject());
+
+			if (subject >= edges.length) {
+				int newLength = Math.max(resources.size(), edges.length * 2);
+				edges = Arrays.copyOf(edges, newLength);
+				counts = Arrays.copyOf(counts, newLength);
+			}
+			if (edges[subject] == null) {
+				edges[subject] = new int[2];
+			} else if (counts[subject] == edges[subject].length) {
+				edges[subject] = Arrays.copyOf(edges[subject], counts[subject] * 2);
+			}
+			edges[subject][counts[subject]++] = object;
+		}
+
+		for (int i = 0; i < edges.length; i++) {
+			if (edges[i] != null) {
+				edges[i] = Arrays.copyOf(edges[i], counts[i]);
+			}
+		}
+		return edges;
+	}
+
+	/**
+	 * Returns the sorted IDs of all resources that can be reached from the start resource by following at least one
+	 * edge, or by following zero or more edges if reflexive is true.
+	 */
+	private static int[] reachable(int start, int[][] edges, boolean reflexive, BitSet visited) {
+		visited.clear();
+
+		int[] stack = new int[16];
+		int stackSize = 0;
+
+		if (reflexive) {
+			visited.set(start);
+			stack[stackSize++] = start;
+		} else if (start < edges.length && edges[start] != null) {
+			for (int next : edges[start]) {
+				if (!visited.get(next)) {
+					visited.set(next);
+					if (stackSize == stack.length) {
+						stack = Arrays.copyOf(stack, stackSize * 2);
+					}
+					stack[stackSize++] = next;
+				}
+			}
+		}
+
+		while (stackSize > 0) {
+			int current = stack[--stackSize];
+			if (current >= edges.length || edges[current] == null) {
+				continue;
+			}
+			for (int next : edges[current]) {
+				if (!visited.get(next)) {
+					visited.set(next);
+					if (stackSize == stack.length) {
+						stack = Arrays.copyOf(stack, stackSize * 2);
+					}
+					stack[stackSize++] = next;
+				}
+			}
+		}
+
+		return visited.isEmpty() ? EMPTY : visited.stream().toArray();
+	}
+
+	/**
+	 * The ranges or domains of a property are those of the property itself and of all its super properties, together
+	 * with all their super classes.
+	 */
+	private int[][] rangeOrDomain(int[][] direct, BitSet visited) {
+		int[][] closure = new int[resources.size()][];
+
+		for (int property = 0; property < closure.length; property++) {
+			visited.clear();
+			addRangeOrDomain(property, direct, visited);
+			for (int superProperty : resolveProperties(property)) {
+				addRangeOrDomain(superProperty, direct, visited);
+			}
+
+			if (!visited.isEmpty()) {
+				closure[property] = visited.stream().toArray();
+			}
+		}
+
+		return closure;
+	}
+
+	private void addRangeOrDomain(int property, int[][] direct, BitSet visited) {
+		if (property >= direct.length || direct[property] == null) {
+			return;
+		}
+		for (int type : direct[property]) {
+			visited.set(type);
+			for (int superType : resolveTypes(type)) {
+				visited.set(superType);
+			}
+		}
+	}
+}
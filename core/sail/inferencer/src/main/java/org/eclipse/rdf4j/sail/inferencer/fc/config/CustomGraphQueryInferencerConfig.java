@@ -9,8 +9,12 @@ package org.eclipse.rdf4j.sail.inferencer.fc.config;
 
 import static org.eclipse.rdf4j.sail.inferencer.fc.config.CustomGraphQueryInferencerSchema.MATCHER_QUERY;
 import static org.eclipse.rdf4j.sail.inferencer.fc.config.CustomGraphQueryInferencerSchema.QUERY_LANGUAGE;
+import static org.eclipse.rdf4j.sail.inferencer.fc.config.CustomGraphQueryInferencerSchema.RULE;
 import static org.eclipse.rdf4j.sail.inferencer.fc.config.CustomGraphQueryInferencerSchema.RULE_QUERY;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -53,6 +57,8 @@ public final class CustomGraphQueryInferencerConfig extends AbstractDelegatingSa
 
 	private String ruleQuery, matcherQuery;
 
+	private final Map<String, String> rules = new LinkedHashMap<>();
+
 	public CustomGraphQueryInferencerConfig() {
 		super(CustomGraphQueryInferencerFactory.SAIL_TYPE);
 	}
@@ -90,6 +96,24 @@ public final class CustomGraphQueryInferencerConfig extends AbstractDelegatingSa
 		return matcherQuery;
 	}
 
+	/**
+	 * Add a rule that is applied in addition to the rule query.
+	 *
+	 * @param ruleQuery    the rule query
+	 * @param matcherQuery the optional matcher query of the rule, if null the matcher query is derived from the rule
+	 *                     query
+	 */
+	public void addRule(String ruleQuery, String matcherQuery) {
+		rules.put(ruleQuery, null == matcherQuery ? "" : matcherQuery);
+	}
+
+	/**
+	 * @return the rules that are applied in addition to the rule query, as a map from rule query to matcher query
+	 */
+	public Map<String, String> getRules() {
+		return Collections.unmodifiableMap(rules);
+	}
+
 	@Override
 	public void parse(Model m, Resource implNode) throws SailConfigException {
 		super.parse(m, implNode);
@@ -119,6 +143,14 @@ public final class CustomGraphQueryInferencerConfig extends AbstractDelegatingSa
 				Models.objectLiteral(m.getStatements(object.get(), SP.TEXT_PROPERTY, null))
 						.ifPresent(lit -> setMatcherQuery(lit.stringValue()));
 			}
+
+			for (Resource ruleNode : Models.objectResources(m.getStatements(implNode, RULE, null))) {
+				String rule = getQueryText(m, ruleNode, RULE_QUERY);
+				if (null == rule) {
+					throw new SailConfigException("No rule query specified for rule " + ruleNode);
+				}
+				addRule(rule, getQueryText(m, ruleNode, MATCHER_QUERY));
+			}
 		} catch (ModelException e) {
 			throw new SailConfigException(e.getMessage(), e);
 		}
@@ -130,7 +162,21 @@ public final class CustomGraphQueryInferencerConfig extends AbstractDelegatingSa
 		if (null == language) {
 			throw new SailConfigException("No query language specified for " + getType() + " Sail.");
 		}
+		for (Map.Entry<String, String> rule : rules.entrySet()) {
+			try {
+				QueryParserUtil.parseGraphQuery(language, rule.getKey(), null);
+				String matcher = rule.getValue().trim().isEmpty()
+						? buildMatcherQueryFromRuleQuery(language, rule.getKey())
+						: rule.getValue();
+				QueryParserUtil.parseGraphQuery(language, matcher, null);
+			} catch (RDF4JException e) {
+				throw new SailConfigException("Problem occured parsing rule: " + rule.getKey(), e);
+			}
+		}
 		if (null == ruleQuery) {
+			if (!rules.isEmpty()) {
+				return;
+			}
 			throw new SailConfigException("No rule query specified for " + getType() + " Sail.");
 		} else {
 			try {
@@ -158,6 +204,14 @@ public final class CustomGraphQueryInferencerConfig extends AbstractDelegatingSa
 		}
 		addQueryNode(m, implNode, RULE_QUERY, ruleQuery);
 		addQueryNode(m, implNode, MATCHER_QUERY, matcherQuery);
+		rules.forEach((rule, matcher) -> {
+			BNode ruleNode = SimpleValueFactory.getInstance().createBNode();
+			m.add(implNode, RULE, ruleNode);
+			addQueryNode(m, ruleNode, RULE_QUERY, rule);
+			if (!matcher.isEmpty()) {
+				addQueryNode(m, ruleNode, MATCHER_QUERY, matcher);
+			}
+		});
 		return implNode;
 	}
 
@@ -180,6 +234,13 @@ public final class CustomGraphQueryInferencerConfig extends AbstractDelegatingSa
 		return result;
 	}
 
+	private static String getQueryText(Model m, Resource node, IRI predicate) {
+		return Models.objectResource(m.getStatements(node, predicate, null))
+				.flatMap(object -> Models.objectLiteral(m.getStatements(object, SP.TEXT_PROPERTY, null)))
+				.map(Literal::stringValue)
+				.orElse(null);
+	}
+
 	private void addQueryNode(Model m, Resource implNode, IRI predicate, String queryText) {
 		if (null != queryText) {
 			ValueFactory factory = SimpleValueFactory.getInstance();
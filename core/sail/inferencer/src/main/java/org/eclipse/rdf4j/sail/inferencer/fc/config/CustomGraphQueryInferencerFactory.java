@@ -7,6 +7,8 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.inferencer.fc.config;
 
+import java.util.Map;
+
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.sail.Sail;
 import org.eclipse.rdf4j.sail.config.SailConfigException;
@@ -50,8 +52,13 @@ public class CustomGraphQueryInferencerFactory implements SailFactory {
 		if (config instanceof CustomGraphQueryInferencerConfig) {
 			CustomGraphQueryInferencerConfig customConfig = (CustomGraphQueryInferencerConfig) config;
 			try {
-				sail.setFields(customConfig.getQueryLanguage(), customConfig.getRuleQuery(),
-						customConfig.getMatcherQuery());
+				if (customConfig.getRuleQuery() != null) {
+					sail.setFields(customConfig.getQueryLanguage(), customConfig.getRuleQuery(),
+							customConfig.getMatcherQuery());
+				}
+				for (Map.Entry<String, String> rule : customConfig.getRules().entrySet()) {
+					sail.addRule(customConfig.getQueryLanguage(), rule.getKey(), rule.getValue());
+				}
 			} catch (RDF4JException e) {
 				throw new SailConfigException("Problem occured parsing rule or matcher query text.", e);
 			}
@@ -34,10 +34,17 @@ public class CustomGraphQueryInferencerSchema {
 	/** <tt>http://www.openrdf.org/config/sail/customGraphQueryInferencer#matcherQuery</tt> */
 	public final static IRI MATCHER_QUERY;
 
+	/**
+	 * <tt>http://www.openrdf.org/config/sail/customGraphQueryInferencer#rule</tt>, an additional rule with its own
+	 * {@link #RULE_QUERY} and optional {@link #MATCHER_QUERY}
+	 */
+	public final static IRI RULE;
+
 	static {
 		ValueFactory factory = SimpleValueFactory.getInstance();
 		QUERY_LANGUAGE = factory.createIRI(NAMESPACE, "queryLanguage");
 		RULE_QUERY = factory.createIRI(NAMESPACE, "ruleQuery");
 		MATCHER_QUERY = factory.createIRI(NAMESPACE, "matcherQuery");
+		RULE = factory.createIRI(NAMESPACE, "rule");
 	}
 }
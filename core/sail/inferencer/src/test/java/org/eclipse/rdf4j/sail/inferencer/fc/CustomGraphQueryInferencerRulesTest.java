@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.inferencer.fc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CustomGraphQueryInferencerRulesTest {
+
+	private static final String PREFIX = "PREFIX : <http://example.com/>\n";
+
+	private static final String PARENT_RULE = PREFIX
+			+ "CONSTRUCT { ?a :ancestorOf ?b } WHERE { ?a :parentOf ?b }";
+
+	private static final String TRANSITIVE_RULE = PREFIX
+			+ "CONSTRUCT { ?a :ancestorOf ?c } WHERE { ?a :ancestorOf ?b . ?b :ancestorOf ?c }";
+
+	private static final String CHILD_RULE = PREFIX + "CONSTRUCT { ?b :parentOf [] } WHERE { ?a :parentOf ?b }";
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final IRI PARENT_OF = vf.createIRI("http://example.com/parentOf");
+
+	private static final IRI ANCESTOR_OF = vf.createIRI("http://example.com/ancestorOf");
+
+	private SailRepository repository;
+
+	@Before
+	public void setUp() throws Exception {
+		CustomGraphQueryInferencer inferencer = new CustomGraphQueryInferencer(new MemoryStore(),
+				QueryLanguage.SPARQL, PARENT_RULE, "");
+		inferencer.addRule(QueryLanguage.SPARQL, TRANSITIVE_RULE, "");
+		repository = new SailRepository(inferencer);
+		repository.init();
+	}
+
+	@After
+	public void tearDown() {
+		repository.shutDown();
+	}
+
+	@Test
+	public void testRulesReachFixedPoint() {
+		try (RepositoryConnection connection = repository.getConnection()) {
+			connection.add(person(1), PARENT_OF, person(2));
+			connection.add(person(2), PARENT_OF, person(3));
+			connection.add(person(3), PARENT_OF, person(4));
+
+			assertTrue(connection.hasStatement(person(1), ANCESTOR_OF, person(4), true));
+			assertTrue(connection.hasStatement(person(2), ANCESTOR_OF, person(4), true));
+			assertFalse(connection.hasStatement(person(4), ANCESTOR_OF, person(1), true));
+			assertEquals(6, Iterations.asSet(connection.getStatements(null, ANCESTOR_OF, null, true)).size());
+		}
+	}
+
+	@Test
+	public void testRemovalRetractsInferredStatements() {
+		try (RepositoryConnection connection = repository.getConnection()) {
+			connection.add(person(1), PARENT_OF, person(2));
+			connection.add(person(2), PARENT_OF, person(3));
+			connection.add(person(3), PARENT_OF, person(4));
+
+			connection.remove(person(2), PARENT_OF, person(3));
+
+			assertTrue(connection.hasStatement(person(1), ANCESTOR_OF, person(2), true));
+			assertTrue(connection.hasStatement(person(3), ANCESTOR_OF, person(4), true));
+			assertFalse(connection.hasStatement(person(1), ANCESTOR_OF, person(3), true));
+			assertFalse(connection.hasStatement(person(1), ANCESTOR_OF, person(4), true));
+		}
+	}
+
+	@Test
+	public void testIncrementalAdditionsMatchClosure() {
+		Random random = new Random(42);
+		Map<Integer, Set<Integer>> parents = new HashMap<>();
+
+		try (RepositoryConnection connection = repository.getConnection()) {
+			for (int transaction = 0; transaction < 20; transaction++) {
+				connection.begin();
+				for (int i = 0; i < 5; i++) {
+					int parent = random.nextInt(30);
+					int child = random.nextInt(30);
+					connection.add(person(parent), PARENT_OF, person(child));
+					parents.computeIfAbsent(parent, p -> new HashSet<>()).add(child);
+				}
+				connection.commit();
+
+				Set<Statement> expected = new HashSet<>();
+				for (int ancestor : parents.keySet()) {
+					for (int descendant : descendants(ancestor, parents)) {
+						expected.add(vf.createStatement(person(ancestor), ANCESTOR_OF, person(descendant)));
+					}
+				}
+
+				Set<Statement> actual = new HashSet<>();
+				connection.getStatements(null, ANCESTOR_OF, null, true)
+						.forEach(st -> actual.add(vf.createStatement(st.getSubject(), st.getPredicate(),
+								st.getObject())));
+
+				assertEquals(expected, actual);
+			}
+		}
+	}
+
+	@Test(timeout = 10_000)
+	public void testRuleWithBlankNodeIsEvaluatedOnce() throws Exception {
+		repository.shutDown();
+		repository = new SailRepository(
+				new CustomGraphQueryInferencer(new MemoryStore(), QueryLanguage.SPARQL, CHILD_RULE, ""));
+		repository.init();
+
+		try (RepositoryConnection connection = repository.getConnection()) {
+			connection.add(person(1), PARENT_OF, person(2));
+
+			List<Statement> children = Iterations.asList(connection.getStatements(person(2), PARENT_OF, null, true));
+			assertEquals(1, children.size());
+			assertTrue(children.get(0).getObject() instanceof BNode);
+			assertEquals(2, Iterations.asList(connection.getStatements(null, PARENT_OF, null, true)).size());
+
+			connection.add(person(3), PARENT_OF, person(4));
+			assertEquals(1, Iterations.asList(connection.getStatements(person(4), PARENT_OF, null, true)).size());
+			assertEquals(4, Iterations.asList(connection.getStatements(null, PARENT_OF, null, true)).size());
+		}
+	}
+
+	private static Set<Integer> descendants(int ancestor, Map<Integer, Set<Integer>> parents) {
+		Set<Integer> descendants = new HashSet<>();
+		Set<Integer> todo = new HashSet<>(parents.getOrDefault(ancestor, new HashSet<>()));
+		while (!todo.isEmpty()) {
+			int next = todo.iterator().next();
+			todo.remove(next);
+			if (descendants.add(next)) {
+				todo.addAll(parents.getOrDefault(next, new HashSet<>()));
+			}
+		}
+		return descendants;
+	}
+
+	private static IRI person(int i) {
+		return vf.createIRI("http://example.com/person" + i);
+	}
+}
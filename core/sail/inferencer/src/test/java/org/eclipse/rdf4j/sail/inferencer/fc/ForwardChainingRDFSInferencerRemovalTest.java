@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.inferencer.fc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies that the incremental maintenance of inferred statements after removals gives the same closure as computing
+ * it from scratch.
+ */
+@SuppressWarnings("deprecation")
+public class ForwardChainingRDFSInferencerRemovalTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final IRI A = vf.createIRI("http://example.org/A");
+	private static final IRI B = vf.createIRI("http://example.org/B");
+	private static final IRI C = vf.createIRI("http://example.org/C");
+	private static final IRI D = vf.createIRI("http://example.org/D");
+	private static final IRI p = vf.createIRI("http://example.org/p");
+	private static final IRI q = vf.createIRI("http://example.org/q");
+	private static final IRI x = vf.createIRI("http://example.org/x");
+	private static final IRI y = vf.createIRI("http://example.org/y");
+
+	private SailRepository repository;
+
+	@Before
+	public void setUp() {
+		repository = new SailRepository(new ForwardChainingRDFSInferencer(new MemoryStore()));
+	}
+
+	@After
+	public void tearDown() {
+		repository.shutDown();
+	}
+
+	@Test
+	public void testRemoveSubClassOf() {
+		try (RepositoryConnection connection = repository.getConnection()) {
+			connection.add(x, RDF.TYPE, A);
+			connection.add(A, RDFS.SUBCLASSOF, B);
+			connection.add(B, RDFS.SUBCLASSOF, C);
+			connection.add(A, RDFS.SUBCLASSOF, D);
+			connection.add(D, RDFS.SUBCLASSOF, C);
+			assertTrue(connection.hasStatement(x, RDF.TYPE, B, true));
+
+			connection.remove(A, RDFS.SUBCLASSOF, B);
+
+			assertFalse(connection.hasStatement(x, RDF.TYPE, B, true));
+			assertFalse(connection.hasStatement(A, RDFS.SUBCLASSOF, B, true));
+			// still supported through D
+			assertTrue(connection.hasStatement(x, RDF.TYPE, C, true));
+			assertTrue(connection.hasStatement(A, RDFS.SUBCLASSOF, C, true));
+
+			assertEquals(recompute(connection), getAll(connection));
+		}
+	}
+
+	@Test
+	public void testRemoveInstanceData() {
+		try (RepositoryConnection connection = repository.getConnection()) {
+			connection.add(p, RDFS.SUBPROPERTYOF, q);
+			connection.add(q, RDFS.DOMAIN, A);
+			connection.add(q, RDFS.RANGE, B);
+			connection.add(x, p, y);
+			connection.add(y, RDF.TYPE, B);
+			assertTrue(connection.hasStatement(x, q, y, true));
+			assertTrue(connection.hasStatement(x, RDF.TYPE, A, true));
+
+			connection.begin();
+			connection.remove(x, p, y);
+			connection.remove(y, RDF.TYPE, B);
+			connection.commit();
+
+			assertFalse(connection.hasStatement(x, q, y, true));
+			assertFalse(connection.hasStatement(x, RDF.TYPE, A, true));
+			assertFalse(connection.hasStatement(y, RDF.TYPE, B, true));
+
+			assertEquals(recompute(connection), getAll(connection));
+		}
+	}
+
+	@Test
+	public void testRemoveAndAddInSameTransaction() {
+		try (RepositoryConnection connection = repository.getConnection()) {
+			connection.add(x, RDF.TYPE, A);
+			connection.add(A, RDFS.SUBCLASSOF, B);
+
+			connection.begin();
+			connection.remove(A, RDFS.SUBCLASSOF, B);
+			connection.add(A, RDFS.SUBCLASSOF, C);
+			connection.commit();
+
+			assertFalse(connection.hasStatement(x, RDF.TYPE, B, true));
+			assertTrue(connection.hasStatement(x, RDF.TYPE, C, true));
+
+			assertEquals(recompute(connection), getAll(connection));
+		}
+	}
+
+	private static Set<Statement> getAll(RepositoryConnection connection) {
+		Set<Statement> statements = new HashSet<>();
+		connection.getStatements(null, null, null, true).forEach(statements::add);
+		return statements;
+	}
+
+	private static Set<Statement> recompute(RepositoryConnection connection) {
+		SailRepository fresh = new SailRepository(new ForwardChainingRDFSInferencer(new MemoryStore()));
+		try (RepositoryConnection freshConnection = fresh.getConnection()) {
+			freshConnection.add(connection.getStatements(null, null, null, false));
+			return getAll(freshConnection);
+		} finally {
+			fresh.shutDown();
+		}
+	}
+}
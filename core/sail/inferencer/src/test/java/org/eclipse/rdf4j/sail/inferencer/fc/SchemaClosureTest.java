@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.inferencer.fc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.junit.Test;
+
+public class SchemaClosureTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final IRI a = vf.createIRI("http://example.com/A");
+	private final IRI b = vf.createIRI("http://example.com/B");
+	private final IRI c = vf.createIRI("http://example.com/C");
+	private final IRI d = vf.createIRI("http://example.com/D");
+
+	private final IRI p = vf.createIRI("http://example.com/p");
+	private final IRI q = vf.createIRI("http://example.com/q");
+	private final IRI r = vf.createIRI("http://example.com/r");
+
+	@Test
+	public void testSubClassOfIsReflexiveAndTransitive() {
+		SchemaClosure closure = calculate(Arrays.asList(subClassOf(a, b), subClassOf(b, c)), list(), list(),
+				list());
+
+		assertEquals(set(a, b, c), resolve(closure, closure.resolveTypes(a)));
+		assertEquals(set(b, c), resolve(closure, closure.resolveTypes(b)));
+		assertEquals(set(c), resolve(closure, closure.resolveTypes(c)));
+		assertTrue(resolve(closure, closure.resolveTypes(d)).isEmpty());
+	}
+
+	@Test
+	public void testSubClassOfCycle() {
+		SchemaClosure closure = calculate(Arrays.asList(subClassOf(a, b), subClassOf(b, a)), list(), list(),
+				list());
+
+		assertEquals(set(a, b), resolve(closure, closure.resolveTypes(a)));
+		assertEquals(set(a, b), resolve(closure, closure.resolveTypes(b)));
+	}
+
+	@Test
+	public void testSubPropertyOfIsOnlyReflexiveInCycles() {
+		SchemaClosure closure = calculate(list(),
+				Arrays.asList(subPropertyOf(p, q), subPropertyOf(q, r), subPropertyOf(r, q)), list(), list());
+
+		assertEquals(set(q, r), resolve(closure, closure.resolveProperties(p)));
+		assertEquals(set(q, r), resolve(closure, closure.resolveProperties(q)));
+		assertEquals(set(q, r), resolve(closure, closure.resolveProperties(r)));
+	}
+
+	@Test
+	public void testRangeAndDomainIncludeSuperPropertiesAndSuperClasses() {
+		SchemaClosure closure = calculate(Arrays.asList(subClassOf(a, b)), Arrays.asList(subPropertyOf(p, q)),
+				Arrays.asList(statement(q, RDFS.RANGE, a)), Arrays.asList(statement(p, RDFS.DOMAIN, c)));
+
+		assertEquals(set(a, b), resolve(closure, closure.resolveRangeTypes(p)));
+		assertEquals(set(a, b), resolve(closure, closure.resolveRangeTypes(q)));
+		assertEquals(set(c), resolve(closure, closure.resolveDomainTypes(p)));
+		assertTrue(resolve(closure, closure.resolveDomainTypes(q)).isEmpty());
+	}
+
+	private static SchemaClosure calculate(List<Statement> subClassOf, List<Statement> subPropertyOf,
+			List<Statement> range, List<Statement> domain) {
+		Set<Resource> types = new HashSet<>();
+		Set<Resource> properties = new HashSet<>();
+		subClassOf.forEach(s -> {
+			types.add(s.getSubject());
+			types.add((Resource) s.getObject());
+		});
+		subPropertyOf.forEach(s -> {
+			properties.add(s.getSubject());
+			properties.add((Resource) s.getObject());
+		});
+		range.forEach(s -> {
+			properties.add(s.getSubject());
+			types.add((Resource) s.getObject());
+		});
+		domain.forEach(s -> {
+			properties.add(s.getSubject());
+			types.add((Resource) s.getObject());
+		});
+
+		return SchemaClosure.calculate(types, properties, subClassOf, subPropertyOf, range, domain);
+	}
+
+	private static Set<Resource> resolve(SchemaClosure closure, int[] ids) {
+		return Arrays.stream(ids).mapToObj(closure::getResource).collect(Collectors.toSet());
+	}
+
+	private static Set<Resource> set(Resource... resources) {
+		return new HashSet<>(Arrays.asList(resources));
+	}
+
+	private static List<Statement> list() {
+		return Arrays.asList();
+	}
+
+	private static Statement subClassOf(Resource subClass, Resource superClass) {
+		return statement(subClass, RDFS.SUBCLASSOF, superClass);
+	}
+
+	private static Statement subPropertyOf(Resource subProperty, Resource superProperty) {
+		return statement(subProperty, RDFS.SUBPROPERTYOF, superProperty);
+	}
+
+	private static Statement statement(Resource subject, IRI predicate, Resource object) {
+		return vf.createStatement(subject, predicate, object);
+	}
+}
@@ -471,7 +471,8 @@ public abstract class AbstractSearchIndex implements SearchIndex {
 				boolean highlight = (query.getSnippetVariableName() != null || query.getPropertyVariableName() != null);
 
 				// distinguish the two cases of subject == null
-				hits = query(query.getSubject(), query.getQueryString(), query.getPropertyURI(), highlight);
+				hits = query(query.getSubject(), query.getQueryString(), query.getPropertyURI(), highlight,
+						query.getNumDocs());
 			} else {
 				hits = null;
 			}
@@ -834,6 +835,17 @@ public abstract class AbstractSearchIndex implements SearchIndex {
 	protected abstract Iterable<? extends DocumentScore> query(Resource subject, String q, IRI property,
 			boolean highlight) throws MalformedQueryException, IOException;
 
+	/**
+	 * Evaluates a query that only needs the best matching documents. Implementations that can't limit the number of
+	 * documents return all of them.
+	 *
+	 * @param numDocs the maximum number of documents to return, or -1 for all matching documents
+	 */
+	protected Iterable<? extends DocumentScore> query(Resource subject, String q, IRI property, boolean highlight,
+			int numDocs) throws MalformedQueryException, IOException {
+		return query(subject, q, property, highlight);
+	}
+
 	protected abstract Iterable<? extends DocumentDistance> geoQuery(IRI geoProperty, Point p, IRI units,
 			double distance, String distanceVar, Var context) throws MalformedQueryException, IOException;
 
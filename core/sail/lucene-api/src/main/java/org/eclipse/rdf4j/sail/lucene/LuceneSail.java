@@ -23,7 +23,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
@@ -281,6 +284,29 @@ public class LuceneSail extends NotifyingSailWrapper {
 	 */
 	public static final String EVALUATION_MODE_KEY = "evaluationMode";
 
+	/**
+	 * Set the key "nrtRefreshInterval=&lt;ms&gt;" as sail parameter to let the LuceneIndex search with near-real-time
+	 * readers that are refreshed in the background at this interval, instead of committing the Lucene index and
+	 * reopening its readers for every transaction. A connection always sees the changes of its own committed
+	 * transactions. Not set by default, which disables near-real-time mode.
+	 */
+	public static final String NRT_REFRESH_INTERVAL_KEY = "nrtRefreshInterval";
+
+	/**
+	 * Set the key "nrtCommitInterval=&lt;ms&gt;" as sail parameter to configure how often the changes of near-real-time
+	 * mode (see {@link #NRT_REFRESH_INTERVAL_KEY}) are committed to the Lucene index in the background. Changes that
+	 * have not been committed yet when the JVM crashes are lost from the index, and the index must be rebuilt with
+	 * {@link #reindex()}. The default is 1000 ms.
+	 */
+	public static final String NRT_COMMIT_INTERVAL_KEY = "nrtCommitInterval";
+
+	/**
+	 * Set the key "searchThreads=&lt;n&gt;" as sail parameter to configure how many threads are used to evaluate the
+	 * search queries of a single query in parallel. Set to 1 to evaluate them one after the other on the querying
+	 * thread. The default is the number of available processors.
+	 */
+	public static final String SEARCH_THREADS_KEY = "searchThreads";
+
 	/**
 	 * The LuceneIndex holding the indexed literals.
 	 */
@@ -306,6 +332,13 @@ public class LuceneSail extends NotifyingSailWrapper {
 
 	private final AtomicBoolean closed = new AtomicBoolean(false);
 
+	private volatile int searchThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Evaluates the search queries of a query in parallel, created on first use.
+	 */
+	private ExecutorService searchExecutor;
+
 	public void setLuceneIndex(SearchIndex luceneIndex) {
 		this.luceneIndex = luceneIndex;
 	}
@@ -327,6 +360,13 @@ public class LuceneSail extends NotifyingSailWrapper {
 	public void shutDown() throws SailException {
 		if (closed.compareAndSet(false, true)) {
 			logger.debug("LuceneSail shutdown");
+			synchronized (this) {
+				if (searchExecutor != null) {
+					// let running searches finish, interrupting them could close the files of the index
+					searchExecutor.shutdown();
+					searchExecutor = null;
+				}
+			}
 			try {
 				SearchIndex toShutDownLuceneIndex = luceneIndex;
 				luceneIndex = null;
@@ -388,6 +428,9 @@ public class LuceneSail extends NotifyingSailWrapper {
 			if (parameters.containsKey(EVALUATION_MODE_KEY)) {
 				setEvaluationMode(TupleFunctionEvaluationMode.valueOf(parameters.getProperty(EVALUATION_MODE_KEY)));
 			}
+			if (parameters.containsKey(SEARCH_THREADS_KEY)) {
+				setSearchThreads(Integer.parseInt(parameters.getProperty(SEARCH_THREADS_KEY)));
+			}
 			if (luceneIndex == null) {
 				initializeLuceneIndex();
 			}
@@ -462,6 +505,44 @@ public class LuceneSail extends NotifyingSailWrapper {
 		this.incompleteQueryFails = incompleteQueryFails;
 	}
 
+	/**
+	 * See SEARCH_THREADS_KEY parameter.
+	 */
+	public int getSearchThreads() {
+		return searchThreads;
+	}
+
+	/**
+	 * See SEARCH_THREADS_KEY parameter.
+	 */
+	public void setSearchThreads(int searchThreads) {
+		if (searchThreads < 1) {
+			throw new IllegalArgumentException("searchThreads must be at least 1: " + searchThreads);
+		}
+		this.searchThreads = searchThreads;
+		setParameter(SEARCH_THREADS_KEY, String.valueOf(searchThreads));
+	}
+
+	/**
+	 * @return the executor that evaluates search queries in parallel, or null if they should be evaluated on the
+	 *         querying thread
+	 */
+	synchronized ExecutorService getSearchExecutor() {
+		if (searchThreads <= 1 || closed.get()) {
+			return null;
+		}
+		if (searchExecutor == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			searchExecutor = Executors.newFixedThreadPool(searchThreads, runnable -> {
+				Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+				thread.setName("rdf4j-LuceneSail-search-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return searchExecutor;
+	}
+
 	/**
 	 * See EVALUATION_MODE_KEY parameter.
 	 */
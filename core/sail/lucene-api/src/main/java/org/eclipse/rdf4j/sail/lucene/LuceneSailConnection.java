@@ -10,9 +10,14 @@ package org.eclipse.rdf4j.sail.lucene;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
@@ -26,10 +31,13 @@ import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.Dataset;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.algebra.BindingSetAssignment;
+import org.eclipse.rdf4j.query.algebra.Extension;
+import org.eclipse.rdf4j.query.algebra.Join;
 import org.eclipse.rdf4j.query.algebra.MultiProjection;
 import org.eclipse.rdf4j.query.algebra.Projection;
 import org.eclipse.rdf4j.query.algebra.QueryModelNode;
 import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.Slice;
 import org.eclipse.rdf4j.query.algebra.TupleExpr;
 import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryContext;
@@ -81,6 +89,10 @@ import com.google.common.collect.Sets;
  * {{x=1,y=1},{x=2,y=2}}, this translates to the constraints (x=1 and y=1) or (x=2 and y=2). 2) The LuceneSail could
  * iterate over the LuceneQueryResult and supply the various results as query input parameters to the underlying Sail.
  * This is similar to using PreparedStatement's in JDBC.
+ * <h2>Evaluating Search Queries</h2> The search queries of a query are evaluated in parallel on the search executor of
+ * the {@link LuceneSail}, see {@link LuceneSail#SEARCH_THREADS_KEY}. Queries are not synchronized, they can run
+ * concurrently with each other. When the results of a search are only limited by a LIMIT clause, only the best matching
+ * documents are retrieved from the index.
  *
  * @author sauermann
  * @author christian.huetter
@@ -105,6 +117,11 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 	 */
 	final private LuceneSailBuffer buffer = new LuceneSailBuffer();
 
+	/**
+	 * true if this connection committed changes to the index that may not be visible to searches yet
+	 */
+	private volatile boolean refreshNeeded;
+
 	/**
 	 * The listener that listens to the underlying connection. It is disabled during clearContext operations.
 	 */
@@ -240,6 +257,7 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 					throw new SailException("Cannot interpret operation " + op + " of type " + op.getClass().getName());
 				}
 				i.remove();
+				refreshNeeded = true;
 			}
 		} catch (Exception e) {
 			logger.error("Committing operations in lucenesail, encountered exception " + e
@@ -280,8 +298,18 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 	// //////////////////////////////// Methods related to querying
 
 	@Override
-	public synchronized CloseableIteration<? extends BindingSet, QueryEvaluationException> evaluate(TupleExpr tupleExpr,
+	public CloseableIteration<? extends BindingSet, QueryEvaluationException> evaluate(TupleExpr tupleExpr,
 			Dataset dataset, BindingSet bindings, boolean includeInferred) throws SailException {
+		if (refreshNeeded) {
+			// read your own writes
+			try {
+				luceneIndex.refresh();
+			} catch (IOException e) {
+				throw new SailException(e);
+			}
+			refreshNeeded = false;
+		}
+
 		QueryContext qctx = new QueryContext();
 		SearchIndexQueryContextInitializer.init(qctx, luceneIndex);
 
@@ -359,12 +387,13 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 
 	/**
 	 * Evaluate the given Lucene queries, generate bindings from the query result, add the bindings to the query tree,
-	 * and remove the Lucene queries from the given query tree.
+	 * and remove the Lucene queries from the given query tree. The queries are evaluated in parallel, the query tree is
+	 * only modified on the calling thread.
 	 *
 	 * @param queries
 	 * @throws SailException
 	 */
-	private void evaluateLuceneQueries(Collection<SearchQueryEvaluator> queries) throws SailException {
+	private void evaluateLuceneQueries(List<SearchQueryEvaluator> queries) throws SailException {
 		// TODO: optimize lucene queries here
 		// - if they refer to the same subject, merge them into one lucene query
 		// - multiple different property constraints can be put into the lucene
@@ -374,10 +403,51 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 			throw new SailException("Sail has been closed already");
 		}
 
-		// evaluate queries, generate binding sets, and remove queries
 		for (SearchQueryEvaluator query : queries) {
-			// evaluate the Lucene query and generate bindings
-			final Collection<BindingSet> bindingSets = luceneIndex.evaluate(query);
+			if (query instanceof QuerySpec) {
+				pushDownLimit((QuerySpec) query);
+			}
+		}
+
+		// evaluate queries and generate binding sets
+		List<Collection<BindingSet>> results = new ArrayList<>(queries.size());
+		ExecutorService executor = queries.size() > 1 ? sail.getSearchExecutor() : null;
+		if (executor == null) {
+			for (SearchQueryEvaluator query : queries) {
+				results.add(luceneIndex.evaluate(query));
+			}
+		} else {
+			List<Future<Collection<BindingSet>>> futures = new ArrayList<>(queries.size() - 1);
+			try {
+				for (SearchQueryEvaluator query : queries.subList(1, queries.size())) {
+					futures.add(executor.submit(() -> luceneIndex.evaluate(query)));
+				}
+				// evaluate the first query on this thread while the others are evaluated in the background
+				results.add(luceneIndex.evaluate(queries.get(0)));
+				for (Future<Collection<BindingSet>> future : futures) {
+					results.add(future.get());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SailException(e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new SailException(cause);
+			} finally {
+				for (Future<Collection<BindingSet>> future : futures) {
+					future.cancel(false);
+				}
+			}
+		}
+
+		// add the binding sets to the query tree and remove queries
+		for (int i = 0; i < queries.size(); i++) {
+			final Collection<BindingSet> bindingSets = results.get(i);
 
 			final BindingSetAssignment bsa = new BindingSetAssignment();
 
@@ -389,7 +459,63 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 				}
 			}
 
-			query.replaceQueryPatternsWithResults(bsa);
+			queries.get(i).replaceQueryPatternsWithResults(bsa);
+		}
+	}
+
+	/**
+	 * Limits the number of documents of the given query to the offset plus limit of the enclosing slice, if the query
+	 * results are only projected and sliced. Every document results in exactly one binding set, unless snippets or
+	 * properties are requested.
+	 *
+	 * @param query
+	 */
+	private static void pushDownLimit(QuerySpec query) {
+		if (query.getSnippetVariableName() != null || query.getPropertyVariableName() != null) {
+			return;
+		}
+
+		Set<QueryModelNode> patterns = Collections.newSetFromMap(new IdentityHashMap<>());
+		patterns.add(query.getMatchesPattern());
+		addIfNotNull(patterns, query.getQueryPattern());
+		addIfNotNull(patterns, query.getPropertyPattern());
+		addIfNotNull(patterns, query.getScorePattern());
+		addIfNotNull(patterns, query.getTypePattern());
+
+		// the search patterns must not be joined with anything else
+		QueryModelNode node = query.getMatchesPattern();
+		QueryModelNode parent = node.getParentNode();
+		while (parent instanceof Join) {
+			node = parent;
+			parent = parent.getParentNode();
+		}
+		if (!containsOnly(node, patterns)) {
+			return;
+		}
+
+		while (parent instanceof Projection || parent instanceof Extension) {
+			parent = parent.getParentNode();
+		}
+		if (parent instanceof Slice && ((Slice) parent).hasLimit()) {
+			Slice slice = (Slice) parent;
+			long numDocs = slice.getLimit() + Math.max(slice.getOffset(), 0);
+			if (numDocs > 0 && numDocs < Integer.MAX_VALUE) {
+				query.setNumDocs((int) numDocs);
+			}
+		}
+	}
+
+	private static boolean containsOnly(QueryModelNode node, Set<QueryModelNode> patterns) {
+		if (node instanceof Join) {
+			Join join = (Join) node;
+			return containsOnly(join.getLeftArg(), patterns) && containsOnly(join.getRightArg(), patterns);
+		}
+		return patterns.contains(node);
+	}
+
+	private static void addIfNotNull(Set<QueryModelNode> patterns, QueryModelNode pattern) {
+		if (pattern != null) {
+			patterns.add(pattern);
 		}
 	}
 
@@ -48,6 +48,8 @@ public class QuerySpec extends AbstractSearchQueryEvaluator {
 
 	private final String snippetVarName;
 
+	private int numDocs = -1;
+
 	public QuerySpec(StatementPattern matchesPattern, StatementPattern queryPattern, StatementPattern propertyPattern,
 			StatementPattern scorePattern, StatementPattern snippetPattern, StatementPattern typePattern,
 			Resource subject, String queryString, IRI propertyURI) {
@@ -222,6 +224,22 @@ public class QuerySpec extends AbstractSearchQueryEvaluator {
 		return queryString != null;
 	}
 
+	/**
+	 * @return the maximum number of documents the query needs to return, or -1 if all matching documents are needed
+	 */
+	public int getNumDocs() {
+		return numDocs;
+	}
+
+	/**
+	 * Limits the number of documents to return, when the enclosing query only needs the best matching documents.
+	 *
+	 * @param numDocs the maximum number of documents, or -1 for all matching documents
+	 */
+	public void setNumDocs(int numDocs) {
+		this.numDocs = numDocs;
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder buffer = new StringBuilder();
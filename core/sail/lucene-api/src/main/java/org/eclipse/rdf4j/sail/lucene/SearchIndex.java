@@ -79,6 +79,15 @@ public interface SearchIndex {
 
 	void rollback() throws IOException;
 
+	/**
+	 * Makes the changes that have been committed so far visible to searches. This is only needed for indexes that make
+	 * committed changes visible asynchronously, the default implementation does nothing.
+	 *
+	 * @throws IOException
+	 */
+	default void refresh() throws IOException {
+	}
+
 	/**
 	 * Indexes the specified Statement.This should be called from within a begin-commit-rollback block.
 	 *
@@ -7,9 +7,11 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.lucene;
 
+import java.io.IOException;
 import java.util.Set;
 
 import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.search.ScoreDoc;
 
 public class LuceneDocumentResult implements DocumentResult {
@@ -28,6 +30,14 @@ public class LuceneDocumentResult implements DocumentResult {
 		this.fields = fields;
 	}
 
+	/**
+	 * Loads the document of the hit from the IndexReader that was searched.
+	 */
+	void loadDocument(IndexReader reader) throws IOException {
+		Document doc = LuceneIndex.readDocument(reader, scoreDoc.doc, fields);
+		fullDoc = new LuceneDocument(doc, index.getSpatialStrategyMapper());
+	}
+
 	@Override
 	public SearchDocument getDocument() {
 		if (fullDoc == null) {
@@ -16,13 +16,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
@@ -57,6 +63,7 @@ import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.highlight.Formatter;
@@ -109,6 +116,8 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	private static final String GEO_FIELD_PREFIX = "_geo_";
 	private static final String POINT_FIELD_PREFIX = "_pt_";
 
+	private static final long DEFAULT_NRT_COMMIT_INTERVAL = 1000;
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	/**
@@ -135,6 +144,44 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	 */
 	protected volatile ReaderMonitor currentMonitor;
 
+	/**
+	 * The interval in ms at which near-real-time readers are refreshed, or -1 if near-real-time mode is disabled.
+	 */
+	private volatile long nrtRefreshInterval = -1;
+
+	private volatile long nrtCommitInterval = DEFAULT_NRT_COMMIT_INTERVAL;
+
+	/**
+	 * Provides the near-real-time IndexSearchers. Created lazily.
+	 */
+	private volatile SearcherManager searcherManager;
+
+	/**
+	 * Refreshes the near-real-time readers and commits the IndexWriter in the background.
+	 */
+	private volatile ScheduledExecutorService nrtExecutor;
+
+	/**
+	 * Incremented whenever changes are committed in near-real-time mode.
+	 */
+	private final AtomicLong updateGeneration = new AtomicLong();
+
+	/**
+	 * The update generation that is visible to the current near-real-time readers.
+	 */
+	private volatile long refreshedGeneration;
+
+	/**
+	 * The updates that were made in near-real-time mode since the IndexWriter was last committed, in the order in which
+	 * they were applied. They are applied again when the IndexWriter has to be rolled back.
+	 */
+	private final List<IndexWriterUpdate> uncommittedUpdates = new ArrayList<>();
+
+	/**
+	 * The updates of the transactions that are neither committed nor rolled back, by the thread that made them.
+	 */
+	private final Map<Thread, List<IndexWriterUpdate>> transactionUpdates = new HashMap<>();
+
 	private volatile Function<? super String, ? extends SpatialStrategy> geoStrategyMapper;
 
 	private final AtomicBoolean closed = new AtomicBoolean(false);
@@ -182,6 +229,43 @@ public class LuceneIndex extends AbstractLuceneIndex {
 		this.geoStrategyMapper = createSpatialStrategyMapper((Map<String, String>) (Map<?, ?>) parameters);
 
 		postInit();
+
+		if (parameters.containsKey(LuceneSail.NRT_REFRESH_INTERVAL_KEY)) {
+			nrtRefreshInterval = Long.parseLong(parameters.getProperty(LuceneSail.NRT_REFRESH_INTERVAL_KEY));
+			nrtCommitInterval = Long.parseLong(parameters.getProperty(LuceneSail.NRT_COMMIT_INTERVAL_KEY,
+					String.valueOf(DEFAULT_NRT_COMMIT_INTERVAL)));
+			startNrtExecutor();
+		}
+	}
+
+	private void startNrtExecutor() {
+		nrtExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+			thread.setName("rdf4j-LuceneIndex-nrt");
+			thread.setDaemon(true);
+			return thread;
+		});
+		nrtExecutor.scheduleWithFixedDelay(() -> {
+			try {
+				refresh();
+			} catch (Throwable e) {
+				logger.warn("Failed to refresh near-real-time Lucene readers", e);
+			}
+		}, nrtRefreshInterval, nrtRefreshInterval, TimeUnit.MILLISECONDS);
+		nrtExecutor.scheduleWithFixedDelay(() -> {
+			try {
+				commitChanges();
+			} catch (Throwable e) {
+				logger.warn("Failed to commit near-real-time Lucene changes", e);
+			}
+		}, nrtCommitInterval, nrtCommitInterval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @return true if changes are made visible with near-real-time readers and committed in the background
+	 */
+	public boolean isNearRealTime() {
+		return nrtRefreshInterval >= 0;
 	}
 
 	protected Directory createDirectory(Properties parameters) throws IOException {
@@ -297,11 +381,27 @@ public class LuceneIndex extends AbstractLuceneIndex {
 			throw new SailException("Index has been closed");
 		}
 		if (currentMonitor == null) {
-			currentMonitor = new ReaderMonitor(this, directory);
+			if (isNearRealTime()) {
+				try {
+					currentMonitor = new ReaderMonitor(this, getSearcherManager());
+				} catch (IOException e) {
+					throw new SailException(e);
+				}
+			} else {
+				currentMonitor = new ReaderMonitor(this, directory);
+			}
 		}
 		return currentMonitor;
 	}
 
+	private synchronized SearcherManager getSearcherManager() throws IOException {
+		if (searcherManager == null) {
+			searcherManager = new SearcherManager(getIndexWriter(), null);
+			refreshedGeneration = updateGeneration.get();
+		}
+		return searcherManager;
+	}
+
 	public synchronized IndexWriter getIndexWriter() throws IOException {
 		if (closed.get()) {
 			throw new SailException("Index has been closed");
@@ -319,6 +419,18 @@ public class LuceneIndex extends AbstractLuceneIndex {
 		// when an earlier instance resulted in an IOException
 		// FIXME: is there a more elegant way to ensure this?
 		if (closed.compareAndSet(false, true)) {
+			ScheduledExecutorService toShutDownExecutor = nrtExecutor;
+			nrtExecutor = null;
+			if (toShutDownExecutor != null) {
+				// don't interrupt a running refresh or commit, interrupting NIO
+				// operations would close the files of the index
+				toShutDownExecutor.shutdown();
+				try {
+					toShutDownExecutor.awaitTermination(1, TimeUnit.MINUTES);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
 			try {
 				// This close oldMonitors which hold InderReader and
 				// IndexSeracher
@@ -348,6 +460,13 @@ public class LuceneIndex extends AbstractLuceneIndex {
 					}
 				} finally {
 					try {
+						SearcherManager toCloseSearcherManager = searcherManager;
+						searcherManager = null;
+						if (toCloseSearcherManager != null) {
+							toCloseSearcherManager.close();
+						}
+
+						// closing the IndexWriter also commits the changes of near-real-time mode
 						IndexWriter toCloseIndexWriter = indexWriter;
 						indexWriter = null;
 						if (toCloseIndexWriter != null) {
@@ -402,17 +521,33 @@ public class LuceneIndex extends AbstractLuceneIndex {
 
 	@Override
 	protected synchronized void addDocument(SearchDocument doc) throws IOException {
-		getIndexWriter().addDocument(((LuceneDocument) doc).getDocument());
+		Document document = ((LuceneDocument) doc).getDocument();
+		update(writer -> writer.addDocument(document));
 	}
 
 	@Override
 	protected synchronized void updateDocument(SearchDocument doc) throws IOException {
-		getIndexWriter().updateDocument(idTerm(doc.getId()), ((LuceneDocument) doc).getDocument());
+		Term idTerm = idTerm(doc.getId());
+		Document document = ((LuceneDocument) doc).getDocument();
+		update(writer -> writer.updateDocument(idTerm, document));
 	}
 
 	@Override
 	protected synchronized void deleteDocument(SearchDocument doc) throws IOException {
-		getIndexWriter().deleteDocuments(idTerm(doc.getId()));
+		Term idTerm = idTerm(doc.getId());
+		update(writer -> writer.deleteDocuments(idTerm));
+	}
+
+	/**
+	 * Applies the update to the IndexWriter. In near-real-time mode the update is recorded, so that it can be applied
+	 * again if another transaction is rolled back before the changes are committed.
+	 */
+	private synchronized void update(IndexWriterUpdate update) throws IOException {
+		update.apply(getIndexWriter());
+		if (isNearRealTime()) {
+			uncommittedUpdates.add(update);
+			transactionUpdates.computeIfAbsent(Thread.currentThread(), t -> new ArrayList<>()).add(update);
+		}
 	}
 
 	@Override
@@ -429,6 +564,8 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	 * such Document exists yet.
 	 */
 	private Document getDocument(Term idTerm) throws IOException {
+		// documents are updated by merging them with their stored version, which must include committed updates
+		refresh();
 		IndexReader reader = getIndexReader();
 		List<LeafReaderContext> leaves = reader.leaves();
 		int size = leaves.size();
@@ -473,6 +610,7 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	private List<Document> getDocuments(Term uriTerm) throws IOException {
 		List<Document> result = new ArrayList<>();
 
+		refresh();
 		IndexReader reader = getIndexReader();
 		List<LeafReaderContext> leaves = reader.leaves();
 		int size = leaves.size();
@@ -677,6 +815,13 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	 */
 	@Override
 	public synchronized void commit() throws IOException {
+		if (isNearRealTime()) {
+			// the changes become visible when the readers are refreshed and are
+			// committed to the index in the background
+			transactionUpdates.remove(Thread.currentThread());
+			updateGeneration.incrementAndGet();
+			return;
+		}
 		getIndexWriter().commit();
 		// the old IndexReaders/Searchers are not outdated
 		invalidateReaders();
@@ -684,9 +829,73 @@ public class LuceneIndex extends AbstractLuceneIndex {
 
 	@Override
 	public synchronized void rollback() throws IOException {
+		if (isNearRealTime()) {
+			List<IndexWriterUpdate> rolledBack = transactionUpdates.remove(Thread.currentThread());
+			if (rolledBack != null) {
+				Set<IndexWriterUpdate> rolledBackSet = Collections.newSetFromMap(new IdentityHashMap<>());
+				rolledBackSet.addAll(rolledBack);
+				uncommittedUpdates.removeIf(rolledBackSet::contains);
+				rollbackIndexWriter();
+			}
+			return;
+		}
 		getIndexWriter().rollback();
 	}
 
+	/**
+	 * Rolls back the IndexWriter in near-real-time mode. The uncommitted changes of the IndexWriter also contain those
+	 * of other transactions, so the remaining updates are applied again to the new IndexWriter.
+	 */
+	private void rollbackIndexWriter() throws IOException {
+		// the SearcherManager can not be refreshed from a closed IndexWriter
+		if (searcherManager != null) {
+			searcherManager.close();
+			searcherManager = null;
+		}
+		getIndexWriter().rollback();
+		IndexWriter writer = getIndexWriter();
+		for (IndexWriterUpdate update : uncommittedUpdates) {
+			update.apply(writer);
+		}
+		updateGeneration.incrementAndGet();
+		// the current IndexReader/Searcher may contain the rolled back changes
+		invalidateReaders();
+	}
+
+	/**
+	 * Refreshes the near-real-time readers if changes have been committed since they were last refreshed.
+	 */
+	@Override
+	public synchronized void refresh() throws IOException {
+		if (!isNearRealTime() || closed.get()) {
+			return;
+		}
+		long generation = updateGeneration.get();
+		if (generation == refreshedGeneration) {
+			return;
+		}
+		getSearcherManager().maybeRefreshBlocking();
+		refreshedGeneration = generation;
+		// the current IndexReader/Searcher is outdated
+		invalidateReaders();
+	}
+
+	/**
+	 * Commits the changes made in near-real-time mode, grouping the changes of all transactions since the last call.
+	 */
+	private synchronized void commitChanges() throws IOException {
+		if (closed.get() || indexWriter == null || !indexWriter.isOpen() || !indexWriter.hasUncommittedChanges()) {
+			return;
+		}
+		if (!transactionUpdates.isEmpty()) {
+			// changes of a transaction that may still be rolled back are not made durable, try again later
+			return;
+		}
+		logger.debug("Committing near-real-time changes to Lucene index");
+		indexWriter.commit();
+		uncommittedUpdates.clear();
+	}
+
 	// //////////////////////////////// Methods for querying the index
 
 	/**
@@ -718,6 +927,12 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	@Override
 	protected Iterable<? extends DocumentScore> query(Resource subject, String query, IRI propertyURI,
 			boolean highlight) throws MalformedQueryException, IOException {
+		return query(subject, query, propertyURI, highlight, -1);
+	}
+
+	@Override
+	protected Iterable<? extends DocumentScore> query(Resource subject, String query, IRI propertyURI,
+			boolean highlight, int numDocs) throws MalformedQueryException, IOException {
 		Query q;
 		try {
 			q = getQueryParser(propertyURI).parse(query);
@@ -734,19 +949,29 @@ public class LuceneIndex extends AbstractLuceneIndex {
 			highlighter = null;
 		}
 
-		TopDocs docs;
-		if (subject != null) {
-			docs = search(subject, q);
-		} else {
-			docs = search(q);
-		}
-		return Iterables.transform(Arrays.asList(docs.scoreDocs), new Function<ScoreDoc, DocumentScore>() {
+		return search(subject, q, numDocs, highlighter);
+	}
 
-			@Override
-			public DocumentScore apply(ScoreDoc doc) {
-				return new LuceneDocumentScore(doc, highlighter, LuceneIndex.this);
-			}
-		});
+	/**
+	 * Evaluates the query, for the given resource only if it is not null, and returns the scored hits.
+	 *
+	 * @param resource    the resource to search, or null
+	 * @param query
+	 * @param numDocs     the maximum number of hits to return, or -1 for all hits. Ignored if a resource is given.
+	 * @param highlighter the highlighter for the snippets of the hits, or null
+	 * @return the hits with their documents loaded
+	 * @throws IOException
+	 */
+	List<LuceneDocumentScore> search(Resource resource, Query query, int numDocs, Highlighter highlighter)
+			throws IOException {
+		Query q = query;
+		int n = numDocs;
+		if (resource != null) {
+			q = restrictToResource(resource, query);
+			n = -1;
+		}
+		return search(q, n, (reader, docs) -> loadResults(reader, docs,
+				doc -> new LuceneDocumentScore(doc, highlighter, LuceneIndex.this)));
 	}
 
 	@Override
@@ -764,16 +989,10 @@ public class LuceneIndex extends AbstractLuceneIndex {
 			q = addContextTerm(q, (Resource) contextVar.getValue());
 		}
 
-		TopDocs docs = search(q);
 		final boolean requireContext = (contextVar != null && !contextVar.hasValue());
-		return Iterables.transform(Arrays.asList(docs.scoreDocs), new Function<ScoreDoc, DocumentDistance>() {
-
-			@Override
-			public DocumentDistance apply(ScoreDoc doc) {
-				return new LuceneDocumentDistance(doc, geoField, units, boundingCircle.getCenter(), requireContext,
-						LuceneIndex.this);
-			}
-		});
+		return search(q, -1, (reader, docs) -> loadResults(reader, docs,
+				doc -> new LuceneDocumentDistance(doc, geoField, units, boundingCircle.getCenter(), requireContext,
+						LuceneIndex.this)));
 	}
 
 	private Query addContextTerm(Query q, Resource ctx) {
@@ -807,18 +1026,13 @@ public class LuceneIndex extends AbstractLuceneIndex {
 			q = addContextTerm(q, (Resource) contextVar.getValue());
 		}
 
-		TopDocs docs = search(q);
 		final Set<String> fields = Sets.newHashSet(SearchFields.URI_FIELD_NAME, geoField);
 		if (contextVar != null && !contextVar.hasValue()) {
 			fields.add(SearchFields.CONTEXT_FIELD_NAME);
 		}
-		return Iterables.transform(Arrays.asList(docs.scoreDocs), new Function<ScoreDoc, DocumentResult>() {
-
-			@Override
-			public DocumentResult apply(ScoreDoc doc) {
-				return new LuceneDocumentResult(doc, LuceneIndex.this, fields);
-			}
-		});
+		return search(q, -1,
+				(reader, docs) -> loadResults(reader, docs,
+						doc -> new LuceneDocumentResult(doc, LuceneIndex.this, fields)));
 	}
 
 	private LatLonShape.QueryRelation getRelation(SpatialOperation op) {
@@ -930,13 +1144,17 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	 * @return top documents
 	 * @throws IOException
 	 */
-	public synchronized TopDocs search(Resource resource, Query query) throws IOException {
+	public TopDocs search(Resource resource, Query query) throws IOException {
+		return search(restrictToResource(resource, query));
+	}
+
+	private Query restrictToResource(Resource resource, Query query) {
 		// rewrite the query
 		TermQuery idQuery = new TermQuery(new Term(SearchFields.URI_FIELD_NAME, SearchFields.getResourceID(resource)));
 		BooleanQuery.Builder combinedQuery = new BooleanQuery.Builder();
 		combinedQuery.add(idQuery, Occur.MUST);
 		combinedQuery.add(query, Occur.MUST);
-		return search(combinedQuery.build());
+		return combinedQuery.build();
 	}
 
 	/**
@@ -946,14 +1164,66 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	 * @return top documents
 	 * @throws IOException
 	 */
-	public synchronized TopDocs search(Query query) throws IOException {
-		int nDocs;
-		if (maxDocs > 0) {
-			nDocs = maxDocs;
-		} else {
-			nDocs = Math.max(getIndexReader().numDocs(), 1);
+	public TopDocs search(Query query) throws IOException {
+		return search(query, -1);
+	}
+
+	/**
+	 * Evaluates the given query and returns at most the given number of best matching documents. Only looking up the
+	 * searcher is synchronized, the search itself runs concurrently with other searches. The doc ids of the returned
+	 * documents refer to the IndexReader that was current at the time of the search.
+	 *
+	 * @param query
+	 * @param numDocs the maximum number of documents to return, or -1 for all matching documents
+	 * @return top documents
+	 * @throws IOException
+	 */
+	public TopDocs search(Query query, int numDocs) throws IOException {
+		return search(query, numDocs, (reader, docs) -> docs);
+	}
+
+	/**
+	 * Evaluates the given query and reads the results from the IndexReader that was searched, which is kept open until
+	 * the results have been read.
+	 */
+	private <T> T search(Query query, int numDocs, SearchResultReader<T> resultReader) throws IOException {
+		ReaderMonitor monitor;
+		IndexSearcher searcher;
+		synchronized (this) {
+			searcher = getIndexSearcher();
+			monitor = getCurrentMonitor();
+			// keep the reader open while searching and reading the results
+			monitor.beginReading();
+		}
+		try {
+			int nDocs;
+			if (maxDocs > 0) {
+				nDocs = maxDocs;
+			} else {
+				nDocs = Math.max(searcher.getIndexReader().numDocs(), 1);
+			}
+			if (numDocs > 0) {
+				nDocs = Math.min(nDocs, numDocs);
+			}
+			return resultReader.read(searcher.getIndexReader(), searcher.search(query, nDocs));
+		} finally {
+			monitor.endReading();
 		}
-		return getIndexSearcher().search(query, nDocs);
+	}
+
+	/**
+	 * Creates the results for the hits and loads their documents. This must be done before the searched IndexReader is
+	 * closed, as the doc ids of the hits are not valid for other readers.
+	 */
+	private static <R extends LuceneDocumentResult> List<R> loadResults(IndexReader reader, TopDocs docs,
+			Function<ScoreDoc, R> resultFactory) throws IOException {
+		List<R> results = new ArrayList<>(docs.scoreDocs.length);
+		for (ScoreDoc doc : docs.scoreDocs) {
+			R result = resultFactory.apply(doc);
+			result.loadDocument(reader);
+			results.add(result);
+		}
+		return results;
 	}
 
 	private QueryParser getQueryParser(IRI propertyURI) {
@@ -1039,7 +1309,7 @@ public class LuceneIndex extends AbstractLuceneIndex {
 			// }
 
 			// now delete all documents from the deleted context
-			getIndexWriter().deleteDocuments(contextTerm);
+			update(writer -> writer.deleteDocuments(contextTerm));
 		}
 
 		// now add those again, that had other contexts also.
@@ -1074,9 +1344,15 @@ public class LuceneIndex extends AbstractLuceneIndex {
 		// clear
 		// the old IndexReaders/Searchers are not outdated
 		invalidateReaders();
+		if (searcherManager != null) {
+			searcherManager.close();
+			searcherManager = null;
+		}
 		if (indexWriter != null) {
 			indexWriter.close();
 		}
+		uncommittedUpdates.clear();
+		transactionUpdates.clear();
 
 		// crate new writer
 		IndexWriterConfig indexWriterConfig = getIndexWriterConfig();
@@ -1121,7 +1397,7 @@ public class LuceneIndex extends AbstractLuceneIndex {
 		}
 	}
 
-	private static Document readDocument(IndexReader reader, int docId, Set<String> fieldsToLoad) throws IOException {
+	static Document readDocument(IndexReader reader, int docId, Set<String> fieldsToLoad) throws IOException {
 		DocumentStoredFieldVisitor visitor = new DocumentStoredFieldVisitor(fieldsToLoad);
 		reader.document(docId, visitor);
 		return visitor.getDocument();
@@ -1163,4 +1439,22 @@ public class LuceneIndex extends AbstractLuceneIndex {
 			return document;
 		}
 	}
+
+	/**
+	 * Reads the results of a search from the IndexReader that was searched.
+	 */
+	@FunctionalInterface
+	private interface SearchResultReader<T> {
+
+		T read(IndexReader reader, TopDocs docs) throws IOException;
+	}
+
+	/**
+	 * A change of the index that is applied to an IndexWriter.
+	 */
+	@FunctionalInterface
+	private interface IndexWriterUpdate {
+
+		void apply(IndexWriter writer) throws IOException;
+	}
 }
@@ -8,11 +8,8 @@
 package org.eclipse.rdf4j.sail.lucene;
 
 import java.io.IOException;
-import java.util.Arrays;
 
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.ScoreDoc;
-import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.highlight.Formatter;
 import org.apache.lucene.search.highlight.Highlighter;
 import org.apache.lucene.search.highlight.QueryScorer;
@@ -20,9 +17,6 @@ import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
 
-import com.google.common.base.Function;
-import com.google.common.collect.Iterables;
-
 /**
  * To be removed, no longer used.
  */
@@ -44,19 +38,7 @@ public class LuceneQuery implements SearchQuery {
 	@Override
 	@Deprecated
 	public Iterable<? extends DocumentScore> query(Resource resource) throws IOException {
-		TopDocs docs;
-		if (resource != null) {
-			docs = index.search(resource, query);
-		} else {
-			docs = index.search(query);
-		}
-		return Iterables.transform(Arrays.asList(docs.scoreDocs), new Function<ScoreDoc, DocumentScore>() {
-
-			@Override
-			public DocumentScore apply(ScoreDoc doc) {
-				return new LuceneDocumentScore(doc, highlighter, index);
-			}
-		});
+		return index.search(resource, query, -1, highlighter);
 	}
 
 	@Override
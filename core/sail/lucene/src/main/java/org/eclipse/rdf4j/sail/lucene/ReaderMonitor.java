@@ -12,6 +12,7 @@ import java.io.IOException;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.store.Directory;
 
 /**
@@ -29,6 +30,11 @@ public class ReaderMonitor extends AbstractReaderMonitor {
 
 	private IOException indexSearcherCreateException;
 
+	/**
+	 * The SearcherManager the IndexSearcher was acquired from, or null if the IndexSearcher owns its IndexReader.
+	 */
+	private SearcherManager searcherManager;
+
 	/**
 	 * If exception occur when create indexReader it will be thrown on getIndexReader or get IndexSearcher
 	 *
@@ -45,6 +51,23 @@ public class ReaderMonitor extends AbstractReaderMonitor {
 		}
 	}
 
+	/**
+	 * Acquires a near-real-time IndexSearcher from a SearcherManager, it is released when the monitor is closed. If
+	 * exception occur when acquiring the IndexSearcher it will be thrown on getIndexReader or get IndexSearcher
+	 *
+	 * @param index
+	 * @param searcherManager
+	 */
+	public ReaderMonitor(final LuceneIndex index, SearcherManager searcherManager) {
+		super(index);
+		try {
+			indexSearcher = searcherManager.acquire();
+			this.searcherManager = searcherManager;
+		} catch (IOException e) {
+			indexSearcherCreateException = e;
+		}
+	}
+
 	/**
 	 * @throws IOException
 	 */
@@ -52,7 +75,11 @@ public class ReaderMonitor extends AbstractReaderMonitor {
 	protected void handleClose() throws IOException {
 		try {
 			if (indexSearcher != null) {
-				indexSearcher.getIndexReader().close();
+				if (searcherManager != null) {
+					searcherManager.release(indexSearcher);
+				} else {
+					indexSearcher.getIndexReader().close();
+				}
 			}
 		} finally {
 			indexSearcher = null;
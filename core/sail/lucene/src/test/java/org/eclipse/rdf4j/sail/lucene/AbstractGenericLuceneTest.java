@@ -587,6 +587,49 @@ public abstract class AbstractGenericLuceneTest {
 		}
 	}
 
+	@Test
+	public void testLimitedQuery() throws RepositoryException, MalformedQueryException, QueryEvaluationException {
+		String queryStr = "";
+		queryStr += "PREFIX search: <http://www.openrdf.org/contrib/lucenesail#> ";
+		queryStr += "SELECT ?result ?score { ";
+		queryStr += "  ?result search:matches ?match . ";
+		queryStr += "  ?match search:query 'one' ; ";
+		queryStr += "         search:score ?score . ";
+		queryStr += "} LIMIT 2";
+
+		TupleQuery query = connection.prepareTupleQuery(QueryLanguage.SPARQL, queryStr);
+		try (TupleQueryResult result = query.evaluate()) {
+			int n = 0;
+			while (result.hasNext()) {
+				BindingSet bindings = result.next();
+				assertNotNull(bindings.getValue("result"));
+				assertNotNull(bindings.getValue("score"));
+				n++;
+			}
+			assertEquals(2, n);
+		}
+	}
+
+	@Test
+	public void testMultipleSearchQueries()
+			throws RepositoryException, MalformedQueryException, QueryEvaluationException {
+		String queryStr = "";
+		queryStr += "PREFIX search: <http://www.openrdf.org/contrib/lucenesail#> ";
+		queryStr += "SELECT ?result { ";
+		queryStr += "  ?result search:matches ?match1 . ";
+		queryStr += "  ?match1 search:query 'one' . ";
+		queryStr += "  ?result search:matches ?match2 . ";
+		queryStr += "  ?match2 search:query 'two' . ";
+		queryStr += "} LIMIT 10";
+
+		TupleQuery query = connection.prepareTupleQuery(QueryLanguage.SPARQL, queryStr);
+		try (TupleQueryResult result = query.evaluate()) {
+			assertTrue(result.hasNext());
+			assertEquals(SUBJECT_1, result.next().getValue("result"));
+			assertFalse(result.hasNext());
+		}
+	}
+
 	@Test
 	public void testUnionQuery() throws RepositoryException, MalformedQueryException, QueryEvaluationException {
 		String queryStr = "";
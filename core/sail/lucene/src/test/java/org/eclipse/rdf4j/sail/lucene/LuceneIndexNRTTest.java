@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lucene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.FSDirectory;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LuceneIndexNRTTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final IRI SUBJECT_1 = vf.createIRI("urn:subject1");
+
+	private static final IRI SUBJECT_2 = vf.createIRI("urn:subject2");
+
+	private static final IRI PREDICATE = vf.createIRI("urn:predicate1");
+
+	private static final IRI PREDICATE_2 = vf.createIRI("urn:predicate2");
+
+	private static final String QUERY = "PREFIX search: <http://www.openrdf.org/contrib/lucenesail#> "
+			+ "SELECT ?result { ?result search:matches ?match . ?match search:query 'one' . }";
+
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	private LuceneSail sail;
+
+	private SailRepository repository;
+
+	@Before
+	public void setUp() {
+		sail = new LuceneSail();
+		sail.setParameter(LuceneSail.INDEX_CLASS_KEY, LuceneIndex.class.getName());
+		sail.setParameter(LuceneSail.LUCENE_RAMDIR_KEY, "true");
+		// long enough that only explicit refreshes are observed by the tests
+		sail.setParameter(LuceneSail.NRT_REFRESH_INTERVAL_KEY, "3600000");
+		sail.setBaseSail(new MemoryStore());
+		repository = new SailRepository(sail);
+		repository.init();
+	}
+
+	@After
+	public void tearDown() {
+		repository.shutDown();
+	}
+
+	@Test
+	public void testNearRealTimeEnabled() {
+		assertTrue(((LuceneIndex) sail.getLuceneIndex()).isNearRealTime());
+	}
+
+	@Test
+	public void testReadYourOwnWrites() {
+		try (RepositoryConnection connection = repository.getConnection()) {
+			connection.add(SUBJECT_1, PREDICATE, vf.createLiteral("one"));
+			assertEquals(1, count(connection));
+
+			connection.add(SUBJECT_2, PREDICATE, vf.createLiteral("one"));
+			assertEquals(2, count(connection));
+
+			connection.remove(SUBJECT_1, PREDICATE, null);
+			assertEquals(1, count(connection));
+		}
+	}
+
+	@Test
+	public void testOtherConnectionsSeeChangesAfterRefresh() throws Exception {
+		try (RepositoryConnection reader = repository.getConnection();
+				RepositoryConnection writer = repository.getConnection()) {
+			writer.add(SUBJECT_1, PREDICATE, vf.createLiteral("one"));
+			sail.getLuceneIndex().refresh();
+			assertEquals(1, count(reader));
+
+			writer.add(SUBJECT_2, PREDICATE, vf.createLiteral("one"));
+			assertEquals(1, count(reader));
+			sail.getLuceneIndex().refresh();
+			assertEquals(2, count(reader));
+		}
+	}
+
+	@Test
+	public void testRollbackKeepsOtherChanges() throws Exception {
+		File dir = tmpFolder.newFolder();
+		Properties parameters = new Properties();
+		parameters.setProperty(LuceneSail.LUCENE_DIR_KEY, dir.getAbsolutePath());
+		parameters.setProperty(LuceneSail.NRT_REFRESH_INTERVAL_KEY, "3600000");
+		parameters.setProperty(LuceneSail.NRT_COMMIT_INTERVAL_KEY, "3600000");
+		FailingLuceneIndex index = new FailingLuceneIndex();
+		index.initialize(parameters);
+		try {
+			index.begin();
+			index.addRemoveStatements(
+					Collections.singletonList(vf.createStatement(SUBJECT_1, PREDICATE, vf.createLiteral("one"))),
+					Collections.emptyList());
+			index.commit();
+
+			// the document is added to the IndexWriter before the transaction fails
+			index.fail = true;
+			index.begin();
+			try {
+				index.addRemoveStatements(
+						Collections.singletonList(vf.createStatement(SUBJECT_2, PREDICATE, vf.createLiteral("one"))),
+						Collections.emptyList());
+				fail("expected exception");
+			} catch (IOException e) {
+				index.rollback();
+			}
+			index.fail = false;
+
+			index.refresh();
+			assertEquals(1, index.getIndexReader().numDocs());
+			Term subject1 = new Term(SearchFields.URI_FIELD_NAME, SearchFields.getResourceID(SUBJECT_1));
+			assertEquals(1, index.search(new TermQuery(subject1)).totalHits);
+		} finally {
+			// closing the IndexWriter commits its changes
+			index.shutDown();
+		}
+
+		LuceneIndex reopened = new LuceneIndex(FSDirectory.open(dir.toPath()), new StandardAnalyzer());
+		try {
+			assertEquals(1, reopened.getIndexReader().numDocs());
+		} finally {
+			reopened.shutDown();
+		}
+	}
+
+	@Test
+	public void testConsecutiveUpdatesOfSameResource() throws Exception {
+		Properties parameters = new Properties();
+		parameters.setProperty(LuceneSail.LUCENE_RAMDIR_KEY, "true");
+		parameters.setProperty(LuceneSail.NRT_REFRESH_INTERVAL_KEY, "3600000");
+		LuceneIndex index = new LuceneIndex();
+		index.initialize(parameters);
+		try {
+			index.begin();
+			index.addRemoveStatements(
+					Collections.singletonList(vf.createStatement(SUBJECT_1, PREDICATE, vf.createLiteral("one"))),
+					Collections.emptyList());
+			index.commit();
+
+			// the readers have not been refreshed since the first commit
+			index.begin();
+			index.addRemoveStatements(
+					Collections.singletonList(vf.createStatement(SUBJECT_1, PREDICATE_2, vf.createLiteral("two"))),
+					Collections.emptyList());
+			index.commit();
+
+			index.refresh();
+			List<Document> documents = index.getDocuments(SUBJECT_1);
+			assertEquals(1, documents.size());
+			assertEquals("one", documents.get(0).get(PREDICATE.stringValue()));
+			assertEquals("two", documents.get(0).get(PREDICATE_2.stringValue()));
+		} finally {
+			index.shutDown();
+		}
+	}
+
+	private static int count(RepositoryConnection connection) {
+		try (TupleQueryResult result = connection.prepareTupleQuery(QueryLanguage.SPARQL, QUERY).evaluate()) {
+			int count = 0;
+			while (result.hasNext()) {
+				result.next();
+				count++;
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Fails after a document has been added, while it is not yet committed.
+	 */
+	private static class FailingLuceneIndex extends LuceneIndex {
+
+		private volatile boolean fail;
+
+		@Override
+		protected synchronized void addDocument(SearchDocument doc) throws IOException {
+			super.addDocument(doc);
+			if (fail) {
+				throw new IOException("failed to add document");
+			}
+		}
+	}
+}
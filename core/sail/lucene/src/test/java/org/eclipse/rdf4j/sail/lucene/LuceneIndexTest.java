@@ -402,6 +402,30 @@ public class LuceneIndexTest {
 		assertEquals("Is the fourth literal accepted?", false, index.accept(literal4));
 	}
 
+	@Test
+	public void testHitsAfterCommit() throws Exception {
+		index.begin();
+		index.addStatement(statement11);
+		index.commit();
+		index.begin();
+		index.addStatement(statement21);
+		index.commit();
+
+		Iterable<? extends DocumentScore> hits = index.query(null, object3.getLabel(), null, false);
+
+		// the hits were found by the previous IndexReader, in which the document of subject2 had a different doc id
+		index.begin();
+		index.removeStatement(statement11);
+		index.commit();
+
+		int count = 0;
+		for (DocumentScore hit : hits) {
+			assertEquals(subject2.toString(), hit.getDocument().getResource());
+			count++;
+		}
+		assertEquals(1, count);
+	}
+
 	private void assertStatement(Statement statement) throws Exception {
 		Document document = index.getDocument(statement.getSubject(), statement.getContext());
 		if (document == null) {
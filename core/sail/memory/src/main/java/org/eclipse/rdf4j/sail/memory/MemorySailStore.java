@@ -81,15 +81,27 @@ class MemorySailStore implements SailStore {
 	private final MemNamespaceStore namespaceStore = new MemNamespaceStore();
 
 	/**
-	 * Lock manager used to give the snapshot cleanup thread exclusive access to the statement list.
+	 * Lock manager used to prevent the statement list from being cleared on {@link #close()} while it is being read.
 	 */
 	private final ReadWriteLockManager statementListLockManager;
 
 	/**
-	 * Lock manager used to prevent concurrent writes.
+	 * Lock manager used to prevent concurrent writes. The snapshot cleanup thread also uses this lock to exclude
+	 * writers while it removes deprecated statements.
 	 */
 	private final ReentrantLock txnLockManager = new ReentrantLock();
 
+	/**
+	 * Keeps track of the snapshots that are in use, so that deprecated statements are only removed once no reader can
+	 * observe them anymore.
+	 */
+	private final SnapshotMonitor snapshotMonitor = new SnapshotMonitor(() -> currentSnapshot);
+
+	/**
+	 * Number of statements that the snapshot cleanup thread inspects before yielding the transaction lock to writers.
+	 */
+	private static final int CLEANUP_BATCH_SIZE = 1024;
+
 	/**
 	 * Cleanup thread that removes deprecated statements when no other threads are accessing this list. Seee
 	 * {@link #scheduleSnapshotCleanup()}.
@@ -266,8 +278,13 @@ class MemorySailStore implements SailStore {
 	}
 
 	/**
-	 * Removes statements from old snapshots from the main statement list and resets the snapshot to 1 for the rest of
-	 * the statements.
+	 * Removes statements from old snapshots from the main statement list and from the statement lists of the values
+	 * they consist of. Only statements that are no longer visible in any snapshot that is in use, as tracked by the
+	 * {@link SnapshotMonitor}, are removed.
+	 * <p>
+	 * Readers are never blocked by the cleanup: statement lists are compacted by publishing a new array, while readers
+	 * keep iterating over the array they started with. Writers are excluded using the transaction lock, which is
+	 * yielded frequently as the cleanup runs in the background.
 	 *
 	 * @throws InterruptedException
 	 */
@@ -275,67 +292,62 @@ class MemorySailStore implements SailStore {
 		// System.out.println("cleanSnapshots() starting...");
 		// long startTime = System.currentTimeMillis();
 
+		// Statements deprecated in or before this snapshot are invisible to all current and future readers
+		int reclaimableSnapshot = snapshotMonitor.getFirstSnapshotInUse();
+
 		// Sets used to keep track of which lists have already been processed
 		HashSet<MemValue> processedSubjects = new HashSet<>();
 		HashSet<MemValue> processedPredicates = new HashSet<>();
 		HashSet<MemValue> processedObjects = new HashSet<>();
 		HashSet<MemValue> processedContexts = new HashSet<>();
 
-		int lastStmtPos;
-		Lock stReadLock = statementListLockManager.getReadLock();
-		try {
-			lastStmtPos = statements.size() - 1;
-		} finally {
-			stReadLock.release();
-		}
-
-		/*
-		 * The order of the statement list won't change from lastStmtPos down while we don't have the write lock (it
-		 * might shrink or grow) as (1) new statements are always appended last, (2) we are the only process that
-		 * removes statements, (3) this list is cleared on close.
-		 */
+		int statementCount = statements.size();
+		MemStatement[] toCheck = statements.getStatements();
 
-		int nextSnapshot = currentSnapshot;
-		for (int i = lastStmtPos; i >= 0; i--) {
-			// As we are running in the background, yield the write lock frequently to other writers.
-			Lock stWriteLock = statementListLockManager.getWriteLock();
+		int i = Math.min(statementCount, toCheck.length) - 1;
+		while (i >= 0) {
+			// As we are running in the background, yield the transaction lock frequently to writers.
+			txnLockManager.lockInterruptibly();
 			try {
-				// guard against shrinkage, e.g. clear() on close()
-				lastStmtPos = statements.size() - 1;
-				i = Math.min(i, lastStmtPos);
-				if (i >= 0) {
-					MemStatement st = statements.get(i);
+				int batchEnd = Math.max(i - CLEANUP_BATCH_SIZE, -1);
+				for (; i > batchEnd; i--) {
+					MemStatement st = toCheck[i];
 
-					if (st.getTillSnapshot() <= nextSnapshot) {
+					if (st != null && st.getTillSnapshot() <= reclaimableSnapshot) {
 						MemResource subj = st.getSubject();
 						if (processedSubjects.add(subj)) {
-							subj.cleanSnapshotsFromSubjectStatements(nextSnapshot);
+							subj.cleanSnapshotsFromSubjectStatements(reclaimableSnapshot);
 						}
 
 						MemIRI pred = st.getPredicate();
 						if (processedPredicates.add(pred)) {
-							pred.cleanSnapshotsFromPredicateStatements(nextSnapshot);
+							pred.cleanSnapshotsFromPredicateStatements(reclaimableSnapshot);
 						}
 
 						MemValue obj = st.getObject();
 						if (processedObjects.add(obj)) {
-							obj.cleanSnapshotsFromObjectStatements(nextSnapshot);
+							obj.cleanSnapshotsFromObjectStatements(reclaimableSnapshot);
 						}
 
 						MemResource context = st.getContext();
 						if (context != null && processedContexts.add(context)) {
-							context.cleanSnapshotsFromContextStatements(nextSnapshot);
+							context.cleanSnapshotsFromContextStatements(reclaimableSnapshot);
 						}
-
-						// stale statement
-						statements.remove(i);
 					}
 				}
 			} finally {
-				stWriteLock.release();
+				txnLockManager.unlock();
 			}
 		}
 
+		// remove the stale statements from the main list in a single pass
+		txnLockManager.lockInterruptibly();
+		try {
+			statements.cleanSnapshots(reclaimableSnapshot);
+		} finally {
+			txnLockManager.unlock();
+		}
+
 		// long endTime = System.currentTimeMillis();
 		// System.out.println("cleanSnapshots() took " + (endTime - startTime) +
 		// " ms");
@@ -378,7 +390,7 @@ class MemorySailStore implements SailStore {
 		@Override
 		public MemorySailDataset dataset(IsolationLevel level) throws SailException {
 			if (level.isCompatibleWith(IsolationLevels.SNAPSHOT_READ)) {
-				return new MemorySailDataset(explicit, currentSnapshot);
+				return new MemorySailDataset(explicit, snapshotMonitor.reserve());
 			} else {
 				return new MemorySailDataset(explicit);
 			}
@@ -393,6 +405,12 @@ class MemorySailStore implements SailStore {
 
 		private final Lock txnStLock;
 
+		/**
+		 * Keeps the statements that are observable at the start of this transaction from being cleaned up, they are
+		 * needed to detect conflicts in {@link #prepare()}.
+		 */
+		private final Lock txnSnapshotReservation;
+
 		private volatile int nextSnapshot;
 
 		private volatile Set<StatementPattern> observations;
@@ -409,6 +427,7 @@ class MemorySailStore implements SailStore {
 				this.serializable = Integer.MAX_VALUE;
 			}
 			txnStLock = openStatementsReadLock();
+			txnSnapshotReservation = snapshotMonitor.reserve();
 		}
 
 		@Override
@@ -477,8 +496,12 @@ class MemorySailStore implements SailStore {
 					txnLockManager.unlock();
 				}
 			} finally {
-				if (txnStLock != null) {
-					txnStLock.release();
+				try {
+					if (txnStLock != null) {
+						txnStLock.release();
+					}
+				} finally {
+					txnSnapshotReservation.release();
 				}
 			}
 		}
@@ -649,16 +672,26 @@ class MemorySailStore implements SailStore {
 
 		private final Lock lock;
 
+		private final Lock snapshotReservation;
+
 		public MemorySailDataset(boolean explicit) throws SailException {
 			this.explicit = explicit;
 			this.snapshot = -1;
 			this.lock = null;
+			this.snapshotReservation = null;
 		}
 
-		public MemorySailDataset(boolean explicit, int snapshot) throws SailException {
+		public MemorySailDataset(boolean explicit, SnapshotMonitor.SnapshotReservation snapshotReservation)
+				throws SailException {
 			this.explicit = explicit;
-			this.snapshot = snapshot;
-			this.lock = openStatementsReadLock();
+			this.snapshot = snapshotReservation.getSnapshot();
+			this.snapshotReservation = snapshotReservation;
+			try {
+				this.lock = openStatementsReadLock();
+			} catch (SailException e) {
+				snapshotReservation.release();
+				throw e;
+			}
 		}
 
 		@Override
@@ -679,9 +712,15 @@ class MemorySailStore implements SailStore {
 
 		@Override
 		public void close() {
-			if (lock != null) {
-				// serializable read or higher isolation
-				lock.release();
+			try {
+				if (lock != null) {
+					// serializable read or higher isolation
+					lock.release();
+				}
+			} finally {
+				if (snapshotReservation != null) {
+					snapshotReservation.release();
+				}
 			}
 		}
 
@@ -707,9 +746,10 @@ class MemorySailStore implements SailStore {
 			ArrayList<MemResource> contextIDs = new ArrayList<>(32);
 
 			Lock stLock = openStatementsReadLock();
+			SnapshotMonitor.SnapshotReservation reservation = snapshotMonitor.reserve();
 			try {
 				synchronized (valueFactory) {
-					int snapshot = getCurrentSnapshot();
+					int snapshot = getCurrentSnapshot(reservation);
 					for (MemResource memResource : valueFactory.getMemURIs()) {
 						if (isContextResource(memResource, snapshot)) {
 							contextIDs.add(memResource);
@@ -723,7 +763,11 @@ class MemorySailStore implements SailStore {
 					}
 				}
 			} finally {
-				stLock.release();
+				try {
+					stLock.release();
+				} finally {
+					reservation.release();
+				}
 			}
 
 			return new CloseableIteratorIteration<>(contextIDs.iterator());
@@ -736,9 +780,11 @@ class MemorySailStore implements SailStore {
 			CloseableIteration<? extends Statement, SailException> stIter2 = null;
 			boolean allGood = false;
 			Lock stLock = openStatementsReadLock();
+			SnapshotMonitor.SnapshotReservation reservation = snapshotMonitor.reserve();
 			try {
-				stIter1 = createStatementIterator(subj, pred, obj, explicit, getCurrentSnapshot(), contexts);
-				stIter2 = new LockingIteration<Statement, SailException>(stLock, stIter1);
+				stIter1 = createStatementIterator(subj, pred, obj, explicit, getCurrentSnapshot(reservation), contexts);
+				stIter2 = new LockingIteration<Statement, SailException>(reservation,
+						new LockingIteration<Statement, SailException>(stLock, stIter1));
 				allGood = true;
 				return stIter2;
 			} finally {
@@ -747,12 +793,16 @@ class MemorySailStore implements SailStore {
 						stLock.release();
 					} finally {
 						try {
-							if (stIter2 != null) {
-								stIter2.close();
-							}
+							reservation.release();
 						} finally {
-							if (stIter1 != null) {
-								stIter1.close();
+							try {
+								if (stIter2 != null) {
+									stIter2.close();
+								}
+							} finally {
+								if (stIter1 != null) {
+									stIter1.close();
+								}
 							}
 						}
 					}
@@ -767,9 +817,11 @@ class MemorySailStore implements SailStore {
 			CloseableIteration<? extends Triple, SailException> stIter2 = null;
 			boolean allGood = false;
 			Lock stLock = openStatementsReadLock();
+			SnapshotMonitor.SnapshotReservation reservation = snapshotMonitor.reserve();
 			try {
-				stIter1 = createTripleIterator(subj, pred, obj, getCurrentSnapshot());
-				stIter2 = new LockingIteration<Triple, SailException>(stLock, stIter1);
+				stIter1 = createTripleIterator(subj, pred, obj, getCurrentSnapshot(reservation));
+				stIter2 = new LockingIteration<Triple, SailException>(reservation,
+						new LockingIteration<Triple, SailException>(stLock, stIter1));
 				allGood = true;
 				return stIter2;
 			} finally {
@@ -778,12 +830,16 @@ class MemorySailStore implements SailStore {
 						stLock.release();
 					} finally {
 						try {
-							if (stIter2 != null) {
-								stIter2.close();
-							}
+							reservation.release();
 						} finally {
-							if (stIter1 != null) {
-								stIter1.close();
+							try {
+								if (stIter2 != null) {
+									stIter2.close();
+								}
+							} finally {
+								if (stIter1 != null) {
+									stIter1.close();
+								}
 							}
 						}
 					}
@@ -791,11 +847,15 @@ class MemorySailStore implements SailStore {
 			}
 		}
 
-		private int getCurrentSnapshot() {
+		/**
+		 * Gets the snapshot to read, which is either the fixed snapshot of this dataset or the current snapshot as it
+		 * was reserved for a single operation.
+		 */
+		private int getCurrentSnapshot(SnapshotMonitor.SnapshotReservation reservation) {
 			if (snapshot >= 0) {
 				return snapshot;
 			} else {
-				return currentSnapshot;
+				return reservation.getSnapshot();
 			}
 		}
 
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.memory;
+
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
+
+import org.eclipse.rdf4j.common.concurrent.locks.Lock;
+
+/**
+ * Keeps track of the snapshots that are in use by readers and transactions of the {@link MemorySailStore}. Deprecated
+ * statements can only be removed from the statement lists once no active reader can observe them anymore, which is the
+ * case for all statements that were deprecated in or before {@link #getFirstSnapshotInUse()}.
+ */
+class SnapshotMonitor {
+
+	/**
+	 * Supplies the latest committed snapshot of the store.
+	 */
+	private final IntSupplier currentSnapshot;
+
+	/**
+	 * Number of active reservations per snapshot.
+	 */
+	private final TreeMap<Integer, Integer> reservations = new TreeMap<>();
+
+	SnapshotMonitor(IntSupplier currentSnapshot) {
+		this.currentSnapshot = currentSnapshot;
+	}
+
+	/**
+	 * Reserves the current snapshot, preventing statements that are visible in it from being cleaned up until the
+	 * returned reservation is released. Reading the current snapshot and registering it is a single atomic step with
+	 * respect to {@link #getFirstSnapshotInUse()}.
+	 *
+	 * @return a reservation of the current snapshot.
+	 */
+	synchronized SnapshotReservation reserve() {
+		int snapshot = currentSnapshot.getAsInt();
+		reservations.merge(snapshot, 1, Integer::sum);
+		return new SnapshotReservation(snapshot);
+	}
+
+	/**
+	 * Gets the oldest snapshot that is in use, or the current snapshot if no snapshot has been reserved. Statements
+	 * with a till-snapshot smaller than or equal to the returned value are not visible to any reader.
+	 *
+	 * @return the oldest snapshot that may still be read.
+	 */
+	synchronized int getFirstSnapshotInUse() {
+		int snapshot = currentSnapshot.getAsInt();
+		if (!reservations.isEmpty()) {
+			snapshot = Math.min(snapshot, reservations.firstKey());
+		}
+		return snapshot;
+	}
+
+	private synchronized void release(int snapshot) {
+		reservations.computeIfPresent(snapshot, (s, count) -> count == 1 ? null : count - 1);
+	}
+
+	/**
+	 * A reservation of a snapshot that is released exactly once.
+	 */
+	final class SnapshotReservation implements Lock {
+
+		private final int snapshot;
+
+		private boolean active = true;
+
+		private SnapshotReservation(int snapshot) {
+			this.snapshot = snapshot;
+		}
+
+		int getSnapshot() {
+			return snapshot;
+		}
+
+		@Override
+		public synchronized boolean isActive() {
+			return active;
+		}
+
+		@Override
+		public synchronized void release() {
+			if (active) {
+				active = false;
+				SnapshotMonitor.this.release(snapshot);
+			}
+		}
+	}
+}
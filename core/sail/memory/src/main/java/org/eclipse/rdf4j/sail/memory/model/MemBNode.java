@@ -71,19 +71,21 @@ public class MemBNode extends SimpleBNode implements MemResource {
 
 	@Override
 	public MemStatementList getSubjectStatementList() {
-		if (subjectStatements == null) {
+		MemStatementList statements = subjectStatements;
+		if (statements == null) {
 			return EMPTY_LIST;
 		} else {
-			return subjectStatements;
+			return statements;
 		}
 	}
 
 	@Override
 	public int getSubjectStatementCount() {
-		if (subjectStatements == null) {
+		MemStatementList statements = subjectStatements;
+		if (statements == null) {
 			return 0;
 		} else {
-			return subjectStatements.size();
+			return statements.size();
 		}
 	}
 
@@ -118,19 +120,21 @@ public class MemBNode extends SimpleBNode implements MemResource {
 
 	@Override
 	public MemStatementList getObjectStatementList() {
-		if (objectStatements == null) {
+		MemStatementList statements = objectStatements;
+		if (statements == null) {
 			return EMPTY_LIST;
 		} else {
-			return objectStatements;
+			return statements;
 		}
 	}
 
 	@Override
 	public int getObjectStatementCount() {
-		if (objectStatements == null) {
+		MemStatementList statements = objectStatements;
+		if (statements == null) {
 			return 0;
 		} else {
-			return objectStatements.size();
+			return statements.size();
 		}
 	}
 
@@ -165,19 +169,21 @@ public class MemBNode extends SimpleBNode implements MemResource {
 
 	@Override
 	public MemStatementList getContextStatementList() {
-		if (contextStatements == null) {
+		MemStatementList statements = contextStatements;
+		if (statements == null) {
 			return EMPTY_LIST;
 		} else {
-			return contextStatements;
+			return statements;
 		}
 	}
 
 	@Override
 	public int getContextStatementCount() {
-		if (contextStatements == null) {
+		MemStatementList statements = contextStatements;
+		if (statements == null) {
 			return 0;
 		} else {
-			return contextStatements.size();
+			return statements.size();
 		}
 	}
 
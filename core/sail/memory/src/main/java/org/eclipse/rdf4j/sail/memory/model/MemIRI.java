@@ -143,19 +143,21 @@ public class MemIRI implements IRI, MemResource {
 
 	@Override
 	public MemStatementList getSubjectStatementList() {
-		if (subjectStatements == null) {
+		MemStatementList statements = subjectStatements;
+		if (statements == null) {
 			return EMPTY_LIST;
 		} else {
-			return subjectStatements;
+			return statements;
 		}
 	}
 
 	@Override
 	public int getSubjectStatementCount() {
-		if (subjectStatements == null) {
+		MemStatementList statements = subjectStatements;
+		if (statements == null) {
 			return 0;
 		} else {
-			return subjectStatements.size();
+			return statements.size();
 		}
 	}
 
@@ -194,10 +196,11 @@ public class MemIRI implements IRI, MemResource {
 	 * @return a MemStatementList containing the statements.
 	 */
 	public MemStatementList getPredicateStatementList() {
-		if (predicateStatements == null) {
+		MemStatementList statements = predicateStatements;
+		if (statements == null) {
 			return EMPTY_LIST;
 		} else {
-			return predicateStatements;
+			return statements;
 		}
 	}
 
@@ -207,10 +210,11 @@ public class MemIRI implements IRI, MemResource {
 	 * @return An integer larger than or equal to 0.
 	 */
 	public int getPredicateStatementCount() {
-		if (predicateStatements == null) {
+		MemStatementList statements = predicateStatements;
+		if (statements == null) {
 			return 0;
 		} else {
-			return predicateStatements.size();
+			return statements.size();
 		}
 	}
 
@@ -254,19 +258,21 @@ public class MemIRI implements IRI, MemResource {
 
 	@Override
 	public MemStatementList getObjectStatementList() {
-		if (objectStatements == null) {
+		MemStatementList statements = objectStatements;
+		if (statements == null) {
 			return EMPTY_LIST;
 		} else {
-			return objectStatements;
+			return statements;
 		}
 	}
 
 	@Override
 	public int getObjectStatementCount() {
-		if (objectStatements == null) {
+		MemStatementList statements = objectStatements;
+		if (statements == null) {
 			return 0;
 		} else {
-			return objectStatements.size();
+			return statements.size();
 		}
 	}
 
@@ -299,19 +305,21 @@ public class MemIRI implements IRI, MemResource {
 
 	@Override
 	public MemStatementList getContextStatementList() {
-		if (contextStatements == null) {
+		MemStatementList statements = contextStatements;
+		if (statements == null) {
 			return EMPTY_LIST;
 		} else {
-			return contextStatements;
+			return statements;
 		}
 	}
 
 	@Override
 	public int getContextStatementCount() {
-		if (contextStatements == null) {
+		MemStatementList statements = contextStatements;
+		if (statements == null) {
 			return 0;
 		} else {
-			return contextStatements.size();
+			return statements.size();
 		}
 	}
 
@@ -89,19 +89,21 @@ public class MemLiteral extends SimpleLiteral implements MemValue {
 
 	@Override
 	public MemStatementList getObjectStatementList() {
-		if (objectStatements == null) {
+		MemStatementList statements = objectStatements;
+		if (statements == null) {
 			return EMPTY_LIST;
 		} else {
-			return objectStatements;
+			return statements;
 		}
 	}
 
 	@Override
 	public int getObjectStatementCount() {
-		if (objectStatements == null) {
+		MemStatementList statements = objectStatements;
+		if (statements == null) {
 			return 0;
 		} else {
-			return objectStatements.size();
+			return statements.size();
 		}
 	}
 
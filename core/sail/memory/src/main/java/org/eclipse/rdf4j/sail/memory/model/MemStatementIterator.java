@@ -22,9 +22,14 @@ public class MemStatementIterator<X extends Exception> extends LookAheadIteratio
 	 *-----------*/
 
 	/**
-	 * The lists of statements over which to iterate.
+	 * The statements over which to iterate, as captured from the list when this iterator was created.
 	 */
-	private final MemStatementList statementList;
+	private final MemStatement[] statements;
+
+	/**
+	 * The number of statements in the list when this iterator was created.
+	 */
+	private final int statementCount;
 
 	/**
 	 * The subject of statements to return, or null if any subject is OK.
@@ -79,7 +84,8 @@ public class MemStatementIterator<X extends Exception> extends LookAheadIteratio
 	 */
 	public MemStatementIterator(MemStatementList statementList, MemResource subject, MemIRI predicate, MemValue object,
 			Boolean explicit, int snapshot, MemResource... contexts) {
-		this.statementList = statementList;
+		this.statementCount = statementList.size();
+		this.statements = statementList.getStatements();
 		this.subject = subject;
 		this.predicate = predicate;
 		this.object = object;
@@ -104,8 +110,13 @@ public class MemStatementIterator<X extends Exception> extends LookAheadIteratio
 	protected MemStatement getNextElement() {
 		statementIdx++;
 
-		for (; statementIdx < statementList.size(); statementIdx++) {
-			MemStatement st = statementList.get(statementIdx);
+		int bound = Math.min(statementCount, statements.length);
+		for (; statementIdx < bound; statementIdx++) {
+			MemStatement st = statements[statementIdx];
+			if (st == null) {
+				// the list has been compacted concurrently, the captured array holds no further statements
+				break;
+			}
 
 			if (isInSnapshot(st) && (subject == null || subject == st.getSubject())
 					&& (predicate == null || predicate == st.getPredicate())
@@ -12,6 +12,11 @@ import java.util.Arrays;
 /**
  * A dedicated data structure for storing MemStatement objects, offering operations optimized for their use in the
  * memory Sail.
+ * <p>
+ * Statements are only ever appended to the backing array in-place. Removals never modify an array that has been
+ * published to readers, instead a compacted copy is created and published. This means that readers can safely iterate
+ * over the array returned by {@link #getStatements()} without any locking, while statements are concurrently added to
+ * or cleaned up from this list.
  */
 public class MemStatementList {
 
@@ -63,7 +68,18 @@ public class MemStatementList {
 		return statements[index];
 	}
 
-	public void add(MemStatement st) {
+	/**
+	 * Gets the array that currently backs this list. The array is never modified by removals from this list, which
+	 * makes it safe to iterate over while other threads modify the list. Elements at indexes larger than or equal to
+	 * {@link #size()} are <tt>null</tt> and statements that are added concurrently may or may not be visible.
+	 *
+	 * @return the backing array of this list, which may contain trailing <tt>null</tt> elements.
+	 */
+	public MemStatement[] getStatements() {
+		return statements;
+	}
+
+	public synchronized void add(MemStatement st) {
 		if (size == statements.length) {
 			// Grow array
 			growArray((size == 0) ? 1 : 2 * size);
@@ -73,34 +89,30 @@ public class MemStatementList {
 		++size;
 	}
 
-	public void addAll(MemStatementList other) {
-		if (size + other.size >= statements.length) {
+	public synchronized void addAll(MemStatementList other) {
+		MemStatement[] otherStatements = other.statements;
+		int otherSize = Math.min(other.size, otherStatements.length);
+
+		if (size + otherSize >= statements.length) {
 			// Grow array
-			growArray(size + other.size);
+			growArray(size + otherSize);
 		}
 
-		System.arraycopy(other.statements, 0, statements, size, other.size);
-		size += other.size;
+		System.arraycopy(otherStatements, 0, statements, size, otherSize);
+		size += otherSize;
 	}
 
-	public void remove(int index) {
+	public synchronized void remove(int index) {
 		assert index >= 0 : "index < 0";
 		assert index < size : "index >= size";
 
-		if (index == size - 1) {
-			// Last statement in array
-			statements[index] = null;
-			--size;
-		} else {
-			// Not last statement in array, move last
-			// statement over the one at [index]
-			--size;
-			statements[index] = statements[size];
-			statements[size] = null;
-		}
+		MemStatement[] newArray = new MemStatement[statements.length];
+		System.arraycopy(statements, 0, newArray, 0, index);
+		System.arraycopy(statements, index + 1, newArray, index, size - index - 1);
+		publish(newArray, size - 1);
 	}
 
-	public void remove(MemStatement st) {
+	public synchronized void remove(MemStatement st) {
 		for (int i = 0; i < size; ++i) {
 			if (statements[i] == st) {
 				remove(i);
@@ -109,34 +121,39 @@ public class MemStatementList {
 		}
 	}
 
-	public void clear() {
-		Arrays.fill(statements, 0, size, null);
-		size = 0;
+	public synchronized void clear() {
+		publish(new MemStatement[statements.length], 0);
 	}
 
-	public void cleanSnapshots(int currentSnapshot) {
-		int i = size - 1;
-
-		// remove all deprecated statements from the end of the list
-		for (; i >= 0; i--) {
+	/**
+	 * Removes all statements that have been deprecated in or before the specified snapshot from this list. The
+	 * remaining statements keep their relative order.
+	 *
+	 * @param currentSnapshot the highest snapshot for which statements that have been deprecated can be removed.
+	 */
+	public synchronized void cleanSnapshots(int currentSnapshot) {
+		int deprecatedCount = 0;
+		for (int i = 0; i < size; i++) {
 			if (statements[i].getTillSnapshot() <= currentSnapshot) {
-				--size;
-				statements[i] = null;
-			} else {
-				i--;
-				break;
+				deprecatedCount++;
 			}
 		}
 
-		// remove all deprecated statements that are not at the end of the list
-		for (; i >= 0; i--) {
-			if (statements[i].getTillSnapshot() <= currentSnapshot) {
-				// replace statement with last statement in the list
-				--size;
-				statements[i] = statements[size];
-				statements[size] = null;
+		if (deprecatedCount == 0) {
+			return;
+		}
+
+		int newSize = size - deprecatedCount;
+		MemStatement[] newArray = new MemStatement[Math.max(newSize, 4)];
+		int j = 0;
+		for (int i = 0; i < size; i++) {
+			MemStatement st = statements[i];
+			if (st.getTillSnapshot() > currentSnapshot) {
+				newArray[j++] = st;
 			}
 		}
+
+		publish(newArray, newSize);
 	}
 
 	private void growArray(int newSize) {
@@ -144,4 +161,13 @@ public class MemStatementList {
 		System.arraycopy(statements, 0, newArray, 0, size);
 		statements = newArray;
 	}
+
+	/**
+	 * Replaces the backing array. The array is published before the size, so that a reader that observes the new size
+	 * also observes the new array.
+	 */
+	private void publish(MemStatement[] newArray, int newSize) {
+		statements = newArray;
+		size = newSize;
+	}
 }
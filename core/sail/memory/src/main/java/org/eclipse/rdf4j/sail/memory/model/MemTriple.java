@@ -79,10 +79,11 @@ public class MemTriple implements Triple, MemResource {
 
 	@Override
 	public MemStatementList getObjectStatementList() {
-		if (objectStatements == null) {
+		MemStatementList statements = objectStatements;
+		if (statements == null) {
 			return EMPTY_LIST;
 		}
-		return objectStatements;
+		return statements;
 	}
 
 	@Override
@@ -121,10 +122,11 @@ public class MemTriple implements Triple, MemResource {
 
 	@Override
 	public MemStatementList getSubjectStatementList() {
-		if (subjectStatements == null) {
+		MemStatementList statements = subjectStatements;
+		if (statements == null) {
 			return EMPTY_LIST;
 		}
-		return subjectStatements;
+		return statements;
 	}
 
 	@Override
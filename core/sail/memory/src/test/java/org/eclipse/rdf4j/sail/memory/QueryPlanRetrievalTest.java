@@ -202,6 +202,26 @@ public class QueryPlanRetrievalTest {
 
 	}
 
+	@Test
+	public void testTupleQueryTimedCpuTime() {
+		SailRepository sailRepository = new SailRepository(new MemoryStore());
+		addData(sailRepository);
+
+		try (SailRepositoryConnection connection = sailRepository.getConnection()) {
+			TupleQuery query = connection.prepareTupleQuery(TUPLE_QUERY);
+
+			GenericPlanNode genericPlanNode = query.explain(Explanation.Level.Timed).toGenericPlanNode();
+
+			GenericPlanNode leftJoin = genericPlanNode.getPlans().get(1);
+			assertEquals("LeftJoin", leftJoin.getType());
+			assertThat(leftJoin.getCpuTimeActual()).isNotNull().isGreaterThan(0);
+
+			assertThat(genericPlanNode.toString()).contains("cpuTimeActual");
+		}
+		sailRepository.shutDown();
+
+	}
+
 	@Test
 	public void testTupleQueryExecuted() {
 		SailRepository sailRepository = new SailRepository(new MemoryStore());
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.memory.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MemStatementList}.
+ */
+public class MemStatementListTest {
+
+	private MemStatementList list;
+
+	private MemStatement st1, st2, st3;
+
+	@Before
+	public void setUp() throws Exception {
+		MemIRI subject = new MemIRI(this, "foo:", "s");
+		MemIRI predicate = new MemIRI(this, "foo:", "p");
+
+		st1 = new MemStatement(subject, predicate, new MemIRI(this, "foo:", "o1"), null, 1);
+		st2 = new MemStatement(subject, predicate, new MemIRI(this, "foo:", "o2"), null, 1);
+		st3 = new MemStatement(subject, predicate, new MemIRI(this, "foo:", "o3"), null, 1);
+
+		list = new MemStatementList(2);
+		list.add(st1);
+		list.add(st2);
+		list.add(st3);
+	}
+
+	@Test
+	public void testCleanSnapshotsKeepsOrder() {
+		st2.setTillSnapshot(2);
+
+		list.cleanSnapshots(2);
+
+		assertThat(list.size()).isEqualTo(2);
+		assertThat(list.get(0)).isSameAs(st1);
+		assertThat(list.get(1)).isSameAs(st3);
+	}
+
+	@Test
+	public void testCleanSnapshotsIgnoresNewerDeprecations() {
+		st2.setTillSnapshot(3);
+
+		list.cleanSnapshots(2);
+
+		assertThat(list.size()).isEqualTo(3);
+	}
+
+	@Test
+	public void testCleanSnapshotsDoesNotModifyPublishedArray() {
+		MemStatement[] published = list.getStatements();
+		MemStatement[] copy = Arrays.copyOf(published, published.length);
+
+		st1.setTillSnapshot(2);
+		st3.setTillSnapshot(2);
+		list.cleanSnapshots(2);
+
+		assertThat(published).containsExactly(copy);
+		assertThat(list.size()).isEqualTo(1);
+		assertThat(list.getStatements()[0]).isSameAs(st2);
+	}
+
+	@Test
+	public void testRemoveDoesNotModifyPublishedArray() {
+		MemStatement[] published = list.getStatements();
+		MemStatement[] copy = Arrays.copyOf(published, published.length);
+
+		list.remove(st1);
+
+		assertThat(published).containsExactly(copy);
+		assertThat(list.size()).isEqualTo(2);
+		assertThat(list.get(0)).isSameAs(st2);
+		assertThat(list.get(1)).isSameAs(st3);
+	}
+
+	@Test
+	public void testIteratorUsesCapturedStatements() {
+		MemStatementIterator<RuntimeException> iter = new MemStatementIterator<>(list, null, null, null, null, 1);
+
+		assertThat(iter.next()).isSameAs(st1);
+
+		st2.setTillSnapshot(2);
+		st3.setTillSnapshot(2);
+		list.cleanSnapshots(2);
+
+		// the iterator keeps reading the array that was published when it was created
+		assertThat(iter.hasNext()).isTrue();
+		assertThat(iter.next()).isSameAs(st2);
+		assertThat(iter.next()).isSameAs(st3);
+		assertThat(iter.hasNext()).isFalse();
+	}
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.memory.model;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+/**
+ * Reads the statement lists of memory values while another thread removes deprecated statements from them.
+ */
+public class MemValueConcurrencyTest {
+
+	private static final int READS = 10_000_000;
+
+	private final MemIRI subject = new MemIRI(this, "urn:", "s");
+
+	private final MemIRI predicate = new MemIRI(this, "urn:", "p");
+
+	private final MemIRI object = new MemIRI(this, "urn:", "o");
+
+	@Test
+	public void testIRI() throws Exception {
+		MemStatement st = new MemStatement(subject, predicate, object, null, 0);
+		assertReadsDuringCleanup(subject::addSubjectStatement, subject::cleanSnapshotsFromSubjectStatements,
+				subject::getSubjectStatementList, subject::getSubjectStatementCount, st);
+		assertReadsDuringCleanup(predicate::addPredicateStatement, predicate::cleanSnapshotsFromPredicateStatements,
+				predicate::getPredicateStatementList, predicate::getPredicateStatementCount, st);
+		assertReadsDuringCleanup(object::addObjectStatement, object::cleanSnapshotsFromObjectStatements,
+				object::getObjectStatementList, object::getObjectStatementCount, st);
+	}
+
+	@Test
+	public void testBNode() throws Exception {
+		MemBNode bnode = new MemBNode(this, "b");
+		MemStatement st = new MemStatement(bnode, predicate, bnode, bnode, 0);
+		assertReadsDuringCleanup(bnode::addSubjectStatement, bnode::cleanSnapshotsFromSubjectStatements,
+				bnode::getSubjectStatementList, bnode::getSubjectStatementCount, st);
+		assertReadsDuringCleanup(bnode::addContextStatement, bnode::cleanSnapshotsFromContextStatements,
+				bnode::getContextStatementList, bnode::getContextStatementCount, st);
+	}
+
+	@Test
+	public void testLiteral() throws Exception {
+		MemLiteral literal = new MemLiteral(this, "o");
+		MemStatement st = new MemStatement(subject, predicate, literal, null, 0);
+		assertReadsDuringCleanup(literal::addObjectStatement, literal::cleanSnapshotsFromObjectStatements,
+				literal::getObjectStatementList, literal::getObjectStatementCount, st);
+	}
+
+	@Test
+	public void testTriple() throws Exception {
+		MemTriple triple = new MemTriple(this, subject, predicate, object);
+		MemStatement st = new MemStatement(triple, predicate, triple, null, 0);
+		assertReadsDuringCleanup(triple::addSubjectStatement, triple::cleanSnapshotsFromSubjectStatements,
+				triple::getSubjectStatementList, triple::getSubjectStatementCount, st);
+		assertReadsDuringCleanup(triple::addObjectStatement, triple::cleanSnapshotsFromObjectStatements,
+				triple::getObjectStatementList, triple::getObjectStatementCount, st);
+	}
+
+	private void assertReadsDuringCleanup(Consumer<MemStatement> add, IntConsumer cleanup,
+			Supplier<MemStatementList> list, Supplier<Integer> count, MemStatement st) throws Exception {
+		st.setTillSnapshot(1);
+		AtomicBoolean done = new AtomicBoolean();
+		CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+			while (!done.get()) {
+				add.accept(st);
+				// the statement is deprecated, so the list becomes empty and is dropped
+				cleanup.accept(1);
+			}
+		});
+		try {
+			for (int i = 0; i < READS; i++) {
+				assertNotNull(list.get());
+				count.get();
+			}
+		} finally {
+			done.set(true);
+			writer.get(10, TimeUnit.SECONDS);
+		}
+	}
+}
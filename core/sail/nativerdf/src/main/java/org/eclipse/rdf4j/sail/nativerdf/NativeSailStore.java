@@ -152,6 +152,35 @@ class NativeSailStore implements SailStore {
 		return new NativeSailSource(false);
 	}
 
+	/**
+	 * Adds a triple index while the store remains available, see {@link TripleStore#addIndex(String)}.
+	 */
+	void addTripleIndex(String fieldSeq) throws SailException {
+		try {
+			tripleStore.addIndex(fieldSeq);
+		} catch (IOException e) {
+			throw new SailException(e);
+		}
+	}
+
+	/**
+	 * Removes a triple index while the store remains available, see {@link TripleStore#removeIndex(String)}.
+	 */
+	void removeTripleIndex(String fieldSeq) throws SailException {
+		try {
+			tripleStore.removeIndex(fieldSeq);
+		} catch (IOException e) {
+			throw new SailException(e);
+		}
+	}
+
+	/**
+	 * Returns the triple indexes that are currently used by the store, e.g. <tt>spoc,posc</tt>.
+	 */
+	String getTripleIndexes() {
+		return tripleStore.getIndexSpecStr();
+	}
+
 	List<Integer> getContextIDs(Resource... contexts) throws IOException {
 		assert contexts.length > 0 : "contexts must not be empty";
 
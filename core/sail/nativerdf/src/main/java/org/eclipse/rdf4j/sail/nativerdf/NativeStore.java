@@ -52,7 +52,7 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 	 * Variables *
 	 *-----------*/
 
-	private static final String VERSION = MavenUtil.loadVersion("org.eclipse.rdf4j", "rdf4j-sail-nativerdf", "devel");
+	static final String VERSION = MavenUtil.loadVersion("org.eclipse.rdf4j", "rdf4j-sail-nativerdf", "devel");
 
 	/**
 	 * Specifies which triple indexes this native store must use.
@@ -75,6 +75,11 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 
 	private SailStore store;
 
+	/**
+	 * The store that holds the data of this sail, used to change its triple indexes at runtime.
+	 */
+	private volatile NativeSailStore mainStore;
+
 	// used to decide if store is writable, is true if the store was writable during initialization
 	private boolean isWritable;
 
@@ -151,6 +156,46 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 		return tripleIndexes;
 	}
 
+	/**
+	 * Adds a triple index to the initialized native store, e.g. <tt>opsc</tt>. The index is built from the existing
+	 * statements while the store remains available for reading and writing, and queries only start using it once it is
+	 * complete. This method blocks until the index has been built. The change is persisted, but a store that is
+	 * initialized with a different set of {@link #setTripleIndexes(String) triple indexes} is reindexed on startup, so
+	 * the configuration of the store should be updated as well.
+	 *
+	 * @param fieldSeq The field sequence of the new index.
+	 * @throws SailException If the store has not been initialized, if the index specification is invalid or if the
+	 *                       store already has the index.
+	 */
+	public void addTripleIndex(String fieldSeq) throws SailException {
+		NativeSailStore nativeStore = getMainStore();
+		nativeStore.addTripleIndex(fieldSeq);
+		tripleIndexes = nativeStore.getTripleIndexes();
+	}
+
+	/**
+	 * Removes a triple index from the initialized native store. Queries that are reading from the index are not
+	 * affected, its files are deleted once they have been closed.
+	 *
+	 * @param fieldSeq The field sequence of the index, e.g. <tt>opsc</tt>.
+	 * @throws SailException If the store has not been initialized, if the store doesn't have the index or if it is the
+	 *                       only index of the store.
+	 * @see #addTripleIndex(String)
+	 */
+	public void removeTripleIndex(String fieldSeq) throws SailException {
+		NativeSailStore nativeStore = getMainStore();
+		nativeStore.removeTripleIndex(fieldSeq);
+		tripleIndexes = nativeStore.getTripleIndexes();
+	}
+
+	private NativeSailStore getMainStore() throws SailException {
+		NativeSailStore nativeStore = mainStore;
+		if (nativeStore == null) {
+			throw new SailException("NativeStore has not been initialized");
+		}
+		return nativeStore;
+	}
+
 	/**
 	 * Specifiec whether updates should be synced to disk forcefully, must be called before initialization. Enabling
 	 * this feature may prevent corruption in case of events like power loss, but can have a severe impact on write
@@ -264,6 +309,7 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 			}
 			final NativeSailStore mainStore = new NativeSailStore(dataDir, tripleIndexes, forceSync, valueCacheSize,
 					valueIDCacheSize, namespaceCacheSize, namespaceIDCacheSize);
+			this.mainStore = mainStore;
 			this.store = new SnapshotSailStore(mainStore, () -> new MemoryOverflowModel() {
 
 				@Override
@@ -310,6 +356,7 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 		logger.debug("Shutting down NativeStore...");
 
 		try {
+			mainStore = null;
 			store.close();
 
 			logger.debug("NativeStore shut down");
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.rdf4j.common.concurrent.locks.Lock;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.helpers.DirectoryLockManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads large amounts of RDF data into a new {@link NativeStore} data directory without going through a
+ * {@link NativeStore} and its transactions. Values are written to the value store as they are received, while the
+ * ID-encoded statements are sorted externally for each triple index. When the loader is closed, the triple indexes are
+ * built bottom-up from the sorted statements, which is considerably faster than inserting the statements one by one.
+ * <p>
+ * The data directory is locked while the loader is active and must not contain any statements, otherwise a
+ * {@link StoreNotEmptyException} is thrown. Statements are added as explicit statements and duplicates are ignored. The
+ * data is only usable once {@link #close()} has completed successfully, after which the directory can be opened by a
+ * {@link NativeStore} using the same triple indexes.
+ *
+ * <pre>
+ * try (NativeStoreBulkLoader loader = new NativeStoreBulkLoader(dataDir, "spoc,posc")) {
+ * 	RDFParser parser = Rio.createParser(RDFFormat.NTRIPLES);
+ * 	parser.setRDFHandler(loader);
+ * 	parser.parse(in, baseURI);
+ * }
+ * </pre>
+ */
+public class NativeStoreBulkLoader extends AbstractRDFHandler implements Closeable {
+
+	/**
+	 * The default maximum number of statements that are sorted in memory for each triple index.
+	 */
+	public static final int DEFAULT_MAX_RECORDS_IN_MEMORY = 1_000_000;
+
+	private static final Logger logger = LoggerFactory.getLogger(NativeStoreBulkLoader.class);
+
+	private final File dataDir;
+
+	private final Lock dirLock;
+
+	private ValueStore valueStore;
+
+	private NamespaceStore namespaceStore;
+
+	private TripleStore tripleStore;
+
+	private long statementCount;
+
+	private boolean closed;
+
+	/**
+	 * Creates a new bulk loader that uses the default triple indexes.
+	 *
+	 * @param dataDir The data directory of the native store.
+	 */
+	public NativeStoreBulkLoader(File dataDir) throws IOException {
+		this(dataDir, null);
+	}
+
+	/**
+	 * Creates a new bulk loader.
+	 *
+	 * @param dataDir       The data directory of the native store.
+	 * @param tripleIndexes The triple indexes to build, e.g. <tt>spoc,posc</tt>, or <tt>null</tt> to use the default
+	 *                      indexes.
+	 */
+	public NativeStoreBulkLoader(File dataDir, String tripleIndexes) throws IOException {
+		this(dataDir, tripleIndexes, DEFAULT_MAX_RECORDS_IN_MEMORY);
+	}
+
+	/**
+	 * Creates a new bulk loader.
+	 *
+	 * @param dataDir            The data directory of the native store.
+	 * @param tripleIndexes      The triple indexes to build, e.g. <tt>spoc,posc</tt>, or <tt>null</tt> to use the
+	 *                           default indexes.
+	 * @param maxRecordsInMemory The maximum number of statements that are sorted in memory for each triple index before
+	 *                           they are written to a temporary file.
+	 */
+	public NativeStoreBulkLoader(File dataDir, String tripleIndexes, int maxRecordsInMemory) throws IOException {
+		if (!dataDir.exists() && !dataDir.mkdirs()) {
+			throw new IOException("Unable to create data directory: " + dataDir);
+		} else if (!dataDir.isDirectory()) {
+			throw new IOException("The specified path does not denote a directory: " + dataDir);
+		}
+
+		this.dataDir = dataDir;
+		this.dirLock = new DirectoryLockManager(dataDir).lockOrFail();
+
+		boolean initialized = false;
+		try {
+			namespaceStore = new NamespaceStore(dataDir);
+			valueStore = new ValueStore(dataDir);
+			tripleStore = new TripleStore(dataDir, tripleIndexes == null ? "" : tripleIndexes);
+			tripleStore.startBulkLoad(maxRecordsInMemory);
+			initialized = true;
+		} catch (SailException e) {
+			throw new IOException(e);
+		} finally {
+			if (!initialized) {
+				closeStores();
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of statements that have been added to this loader, including duplicates.
+	 */
+	public long getStatementCount() {
+		return statementCount;
+	}
+
+	@Override
+	public void handleNamespace(String prefix, String uri) throws RDFHandlerException {
+		namespaceStore.setNamespace(prefix, uri);
+	}
+
+	@Override
+	public void handleStatement(Statement st) throws RDFHandlerException {
+		try {
+			add(st.getSubject(), st.getPredicate(), st.getObject(), st.getContext());
+		} catch (IOException e) {
+			throw new RDFHandlerException(e);
+		}
+	}
+
+	/**
+	 * Adds a statement to the store.
+	 *
+	 * @param subj    The subject of the statement.
+	 * @param pred    The predicate of the statement.
+	 * @param obj     The object of the statement.
+	 * @param context The context of the statement, or <tt>null</tt> for the default graph.
+	 */
+	public void add(Resource subj, IRI pred, Value obj, Resource context) throws IOException {
+		if (closed) {
+			throw new IllegalStateException("Bulk loader has been closed");
+		}
+
+		int subjID = valueStore.storeValue(subj);
+		int predID = valueStore.storeValue(pred);
+		int objID = valueStore.storeValue(obj);
+		int contextID = context == null ? 0 : valueStore.storeValue(context);
+
+		tripleStore.bulkLoadTriple(subjID, predID, objID, contextID);
+
+		if (++statementCount % 10_000_000 == 0) {
+			logger.info("Bulk loader received {} statements", statementCount);
+		}
+	}
+
+	/**
+	 * Builds the triple indexes and closes the store files. The context index is created the first time the data
+	 * directory is opened by a {@link NativeStore}.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		try {
+			valueStore.sync();
+			namespaceStore.sync();
+
+			logger.info("Building triple indexes for {} statements", statementCount);
+			tripleStore.finishBulkLoad();
+
+			// mark the store as up to date so that no upgrade check is triggered
+			FileUtils.writeStringToFile(new File(dataDir, "nativerdf.ver"), NativeStore.VERSION);
+		} finally {
+			closeStores();
+		}
+	}
+
+	private void closeStores() throws IOException {
+		try {
+			if (namespaceStore != null) {
+				namespaceStore.close();
+			}
+		} finally {
+			try {
+				if (valueStore != null) {
+					valueStore.close();
+				}
+			} finally {
+				try {
+					if (tripleStore != null) {
+						tripleStore.close();
+					}
+				} finally {
+					dirLock.release();
+				}
+			}
+		}
+	}
+}
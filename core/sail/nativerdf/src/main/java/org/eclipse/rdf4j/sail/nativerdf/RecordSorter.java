@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.eclipse.rdf4j.sail.nativerdf.btree.RecordIterator;
+
+/**
+ * An external merge sort for fixed size byte array records. Records are collected in memory until a configurable number
+ * of records has been reached, at which point they are sorted and written to a temporary run file. The sorted records
+ * are obtained by merging all runs. At most a limited number of runs is merged at once, so that the number of open
+ * files and read buffers stays bounded: when there are more runs, they are first merged into fewer, larger runs in
+ * intermediate passes. Duplicate records, as determined by the comparator, are only returned once. The temporary files
+ * are deleted upon calling {@link #close()}.
+ */
+class RecordSorter implements Closeable {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private static final int DEFAULT_MAX_MERGE_FAN_IN = 64;
+
+	private final File tmpDir;
+
+	private final int recordSize;
+
+	private final Comparator<byte[]> comparator;
+
+	private final byte[][] records;
+
+	private final int maxMergeFanIn;
+
+	private int recordCount;
+
+	private final List<File> runs = new ArrayList<>();
+
+	private final List<Run> openRuns = new ArrayList<>();
+
+	/**
+	 * @param tmpDir             The directory to store the run files in.
+	 * @param recordSize         The size of each record.
+	 * @param comparator         The comparator that determines the sort order.
+	 * @param maxRecordsInMemory The maximum number of records that is sorted in memory.
+	 */
+	public RecordSorter(File tmpDir, int recordSize, Comparator<byte[]> comparator, int maxRecordsInMemory) {
+		this(tmpDir, recordSize, comparator, maxRecordsInMemory, DEFAULT_MAX_MERGE_FAN_IN);
+	}
+
+	/**
+	 * @param tmpDir             The directory to store the run files in.
+	 * @param recordSize         The size of each record.
+	 * @param comparator         The comparator that determines the sort order.
+	 * @param maxRecordsInMemory The maximum number of records that is sorted in memory.
+	 * @param maxMergeFanIn      The maximum number of runs that is merged at once.
+	 */
+	RecordSorter(File tmpDir, int recordSize, Comparator<byte[]> comparator, int maxRecordsInMemory,
+			int maxMergeFanIn) {
+		if (maxRecordsInMemory <= 0) {
+			throw new IllegalArgumentException("maxRecordsInMemory must be larger than 0");
+		}
+		if (maxMergeFanIn < 2) {
+			throw new IllegalArgumentException("maxMergeFanIn must be at least 2");
+		}
+		this.tmpDir = tmpDir;
+		this.recordSize = recordSize;
+		this.comparator = comparator;
+		this.records = new byte[maxRecordsInMemory][];
+		this.maxMergeFanIn = maxMergeFanIn;
+	}
+
+	/**
+	 * Adds a record to the sorter. The record is not copied and must not be modified afterwards.
+	 */
+	public void add(byte[] record) throws IOException {
+		if (recordCount == records.length) {
+			writeRun();
+		}
+		records[recordCount++] = record;
+	}
+
+	/**
+	 * Returns an iterator over all added records in sorted order. No more records can be added once this method has
+	 * been called.
+	 */
+	public RecordIterator iterator() throws IOException {
+		Arrays.sort(records, 0, recordCount, comparator);
+
+		// the in-memory records form one more run in the final merge
+		while (runs.size() + 1 > maxMergeFanIn) {
+			mergeRuns(runs.subList(0, maxMergeFanIn));
+		}
+
+		List<Run> finalRuns = new ArrayList<>(runs.size() + 1);
+		finalRuns.add(new Run(recordCount));
+		for (File runFile : runs) {
+			Run run = new Run(runFile);
+			openRuns.add(run);
+			finalRuns.add(run);
+		}
+		Merge merge = new Merge(finalRuns);
+
+		return new RecordIterator() {
+
+			@Override
+			public byte[] next() throws IOException {
+				return merge.next();
+			}
+
+			@Override
+			public void set(byte[] record) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void close() throws IOException {
+				RecordSorter.this.close();
+			}
+		};
+	}
+
+	/**
+	 * Deletes all temporary files.
+	 */
+	@Override
+	public void close() throws IOException {
+		for (Run run : openRuns) {
+			run.close();
+		}
+		openRuns.clear();
+		for (File run : runs) {
+			run.delete();
+		}
+		runs.clear();
+	}
+
+	/**
+	 * Replaces the supplied run files with a single run file that contains their merged records.
+	 */
+	private void mergeRuns(List<File> runFiles) throws IOException {
+		File mergedFile = File.createTempFile("sort", ".run", tmpDir);
+		List<Run> merged = new ArrayList<>(runFiles.size());
+		try {
+			for (File runFile : runFiles) {
+				merged.add(new Run(runFile));
+			}
+			Merge merge = new Merge(merged);
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(mergedFile), BUFFER_SIZE)) {
+				byte[] record;
+				while ((record = merge.next()) != null) {
+					out.write(record);
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			mergedFile.delete();
+			throw e;
+		} finally {
+			for (Run run : merged) {
+				run.close();
+			}
+		}
+
+		for (File runFile : runFiles) {
+			runFile.delete();
+		}
+		runFiles.clear();
+		runs.add(mergedFile);
+	}
+
+	private void writeRun() throws IOException {
+		Arrays.sort(records, 0, recordCount, comparator);
+
+		File runFile = File.createTempFile("sort", ".run", tmpDir);
+		runs.add(runFile);
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(runFile), BUFFER_SIZE)) {
+			for (int i = 0; i < recordCount; i++) {
+				out.write(records[i]);
+			}
+		}
+
+		Arrays.fill(records, 0, recordCount, null);
+		recordCount = 0;
+	}
+
+	/**
+	 * Merges sorted runs into a single sorted sequence without duplicates.
+	 */
+	private class Merge {
+
+		private final PriorityQueue<Run> queue;
+
+		private byte[] previous;
+
+		Merge(List<Run> runs) throws IOException {
+			queue = new PriorityQueue<>(runs.size(), (run1, run2) -> comparator.compare(run1.current, run2.current));
+			for (Run run : runs) {
+				if (run.advance()) {
+					queue.add(run);
+				}
+			}
+		}
+
+		byte[] next() throws IOException {
+			while (!queue.isEmpty()) {
+				Run run = queue.poll();
+				byte[] record = run.current;
+				if (run.advance()) {
+					queue.add(run);
+				}
+
+				if (previous == null || comparator.compare(previous, record) != 0) {
+					previous = record;
+					return record;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * A sorted sequence of records, either read from a run file or from the in-memory records.
+	 */
+	private class Run implements Closeable {
+
+		private final DataInputStream in;
+
+		private final int size;
+
+		private int position;
+
+		private byte[] current;
+
+		Run(File runFile) throws IOException {
+			this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(runFile), BUFFER_SIZE));
+			this.size = -1;
+		}
+
+		Run(int size) {
+			this.in = null;
+			this.size = size;
+		}
+
+		boolean advance() throws IOException {
+			if (in == null) {
+				current = position < size ? records[position++] : null;
+			} else {
+				byte[] record = new byte[recordSize];
+				try {
+					in.readFully(record);
+					current = record;
+				} catch (EOFException e) {
+					current = null;
+				}
+			}
+			return current != null;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (in != null) {
+				in.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,21 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+/**
+ * Indicates that a {@link NativeStoreBulkLoader} can not load data into a data directory because it already contains
+ * statements.
+ */
+public class StoreNotEmptyException extends IllegalStateException {
+
+	private static final long serialVersionUID = 4528364211092761052L;
+
+	public StoreNotEmptyException(String message) {
+		super(message);
+	}
+}
@@ -16,6 +16,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -23,6 +24,11 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.rdf4j.common.io.ByteArrayUtil;
 import org.eclipse.rdf4j.sail.SailException;
@@ -118,6 +124,18 @@ class TripleStore implements Closeable {
 	 */
 	static final byte TOGGLE_EXPLICIT_FLAG = (byte) 0x8; // 0000 1000
 
+	/**
+	 * The maximum number of records that are buffered for the secondary indexes before they are written to their
+	 * BTrees.
+	 */
+	private static final int MAX_PENDING_RECORDS = 8192;
+
+	/**
+	 * The number of records that is copied to a new index while holding the index write lock, see
+	 * {@link #addIndex(String)}.
+	 */
+	private static final int INDEX_BUILD_BATCH_SIZE = 10_000;
+
 	/*-----------*
 	 * Variables *
 	 *-----------*/
@@ -135,9 +153,25 @@ class TripleStore implements Closeable {
 	private final Properties properties;
 
 	/**
-	 * The list of triple indexes that are used to store and retrieve triples.
+	 * The list of triple indexes that are used to store and retrieve triples. Once the store has been initialized, the
+	 * list is never modified but replaced as a whole while holding the {@link #indexWriteLock}, so that readers can
+	 * iterate over it without locking. Indexes that are still being built receive all updates but are not used for
+	 * reading.
+	 */
+	private volatile List<TripleIndex> indexes = new ArrayList<>();
+
+	/**
+	 * Lock that serializes modifications of the indexes with changes to the set of indexes. Only writers obtain this
+	 * lock, readers are not affected by it.
+	 */
+	private final ReentrantLock indexWriteLock = new ReentrantLock();
+
+	/**
+	 * Monitor that prevents concurrent executions of {@link #addIndex(String)} and {@link #removeIndex(String)}.
 	 */
-	private final List<TripleIndex> indexes = new ArrayList<>();
+	private final Object indexChangeMonitor = new Object();
+
+	private volatile boolean closed;
 
 	private final boolean forceSync;
 
@@ -145,6 +179,25 @@ class TripleStore implements Closeable {
 
 	private volatile RecordCache updatedTriplesCache;
 
+	/**
+	 * Records that have been written to the first index but not yet to the other indexes. The first index is always
+	 * updated immediately because {@link #storeTriple(int, int, int, int, boolean)} uses it to look up existing
+	 * records. The other indexes receive these records in batches, sorted in their own field order, see
+	 * {@link #flushPendingRecords()}. Access is guarded by the list's monitor.
+	 */
+	private final List<byte[]> pendingRecords = new ArrayList<>();
+
+	/**
+	 * Executor used to update the indexes in parallel, lazily created by {@link #getIndexExecutor()}.
+	 */
+	private ExecutorService indexExecutor;
+
+	/**
+	 * The sorters that collect the records for each index during a bulk load, <tt>null</tt> if no bulk load is active.
+	 * See {@link #startBulkLoad(int)}.
+	 */
+	private List<RecordSorter> bulkLoadSorters;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -352,6 +405,8 @@ class TripleStore implements Closeable {
 				RecordIterator sourceIter = null;
 				try {
 					addedBTree = addedIndex.getBTree();
+					// discard any data left behind by an aborted build of the index
+					addedBTree.clear();
 					sourceIter = sourceIndex.getBTree().iterateAll();
 					byte[] value = null;
 					while ((value = sourceIter.next()) != null) {
@@ -408,10 +463,216 @@ class TripleStore implements Closeable {
 		}
 	}
 
+	/**
+	 * Adds an index to the running triple store. The index is built from the statements in the first index while the
+	 * store remains available: the new index receives all updates from the moment it has been created and the existing
+	 * statements are copied in batches of sorted records. Each batch is copied while holding the index write lock, so
+	 * writers are blocked for at most one batch and every batch reflects a consistent state of the store. Readers only
+	 * start using the index once all statements have been copied. This method returns when the index is complete.
+	 *
+	 * @param indexSpec The field sequence of the new index, e.g. <tt>opsc</tt>.
+	 * @throws SailException If the index specification is invalid or if the store already contains the index.
+	 */
+	public void addIndex(String indexSpec) throws IOException, SailException {
+		String fieldSeq = parseSingleIndexSpec(indexSpec);
+
+		synchronized (indexChangeMonitor) {
+			TripleIndex addedIndex;
+
+			indexWriteLock.lock();
+			try {
+				checkOpen();
+				if (findIndex(fieldSeq) != null) {
+					throw new SailException("Triple store already has a " + fieldSeq + " index");
+				}
+
+				logger.debug("Building new index '{}'...", fieldSeq);
+				addedIndex = new TripleIndex(fieldSeq);
+				addedIndex.building = true;
+				// discard any data left behind by an aborted build of the index
+				addedIndex.getBTree().clear();
+
+				List<TripleIndex> newIndexes = new ArrayList<>(indexes);
+				newIndexes.add(addedIndex);
+				indexes = newIndexes;
+			} finally {
+				indexWriteLock.unlock();
+			}
+
+			boolean built = false;
+			try {
+				byte[] lastRecord = null;
+				do {
+					lastRecord = copyRecords(addedIndex, lastRecord);
+				} while (addedIndex.building);
+				built = true;
+				logger.debug("Index '{}' built", fieldSeq);
+			} finally {
+				if (!built) {
+					discardIndex(addedIndex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the next batch of records from the first index to the supplied index that is being built. The index is
+	 * marked as complete once the last record has been copied.
+	 *
+	 * @param lastRecord The last record that has been copied, or <tt>null</tt> if no records have been copied yet.
+	 * @return The last record that has been copied by this call.
+	 */
+	private byte[] copyRecords(TripleIndex targetIndex, byte[] lastRecord) throws IOException {
+		indexWriteLock.lock();
+		try {
+			checkOpen();
+			flushPendingRecords();
+
+			TripleIndex sourceIndex = indexes.get(0);
+			List<byte[]> records = new ArrayList<>(INDEX_BUILD_BATCH_SIZE);
+			try (RecordIterator iter = lastRecord == null ? sourceIndex.getBTree().iterateAll()
+					: sourceIndex.getBTree().iterateRangedValues(null, null, lastRecord, null)) {
+				byte[] record;
+				while (records.size() < INDEX_BUILD_BATCH_SIZE && (record = iter.next()) != null) {
+					if (lastRecord == null || sourceIndex.tripleComparator.compare(record, lastRecord) != 0) {
+						records.add(record);
+					}
+				}
+			}
+
+			if (!records.isEmpty()) {
+				lastRecord = records.get(records.size() - 1);
+
+				records.sort(targetIndex.tripleComparator);
+				BTree btree = targetIndex.getBTree();
+				for (byte[] record : records) {
+					btree.insert(record);
+				}
+			}
+
+			if (records.size() < INDEX_BUILD_BATCH_SIZE) {
+				// all records have been copied, switch readers over to the new index
+				targetIndex.getBTree().sync();
+				targetIndex.building = false;
+				storeIndexSpecs();
+			}
+
+			return lastRecord;
+		} finally {
+			indexWriteLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes an index from the running triple store. Iterators that are still reading from the index can continue to
+	 * do so, its files are deleted once the last of these iterators has been closed.
+	 *
+	 * @param indexSpec The field sequence of the index, e.g. <tt>opsc</tt>.
+	 * @throws SailException If the store doesn't have the index or if it is the only index of the store.
+	 */
+	public void removeIndex(String indexSpec) throws IOException, SailException {
+		String fieldSeq = parseSingleIndexSpec(indexSpec);
+
+		synchronized (indexChangeMonitor) {
+			TripleIndex removedIndex;
+
+			indexWriteLock.lock();
+			try {
+				checkOpen();
+				removedIndex = findIndex(fieldSeq);
+				if (removedIndex == null) {
+					throw new SailException("Triple store has no " + fieldSeq + " index");
+				} else if (indexes.size() == 1) {
+					throw new SailException("Unable to remove the only index of the triple store");
+				}
+
+				// the remaining indexes must be up to date before the first index can be removed
+				flushPendingRecords();
+
+				List<TripleIndex> newIndexes = new ArrayList<>(indexes);
+				newIndexes.remove(removedIndex);
+				indexes = newIndexes;
+				storeIndexSpecs();
+			} finally {
+				indexWriteLock.unlock();
+			}
+
+			removedIndex.drop();
+			logger.debug("Removed index '{}'", fieldSeq);
+		}
+	}
+
+	/**
+	 * Returns the field sequences of the complete indexes of this store, e.g. <tt>spoc,posc</tt>.
+	 */
+	public String getIndexSpecStr() {
+		StringBuilder sb = new StringBuilder();
+		for (TripleIndex index : indexes) {
+			if (!index.building) {
+				if (sb.length() > 0) {
+					sb.append(',');
+				}
+				sb.append(index.getFieldSeq());
+			}
+		}
+		return sb.toString();
+	}
+
+	private String parseSingleIndexSpec(String indexSpec) throws SailException {
+		Set<String> indexSpecs = parseIndexSpecList(indexSpec);
+		if (indexSpecs.size() != 1) {
+			throw new SailException("Expected a single index specification: " + indexSpec);
+		}
+		return indexSpecs.iterator().next();
+	}
+
+	private TripleIndex findIndex(String fieldSeq) {
+		for (TripleIndex index : indexes) {
+			if (fieldSeq.equals(new String(index.getFieldSeq()))) {
+				return index;
+			}
+		}
+		return null;
+	}
+
+	private void discardIndex(TripleIndex index) throws IOException {
+		indexWriteLock.lock();
+		try {
+			List<TripleIndex> newIndexes = new ArrayList<>(indexes);
+			newIndexes.remove(index);
+			indexes = newIndexes;
+		} finally {
+			indexWriteLock.unlock();
+		}
+		index.drop();
+	}
+
+	/**
+	 * Stores the complete indexes in the properties file, must be called while holding the index write lock.
+	 */
+	private void storeIndexSpecs() throws IOException {
+		properties.setProperty(INDEXES_KEY, getIndexSpecStr());
+		storeProperties(new File(dir, PROPERTIES_FILE));
+	}
+
+	private void checkOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Triple store has been closed");
+		}
+	}
+
 	@Override
 	public void close() throws IOException {
+		indexWriteLock.lock();
 		try {
+			closed = true;
 			List<Throwable> caughtExceptions = new ArrayList<>();
+			try {
+				flushPendingRecords();
+			} catch (Throwable e) {
+				logger.warn("Failed to write pending records to the triple indexes");
+				caughtExceptions.add(e);
+			}
 			for (TripleIndex index : indexes) {
 				try {
 					index.getBTree().close();
@@ -424,14 +685,24 @@ class TripleStore implements Closeable {
 				throw new IOException(caughtExceptions.get(0));
 			}
 		} finally {
+			synchronized (this) {
+				if (indexExecutor != null) {
+					indexExecutor.shutdown();
+					indexExecutor = null;
+				}
+			}
 			try {
 				txnStatusFile.close();
 			} finally {
 				// Should have been removed upon commit() or rollback(), but just to be sure
 				RecordCache toCloseUpdatedTriplesCache = updatedTriplesCache;
 				updatedTriplesCache = null;
-				if (toCloseUpdatedTriplesCache != null) {
-					toCloseUpdatedTriplesCache.discard();
+				try {
+					if (toCloseUpdatedTriplesCache != null) {
+						toCloseUpdatedTriplesCache.discard();
+					}
+				} finally {
+					indexWriteLock.unlock();
 				}
 			}
 		}
@@ -580,61 +851,102 @@ class TripleStore implements Closeable {
 
 	private RecordIterator getTriples(int subj, int pred, int obj, int context, int flags, int flagsMask)
 			throws IOException {
-		TripleIndex index = getBestIndex(subj, pred, obj, context);
-		boolean doRangeSearch = index.getPatternScore(subj, pred, obj, context) > 0;
-		return getTriplesUsingIndex(subj, pred, obj, context, flags, flagsMask, index, doRangeSearch);
+		flushPendingRecords(flagsMask);
+		while (true) {
+			TripleIndex index = getBestIndex(subj, pred, obj, context);
+			boolean doRangeSearch = index.getPatternScore(subj, pred, obj, context) > 0;
+			RecordIterator iter = getTriplesUsingIndex(subj, pred, obj, context, flags, flagsMask, index,
+					doRangeSearch);
+			if (iter != null) {
+				return iter;
+			}
+			// the index has been removed concurrently, select another one
+		}
 	}
 
 	private RecordIterator getAllTriplesSortedByContext(int flags, int flagsMask) throws IOException {
-		for (TripleIndex index : indexes) {
-			if (index.getFieldSeq()[0] == 'c') {
-				// found a context-first index
-				return getTriplesUsingIndex(-1, -1, -1, -1, flags, flagsMask, index, false);
+		flushPendingRecords(flagsMask);
+		retry: while (true) {
+			for (TripleIndex index : indexes) {
+				if (!index.building && index.getFieldSeq()[0] == 'c') {
+					// found a context-first index
+					RecordIterator iter = getTriplesUsingIndex(-1, -1, -1, -1, flags, flagsMask, index, false);
+					if (iter == null) {
+						// the index has been removed concurrently
+						continue retry;
+					}
+					return iter;
+				}
 			}
-		}
 
-		return null;
+			return null;
+		}
 	}
 
+	/**
+	 * Creates an iterator over the supplied index, or returns <tt>null</tt> if the index has been removed from the
+	 * store.
+	 */
 	private RecordIterator getTriplesUsingIndex(int subj, int pred, int obj, int context, int flags, int flagsMask,
 			TripleIndex index, boolean rangeSearch) {
+		if (!index.acquire()) {
+			return null;
+		}
+
 		byte[] searchKey = getSearchKey(subj, pred, obj, context, flags);
 		byte[] searchMask = getSearchMask(subj, pred, obj, context, flagsMask);
 
+		RecordIterator iter;
 		if (rangeSearch) {
 			// Use ranged search
 			byte[] minValue = getMinValue(subj, pred, obj, context);
 			byte[] maxValue = getMaxValue(subj, pred, obj, context);
 
-			return index.getBTree().iterateRangedValues(searchKey, searchMask, minValue, maxValue);
+			iter = index.getBTree().iterateRangedValues(searchKey, searchMask, minValue, maxValue);
 		} else {
 			// Use sequential scan
-			return index.getBTree().iterateValues(searchKey, searchMask);
+			iter = index.getBTree().iterateValues(searchKey, searchMask);
 		}
+		return new IndexRecordIterator(index, iter);
 	}
 
 	protected double cardinality(int subj, int pred, int obj, int context) throws IOException {
-		TripleIndex index = getBestIndex(subj, pred, obj, context);
-		BTree btree = index.btree;
+		TripleIndex index;
+		do {
+			index = getBestIndex(subj, pred, obj, context);
+		} while (!index.acquire());
 
-		double rangeSize;
+		try {
+			BTree btree = index.btree;
 
-		if (index.getPatternScore(subj, pred, obj, context) == 0) {
-			rangeSize = btree.getValueCountEstimate();
-		} else {
-			byte[] minValue = getMinValue(subj, pred, obj, context);
-			byte[] maxValue = getMaxValue(subj, pred, obj, context);
-			rangeSize = btree.getValueCountEstimate(minValue, maxValue);
-		}
+			double rangeSize;
+
+			if (index.getPatternScore(subj, pred, obj, context) == 0) {
+				rangeSize = btree.getValueCountEstimate();
+			} else {
+				byte[] minValue = getMinValue(subj, pred, obj, context);
+				byte[] maxValue = getMaxValue(subj, pred, obj, context);
+				rangeSize = btree.getValueCountEstimate(minValue, maxValue);
+			}
 
-		return rangeSize;
+			return rangeSize;
+		} finally {
+			index.release();
+		}
 	}
 
+	/**
+	 * Selects the index that is best suited for matching the supplied pattern. Indexes that are still being built are
+	 * never selected.
+	 */
 	protected TripleIndex getBestIndex(int subj, int pred, int obj, int context) {
 		int bestScore = -1;
 		TripleIndex bestIndex = null;
 
 		for (TripleIndex index : indexes) {
+			if (index.building) {
+				continue;
+			}
 			int score = index.getPatternScore(subj, pred, obj, context);
 			if (score > bestScore) {
 				bestScore = score;
@@ -646,8 +958,14 @@ class TripleStore implements Closeable {
 	}
 
 	public void clear() throws IOException {
-		for (TripleIndex index : indexes) {
-			index.getBTree().clear();
+		indexWriteLock.lock();
+		try {
+			synchronized (pendingRecords) {
+				pendingRecords.clear();
+			}
+			forEachIndex(indexes, index -> index.getBTree().clear());
+		} finally {
+			indexWriteLock.unlock();
 		}
 	}
 
@@ -656,71 +974,83 @@ class TripleStore implements Closeable {
 	}
 
 	public boolean storeTriple(int subj, int pred, int obj, int context, boolean explicit) throws IOException {
-		boolean stAdded = false;
-
-		byte[] data = getData(subj, pred, obj, context, 0);
-		byte[] storedData = indexes.get(0).getBTree().get(data);
+		indexWriteLock.lock();
+		try {
+			boolean stAdded = false;
 
-		if (storedData == null) {
-			// Statement does not yet exist
-			data[FLAG_IDX] |= ADDED_FLAG;
-			if (explicit) {
-				data[FLAG_IDX] |= EXPLICIT_FLAG;
-			}
+			byte[] data = getData(subj, pred, obj, context, 0);
+			byte[] storedData = indexes.get(0).getBTree().get(data);
 
-			stAdded = true;
-		} else {
-			// Statement already exists, only modify its flags, see txn-flags.txt
-			// for a description of the flag transformations
-			byte flags = storedData[FLAG_IDX];
-			boolean wasExplicit = (flags & EXPLICIT_FLAG) != 0;
-			boolean wasAdded = (flags & ADDED_FLAG) != 0;
-			boolean wasRemoved = (flags & REMOVED_FLAG) != 0;
-			boolean wasToggled = (flags & TOGGLE_EXPLICIT_FLAG) != 0;
-
-			if (wasAdded) {
-				// Statement has been added in the current transaction and is
-				// invisible to other connections, we can simply modify its flags
+			if (storedData == null) {
+				// Statement does not yet exist
 				data[FLAG_IDX] |= ADDED_FLAG;
-				if (explicit || wasExplicit) {
-					data[FLAG_IDX] |= EXPLICIT_FLAG;
-				}
-			} else {
-				// Committed statement, must keep explicit flag the same
-				if (wasExplicit) {
+				if (explicit) {
 					data[FLAG_IDX] |= EXPLICIT_FLAG;
 				}
 
-				if (explicit) {
-					if (!wasExplicit) {
-						// Make inferred statement explicit
-						data[FLAG_IDX] |= TOGGLE_EXPLICIT_FLAG;
+				stAdded = true;
+			} else {
+				// Statement already exists, only modify its flags, see txn-flags.txt
+				// for a description of the flag transformations
+				byte flags = storedData[FLAG_IDX];
+				boolean wasExplicit = (flags & EXPLICIT_FLAG) != 0;
+				boolean wasAdded = (flags & ADDED_FLAG) != 0;
+				boolean wasRemoved = (flags & REMOVED_FLAG) != 0;
+				boolean wasToggled = (flags & TOGGLE_EXPLICIT_FLAG) != 0;
+
+				if (wasAdded) {
+					// Statement has been added in the current transaction and is
+					// invisible to other connections, we can simply modify its flags
+					data[FLAG_IDX] |= ADDED_FLAG;
+					if (explicit || wasExplicit) {
+						data[FLAG_IDX] |= EXPLICIT_FLAG;
 					}
 				} else {
-					if (wasRemoved) {
-						if (wasExplicit) {
-							// Re-add removed explicit statement as inferred
+					// Committed statement, must keep explicit flag the same
+					if (wasExplicit) {
+						data[FLAG_IDX] |= EXPLICIT_FLAG;
+					}
+
+					if (explicit) {
+						if (!wasExplicit) {
+							// Make inferred statement explicit
+							data[FLAG_IDX] |= TOGGLE_EXPLICIT_FLAG;
+						}
+					} else {
+						if (wasRemoved) {
+							if (wasExplicit) {
+								// Re-add removed explicit statement as inferred
+								data[FLAG_IDX] |= TOGGLE_EXPLICIT_FLAG;
+							}
+						} else if (wasToggled) {
 							data[FLAG_IDX] |= TOGGLE_EXPLICIT_FLAG;
 						}
-					} else if (wasToggled) {
-						data[FLAG_IDX] |= TOGGLE_EXPLICIT_FLAG;
 					}
 				}
+
+				// Statement is new if it was removed before
+				stAdded = wasRemoved;
 			}
 
-			// Statement is new if it was removed before
-			stAdded = wasRemoved;
-		}
+			if (storedData == null || !Arrays.equals(data, storedData)) {
+				indexes.get(0).getBTree().insert(data);
 
-		if (storedData == null || !Arrays.equals(data, storedData)) {
-			for (TripleIndex index : indexes) {
-				index.getBTree().insert(data);
+				if (indexes.size() > 1) {
+					synchronized (pendingRecords) {
+						pendingRecords.add(data);
+						if (pendingRecords.size() >= MAX_PENDING_RECORDS) {
+							flushPendingRecords();
+						}
+					}
+				}
+
+				updatedTriplesCache.storeRecord(data);
 			}
 
-			updatedTriplesCache.storeRecord(data);
+			return stAdded;
+		} finally {
+			indexWriteLock.unlock();
 		}
-
-		return stAdded;
 	}
 
 	/**
@@ -827,14 +1157,20 @@ class TripleStore implements Closeable {
 			updatedTriplesCache.storeRecords(removedTriplesCache);
 
 			// Set the REMOVED flag by overwriting the affected records
-			for (TripleIndex index : indexes) {
-				BTree btree = index.getBTree();
+			indexWriteLock.lock();
+			try {
+				forEachIndex(indexes, index -> {
+					BTree btree = index.getBTree();
 
-				try (RecordIterator recIter = removedTriplesCache.getRecords()) {
-					while ((data = recIter.next()) != null) {
-						btree.insert(data);
+					try (RecordIterator recIter = removedTriplesCache.getRecords()) {
+						byte[] record;
+						while ((record = recIter.next()) != null) {
+							btree.insert(record);
+						}
 					}
-				}
+				});
+			} finally {
+				indexWriteLock.unlock();
 			}
 		} finally {
 			removedTriplesCache.discard();
@@ -843,6 +1179,70 @@ class TripleStore implements Closeable {
 		return perContextCounts;
 	}
 
+	/**
+	 * Prepares this triple store for a bulk load. The triple store must be empty. Triples that are added using
+	 * {@link #bulkLoadTriple(int, int, int, int)} are sorted externally for each index, after which
+	 * {@link #finishBulkLoad()} builds the index BTrees bottom-up. The triples are not visible until the bulk load has
+	 * finished and no transactions can be active during the bulk load.
+	 *
+	 * @param maxRecordsInMemory The maximum number of records per index that are sorted in memory before they are
+	 *                           written to a temporary file.
+	 */
+	void startBulkLoad(int maxRecordsInMemory) throws IOException {
+		if (bulkLoadSorters != null) {
+			throw new IllegalStateException("Bulk load already started");
+		}
+		for (TripleIndex index : indexes) {
+			if (index.getBTree().getValueCountEstimate() > 0) {
+				throw new StoreNotEmptyException("Bulk load requires an empty triple store");
+			}
+		}
+
+		bulkLoadSorters = new ArrayList<>(indexes.size());
+		for (TripleIndex index : indexes) {
+			bulkLoadSorters.add(new RecordSorter(dir, RECORD_LENGTH, index.tripleComparator, maxRecordsInMemory));
+		}
+	}
+
+	/**
+	 * Adds an explicit triple to the active bulk load.
+	 */
+	void bulkLoadTriple(int subj, int pred, int obj, int context) throws IOException {
+		if (bulkLoadSorters == null) {
+			throw new IllegalStateException("Bulk load has not been started");
+		}
+
+		byte[] data = getData(subj, pred, obj, context, EXPLICIT_FLAG);
+		for (RecordSorter sorter : bulkLoadSorters) {
+			sorter.add(data);
+		}
+	}
+
+	/**
+	 * Builds the indexes from the triples of the active bulk load, processing the indexes in parallel.
+	 */
+	void finishBulkLoad() throws IOException {
+		if (bulkLoadSorters == null) {
+			throw new IllegalStateException("Bulk load has not been started");
+		}
+
+		List<RecordSorter> sorters = bulkLoadSorters;
+		bulkLoadSorters = null;
+		try {
+			forEachIndex(indexes, index -> {
+				try (RecordIterator records = sorters.get(indexes.indexOf(index)).iterator()) {
+					long count = index.getBTree().bulkLoad(records);
+					logger.debug("Bulk loaded {} triples into {} index", count, index);
+				}
+			});
+			sync();
+		} finally {
+			for (RecordSorter sorter : sorters) {
+				sorter.close();
+			}
+		}
+	}
+
 	public void startTransaction() throws IOException {
 		txnStatusFile.setTxnStatus(TxnStatus.ACTIVE);
 
@@ -859,63 +1259,72 @@ class TripleStore implements Closeable {
 	}
 
 	public void commit() throws IOException {
-		txnStatusFile.setTxnStatus(TxnStatus.COMMITTING);
+		indexWriteLock.lock();
+		try {
+			// pending records are part of the active transaction, flush them before changing its status
+			flushPendingRecords();
 
-		// updatedTriplesCache will be null when recovering from a crashed commit
-		boolean validCache = updatedTriplesCache != null && updatedTriplesCache.isValid();
+			txnStatusFile.setTxnStatus(TxnStatus.COMMITTING);
 
-		for (TripleIndex index : indexes) {
-			BTree btree = index.getBTree();
+			// updatedTriplesCache will be null when recovering from a crashed commit
+			boolean validCache = updatedTriplesCache != null && updatedTriplesCache.isValid();
 
-			RecordIterator iter;
-			if (validCache) {
-				// Use the cached set of updated triples
-				iter = updatedTriplesCache.getRecords();
-			} else {
-				// Cache is invalid; too much updates(?). Iterate over all triples
-				iter = btree.iterateAll();
-			}
+			// Each index is processed by its own thread, reading the updated triples through its own iterator
+			forEachIndex(indexes, index -> {
+				BTree btree = index.getBTree();
 
-			try {
-				byte[] data;
-				while ((data = iter.next()) != null) {
-					byte flags = data[FLAG_IDX];
-					boolean wasAdded = (flags & ADDED_FLAG) != 0;
-					boolean wasRemoved = (flags & REMOVED_FLAG) != 0;
-					boolean wasToggled = (flags & TOGGLE_EXPLICIT_FLAG) != 0;
+				RecordIterator iter;
+				if (validCache) {
+					// Use the cached set of updated triples
+					iter = updatedTriplesCache.getRecords();
+				} else {
+					// Cache is invalid; too much updates(?). Iterate over all triples
+					iter = btree.iterateAll();
+				}
 
-					if (wasRemoved) {
-						btree.remove(data);
-					} else if (wasAdded || wasToggled) {
-						if (wasToggled) {
-							data[FLAG_IDX] ^= EXPLICIT_FLAG;
-						}
-						if (wasAdded) {
-							data[FLAG_IDX] ^= ADDED_FLAG;
-						}
+				try {
+					byte[] data;
+					while ((data = iter.next()) != null) {
+						byte flags = data[FLAG_IDX];
+						boolean wasAdded = (flags & ADDED_FLAG) != 0;
+						boolean wasRemoved = (flags & REMOVED_FLAG) != 0;
+						boolean wasToggled = (flags & TOGGLE_EXPLICIT_FLAG) != 0;
+
+						if (wasRemoved) {
+							btree.remove(data);
+						} else if (wasAdded || wasToggled) {
+							if (wasToggled) {
+								data[FLAG_IDX] ^= EXPLICIT_FLAG;
+							}
+							if (wasAdded) {
+								data[FLAG_IDX] ^= ADDED_FLAG;
+							}
 
-						if (validCache) {
-							// We're iterating the cache
-							btree.insert(data);
-						} else {
-							// We're iterating the BTree itself
-							iter.set(data);
+							if (validCache) {
+								// We're iterating the cache
+								btree.insert(data);
+							} else {
+								// We're iterating the BTree itself
+								iter.set(data);
+							}
 						}
 					}
+				} finally {
+					iter.close();
 				}
-			} finally {
-				iter.close();
-			}
-		}
+			});
 
-		if (updatedTriplesCache != null) {
-			updatedTriplesCache.clear();
-		}
+			if (updatedTriplesCache != null) {
+				updatedTriplesCache.clear();
+			}
 
-		sync();
+			sync();
 
-		txnStatusFile.setTxnStatus(TxnStatus.NONE);
-		// checkAllCommitted();
+			txnStatusFile.setTxnStatus(TxnStatus.NONE);
+			// checkAllCommitted();
+		} finally {
+			indexWriteLock.unlock();
+		}
 	}
 
 	private void checkAllCommitted() throws IOException {
@@ -937,75 +1346,190 @@ class TripleStore implements Closeable {
 	}
 
 	public void rollback() throws IOException {
-		txnStatusFile.setTxnStatus(TxnStatus.ROLLING_BACK);
+		indexWriteLock.lock();
+		try {
+			flushPendingRecords();
 
-		// updatedTriplesCache will be null when recovering from a crash
-		boolean validCache = updatedTriplesCache != null && updatedTriplesCache.isValid();
+			txnStatusFile.setTxnStatus(TxnStatus.ROLLING_BACK);
 
-		byte txnFlagsMask = ~(ADDED_FLAG | REMOVED_FLAG | TOGGLE_EXPLICIT_FLAG);
+			// updatedTriplesCache will be null when recovering from a crash
+			boolean validCache = updatedTriplesCache != null && updatedTriplesCache.isValid();
 
-		for (TripleIndex index : indexes) {
-			BTree btree = index.getBTree();
+			byte txnFlagsMask = ~(ADDED_FLAG | REMOVED_FLAG | TOGGLE_EXPLICIT_FLAG);
 
-			RecordIterator iter;
-			if (validCache) {
-				// Use the cached set of updated triples
-				iter = updatedTriplesCache.getRecords();
-			} else {
-				// Cache is invalid; too much updates(?). Iterate over all triples
-				iter = btree.iterateAll();
-			}
+			forEachIndex(indexes, index -> {
+				BTree btree = index.getBTree();
 
-			try {
-				byte[] data = null;
-				while ((data = iter.next()) != null) {
-					byte flags = data[FLAG_IDX];
-					boolean wasAdded = (flags & ADDED_FLAG) != 0;
-					boolean wasRemoved = (flags & REMOVED_FLAG) != 0;
-					boolean wasToggled = (flags & TOGGLE_EXPLICIT_FLAG) != 0;
+				RecordIterator iter;
+				if (validCache) {
+					// Use the cached set of updated triples
+					iter = updatedTriplesCache.getRecords();
+				} else {
+					// Cache is invalid; too much updates(?). Iterate over all triples
+					iter = btree.iterateAll();
+				}
 
-					if (wasAdded) {
-						btree.remove(data);
-					} else {
-						if (wasRemoved || wasToggled) {
-							data[FLAG_IDX] &= txnFlagsMask;
+				try {
+					byte[] data = null;
+					while ((data = iter.next()) != null) {
+						byte flags = data[FLAG_IDX];
+						boolean wasAdded = (flags & ADDED_FLAG) != 0;
+						boolean wasRemoved = (flags & REMOVED_FLAG) != 0;
+						boolean wasToggled = (flags & TOGGLE_EXPLICIT_FLAG) != 0;
 
-							if (validCache) {
-								// We're iterating the cache
-								btree.insert(data);
-							} else {
-								// We're iterating the BTree itself
-								iter.set(data);
+						if (wasAdded) {
+							btree.remove(data);
+						} else {
+							if (wasRemoved || wasToggled) {
+								data[FLAG_IDX] &= txnFlagsMask;
+
+								if (validCache) {
+									// We're iterating the cache
+									btree.insert(data);
+								} else {
+									// We're iterating the BTree itself
+									iter.set(data);
+								}
 							}
 						}
 					}
+				} finally {
+					iter.close();
 				}
-			} finally {
-				iter.close();
+			});
+
+			if (updatedTriplesCache != null) {
+				updatedTriplesCache.clear();
 			}
+
+			sync();
+
+			txnStatusFile.setTxnStatus(TxnStatus.NONE);
+		} finally {
+			indexWriteLock.unlock();
 		}
+	}
 
-		if (updatedTriplesCache != null) {
-			updatedTriplesCache.clear();
+	protected void sync() throws IOException {
+		indexWriteLock.lock();
+		try {
+			flushPendingRecords();
+			forEachIndex(indexes, index -> index.getBTree().sync());
+		} finally {
+			indexWriteLock.unlock();
 		}
+	}
+
+	/**
+	 * Writes the pending records to the secondary indexes if the supplied flags mask indicates that the caller can see
+	 * records that were updated in the current transaction. Readers that mask out {@link #ADDED_FLAG} only see
+	 * committed data, which the pending records don't change.
+	 */
+	private void flushPendingRecords(int flagsMask) throws IOException {
+		if ((flagsMask & ADDED_FLAG) == 0) {
+			flushPendingRecords();
+		}
+	}
+
+	/**
+	 * Writes the pending records to all but the first index. The records are sorted in the field order of each index so
+	 * that consecutive inserts hit the same BTree nodes, and the indexes are updated in parallel. The sort is stable,
+	 * so if a record was updated more than once the last version wins.
+	 */
+	private void flushPendingRecords() throws IOException {
+		indexWriteLock.lock();
+		try {
+			synchronized (pendingRecords) {
+				if (pendingRecords.isEmpty()) {
+					return;
+				}
+
+				byte[][] records = pendingRecords.toArray(new byte[pendingRecords.size()][]);
+				pendingRecords.clear();
 
-		sync();
+				List<TripleIndex> currentIndexes = indexes;
+				forEachIndex(currentIndexes.subList(1, currentIndexes.size()), index -> {
+					byte[][] sortedRecords = records.clone();
+					Arrays.sort(sortedRecords, index.tripleComparator);
 
-		txnStatusFile.setTxnStatus(TxnStatus.NONE);
+					BTree btree = index.getBTree();
+					for (byte[] record : sortedRecords) {
+						btree.insert(record);
+					}
+				});
+			}
+		} finally {
+			indexWriteLock.unlock();
+		}
 	}
 
-	protected void sync() throws IOException {
+	/**
+	 * Applies the supplied operation to each of the supplied indexes. The first index is processed by the calling
+	 * thread, the others by the index executor. This method returns once all indexes have been processed, rethrowing
+	 * the first error that occurred.
+	 */
+	private void forEachIndex(List<TripleIndex> targetIndexes, IndexOperation operation) throws IOException {
+		if (targetIndexes.isEmpty()) {
+			return;
+		}
+
+		List<Future<?>> futures = new ArrayList<>(targetIndexes.size() - 1);
+		if (targetIndexes.size() > 1) {
+			ExecutorService executor = getIndexExecutor();
+			for (TripleIndex index : targetIndexes.subList(1, targetIndexes.size())) {
+				futures.add(executor.submit(() -> {
+					operation.apply(index);
+					return null;
+				}));
+			}
+		}
+
 		List<Throwable> exceptions = new ArrayList<>();
-		for (TripleIndex index : indexes) {
-			try {
-				index.getBTree().sync();
-			} catch (Throwable e) {
-				exceptions.add(e);
+		try {
+			operation.apply(targetIndexes.get(0));
+		} catch (Throwable e) {
+			exceptions.add(e);
+		}
+
+		boolean interrupted = false;
+		for (Future<?> future : futures) {
+			while (true) {
+				try {
+					future.get();
+					break;
+				} catch (ExecutionException e) {
+					exceptions.add(e.getCause());
+					break;
+				} catch (InterruptedException e) {
+					// the indexes must not be left half-way updated, keep waiting
+					interrupted = true;
+				}
 			}
 		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+
 		if (!exceptions.isEmpty()) {
-			throw new IOException(exceptions.get(0));
+			Throwable e = exceptions.get(0);
+			if (e instanceof IOException) {
+				throw (IOException) e;
+			}
+			throw new IOException(e);
+		}
+	}
+
+	private synchronized ExecutorService getIndexExecutor() {
+		if (indexExecutor == null) {
+			indexExecutor = Executors.newCachedThreadPool(r -> {
+				Thread t = Executors.defaultThreadFactory().newThread(r);
+				t.setName("rdf4j-nativestore-index-" + t.getName());
+				// index updates are always awaited by the thread that submitted them
+				t.setDaemon(true);
+				return t;
+			});
 		}
+		return indexExecutor;
 	}
 
 	private byte[] getData(int subj, int pred, int obj, int context, int flags) {
@@ -1082,6 +1606,16 @@ class TripleStore implements Closeable {
 		}
 	}
 
+	/*----------------------------*
+	 * Inner class IndexOperation *
+	 *----------------------------*/
+
+	@FunctionalInterface
+	private interface IndexOperation {
+
+		void apply(TripleIndex index) throws IOException;
+	}
+
 	/*-------------------------*
 	 * Inner class TripleIndex *
 	 *-------------------------*/
@@ -1092,11 +1626,76 @@ class TripleStore implements Closeable {
 
 		private final BTree btree;
 
+		/**
+		 * Flag indicating that the index is being built by {@link TripleStore#addIndex(String)}. Such an index receives
+		 * all updates but is not used for reading.
+		 */
+		private volatile boolean building;
+
+		/**
+		 * The number of iterators that are reading from this index, guarded by this index' monitor.
+		 */
+		private int openIterators;
+
+		/**
+		 * Flag indicating that the index has been removed from the store, guarded by this index' monitor.
+		 */
+		private boolean dropped;
+
 		public TripleIndex(String fieldSeq) throws IOException {
 			tripleComparator = new TripleComparator(fieldSeq);
 			btree = new BTree(dir, getFilenamePrefix(fieldSeq), 2048, RECORD_LENGTH, tripleComparator, forceSync);
 		}
 
+		/**
+		 * Registers an iterator that reads from this index.
+		 *
+		 * @return <tt>false</tt> if the index has been removed and can no longer be read.
+		 */
+		synchronized boolean acquire() {
+			if (dropped) {
+				return false;
+			}
+			openIterators++;
+			return true;
+		}
+
+		/**
+		 * Unregisters an iterator, deleting the index files if the index has been removed and this was the last
+		 * iterator.
+		 */
+		void release() throws IOException {
+			boolean delete;
+			synchronized (this) {
+				delete = --openIterators == 0 && dropped;
+			}
+			if (delete) {
+				deleteFiles();
+			}
+		}
+
+		/**
+		 * Marks the index as removed, deleting the index files as soon as no iterators are reading from it.
+		 */
+		void drop() throws IOException {
+			boolean delete;
+			synchronized (this) {
+				dropped = true;
+				delete = openIterators == 0;
+			}
+			if (delete) {
+				deleteFiles();
+			}
+		}
+
+		private void deleteFiles() throws IOException {
+			if (btree.delete()) {
+				logger.debug("Deleted file(s) for removed {} index", this);
+			} else {
+				logger.warn("Unable to delete file(s) for removed {} index", this);
+			}
+		}
+
 		private String getFilenamePrefix(String fieldSeq) {
 			return "triples-" + fieldSeq;
 		}
@@ -1162,6 +1761,49 @@ class TripleStore implements Closeable {
 		}
 	}
 
+	/*---------------------------------*
+	 * Inner class IndexRecordIterator *
+	 *---------------------------------*/
+
+	/**
+	 * Wraps an iterator over an index so that the index files are not deleted while the iterator is open.
+	 */
+	private static class IndexRecordIterator implements RecordIterator {
+
+		private final TripleIndex index;
+
+		private final RecordIterator iter;
+
+		private boolean closed;
+
+		IndexRecordIterator(TripleIndex index, RecordIterator iter) {
+			this.index = index;
+			this.iter = iter;
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			return iter.next();
+		}
+
+		@Override
+		public void set(byte[] value) throws IOException {
+			iter.set(value);
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!closed) {
+				closed = true;
+				try {
+					iter.close();
+				} finally {
+					index.release();
+				}
+			}
+		}
+	}
+
 	/*------------------------------*
 	 * Inner class TripleComparator *
 	 *------------------------------*/
@@ -1170,7 +1812,7 @@ class TripleStore implements Closeable {
 	 * A RecordComparator that can be used to create indexes with a configurable order of the subject, predicate, object
 	 * and context fields.
 	 */
-	private static class TripleComparator implements RecordComparator {
+	private static class TripleComparator implements RecordComparator, Comparator<byte[]> {
 
 		private final char[] fieldSeq;
 
@@ -1214,5 +1856,10 @@ class TripleStore implements Closeable {
 
 			return 0;
 		}
+
+		@Override
+		public int compare(byte[] record1, byte[] record2) {
+			return compareBTreeValues(record1, record2, 0, record2.length);
+		}
 	}
 }
@@ -997,6 +997,142 @@ public class BTree implements Closeable {
 		}
 	}
 
+	/**
+	 * Fills an empty B-Tree with the supplied values. Rather than inserting the values one by one, the B-Tree is built
+	 * bottom-up: nodes are filled completely from left to right and are written to disk as soon as they are full, so
+	 * that no node is ever split and the file is written mostly sequentially. The rightmost node of each level is
+	 * rebalanced with its left sibling afterwards so that all nodes honour the minimum value count.
+	 *
+	 * @param values The values to store, in ascending order according to the comparator of this B-Tree and without
+	 *               duplicates. The iterator is not closed by this method.
+	 * @return The number of values that were stored.
+	 * @throws IOException           If an I/O error occurred.
+	 * @throws IllegalStateException If the B-Tree is not empty.
+	 */
+	public long bulkLoad(RecordIterator values) throws IOException {
+		btreeLock.writeLock().lock();
+		try {
+			if (rootNodeID != 0) {
+				throw new IllegalStateException("bulk load requires an empty B-Tree: " + getFile());
+			}
+
+			// The node that is currently being filled on each level, level 0 contains the leaf nodes
+			List<Node> openNodes = new ArrayList<>();
+			long valueCount = 0;
+
+			byte[] previous = null;
+			byte[] value;
+			while ((value = values.next()) != null) {
+				if (previous != null && comparator.compareBTreeValues(previous, value, 0, valueSize) >= 0) {
+					throw new IllegalArgumentException("values must be supplied in ascending order without duplicates");
+				}
+				previous = value;
+				valueCount++;
+
+				Node leaf = openNodes.isEmpty() ? null : openNodes.get(0);
+				if (leaf == null) {
+					leaf = new Node(allocatedNodesList.allocateNode(), this);
+					setOpenNode(openNodes, 0, leaf);
+				}
+
+				if (leaf.isFull()) {
+					// The leaf is complete, the value separates it from the next leaf
+					leaf.write();
+					openNodes.set(0, null);
+					addSeparator(openNodes, 1, value, leaf.getID());
+				} else {
+					leaf.insertValueNodeIDPair(leaf.getValueCount(), value, 0);
+				}
+			}
+
+			if (openNodes.isEmpty()) {
+				return 0;
+			}
+
+			// Write the rightmost node of each level, linking it to its parent
+			int childNodeID = 0;
+			for (int level = 0; level < openNodes.size(); level++) {
+				Node node = openNodes.get(level);
+				if (node == null) {
+					// The last separator of this level moved up, a (still empty) node is needed to its right
+					node = new Node(allocatedNodesList.allocateNode(), this);
+				}
+				node.setChildNodeID(node.getValueCount(), childNodeID);
+				node.write();
+				childNodeID = node.getID();
+			}
+
+			rootNodeID = childNodeID;
+			height = openNodes.size();
+			writeFileHeader();
+
+			rebalanceRightmostNodes();
+
+			return valueCount;
+		} finally {
+			btreeLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Appends a separator value to the node that is being filled on the specified level, starting a new node for the
+	 * level if needed. The node ID to the left of the separator is the node on the level below that has just been
+	 * completed.
+	 */
+	private void addSeparator(List<Node> openNodes, int level, byte[] value, int leftNodeID) throws IOException {
+		Node node = level < openNodes.size() ? openNodes.get(level) : null;
+
+		if (node == null) {
+			node = new Node(allocatedNodesList.allocateNode(), this);
+			setOpenNode(openNodes, level, node);
+		}
+
+		node.setChildNodeID(node.getValueCount(), leftNodeID);
+
+		if (node.isFull()) {
+			node.write();
+			openNodes.set(level, null);
+			addSeparator(openNodes, level + 1, value, node.getID());
+		} else {
+			node.insertValueNodeIDPair(node.getValueCount(), value, 0);
+		}
+	}
+
+	private void setOpenNode(List<Node> openNodes, int level, Node node) {
+		if (level < openNodes.size()) {
+			openNodes.set(level, node);
+		} else {
+			openNodes.add(node);
+		}
+	}
+
+	/**
+	 * Moves values from the left sibling into the rightmost node of each level of a bulk loaded B-Tree until the
+	 * rightmost node contains at least the minimum number of values. All other nodes are full, so the left sibling can
+	 * always spare them.
+	 */
+	private void rebalanceRightmostNodes() throws IOException {
+		Node node = readRootNode();
+
+		while (!node.isLeaf()) {
+			int childIdx = node.getValueCount();
+			Node childNode = node.getChildNode(childIdx);
+
+			if (childNode.getValueCount() < minValueCount) {
+				Node leftSibling = node.getChildNode(childIdx - 1);
+				while (childNode.getValueCount() < minValueCount) {
+					node.rotateRight(childIdx, leftSibling, childNode);
+				}
+				leftSibling.release();
+			}
+
+			node.release();
+			node = childNode;
+		}
+
+		node.release();
+	}
+
 	private Node createNewNode() throws IOException {
 		int newNodeID = allocatedNodesList.allocateNode();
 
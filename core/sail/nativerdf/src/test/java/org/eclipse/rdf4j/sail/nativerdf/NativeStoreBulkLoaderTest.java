@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.rdf4j.common.io.FileUtil;
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NativeStoreBulkLoaderTest {
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private File dataDir;
+
+	@Before
+	public void setUp() throws Exception {
+		dataDir = FileUtil.createTempDir("nativestore");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		FileUtil.deleteDir(dataDir);
+	}
+
+	@Test
+	public void testBulkLoad() throws Exception {
+		IRI graph = vf.createIRI("urn:g");
+
+		// a small in-memory limit forces the statements to be sorted using temporary files
+		try (NativeStoreBulkLoader loader = new NativeStoreBulkLoader(dataDir, "spoc,posc,opsc,cspo", 100)) {
+			loader.handleNamespace("ex", "urn:ex:");
+			for (int i = 0; i < 2000; i++) {
+				IRI subj = vf.createIRI("urn:s" + i);
+				loader.add(subj, RDF.TYPE, RDFS.RESOURCE, null);
+				loader.add(subj, RDFS.LABEL, vf.createLiteral(i), i % 2 == 0 ? graph : null);
+				// duplicates are ignored
+				loader.add(subj, RDF.TYPE, RDFS.RESOURCE, null);
+			}
+			assertEquals(6000, loader.getStatementCount());
+		}
+
+		Repository repo = new SailRepository(new NativeStore(dataDir, "spoc,posc,opsc,cspo"));
+		repo.init();
+		try (RepositoryConnection con = repo.getConnection()) {
+			assertEquals(4000, con.size());
+			assertEquals(1000, con.size(graph));
+			assertEquals("urn:ex:", con.getNamespace("ex"));
+			assertEquals(2000, Iterations.asList(con.getStatements(null, RDF.TYPE, null, false)).size());
+			assertEquals(1, Iterations.asList(con.getStatements(null, null, vf.createLiteral(42), false)).size());
+			assertEquals(graph, Iterations.asList(con.getContextIDs()).get(0));
+
+			con.add(vf.createIRI("urn:x"), RDF.TYPE, RDFS.RESOURCE);
+			con.remove(vf.createIRI("urn:s7"), null, null);
+			assertEquals(3999, con.size());
+			assertTrue(con.hasStatement(vf.createIRI("urn:x"), RDF.TYPE, RDFS.RESOURCE, false));
+		} finally {
+			repo.shutDown();
+		}
+	}
+
+	@Test(expected = StoreNotEmptyException.class)
+	public void testBulkLoadRequiresEmptyStore() throws Exception {
+		Repository repo = new SailRepository(new NativeStore(dataDir));
+		repo.init();
+		try (RepositoryConnection con = repo.getConnection()) {
+			con.add(vf.createIRI("urn:x"), RDF.TYPE, RDFS.RESOURCE);
+		} finally {
+			repo.shutDown();
+		}
+
+		new NativeStoreBulkLoader(dataDir).close();
+	}
+}
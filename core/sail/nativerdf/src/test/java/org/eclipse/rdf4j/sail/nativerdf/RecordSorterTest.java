@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.rdf4j.sail.nativerdf.btree.RecordIterator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RecordSorterTest {
+
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	@Test
+	public void testMultiPassMerge() throws Exception {
+		File dir = tmpFolder.newFolder();
+
+		List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			values.add(i);
+			// duplicates are only returned once
+			values.add(i);
+		}
+		Collections.shuffle(values, new Random(42));
+
+		int maxMergeFanIn = 3;
+		try (RecordSorter sorter = new RecordSorter(dir, 4, RecordSorterTest::compare, 10, maxMergeFanIn)) {
+			for (int value : values) {
+				sorter.add(toRecord(value));
+			}
+			assertEquals(199, dir.listFiles().length);
+
+			RecordIterator iterator = sorter.iterator();
+			// the in-memory records are merged with the remaining runs
+			assertTrue(dir.listFiles().length < maxMergeFanIn);
+
+			for (int i = 0; i < 1000; i++) {
+				assertEquals(i, toValue(iterator.next()));
+			}
+			assertNull(iterator.next());
+		}
+		assertEquals(0, dir.listFiles().length);
+	}
+
+	private static byte[] toRecord(int value) {
+		return new byte[] { (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value };
+	}
+
+	private static int toValue(byte[] record) {
+		return (record[0] & 0xff) << 24 | (record[1] & 0xff) << 16 | (record[2] & 0xff) << 8 | record[3] & 0xff;
+	}
+
+	private static int compare(byte[] record1, byte[] record2) {
+		return Integer.compare(toValue(record1), toValue(record2));
+	}
+}
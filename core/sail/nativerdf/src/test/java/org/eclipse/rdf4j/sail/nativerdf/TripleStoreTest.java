@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.rdf4j.common.io.FileUtil;
+import org.eclipse.rdf4j.sail.nativerdf.btree.RecordIterator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link TripleStore} with multiple indexes, which are updated in parallel.
+ */
+public class TripleStoreTest {
+
+	private File dataDir;
+
+	private TripleStore tripleStore;
+
+	@Before
+	public void setUp() throws Exception {
+		dataDir = FileUtil.createTempDir("nativestore");
+		tripleStore = new TripleStore(dataDir, "spoc,posc,opsc,cspo");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		tripleStore.close();
+		FileUtil.deleteDir(dataDir);
+		dataDir = null;
+	}
+
+	@Test
+	public void testAllIndexesSeeStoredTriples() throws Exception {
+		tripleStore.startTransaction();
+		for (int i = 1; i <= 10000; i++) {
+			tripleStore.storeTriple(i, 2, i % 10 + 1, i % 3);
+		}
+
+		// uncommitted triples are visible to the transaction on every index
+		assertEquals(1000, count(tripleStore.getTriples(-1, -1, 5, -1, true)));
+		assertEquals(10000, count(tripleStore.getTriples(-1, 2, -1, -1, true)));
+		assertEquals(0, count(tripleStore.getTriples(-1, 2, -1, -1, false)));
+
+		tripleStore.commit();
+
+		assertEquals(10000, count(tripleStore.getTriples(-1, -1, -1, -1)));
+		assertEquals(1000, count(tripleStore.getTriples(-1, -1, 5, -1)));
+		assertEquals(3334, count(tripleStore.getTriples(-1, -1, -1, 1)));
+		assertEquals(10000, count(tripleStore.getTriples(-1, 2, -1, -1)));
+	}
+
+	@Test
+	public void testLastUpdateWins() throws Exception {
+		tripleStore.startTransaction();
+		tripleStore.storeTriple(1, 2, 3, 0, false);
+		tripleStore.storeTriple(1, 2, 3, 0, true);
+		tripleStore.commit();
+
+		try (RecordIterator iter = tripleStore.getTriples(-1, -1, 3, -1, true, false)) {
+			byte[] data = iter.next();
+			assertEquals(TripleStore.EXPLICIT_FLAG, data[TripleStore.FLAG_IDX]);
+			assertNull(iter.next());
+		}
+	}
+
+	@Test
+	public void testRollback() throws Exception {
+		tripleStore.startTransaction();
+		tripleStore.storeTriple(1, 2, 3, 0);
+		tripleStore.commit();
+
+		tripleStore.startTransaction();
+		for (int i = 10; i < 10000; i++) {
+			tripleStore.storeTriple(i, 2, 3, 0);
+		}
+		tripleStore.removeTriplesByContext(1, -1, -1, -1);
+		tripleStore.rollback();
+
+		assertEquals(1, count(tripleStore.getTriples(-1, -1, 3, -1)));
+		assertEquals(1, count(tripleStore.getTriples(-1, 2, -1, -1)));
+		assertEquals(1, count(tripleStore.getTriples(-1, -1, -1, 0)));
+	}
+
+	@Test
+	public void testAddIndexWhileWriting() throws Exception {
+		tripleStore.startTransaction();
+		for (int i = 1; i <= 25000; i++) {
+			tripleStore.storeTriple(i, 2, i % 10 + 1, 0);
+		}
+		tripleStore.commit();
+
+		Thread writer = new Thread(() -> {
+			try {
+				for (int i = 0; i < 50; i++) {
+					tripleStore.startTransaction();
+					for (int j = 1; j <= 100; j++) {
+						tripleStore.storeTriple(100000 + i * 100 + j, 3, 1, 0);
+					}
+					tripleStore.removeTriplesByContext(i + 1, -1, -1, -1);
+					tripleStore.commit();
+				}
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		writer.start();
+		tripleStore.addIndex("ospc");
+		writer.join();
+
+		assertEquals("ospc", String.valueOf((Object) tripleStore.getBestIndex(77, -1, 8, -1)));
+		assertEquals(1, count(tripleStore.getTriples(77, -1, 8, -1)));
+		assertEquals(5000, count(tripleStore.getTriples(-1, 3, -1, -1)));
+		assertEquals(24950, count(tripleStore.getTriples(-1, 2, -1, -1)));
+		assertEquals(2495, count(tripleStore.getTriples(-1, 2, 5, -1)));
+
+		tripleStore.close();
+		tripleStore = new TripleStore(dataDir, "");
+		assertTrue(tripleStore.getIndexSpecStr().contains("ospc"));
+		assertEquals(5000, count(tripleStore.getTriples(-1, 3, -1, -1)));
+	}
+
+	@Test
+	public void testRemoveIndex() throws Exception {
+		tripleStore.startTransaction();
+		for (int i = 1; i <= 1000; i++) {
+			tripleStore.storeTriple(i, 2, 3, 0);
+		}
+		tripleStore.commit();
+
+		File indexFile = new File(dataDir, "triples-spoc.dat");
+		RecordIterator iter = tripleStore.getTriples(1, -1, -1, -1);
+		tripleStore.removeIndex("spoc");
+		assertFalse(tripleStore.getIndexSpecStr().contains("spoc"));
+
+		// the open iterator keeps the index files alive
+		assertTrue(indexFile.exists());
+		assertEquals(1, count(iter));
+		assertFalse(indexFile.exists());
+
+		tripleStore.startTransaction();
+		tripleStore.storeTriple(1001, 2, 3, 0);
+		tripleStore.commit();
+		assertEquals(1001, count(tripleStore.getTriples(-1, -1, -1, -1)));
+		assertEquals(1, count(tripleStore.getTriples(1001, -1, -1, -1)));
+	}
+
+	private int count(RecordIterator iter) throws IOException {
+		try {
+			int count = 0;
+			while (iter.next() != null) {
+				count++;
+			}
+			return count;
+		} finally {
+			iter.close();
+		}
+	}
+}
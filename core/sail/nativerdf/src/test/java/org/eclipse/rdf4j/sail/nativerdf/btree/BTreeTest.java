@@ -7,9 +7,15 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.nativerdf.btree;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import org.eclipse.rdf4j.common.io.FileUtil;
@@ -136,6 +142,64 @@ public class BTreeTest {
 		}
 	}
 
+	@Test
+	public void testBulkLoad() throws Exception {
+		List<byte[]> sortedValues = new ArrayList<>(TEST_VALUES);
+		sortedValues.sort((v1, v2) -> btree.comparator.compareBTreeValues(v1, v2, 0, v2.length));
+
+		for (int size : new int[] { 0, 1, 15, 16, 17, 31, 100, 256 }) {
+			btree.clear();
+
+			List<byte[]> values = sortedValues.subList(0, size);
+			assertEquals(size, btree.bulkLoad(recordIterator(values)));
+
+			try (RecordIterator iter = btree.iterateAll()) {
+				for (byte[] value : values) {
+					assertArrayEquals(value, iter.next());
+				}
+				assertNull(iter.next());
+			}
+
+			// the tree must remain valid when it is modified afterwards
+			for (byte[] value : RANDOMIZED_TEST_VALUES) {
+				btree.insert(value);
+			}
+			for (byte[] value : RANDOMIZED_TEST_VALUES) {
+				assertNotNull(btree.get(value));
+				btree.remove(value);
+			}
+			try (RecordIterator iter = btree.iterateAll()) {
+				assertNull(iter.next());
+			}
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testBulkLoadRequiresEmptyTree() throws Exception {
+		btree.insert(TEST_VALUES.get(0));
+		btree.bulkLoad(recordIterator(TEST_VALUES));
+	}
+
+	private RecordIterator recordIterator(List<byte[]> values) {
+		Iterator<byte[]> iter = values.iterator();
+		return new RecordIterator() {
+
+			@Override
+			public byte[] next() {
+				return iter.hasNext() ? iter.next() : null;
+			}
+
+			@Override
+			public void set(byte[] record) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+	}
+
 	@Test
 	public void testNewAndClear() throws Exception {
 		btree.clear();
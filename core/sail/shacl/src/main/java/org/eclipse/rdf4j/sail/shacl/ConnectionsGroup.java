@@ -17,6 +17,7 @@ import org.eclipse.rdf4j.common.annotation.InternalUseOnly;
 import org.eclipse.rdf4j.sail.Sail;
 import org.eclipse.rdf4j.sail.SailConnection;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.BufferedSplitter;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.ParsedQueryCache;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.PlanNode;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.UnBufferedPlanNode;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.UnorderedSelect;
@@ -42,6 +43,8 @@ public class ConnectionsGroup implements Closeable {
 
 	private final RdfsSubClassOfReasonerProvider rdfsSubClassOfReasonerProvider;
 
+	private final ParsedQueryCache parsedQueryCache;
+
 	private final ConcurrentLinkedQueue<SailConnection> connectionsToClose = new ConcurrentLinkedQueue<>();
 
 	// used to cache Select plan nodes so that we don't query a store for the same data during the same validation step.
@@ -50,7 +53,7 @@ public class ConnectionsGroup implements Closeable {
 	ConnectionsGroup(SailConnection baseConnection,
 			SailConnection previousStateConnection, Sail addedStatements, Sail removedStatements,
 			Stats stats, RdfsSubClassOfReasonerProvider rdfsSubClassOfReasonerProvider,
-			ShaclSailConnection.Settings transactionSettings) {
+			ShaclSailConnection.Settings transactionSettings, ParsedQueryCache parsedQueryCache) {
 		this.baseConnection = baseConnection;
 		this.previousStateConnection = previousStateConnection;
 		this.addedStatements = addedStatements;
@@ -58,6 +61,7 @@ public class ConnectionsGroup implements Closeable {
 		this.stats = stats;
 		this.rdfsSubClassOfReasonerProvider = rdfsSubClassOfReasonerProvider;
 		this.transactionSettings = transactionSettings;
+		this.parsedQueryCache = parsedQueryCache;
 	}
 
 	public SailConnection getPreviousStateConnection() {
@@ -114,6 +118,10 @@ public class ConnectionsGroup implements Closeable {
 		return transactionSettings;
 	}
 
+	public ParsedQueryCache getParsedQueryCache() {
+		return parsedQueryCache;
+	}
+
 	interface RdfsSubClassOfReasonerProvider {
 		RdfsSubClassOfReasoner getRdfsSubClassOfReasoner();
 	}
@@ -25,6 +25,8 @@ import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -64,6 +66,7 @@ import org.eclipse.rdf4j.sail.inferencer.fc.SchemaCachingRDFSInferencer;
 import org.eclipse.rdf4j.sail.inferencer.fc.SchemaCachingRDFSInferencerConnection;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
 import org.eclipse.rdf4j.sail.shacl.ast.Shape;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.ParsedQueryCache;
 import org.eclipse.rdf4j.sail.shacl.config.ShaclSailConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -178,6 +181,9 @@ public class ShaclSail extends NotifyingSailWrapper {
 
 	private List<Shape> shapes = Collections.emptyList();
 
+	// the queries of the validation plans of the current shapes, cleared whenever the shapes are reloaded
+	private final ParsedQueryCache parsedQueryCache = new ParsedQueryCache();
+
 	private static final Model DASH_CONSTANTS;
 
 	/**
@@ -207,6 +213,7 @@ public class ShaclSail extends NotifyingSailWrapper {
 
 	private long validationResultsLimitTotal = -1;
 	private long validationResultsLimitPerConstraint = -1;
+	private int sortBufferSize = ShaclSailConfig.SORT_BUFFER_SIZE_DEFAULT;
 
 	// SHACL Vocabulary from W3C - https://www.w3.org/ns/shacl.ttl
 	private final static SchemaCachingRDFSInferencer shaclVocabulary;
@@ -365,6 +372,8 @@ public class ShaclSail extends NotifyingSailWrapper {
 		SailRepository shapesRepoCache = new SailRepository(
 				SchemaCachingRDFSInferencer.fastInstantiateFrom(shaclVocabulary, new MemoryStore(), false));
 
+		parsedQueryCache.clear();
+
 		shapesRepoCache.init();
 		List<Shape> shapes;
 
@@ -426,20 +435,23 @@ public class ShaclSail extends NotifyingSailWrapper {
 		initialized.set(false);
 		executorService[0] = null;
 		shapes = Collections.emptyList();
+		parsedQueryCache.clear();
 		super.shutDown();
 	}
 
 	synchronized <T> Future<T> submitRunnableToExecutorService(Callable<T> runnable) {
 		if (executorService[0] == null) {
-			executorService[0] = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2,
-					r -> {
-						Thread t = Executors.defaultThreadFactory().newThread(r);
+			// a work-stealing pool keeps all threads busy when the validation plans differ a lot in size, for instance
+			// when the targets of a large shape are split into many partitions
+			executorService[0] = new ForkJoinPool(Runtime.getRuntime().availableProcessors() * 2,
+					pool -> {
+						ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
 						// this thread pool does not need to stick around if the all other threads are done, because it
 						// is only used for SHACL validation and if all other threads have ended then there would be no
 						// thread to receive the validation results.
 						t.setDaemon(true);
 						return t;
-					});
+					}, null, false);
 		}
 		return executorService[0].submit(runnable);
 	}
@@ -564,6 +576,10 @@ public class ShaclSail extends NotifyingSailWrapper {
 		this.shapes = shapes;
 	}
 
+	ParsedQueryCache getParsedQueryCache() {
+		return parsedQueryCache;
+	}
+
 	/**
 	 * Log (INFO) every execution step of the SHACL validation. This is fairly costly and should not be used in
 	 * production. Recommended to disable parallel validation with setParallelValidation(false)
@@ -960,6 +976,28 @@ public class ShaclSail extends NotifyingSailWrapper {
 		this.validationResultsLimitTotal = validationResultsLimitTotal;
 	}
 
+	/**
+	 * Validation plans sort intermediate results in order to join them. When a sort holds more tuples than this limit,
+	 * it writes sorted runs of tuples to temporary files and merges them afterwards, so that validating large
+	 * transactions doesn't exhaust the heap.
+	 *
+	 * @return the maximum number of tuples that each sort keeps in memory, -1 for no limit
+	 */
+	public int getSortBufferSize() {
+		return sortBufferSize;
+	}
+
+	/**
+	 * Validation plans sort intermediate results in order to join them. When a sort holds more tuples than this limit,
+	 * it writes sorted runs of tuples to temporary files and merges them afterwards, so that validating large
+	 * transactions doesn't exhaust the heap. Default: 1000000
+	 *
+	 * @param sortBufferSize the maximum number of tuples that each sort keeps in memory, -1 for no limit
+	 */
+	public void setSortBufferSize(int sortBufferSize) {
+		this.sortBufferSize = sortBufferSize;
+	}
+
 	@Override
 	public IsolationLevel getDefaultIsolationLevel() {
 		return super.getDefaultIsolationLevel();
@@ -8,7 +8,9 @@
 
 package org.eclipse.rdf4j.sail.shacl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -22,6 +24,7 @@ import org.eclipse.rdf4j.IsolationLevel;
 import org.eclipse.rdf4j.IsolationLevels;
 import org.eclipse.rdf4j.common.concurrent.locks.Lock;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.IteratorCloseableIteration;
 import org.eclipse.rdf4j.common.transaction.TransactionSetting;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
@@ -41,6 +44,7 @@ import org.eclipse.rdf4j.sail.shacl.ast.Shape;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.EmptyNode;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.PlanNode;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.SingleCloseablePlanNode;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.Sort;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.ValidationExecutionLogger;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.ValidationTuple;
 import org.eclipse.rdf4j.sail.shacl.results.ValidationReport;
@@ -57,6 +61,9 @@ public class ShaclSailConnection extends NotifyingSailConnectionWrapper implemen
 
 	private static final Logger logger = LoggerFactory.getLogger(ShaclSailConnection.class);
 
+	// the number of partitions the targets of a shape are split into when the entire base sail is validated in parallel
+	private static final int VALIDATION_PARTITIONS = Runtime.getRuntime().availableProcessors();
+
 	private List<Shape> shapes;
 
 	private final SailConnection previousStateConnection;
@@ -400,7 +407,7 @@ public class ShaclSailConnection extends NotifyingSailConnectionWrapper implemen
 
 		return new ConnectionsGroup(new VerySimpleRdfsBackwardsChainingConnection(this, rdfsSubClassOfReasoner),
 				previousStateConnection, addedStatements, removedStatements, stats,
-				this::getRdfsSubClassOfReasoner, transactionSettings);
+				this::getRdfsSubClassOfReasoner, transactionSettings, sail.getParsedQueryCache());
 	}
 
 	private ValidationReport performValidation(List<Shape> shapes, boolean validateEntireBaseSail,
@@ -411,105 +418,54 @@ public class ShaclSailConnection extends NotifyingSailConnectionWrapper implemen
 			beforeValidation = System.currentTimeMillis();
 		}
 
-		try {
-			Stream<Callable<ValidationResultIterator>> callableStream = shapes
-					.stream()
-					.map(shape -> new ShapePlanNodeTuple(shape,
-							shape.generatePlans(connectionsGroup, sail.isLogValidationPlans(),
-									validateEntireBaseSail)))
-					.filter(ShapePlanNodeTuple::hasPlanNode)
-					.map(shapePlanNodeTuple -> {
-						shapePlanNodeTuple.setPlanNode(new SingleCloseablePlanNode(shapePlanNodeTuple.getPlanNode()));
-						return shapePlanNodeTuple;
-					})
-					.map(shapePlanNodeTuple -> () -> {
-
-						PlanNode planNode = shapePlanNodeTuple.getPlanNode();
-						ValidationExecutionLogger validationExecutionLogger = null;
-						if (GlobalValidationExecutionLogging.loggingEnabled) {
-							validationExecutionLogger = new ValidationExecutionLogger();
-							planNode.receiveLogger(validationExecutionLogger);
-						}
-
-						try (CloseableIteration<? extends ValidationTuple, SailException> iterator = planNode
-								.iterator()) {
-							if (GlobalValidationExecutionLogging.loggingEnabled) {
-								logger.info("Start execution of plan:\n{}\n", shapePlanNodeTuple.getShape().toString());
-							}
-
-							long before = 0;
-							if (sail.isPerformanceLogging()) {
-								before = System.currentTimeMillis();
-							}
-
-							ValidationResultIterator validationResults;
-							try {
-								validationResults = new ValidationResultIterator(iterator,
-										sail.getEffectiveValidationResultsLimitPerConstraint());
-							} finally {
-								if (validationExecutionLogger != null) {
-									validationExecutionLogger.flush();
-								}
-							}
-
-							if (sail.isPerformanceLogging()) {
-								long after = System.currentTimeMillis();
-								logger.info("Execution of plan took {} ms for:\n{}\n", (after - before),
-										shapePlanNodeTuple.getShape().toString());
-							}
-
-							if (GlobalValidationExecutionLogging.loggingEnabled) {
-								logger.info("Finished execution of plan:\n{}\n",
-										shapePlanNodeTuple.getShape().toString());
-
-							}
-
-							if (sail.isLogValidationViolations()) {
-								if (!validationResults.conforms()) {
-									List<ValidationTuple> tuples = validationResults.getTuples();
-
-									logger.info(
-											"SHACL not valid. The following experimental debug results were produced:  \n\t\t{}\n\n{}\n",
-											tuples.stream()
-													.map(ValidationTuple::toString)
-													.collect(Collectors.joining("\n\t\t")),
-											shapePlanNodeTuple.getShape().toString()
+		int sortBufferSize = sail.getSortBufferSize();
 
-									);
-								}
-							}
+		try {
+			// when the entire base sail is validated in parallel, the targets of every shape are split into partitions
+			// that are validated independently, so that a single large shape doesn't end up running on a single thread
+			int partitions = validateEntireBaseSail && isParallelValidation() ? VALIDATION_PARTITIONS : 1;
 
-							return validationResults;
-						}
-					});
+			Stream<List<Callable<ValidationResultIterator>>> callableStream = shapes
+					.stream()
+					.map(shape -> generatePlans(shape, connectionsGroup, validateEntireBaseSail, partitions))
+					.filter(shapePlanNodeTuples -> !shapePlanNodeTuples.isEmpty())
+					.map(shapePlanNodeTuples -> shapePlanNodeTuples.stream()
+							.map(shapePlanNodeTuple -> (Callable<ValidationResultIterator>) () -> Sort
+									.withBufferSize(sortBufferSize, () -> validate(shapePlanNodeTuple)))
+							.collect(Collectors.toList()));
 
 			List<ValidationResultIterator> validationResultIterators;
 
 			if (isParallelValidation()) {
 
 				validationResultIterators = callableStream
-						.map(this.sail::submitRunnableToExecutorService)
+						.map(callables -> callables.stream()
+								.map(this.sail::submitRunnableToExecutorService)
+								.collect(Collectors.toList()))
 						// Creating a list is needed to actually make things run multi-threaded, without this the
 						// laziness of java streams will make this run serially
 						.collect(Collectors.toList())
 						.stream()
-						.map(f -> {
+						.map(futures -> mergePartitions(futures.stream().map(f -> {
 							try {
 								return f.get();
 							} catch (InterruptedException | ExecutionException e) {
 								throw new RuntimeException(e);
 							}
-						})
+						}).collect(Collectors.toList())))
 						.collect(Collectors.toList());
 
 			} else {
-				validationResultIterators = callableStream.map(c -> {
-					try {
-						return c.call();
-					} catch (Exception e) {
-						throw new RuntimeException(e);
-					}
-				}).collect(Collectors.toList());
+				validationResultIterators = callableStream.map(callables -> mergePartitions(callables.stream()
+						.map(c -> {
+							try {
+								return c.call();
+							} catch (Exception e) {
+								throw new RuntimeException(e);
+							}
+						})
+						.collect(Collectors.toList())))
+						.collect(Collectors.toList());
 
 			}
 
@@ -523,6 +479,104 @@ public class ShaclSailConnection extends NotifyingSailConnectionWrapper implemen
 		}
 	}
 
+	private List<ShapePlanNodeTuple> generatePlans(Shape shape, ConnectionsGroup connectionsGroup,
+			boolean validateEntireBaseSail, int partitions) {
+		List<PlanNode> planNodes;
+		if (validateEntireBaseSail && partitions > 1) {
+			planNodes = shape.generatePartitionedPlans(connectionsGroup, sail.isLogValidationPlans(), partitions);
+		} else {
+			planNodes = Collections.singletonList(
+					shape.generatePlans(connectionsGroup, sail.isLogValidationPlans(), validateEntireBaseSail));
+		}
+
+		return planNodes.stream()
+				.map(planNode -> new ShapePlanNodeTuple(shape, planNode))
+				.filter(ShapePlanNodeTuple::hasPlanNode)
+				.map(shapePlanNodeTuple -> {
+					shapePlanNodeTuple.setPlanNode(new SingleCloseablePlanNode(shapePlanNodeTuple.getPlanNode()));
+					return shapePlanNodeTuple;
+				})
+				.collect(Collectors.toList());
+	}
+
+	private ValidationResultIterator validate(ShapePlanNodeTuple shapePlanNodeTuple) {
+		PlanNode planNode = shapePlanNodeTuple.getPlanNode();
+		ValidationExecutionLogger validationExecutionLogger = null;
+		if (GlobalValidationExecutionLogging.loggingEnabled) {
+			validationExecutionLogger = new ValidationExecutionLogger();
+			planNode.receiveLogger(validationExecutionLogger);
+		}
+
+		try (CloseableIteration<? extends ValidationTuple, SailException> iterator = planNode
+				.iterator()) {
+			if (GlobalValidationExecutionLogging.loggingEnabled) {
+				logger.info("Start execution of plan:\n{}\n", shapePlanNodeTuple.getShape().toString());
+			}
+
+			long before = 0;
+			if (sail.isPerformanceLogging()) {
+				before = System.currentTimeMillis();
+			}
+
+			ValidationResultIterator validationResults;
+			try {
+				validationResults = new ValidationResultIterator(iterator,
+						sail.getEffectiveValidationResultsLimitPerConstraint());
+			} finally {
+				if (validationExecutionLogger != null) {
+					validationExecutionLogger.flush();
+				}
+			}
+
+			if (sail.isPerformanceLogging()) {
+				long after = System.currentTimeMillis();
+				logger.info("Execution of plan took {} ms for:\n{}\n", (after - before),
+						shapePlanNodeTuple.getShape().toString());
+			}
+
+			if (GlobalValidationExecutionLogging.loggingEnabled) {
+				logger.info("Finished execution of plan:\n{}\n",
+						shapePlanNodeTuple.getShape().toString());
+
+			}
+
+			if (sail.isLogValidationViolations()) {
+				// getTuples() doesn't consume any results, unlike conforms()
+				List<ValidationTuple> tuples = validationResults.getTuples();
+				if (!tuples.isEmpty()) {
+					logger.info(
+							"SHACL not valid. The following experimental debug results were produced:  \n\t\t{}\n\n{}\n",
+							tuples.stream()
+									.map(ValidationTuple::toString)
+									.collect(Collectors.joining("\n\t\t")),
+							shapePlanNodeTuple.getShape().toString()
+
+					);
+				}
+			}
+
+			return validationResults;
+		}
+	}
+
+	/**
+	 * Merges the results of the partitions of a single shape, so that the limit on the number of results per constraint
+	 * applies to the shape as a whole.
+	 */
+	private ValidationResultIterator mergePartitions(List<ValidationResultIterator> partitionResults) {
+		if (partitionResults.size() == 1) {
+			return partitionResults.get(0);
+		}
+
+		List<ValidationTuple> tuples = new ArrayList<>();
+		for (ValidationResultIterator partitionResult : partitionResults) {
+			tuples.addAll(partitionResult.getTuples());
+		}
+
+		return new ValidationResultIterator(new IteratorCloseableIteration<>(tuples.iterator()),
+				sail.getEffectiveValidationResultsLimitPerConstraint());
+	}
+
 	private boolean isParallelValidation() {
 		return transactionSettings.isParallelValidation();
 	}
@@ -777,7 +831,7 @@ public class ShaclSailConnection extends NotifyingSailConnectionWrapper implemen
 				try (ConnectionsGroup connectionsGroup = new ConnectionsGroup(
 						new VerySimpleRdfsBackwardsChainingConnection(serializableConnection, rdfsSubClassOfReasoner),
 						previousStateSerializableConnection, addedStatements, removedStatements, stats,
-						this::getRdfsSubClassOfReasoner, transactionSettings)) {
+						this::getRdfsSubClassOfReasoner, transactionSettings, sail.getParsedQueryCache())) {
 
 					connectionsGroup.getBaseConnection().begin(IsolationLevels.SNAPSHOT);
 					// actually force a transaction to start
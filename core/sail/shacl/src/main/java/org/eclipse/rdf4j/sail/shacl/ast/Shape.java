@@ -2,6 +2,7 @@ package org.eclipse.rdf4j.sail.shacl.ast;
 
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -62,6 +63,7 @@ import org.eclipse.rdf4j.sail.shacl.ast.constraintcomponents.UniqueLangConstrain
 import org.eclipse.rdf4j.sail.shacl.ast.constraintcomponents.XoneConstraintComponent;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.EmptyNode;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.PlanNode;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.TargetPartitioner;
 import org.eclipse.rdf4j.sail.shacl.ast.targets.DashAllObjects;
 import org.eclipse.rdf4j.sail.shacl.ast.targets.DashAllSubjects;
 import org.eclipse.rdf4j.sail.shacl.ast.targets.RSXTargetShape;
@@ -365,14 +367,8 @@ abstract public class Shape implements ConstraintComponent, Identifiable, Export
 						Scope.none);
 			} else {
 
-				return Shape.this.generateTransactionalValidationPlan(connectionsGroup, logValidationPlans,
-						() -> Shape.this.getTargetChain()
-								.getEffectiveTarget("_target",
-										this instanceof NodeShape ? Scope.nodeShape : Scope.propertyShape,
-										connectionsGroup.getRdfsSubClassOfReasoner())
-								.getAllTargets(connectionsGroup,
-										this instanceof NodeShape ? Scope.nodeShape : Scope.propertyShape),
-						Scope.none);
+				return generateTransactionalValidationPlan(connectionsGroup, logValidationPlans,
+						() -> getAllTargets(connectionsGroup), Scope.none);
 			}
 
 		} else if (validationApproach == ValidationApproach.Transactional) {
@@ -389,6 +385,51 @@ abstract public class Shape implements ConstraintComponent, Identifiable, Export
 
 	}
 
+	/**
+	 * Generates plans that together validate all the targets of this shape in the base sail. The targets are retrieved
+	 * once and split into disjoint partitions, and every plan validates a single partition, so the plans can run in
+	 * parallel.
+	 * <p>
+	 * Shapes that support the {@link ValidationApproach#SPARQL} approach are not partitioned. They are validated by a
+	 * single query that the base sail evaluates with the targets inside the query, so a partition could only be
+	 * selected by filtering on the hash of the target, which the base sail can't use to narrow its evaluation: every
+	 * partition would evaluate the whole query again.
+	 *
+	 * @param partitions the number of partitions to split the targets into
+	 * @return the plans, one per partition, without any {@link EmptyNode}s
+	 */
+	public List<PlanNode> generatePartitionedPlans(ConnectionsGroup connectionsGroup, boolean logValidationPlans,
+			int partitions) {
+		assert constraintComponents.size() == 1;
+
+		if (partitions <= 1 || getSupportedValidationApproaches().contains(ValidationApproach.SPARQL)) {
+			PlanNode planNode = generatePlans(connectionsGroup, logValidationPlans, true);
+			return planNode instanceof EmptyNode ? Collections.emptyList() : Collections.singletonList(planNode);
+		}
+
+		// the targets are only retrieved once and then split across the partitions
+		TargetPartitioner partitioner = new TargetPartitioner(getAllTargets(connectionsGroup), partitions);
+
+		List<PlanNode> planNodes = new ArrayList<>(partitions);
+		for (int i = 0; i < partitions; i++) {
+			int partition = i;
+			PlanNode planNode = generateTransactionalValidationPlan(connectionsGroup, logValidationPlans,
+					() -> partitioner.getPlanNode(partition), Scope.none);
+			if (!(planNode instanceof EmptyNode)) {
+				planNodes.add(planNode);
+			}
+		}
+		return planNodes;
+	}
+
+	private PlanNode getAllTargets(ConnectionsGroup connectionsGroup) {
+		Scope scope = this instanceof NodeShape ? Scope.nodeShape : Scope.propertyShape;
+
+		return getTargetChain()
+				.getEffectiveTarget("_target", scope, connectionsGroup.getRdfsSubClassOfReasoner())
+				.getAllTargets(connectionsGroup, scope);
+	}
+
 	@Override
 	public SourceConstraintComponent getConstraintComponent() {
 		throw new ShaclUnsupportedException(this.getClass().getSimpleName());
@@ -102,6 +102,7 @@ public class ClassConstraintComponent extends AbstractConstraintComponent {
 			PlanNode joined = new BulkedExternalInnerJoin(
 					addedTargets,
 					connectionsGroup.getBaseConnection(),
+					connectionsGroup.getParsedQueryCache(),
 					path.getTargetQueryFragment(new StatementMatcher.Variable("a"), new StatementMatcher.Variable("c"),
 							connectionsGroup.getRdfsSubClassOfReasoner()),
 					false,
@@ -101,6 +101,7 @@ public class DashHasValueInConstraintComponent extends AbstractConstraintCompone
 			PlanNode joined = new BulkedExternalLeftOuterJoin(
 					addedTargets,
 					connectionsGroup.getBaseConnection(),
+					connectionsGroup.getParsedQueryCache(),
 					path.getTargetQueryFragment(new StatementMatcher.Variable("a"), new StatementMatcher.Variable("c"),
 							connectionsGroup.getRdfsSubClassOfReasoner()),
 					false,
@@ -86,6 +86,7 @@ public class HasValueConstraintComponent extends AbstractConstraintComponent {
 			PlanNode joined = new BulkedExternalLeftOuterJoin(
 					addedTargets,
 					connectionsGroup.getBaseConnection(),
+					connectionsGroup.getParsedQueryCache(),
 					path.getTargetQueryFragment(new StatementMatcher.Variable("a"), new StatementMatcher.Variable("c"),
 							connectionsGroup.getRdfsSubClassOfReasoner()),
 					false,
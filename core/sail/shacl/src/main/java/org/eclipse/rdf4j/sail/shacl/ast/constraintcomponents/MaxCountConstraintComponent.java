@@ -74,6 +74,7 @@ public class MaxCountConstraintComponent extends AbstractConstraintComponent {
 		PlanNode relevantTargetsWithPath = new BulkedExternalInnerJoin(
 				mergeNode,
 				connectionsGroup.getBaseConnection(),
+				connectionsGroup.getParsedQueryCache(),
 				getTargetChain().getPath()
 						.get()
 						.getTargetQueryFragment(new StatementMatcher.Variable("a"), new StatementMatcher.Variable("c"),
@@ -61,6 +61,7 @@ public class MinCountConstraintComponent extends AbstractConstraintComponent {
 		PlanNode relevantTargetsWithPath = new BulkedExternalLeftOuterJoin(
 				target,
 				connectionsGroup.getBaseConnection(),
+				connectionsGroup.getParsedQueryCache(),
 				getTargetChain().getPath()
 						.get()
 						.getTargetQueryFragment(new StatementMatcher.Variable("a"), new StatementMatcher.Variable("c"),
@@ -147,6 +147,7 @@ public class QualifiedMinCountConstraintComponent extends AbstractConstraintComp
 			PlanNode relevantTargetsWithPath = new BulkedExternalLeftOuterJoin(
 					target,
 					connectionsGroup.getBaseConnection(),
+					connectionsGroup.getParsedQueryCache(),
 					getTargetChain().getPath()
 							.get()
 							.getTargetQueryFragment(new StatementMatcher.Variable("a"),
@@ -187,6 +188,7 @@ public class QualifiedMinCountConstraintComponent extends AbstractConstraintComp
 		allTargetsPlan = new BulkedExternalLeftOuterJoin(
 				allTargetsPlan,
 				connectionsGroup.getBaseConnection(),
+				connectionsGroup.getParsedQueryCache(),
 				getTargetChain().getPath()
 						.get()
 						.getTargetQueryFragment(new StatementMatcher.Variable("a"), new StatementMatcher.Variable("c"),
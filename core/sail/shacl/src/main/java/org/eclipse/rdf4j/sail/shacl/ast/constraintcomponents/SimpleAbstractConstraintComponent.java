@@ -88,15 +88,16 @@ public abstract class SimpleAbstractConstraintComponent extends AbstractConstrai
 		String query = complexQueryFragment.getQuery();
 		StatementMatcher.Variable targetVar = complexQueryFragment.getTargetVar();
 
-		return new Select(connectionsGroup.getBaseConnection(), query, null, b -> {
+		return new Select(connectionsGroup.getBaseConnection(), connectionsGroup.getParsedQueryCache(), query, null,
+				b -> {
 
-			List<String> collect = b.getBindingNames()
-					.stream()
-					.filter(s -> s.startsWith(targetVarPrefix))
-					.sorted()
-					.collect(Collectors.toList());
+					List<String> collect = b.getBindingNames()
+							.stream()
+							.filter(s -> s.startsWith(targetVarPrefix))
+							.sorted()
+							.collect(Collectors.toList());
 
-			ValidationTuple validationTuple = new ValidationTuple(b, collect, scope, true);
+					ValidationTuple validationTuple = new ValidationTuple(b, collect, scope, true);
 
 //			if (targetChain.getPath().isPresent()) {
 //				validationTuple.setPath(targetChain.getPath().get());
@@ -105,9 +106,9 @@ public abstract class SimpleAbstractConstraintComponent extends AbstractConstrai
 //				validationTuple.setValue(b.getValue(targetVar.getName()));
 //			}
 
-			return validationTuple;
+					return validationTuple;
 
-		});
+				});
 
 	}
 
@@ -164,6 +165,7 @@ public abstract class SimpleAbstractConstraintComponent extends AbstractConstrai
 
 				planNode = new BulkedExternalInnerJoin(temp,
 						connectionsGroup.getBaseConnection(),
+						connectionsGroup.getParsedQueryCache(),
 						path.get()
 								.getTargetQueryFragment(new StatementMatcher.Variable("a"),
 										new StatementMatcher.Variable("c"),
@@ -228,6 +230,7 @@ public abstract class SimpleAbstractConstraintComponent extends AbstractConstrai
 			PlanNode bulkedExternalInnerJoin = new BulkedExternalInnerJoin(
 					effectiveTarget.getPlanNode(connectionsGroup, scope, false),
 					connectionsGroup.getBaseConnection(),
+					connectionsGroup.getParsedQueryCache(),
 					path.get()
 							.getTargetQueryFragment(new StatementMatcher.Variable("a"),
 									new StatementMatcher.Variable("c"),
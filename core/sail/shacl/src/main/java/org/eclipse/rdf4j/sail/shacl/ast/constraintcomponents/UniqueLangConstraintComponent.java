@@ -61,19 +61,20 @@ public class UniqueLangConstraintComponent extends AbstractConstraintComponent {
 
 		String query = complexQueryFragment.getQuery();
 
-		return new Select(connectionsGroup.getBaseConnection(), query, null, b -> {
+		return new Select(connectionsGroup.getBaseConnection(), connectionsGroup.getParsedQueryCache(), query, null,
+				b -> {
 
-			List<String> targetVars = b.getBindingNames()
-					.stream()
-					.filter(s -> s.startsWith(targetVarPrefix))
-					.sorted()
-					.collect(Collectors.toList());
+					List<String> targetVars = b.getBindingNames()
+							.stream()
+							.filter(s -> s.startsWith(targetVarPrefix))
+							.sorted()
+							.collect(Collectors.toList());
 
-			ValidationTuple validationTuple = new ValidationTuple(b, targetVars, scope, false);
+					ValidationTuple validationTuple = new ValidationTuple(b, targetVars, scope, false);
 
-			return validationTuple;
+					return validationTuple;
 
-		});
+				});
 
 	}
 
@@ -130,6 +131,7 @@ public class UniqueLangConstraintComponent extends AbstractConstraintComponent {
 			PlanNode relevantTargetsWithPath = new BulkedExternalInnerJoin(
 					targets,
 					connectionsGroup.getBaseConnection(),
+					connectionsGroup.getParsedQueryCache(),
 					path.get()
 							.getTargetQueryFragment(new StatementMatcher.Variable("a"),
 									new StatementMatcher.Variable("c"),
@@ -172,6 +174,7 @@ public class UniqueLangConstraintComponent extends AbstractConstraintComponent {
 		PlanNode relevantTargetsWithPath = new BulkedExternalInnerJoin(
 				allRelevantTargets,
 				connectionsGroup.getBaseConnection(),
+				connectionsGroup.getParsedQueryCache(),
 				path.get()
 						.getTargetQueryFragment(new StatementMatcher.Variable("a"), new StatementMatcher.Variable("c"),
 								connectionsGroup.getRdfsSubClassOfReasoner()),
@@ -270,6 +270,7 @@ public class BindSelect implements PlanNode {
 		query = query.replace("#VALUES_INJECTION_POINT#", values.toString());
 		query = "select * where { " + values.toString() + query + "\n}";
 
+		// not cached, the query depends on the data of the transaction
 		QueryParserFactory queryParserFactory = QueryParserRegistry.getInstance()
 				.get(QueryLanguage.SPARQL)
 				.get();
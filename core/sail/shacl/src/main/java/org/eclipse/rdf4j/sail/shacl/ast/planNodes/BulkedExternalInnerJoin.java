@@ -40,7 +40,8 @@ public class BulkedExternalInnerJoin extends AbstractBulkJoinPlanNode {
 	private final String query;
 	private boolean printed = false;
 
-	public BulkedExternalInnerJoin(PlanNode leftNode, SailConnection connection, String query,
+	public BulkedExternalInnerJoin(PlanNode leftNode, SailConnection connection, ParsedQueryCache parsedQueryCache,
+			String query,
 			boolean skipBasedOnPreviousConnection, SailConnection previousStateConnection,
 			Function<BindingSet, ValidationTuple> mapper) {
 
@@ -50,6 +51,7 @@ public class BulkedExternalInnerJoin extends AbstractBulkJoinPlanNode {
 		this.query = query;
 
 		this.connection = connection;
+		this.parsedQueryCache = parsedQueryCache;
 		this.skipBasedOnPreviousConnection = skipBasedOnPreviousConnection;
 		this.mapper = mapper;
 		this.previousStateConnection = previousStateConnection;
@@ -35,13 +35,15 @@ public class BulkedExternalLeftOuterJoin extends AbstractBulkJoinPlanNode {
 	private final String query;
 	private boolean printed = false;
 
-	public BulkedExternalLeftOuterJoin(PlanNode leftNode, SailConnection connection, String query,
+	public BulkedExternalLeftOuterJoin(PlanNode leftNode, SailConnection connection, ParsedQueryCache parsedQueryCache,
+			String query,
 			boolean skipBasedOnPreviousConnection, SailConnection previousStateConnection,
 			Function<BindingSet, ValidationTuple> mapper) {
 		leftNode = PlanNodeHelper.handleSorting(this, leftNode);
 		this.leftNode = leftNode;
 		this.query = query;
 		this.connection = connection;
+		this.parsedQueryCache = parsedQueryCache;
 		this.skipBasedOnPreviousConnection = skipBasedOnPreviousConnection;
 		this.previousStateConnection = previousStateConnection;
 		this.mapper = mapper;
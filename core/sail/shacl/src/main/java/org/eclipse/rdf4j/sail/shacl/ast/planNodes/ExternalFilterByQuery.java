@@ -15,11 +15,8 @@ import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.MalformedQueryException;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
-import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.query.impl.MapBindingSet;
 import org.eclipse.rdf4j.query.parser.ParsedQuery;
-import org.eclipse.rdf4j.query.parser.QueryParserFactory;
-import org.eclipse.rdf4j.query.parser.QueryParserRegistry;
 import org.eclipse.rdf4j.sail.SailConnection;
 import org.eclipse.rdf4j.sail.shacl.ast.StatementMatcher;
 import org.slf4j.Logger;
@@ -38,7 +35,8 @@ public class ExternalFilterByQuery extends FilterPlanNode {
 	private final Function<ValidationTuple, Value> filterOn;
 	private final String queryString;
 
-	public ExternalFilterByQuery(SailConnection connection, PlanNode parent, String queryFragment,
+	public ExternalFilterByQuery(SailConnection connection, ParsedQueryCache parsedQueryCache, PlanNode parent,
+			String queryFragment,
 			StatementMatcher.Variable queryVariable,
 			Function<ValidationTuple, Value> filterOn) {
 		super(parent);
@@ -46,14 +44,10 @@ public class ExternalFilterByQuery extends FilterPlanNode {
 		this.queryVariable = queryVariable;
 		this.filterOn = filterOn;
 
-		QueryParserFactory queryParserFactory = QueryParserRegistry.getInstance()
-				.get(QueryLanguage.SPARQL)
-				.get();
-
 		queryFragment = "SELECT ?" + queryVariable.getName() + " WHERE {\n" + queryFragment + "\n}";
 		this.queryString = queryFragment;
 		try {
-			this.query = queryParserFactory.getParser().parseQuery(queryFragment, null);
+			this.query = parsedQueryCache.parseQuery(queryFragment);
 		} catch (MalformedQueryException e) {
 			logger.error("Malformed query: \n{}", queryFragment);
 			throw e;
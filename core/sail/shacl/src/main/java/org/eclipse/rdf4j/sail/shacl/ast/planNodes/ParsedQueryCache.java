@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+
+package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
+
+import org.eclipse.rdf4j.common.annotation.InternalUseOnly;
+import org.eclipse.rdf4j.query.MalformedQueryException;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.parser.ParsedQuery;
+import org.eclipse.rdf4j.query.parser.ParsedTupleQuery;
+import org.eclipse.rdf4j.query.parser.QueryParserFactory;
+import org.eclipse.rdf4j.query.parser.QueryParserRegistry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches the parsed form of the SPARQL queries that are generated by the validation plans of a ShaclSail. The plans are
+ * rebuilt for every transaction, but as long as the shapes don't change they generate the same queries, so parsing them
+ * again for every transaction is wasted effort.
+ * <p>
+ * The cache is keyed on the complete query string, so entries never become stale, but the ShaclSail clears the cache
+ * whenever the shapes are reloaded so that queries of shapes that are no longer in use don't linger. Every lookup
+ * returns a copy of the cached query that the caller is free to modify. Queries that are generated from the data of a
+ * transaction, such as the queries of {@link BindSelect}, should not be cached.
+ *
+ * @apiNote This feature is for internal use only: its existence, signature or behavior may change without warning from
+ *          one release to the next.
+ */
+@InternalUseOnly
+public class ParsedQueryCache {
+
+	private static final int MAX_SIZE = 10_000;
+
+	private final Cache<String, ParsedTupleQuery> cache = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+
+	/**
+	 * Returns the parsed form of the supplied SPARQL select query.
+	 *
+	 * @param query a SPARQL select query
+	 * @return a parsed query that is not shared with any other caller
+	 * @throws MalformedQueryException if the query can't be parsed
+	 */
+	public ParsedQuery parseQuery(String query) throws MalformedQueryException {
+		ParsedTupleQuery cached = cache.getIfPresent(query);
+
+		if (cached == null) {
+			QueryParserFactory queryParserFactory = QueryParserRegistry.getInstance()
+					.get(QueryLanguage.SPARQL)
+					.get();
+			ParsedQuery parsedQuery = queryParserFactory.getParser().parseQuery(query, null);
+			if (!(parsedQuery instanceof ParsedTupleQuery)) {
+				return parsedQuery;
+			}
+
+			cached = (ParsedTupleQuery) parsedQuery;
+			cache.put(query, cached);
+		}
+
+		ParsedTupleQuery copy = new ParsedTupleQuery(query, cached.getTupleExpr().clone());
+		copy.setDataset(cached.getDataset());
+		return copy;
+	}
+
+	/**
+	 * Removes all cached queries.
+	 */
+	public void clear() {
+		cache.invalidateAll();
+	}
+
+}
@@ -16,11 +16,8 @@ import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.MalformedQueryException;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
-import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.query.impl.MapBindingSet;
 import org.eclipse.rdf4j.query.parser.ParsedQuery;
-import org.eclipse.rdf4j.query.parser.QueryParserFactory;
-import org.eclipse.rdf4j.query.parser.QueryParserRegistry;
 import org.eclipse.rdf4j.sail.SailConnection;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.memory.MemoryStoreConnection;
@@ -37,15 +34,18 @@ public class Select implements PlanNode {
 	private final SailConnection connection;
 	private final Function<BindingSet, ValidationTuple> mapper;
 
+	private final ParsedQueryCache parsedQueryCache;
+
 	private final String query;
 	private final boolean sorted;
 	private StackTraceElement[] stackTrace;
 	private boolean printed = false;
 	private ValidationExecutionLogger validationExecutionLogger;
 
-	public Select(SailConnection connection, String query, String orderBy,
+	public Select(SailConnection connection, ParsedQueryCache parsedQueryCache, String query, String orderBy,
 			Function<BindingSet, ValidationTuple> mapper) {
 		this.connection = connection;
+		this.parsedQueryCache = parsedQueryCache;
 		this.mapper = mapper;
 		if (query.trim().equals("")) {
 			logger.error("Query is empty", new Throwable("This throwable is just to log the stack trace"));
@@ -73,12 +73,8 @@ public class Select implements PlanNode {
 					return;
 				}
 
-				QueryParserFactory queryParserFactory = QueryParserRegistry.getInstance()
-						.get(QueryLanguage.SPARQL)
-						.get();
-
 				try {
-					ParsedQuery parsedQuery = queryParserFactory.getParser().parseQuery(query, null);
+					ParsedQuery parsedQuery = parsedQueryCache.parseQuery(query);
 					bindingSet = connection.evaluate(parsedQuery.getTupleExpr(), parsedQuery.getDataset(),
 							new MapBindingSet(), true);
 				} catch (MalformedQueryException e) {
@@ -8,19 +8,25 @@
 
 package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.text.StringEscapeUtils;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.shacl.config.ShaclSailConfig;
 
 public class Sort implements PlanNode {
 
+	/**
+	 * The maximum number of tuples that a sort keeps in memory in the current thread, see
+	 * {@link #withBufferSize(int, Callable)}.
+	 */
+	private static final ThreadLocal<Integer> bufferSize = ThreadLocal
+			.withInitial(() -> ShaclSailConfig.SORT_BUFFER_SIZE_DEFAULT);
+
 	private final PlanNode parent;
 	private boolean printed = false;
 	private ValidationExecutionLogger validationExecutionLogger;
@@ -30,13 +36,31 @@ public class Sort implements PlanNode {
 		this.parent = parent;
 	}
 
+	/**
+	 * Runs the supplied callable with the given maximum number of tuples that each sort keeps in memory before it
+	 * spills sorted runs to disk. Sorts take this limit from the thread that iterates over them.
+	 *
+	 * @param bufferSize the maximum number of tuples in memory per sort, or -1 to keep all tuples in memory
+	 */
+	public static <T> T withBufferSize(int bufferSize, Callable<T> callable) throws Exception {
+		Integer previous = Sort.bufferSize.get();
+		Sort.bufferSize.set(bufferSize);
+		try {
+			return callable.call();
+		} finally {
+			Sort.bufferSize.set(previous);
+		}
+	}
+
 	@Override
 	public CloseableIteration<? extends ValidationTuple, SailException> iterator() {
 		return new LoggingCloseableIteration(this, validationExecutionLogger) {
 
 			final CloseableIteration<? extends ValidationTuple, SailException> iterator = parent.iterator();
 
-			List<ValidationTuple> sortedTuples;
+			final int maxTuplesInMemory = bufferSize.get();
+
+			TupleSorter sorter;
 
 			Iterator<ValidationTuple> sortedTuplesIterator;
 
@@ -49,14 +73,17 @@ public class Sort implements PlanNode {
 				}
 				closed = true;
 
-				assert sortedTuples == null
+				assert sorter == null
 						|| !iterator.hasNext() : "All tuples from parent iterator where not retrieved when sorting!";
 
 				try {
 					iterator.close();
 				} finally {
 					sortedTuplesIterator = Collections.emptyIterator();
-					sortedTuples = null;
+					if (sorter != null) {
+						sorter.close();
+						sorter = null;
+					}
 				}
 
 			}
@@ -72,33 +99,12 @@ public class Sort implements PlanNode {
 					throw new IllegalStateException("Tried to iterate on a closed iterator");
 				}
 
-				if (sortedTuples == null) {
-					sortedTuples = new ArrayList<>();
-					boolean alreadySorted = true;
-					ValidationTuple prev = null;
+				if (sorter == null) {
+					sorter = new TupleSorter(maxTuplesInMemory);
 					while (iterator.hasNext()) {
-						ValidationTuple next = iterator.next();
-						sortedTuples.add(next);
-						if (prev != null
-								&& prev.compareActiveTarget(next) > 0) {
-							alreadySorted = false;
-						}
-						prev = next;
-					}
-
-					if (!alreadySorted && sortedTuples.size() > 1) {
-						if (sortedTuples.size() > 8192) { // MIN_ARRAY_SORT_GRAN in Arrays.parallelSort(...)
-							ValidationTuple[] objects = sortedTuples.toArray(new ValidationTuple[0]);
-							Arrays.parallelSort(objects,
-									ValidationTuple::compareActiveTarget);
-							sortedTuples = Arrays.asList(objects);
-						} else {
-							sortedTuples
-									.sort(ValidationTuple::compareActiveTarget);
-						}
+						sorter.add(iterator.next());
 					}
-					sortedTuplesIterator = sortedTuples.iterator();
-
+					sortedTuplesIterator = sorter.iterator();
 				}
 
 				assert !iterator.hasNext() : "Iterator: " + iterator.toString();
@@ -15,11 +15,8 @@ import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.MalformedQueryException;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
-import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.query.impl.MapBindingSet;
 import org.eclipse.rdf4j.query.parser.ParsedQuery;
-import org.eclipse.rdf4j.query.parser.QueryParserFactory;
-import org.eclipse.rdf4j.query.parser.QueryParserRegistry;
 import org.eclipse.rdf4j.sail.SailConnection;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.memory.MemoryStoreConnection;
@@ -36,14 +33,18 @@ public class SparqlTargetSelect implements PlanNode {
 
 	private final SailConnection connection;
 
+	private final ParsedQueryCache parsedQueryCache;
+
 	private final String query;
 	private final String[] variables;
 	private final ConstraintComponent.Scope scope;
 	private boolean printed = false;
 	private ValidationExecutionLogger validationExecutionLogger;
 
-	public SparqlTargetSelect(SailConnection connection, String query, ConstraintComponent.Scope scope) {
+	public SparqlTargetSelect(SailConnection connection, ParsedQueryCache parsedQueryCache, String query,
+			ConstraintComponent.Scope scope) {
 		this.connection = connection;
+		this.parsedQueryCache = parsedQueryCache;
 		this.query = query;
 		assert query.contains("?this") : "Query should contain ?this: " + query;
 		this.variables = new String[] { "?this" };
@@ -59,12 +60,8 @@ public class SparqlTargetSelect implements PlanNode {
 
 			{
 
-				QueryParserFactory queryParserFactory = QueryParserRegistry.getInstance()
-						.get(QueryLanguage.SPARQL)
-						.get();
-
 				try {
-					ParsedQuery parsedQuery = queryParserFactory.getParser().parseQuery(query, null);
+					ParsedQuery parsedQuery = parsedQueryCache.parseQuery(query);
 					bindingSet = connection.evaluate(parsedQuery.getTupleExpr(), parsedQuery.getDataset(),
 							new MapBindingSet(), true);
 				} catch (MalformedQueryException e) {
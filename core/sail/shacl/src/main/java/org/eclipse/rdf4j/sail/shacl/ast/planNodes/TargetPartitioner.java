@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+
+package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.sail.SailException;
+
+/**
+ * Splits the tuples of a plan node into disjoint partitions by the hash of their active target, so that running a
+ * validation plan once for each partition validates the targets independently of each other. Within a partition the
+ * tuples keep the order of the parent.
+ * <p>
+ * The parent is iterated once for all partitions, by whichever partition runs out of tuples first, and its tuples are
+ * handed to the other partitions through a queue for every plan node of a partition. The queue of a plan node that is
+ * being iterated by another thread holds at most a limited number of tuples: when it is full, reading the parent waits
+ * for that thread to catch up. The queues of plan nodes that have not been iterated yet, or whose thread is waiting for
+ * the tuples of another plan node, are not limited, as waiting for them could wait forever. A plan node that is created
+ * after the parent has been read, that is iterated again, or that starts after all plan nodes that were iterated have
+ * been closed, iterates the parent itself.
+ */
+public class TargetPartitioner {
+
+	private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+	private final PlanNode parent;
+	private final int partitions;
+	private final int queueCapacity;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+
+	// all fields below are guarded by the lock
+	private final List<PartitionQueue> queues = new ArrayList<>();
+	private final Map<Thread, PartitionQueue> waitingThreads = new HashMap<>();
+	private CloseableIteration<? extends ValidationTuple, SailException> parentIterator;
+	private boolean retrieving;
+	private boolean exhausted;
+	private boolean abandoned;
+	private RuntimeException failure;
+
+	public TargetPartitioner(PlanNode parent, int partitions) {
+		this(parent, partitions, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	TargetPartitioner(PlanNode parent, int partitions, int queueCapacity) {
+		assert partitions > 0;
+		assert queueCapacity > 0;
+		this.parent = parent;
+		this.partitions = partitions;
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * @param partition the partition, from 0 to the number of partitions - 1
+	 * @return a plan node that produces the tuples of the partition
+	 */
+	public PlanNode getPlanNode(int partition) {
+		assert partition >= 0 && partition < partitions;
+		PartitionQueue queue = new PartitionQueue(partition);
+		lock.lock();
+		try {
+			// tuples that were already read from the parent can't be handed to the new queue
+			queue.late = parentIterator != null || exhausted || abandoned || failure != null;
+			queues.add(queue);
+		} finally {
+			lock.unlock();
+		}
+		return new TargetPartitionPlanNode(queue);
+	}
+
+	private int partitionOf(ValidationTuple tuple) {
+		return Math.floorMod(tuple.getActiveTarget().hashCode(), partitions);
+	}
+
+	/**
+	 * @return the next tuple of the queue, or null once all tuples of its partition have been returned
+	 */
+	private ValidationTuple takeNext(PartitionQueue queue) {
+		lock.lock();
+		try {
+			while (true) {
+				if (!queue.tuples.isEmpty()) {
+					ValidationTuple tuple = queue.tuples.poll();
+					changed.signalAll();
+					return tuple;
+				}
+				if (failure != null) {
+					throw failure;
+				}
+				if (exhausted) {
+					return null;
+				}
+				if (retrieving) {
+					await(queue);
+				} else {
+					retrieving = true;
+					try {
+						retrieve(queue);
+					} finally {
+						retrieving = false;
+						changed.signalAll();
+					}
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Reads the parent until it produces a tuple for the supplied queue, handing the tuples of other partitions to
+	 * their queues. Must be called with the lock held.
+	 */
+	private void retrieve(PartitionQueue queue) {
+		if (parentIterator == null) {
+			parentIterator = parent.iterator();
+		}
+
+		while (queue.tuples.isEmpty()) {
+			ValidationTuple tuple = null;
+			RuntimeException exception = null;
+			// other threads can take tuples from their queues while the parent is read
+			lock.unlock();
+			try {
+				if (parentIterator.hasNext()) {
+					tuple = parentIterator.next();
+				}
+			} catch (RuntimeException e) {
+				exception = e;
+			} finally {
+				lock.lock();
+			}
+
+			if (exception != null) {
+				failure = exception;
+				closeParent();
+				throw exception;
+			}
+			if (tuple == null) {
+				exhausted = true;
+				closeParent();
+				return;
+			}
+
+			int partition = partitionOf(tuple);
+			for (PartitionQueue other : queues) {
+				if (other.partition != partition) {
+					continue;
+				}
+				while (other != queue && isFullAndConsumedElsewhere(other)) {
+					await(queue);
+				}
+				if (!other.closed) {
+					other.tuples.add(tuple);
+				}
+			}
+			changed.signalAll();
+		}
+	}
+
+	private boolean isFullAndConsumedElsewhere(PartitionQueue queue) {
+		if (queue.tuples.size() < queueCapacity || queue.owner == null || queue.closed
+				|| queue.owner == Thread.currentThread()) {
+			return false;
+		}
+		// the owner will only take from this queue if it isn't waiting for the tuples of another queue
+		PartitionQueue waitingFor = waitingThreads.get(queue.owner);
+		return waitingFor == null || waitingFor == queue;
+	}
+
+	/**
+	 * Waits for another thread to take or add tuples. Must be called with the lock held.
+	 *
+	 * @param queue the queue that the current thread needs tuples for
+	 */
+	private void await(PartitionQueue queue) {
+		Thread thread = Thread.currentThread();
+		waitingThreads.put(thread, queue);
+		// a thread that reads the parent may be waiting for this thread to take tuples
+		changed.signalAll();
+		try {
+			changed.await();
+		} catch (InterruptedException e) {
+			thread.interrupt();
+			throw new SailException(e);
+		} finally {
+			waitingThreads.remove(thread);
+		}
+	}
+
+	/**
+	 * Opens the queue for iteration by the current thread.
+	 *
+	 * @return false if the queue can't provide the tuples of its partition, because it was created after the parent was
+	 *         read, it was iterated before, or the parent was closed before it was read completely
+	 */
+	private boolean open(PartitionQueue queue) {
+		lock.lock();
+		try {
+			if (queue.opened || queue.late || abandoned) {
+				return false;
+			}
+			queue.opened = true;
+			queue.owner = Thread.currentThread();
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void close(PartitionQueue queue) {
+		lock.lock();
+		try {
+			queue.closed = true;
+			queue.owner = null;
+			queue.tuples.clear();
+			changed.signalAll();
+
+			// stop reading the parent if none of the queues that were opened still needs its tuples
+			if (!retrieving && !exhausted && parentIterator != null
+					&& queues.stream().allMatch(q -> q.closed || !q.opened)) {
+				abandoned = true;
+				closeParent();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void closeParent() {
+		if (parentIterator != null) {
+			CloseableIteration<? extends ValidationTuple, SailException> iterator = parentIterator;
+			parentIterator = null;
+			iterator.close();
+		}
+		for (PartitionQueue queue : queues) {
+			if (abandoned && !queue.opened) {
+				queue.tuples.clear();
+			}
+		}
+	}
+
+	private static class PartitionQueue {
+		private final int partition;
+		private final ArrayDeque<ValidationTuple> tuples = new ArrayDeque<>();
+		private Thread owner;
+		private boolean late;
+		private boolean opened;
+		private boolean closed;
+
+		PartitionQueue(int partition) {
+			this.partition = partition;
+		}
+	}
+
+	class TargetPartitionPlanNode implements PlanNode {
+		private final PartitionQueue queue;
+		private boolean printed = false;
+
+		private ValidationExecutionLogger validationExecutionLogger;
+
+		TargetPartitionPlanNode(PartitionQueue queue) {
+			this.queue = queue;
+		}
+
+		@Override
+		public CloseableIteration<? extends ValidationTuple, SailException> iterator() {
+
+			CloseableIteration<ValidationTuple, SailException> iterator;
+			if (open(queue)) {
+				iterator = new LookAheadIteration<ValidationTuple, SailException>() {
+
+					@Override
+					protected ValidationTuple getNextElement() throws SailException {
+						return takeNext(queue);
+					}
+
+					@Override
+					protected void handleClose() throws SailException {
+						TargetPartitioner.this.close(queue);
+					}
+				};
+			} else {
+				iterator = new LookAheadIteration<ValidationTuple, SailException>() {
+
+					private final CloseableIteration<? extends ValidationTuple, SailException> parentIterator = parent
+							.iterator();
+
+					@Override
+					protected ValidationTuple getNextElement() throws SailException {
+						while (parentIterator.hasNext()) {
+							ValidationTuple tuple = parentIterator.next();
+							if (partitionOf(tuple) == queue.partition) {
+								return tuple;
+							}
+						}
+						return null;
+					}
+
+					@Override
+					protected void handleClose() throws SailException {
+						parentIterator.close();
+					}
+				};
+			}
+
+			return new LoggingCloseableIteration(this, validationExecutionLogger) {
+
+				@Override
+				public void close() throws SailException {
+					iterator.close();
+				}
+
+				@Override
+				boolean localHasNext() throws SailException {
+					return iterator.hasNext();
+				}
+
+				@Override
+				ValidationTuple loggingNext() throws SailException {
+					return iterator.next();
+				}
+
+				@Override
+				public void remove() throws SailException {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		public int depth() {
+			return parent.depth() + 1;
+		}
+
+		@Override
+		public void getPlanAsGraphvizDot(StringBuilder stringBuilder) {
+			if (printed) {
+				return;
+			}
+			printed = true;
+			stringBuilder.append(getId() + " [label=\"" + StringEscapeUtils.escapeJava(this.toString()) + "\"];")
+					.append("\n");
+			stringBuilder.append(parent.getId() + " -> " + getId()).append("\n");
+			parent.getPlanAsGraphvizDot(stringBuilder);
+		}
+
+		@Override
+		public String getId() {
+			return System.identityHashCode(this) + "";
+		}
+
+		@Override
+		public String toString() {
+			return "TargetPartitioner{" + "partition=" + queue.partition + ", partitions=" + partitions + '}';
+		}
+
+		@Override
+		public void receiveLogger(ValidationExecutionLogger validationExecutionLogger) {
+			this.validationExecutionLogger = validationExecutionLogger;
+			parent.receiveLogger(validationExecutionLogger);
+		}
+
+		@Override
+		public boolean producesSorted() {
+			return parent.producesSorted();
+		}
+
+		@Override
+		public boolean requiresSorted() {
+			return parent.requiresSorted();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			TargetPartitionPlanNode that = (TargetPartitionPlanNode) o;
+			return queue.partition == that.queue.partition && getPartitioner() == that.getPartitioner();
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(getPartitioner()), queue.partition);
+		}
+
+		private TargetPartitioner getPartitioner() {
+			return TargetPartitioner.this;
+		}
+	}
+
+}
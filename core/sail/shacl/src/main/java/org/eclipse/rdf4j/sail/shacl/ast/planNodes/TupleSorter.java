@@ -0,0 +1,364 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+
+package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Triple;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.shacl.ast.constraintcomponents.ConstraintComponent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sorts {@link ValidationTuple}s on their active target while keeping at most a fixed number of tuples in memory. When
+ * the limit is reached, the buffered tuples are sorted and written to a temporary run file, and the final order is
+ * obtained by merging the runs. The sort is stable.
+ * <p>
+ * Tuples that carry validation results or compressed tuples can't be written to disk, they are kept in memory and only
+ * a reference to them is written to the run file. These tuples are normally only produced after the last sort of a
+ * validation plan.
+ */
+class TupleSorter {
+
+	private static final Logger logger = LoggerFactory.getLogger(TupleSorter.class);
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final Comparator<ValidationTuple> comparator = ValidationTuple::compareActiveTarget;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	// value types in the run files
+	private static final byte NULL_VALUE = 0;
+	private static final byte IRI_VALUE = 1;
+	private static final byte BNODE_VALUE = 2;
+	private static final byte LITERAL_VALUE = 3;
+	private static final byte LANG_LITERAL_VALUE = 4;
+	private static final byte TRIPLE_VALUE = 5;
+
+	private static final ConstraintComponent.Scope[] scopes = ConstraintComponent.Scope.values();
+
+	private final int maxTuplesInMemory;
+
+	private List<ValidationTuple> tuples = new ArrayList<>();
+
+	private final List<File> runs = new ArrayList<>();
+
+	private final List<ValidationTuple> unspillableTuples = new ArrayList<>();
+
+	private final List<DataInputStream> openRuns = new ArrayList<>();
+
+	private boolean sorted = true;
+
+	private ValidationTuple previous;
+
+	/**
+	 * @param maxTuplesInMemory The maximum number of tuples that are kept in memory before they are written to a run
+	 *                          file, or a negative number to keep all tuples in memory.
+	 */
+	TupleSorter(int maxTuplesInMemory) {
+		this.maxTuplesInMemory = maxTuplesInMemory;
+	}
+
+	void add(ValidationTuple tuple) {
+		if (previous != null && previous.compareActiveTarget(tuple) > 0) {
+			sorted = false;
+		}
+		previous = tuple;
+
+		if (maxTuplesInMemory >= 0 && tuples.size() >= maxTuplesInMemory) {
+			writeRun();
+		}
+		tuples.add(tuple);
+	}
+
+	/**
+	 * Returns the added tuples in sorted order, no more tuples can be added after this method has been called.
+	 */
+	Iterator<ValidationTuple> iterator() {
+		sortTuples();
+		if (runs.isEmpty()) {
+			return tuples.iterator();
+		}
+
+		logger.debug("Merging {} sorted runs", runs.size() + 1);
+
+		List<Iterator<ValidationTuple>> runIterators = new ArrayList<>(runs.size() + 1);
+		for (File run : runs) {
+			runIterators.add(readRun(run));
+		}
+		runIterators.add(tuples.iterator());
+
+		return mergeRuns(runIterators);
+	}
+
+	/**
+	 * Releases the buffered tuples and deletes the run files.
+	 */
+	void close() {
+		tuples = Collections.emptyList();
+		unspillableTuples.clear();
+		for (DataInputStream in : openRuns) {
+			try {
+				in.close();
+			} catch (IOException e) {
+				logger.warn("Failed to close sort run", e);
+			}
+		}
+		openRuns.clear();
+		for (File run : runs) {
+			if (!run.delete()) {
+				logger.warn("Failed to delete sort run {}", run);
+			}
+		}
+		runs.clear();
+	}
+
+	private void sortTuples() {
+		if (sorted || tuples.size() <= 1) {
+			return;
+		}
+
+		if (tuples.size() > 8192) { // MIN_ARRAY_SORT_GRAN in Arrays.parallelSort(...)
+			ValidationTuple[] objects = tuples.toArray(new ValidationTuple[0]);
+			Arrays.parallelSort(objects, comparator);
+			tuples = Arrays.asList(objects);
+		} else {
+			tuples.sort(comparator);
+		}
+	}
+
+	private void writeRun() {
+		sortTuples();
+		try {
+			File run = File.createTempFile("shacl-sort", ".run");
+			runs.add(run);
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(run), BUFFER_SIZE))) {
+				for (ValidationTuple tuple : tuples) {
+					writeTuple(out, tuple);
+				}
+			}
+		} catch (IOException e) {
+			throw new SailException("Failed to write tuples to disk while sorting", e);
+		}
+		tuples = new ArrayList<>();
+	}
+
+	private void writeTuple(DataOutputStream out, ValidationTuple tuple) throws IOException {
+		if (!tuple.getValidationResult().isEmpty() || !tuple.getCompressedTuples().isEmpty()) {
+			out.writeInt(unspillableTuples.size());
+			unspillableTuples.add(tuple);
+			return;
+		}
+
+		out.writeInt(-1);
+		out.writeByte(tuple.getScope().ordinal());
+		out.writeBoolean(tuple.isPropertyShapeScopeWithValue());
+
+		List<Value> chain = tuple.getChain();
+		out.writeInt(chain.size());
+		for (Value value : chain) {
+			writeValue(out, value);
+		}
+	}
+
+	private void writeValue(DataOutputStream out, Value value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL_VALUE);
+		} else if (value instanceof IRI) {
+			out.writeByte(IRI_VALUE);
+			writeString(out, value.stringValue());
+		} else if (value instanceof BNode) {
+			out.writeByte(BNODE_VALUE);
+			writeString(out, value.stringValue());
+		} else if (value instanceof Triple) {
+			Triple triple = (Triple) value;
+			out.writeByte(TRIPLE_VALUE);
+			writeValue(out, triple.getSubject());
+			writeValue(out, triple.getPredicate());
+			writeValue(out, triple.getObject());
+		} else {
+			Literal literal = (Literal) value;
+			if (literal.getLanguage().isPresent()) {
+				out.writeByte(LANG_LITERAL_VALUE);
+				writeString(out, literal.getLabel());
+				writeString(out, literal.getLanguage().get());
+			} else {
+				out.writeByte(LITERAL_VALUE);
+				writeString(out, literal.getLabel());
+				writeString(out, literal.getDatatype().stringValue());
+			}
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private Iterator<ValidationTuple> readRun(File run) {
+		DataInputStream in;
+		try {
+			in = new DataInputStream(new BufferedInputStream(new FileInputStream(run), BUFFER_SIZE));
+		} catch (IOException e) {
+			throw new SailException("Failed to read tuples from disk while sorting", e);
+		}
+		openRuns.add(in);
+
+		return new Iterator<ValidationTuple>() {
+
+			ValidationTuple next = readNext();
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public ValidationTuple next() {
+				ValidationTuple current = next;
+				next = readNext();
+				return current;
+			}
+
+			private ValidationTuple readNext() {
+				try {
+					return readTuple(in);
+				} catch (EOFException e) {
+					return null;
+				} catch (IOException e) {
+					throw new SailException("Failed to read tuples from disk while sorting", e);
+				}
+			}
+		};
+	}
+
+	private ValidationTuple readTuple(DataInputStream in) throws IOException {
+		int unspillableIndex = in.readInt();
+		if (unspillableIndex >= 0) {
+			return unspillableTuples.get(unspillableIndex);
+		}
+
+		ConstraintComponent.Scope scope = scopes[in.readByte()];
+		boolean propertyShapeScopeWithValue = in.readBoolean();
+
+		int size = in.readInt();
+		List<Value> chain = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			chain.add(readValue(in));
+		}
+
+		return new ValidationTuple(chain, scope, propertyShapeScopeWithValue);
+	}
+
+	private Value readValue(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case NULL_VALUE:
+			return null;
+		case IRI_VALUE:
+			return vf.createIRI(readString(in));
+		case BNODE_VALUE:
+			return vf.createBNode(readString(in));
+		case LANG_LITERAL_VALUE:
+			return vf.createLiteral(readString(in), readString(in));
+		case LITERAL_VALUE:
+			return vf.createLiteral(readString(in), vf.createIRI(readString(in)));
+		case TRIPLE_VALUE:
+			return vf.createTriple((Resource) readValue(in), (IRI) readValue(in), readValue(in));
+		default:
+			throw new IOException("Unknown value type in sort run: " + type);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Merges sorted runs. Tuples with the same active target are returned in the order of the runs, which keeps the
+	 * sort stable since the runs are created in insertion order.
+	 */
+	private static Iterator<ValidationTuple> mergeRuns(List<Iterator<ValidationTuple>> runIterators) {
+		PriorityQueue<RunHead> queue = new PriorityQueue<>(runIterators.size());
+		for (int i = 0; i < runIterators.size(); i++) {
+			Iterator<ValidationTuple> iterator = runIterators.get(i);
+			if (iterator.hasNext()) {
+				queue.add(new RunHead(i, iterator.next(), iterator));
+			}
+		}
+
+		return new Iterator<ValidationTuple>() {
+			@Override
+			public boolean hasNext() {
+				return !queue.isEmpty();
+			}
+
+			@Override
+			public ValidationTuple next() {
+				RunHead head = queue.poll();
+				ValidationTuple tuple = head.tuple;
+				if (head.iterator.hasNext()) {
+					queue.add(new RunHead(head.run, head.iterator.next(), head.iterator));
+				}
+				return tuple;
+			}
+		};
+	}
+
+	private static class RunHead implements Comparable<RunHead> {
+
+		private final int run;
+		private final ValidationTuple tuple;
+		private final Iterator<ValidationTuple> iterator;
+
+		RunHead(int run, ValidationTuple tuple, Iterator<ValidationTuple> iterator) {
+			this.run = run;
+			this.tuple = tuple;
+			this.iterator = iterator;
+		}
+
+		@Override
+		public int compareTo(RunHead other) {
+			int compare = comparator.compare(tuple, other.tuple);
+			if (compare != 0) {
+				return compare;
+			}
+			return Integer.compare(run, other.run);
+		}
+	}
+}
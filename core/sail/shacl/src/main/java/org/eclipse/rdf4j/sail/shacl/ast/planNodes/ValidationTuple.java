@@ -368,6 +368,14 @@ public class ValidationTuple {
 		return compressedTuples;
 	}
 
+	List<Value> getChain() {
+		return chain;
+	}
+
+	boolean isPropertyShapeScopeWithValue() {
+		return propertyShapeScopeWithValue;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
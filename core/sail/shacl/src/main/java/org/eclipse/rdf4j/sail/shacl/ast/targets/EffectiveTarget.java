@@ -147,7 +147,7 @@ public class EffectiveTarget {
 
 		List<String> varNames = getVars().stream().map(StatementMatcher.Variable::getName).collect(Collectors.toList());
 
-		return new Select(connectionsGroup.getBaseConnection(), query, null,
+		return new Select(connectionsGroup.getBaseConnection(), connectionsGroup.getParsedQueryCache(), query, null,
 				new AllTargetsBindingSetMapper(varNames, scope, false));
 	}
 
@@ -226,7 +226,8 @@ public class EffectiveTarget {
 				.orElse("");
 
 		// TODO: this is a slow way to solve this problem! We should use bulk operations.
-		return new ExternalFilterByQuery(connectionsGroup.getBaseConnection(), parent, query, last.var,
+		return new ExternalFilterByQuery(connectionsGroup.getBaseConnection(), connectionsGroup.getParsedQueryCache(),
+				parent, query, last.var,
 				ValidationTuple::getActiveTarget)
 						.getTrueNode(UnBufferedPlanNode.class);
 	}
@@ -102,7 +102,8 @@ public class RSXTargetShape extends Target {
 				connectionsGroup.getRdfsSubClassOfReasoner());
 
 		// TODO: this is a slow way to solve this problem! We should use bulk operations.
-		return new ExternalFilterByQuery(connectionsGroup.getBaseConnection(), parent, query,
+		return new ExternalFilterByQuery(connectionsGroup.getBaseConnection(), connectionsGroup.getParsedQueryCache(),
+				parent, query,
 				new StatementMatcher.Variable("temp1"),
 				ValidationTuple::getActiveTarget)
 						.getTrueNode(UnBufferedPlanNode.class);
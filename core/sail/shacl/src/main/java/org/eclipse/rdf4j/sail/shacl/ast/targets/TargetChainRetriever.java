@@ -12,11 +12,8 @@ import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.MalformedQueryException;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
-import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.query.impl.MapBindingSet;
 import org.eclipse.rdf4j.query.parser.ParsedQuery;
-import org.eclipse.rdf4j.query.parser.QueryParserFactory;
-import org.eclipse.rdf4j.query.parser.QueryParserRegistry;
 import org.eclipse.rdf4j.sail.SailConnection;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.shacl.ConnectionsGroup;
@@ -40,7 +37,6 @@ public class TargetChainRetriever implements PlanNode {
 	private final List<StatementMatcher> statementPatterns;
 	private final List<StatementMatcher> removedStatementMatchers;
 	private final String query;
-	private final QueryParserFactory queryParserFactory;
 	private final ConstraintComponent.Scope scope;
 	private StackTraceElement[] stackTrace;
 
@@ -59,10 +55,6 @@ public class TargetChainRetriever implements PlanNode {
 		this.query = "select " + sparqlProjection + " where {" + query + "}";
 //		this.stackTrace = Thread.currentThread().getStackTrace();
 
-		queryParserFactory = QueryParserRegistry.getInstance()
-				.get(QueryLanguage.SPARQL)
-				.get();
-
 		this.removedStatementMatchers = removedStatementMatchers != null ? removedStatementMatchers
 				: Collections.emptyList();
 		assert this.removedStatementMatchers.size() <= 1;
@@ -148,7 +140,7 @@ public class TargetChainRetriever implements PlanNode {
 						}
 
 						if (parsedQuery == null) {
-							parsedQuery = queryParserFactory.getParser().parseQuery(query, null);
+							parsedQuery = connectionsGroup.getParsedQueryCache().parseQuery(query);
 						}
 
 						Statement next = statements.next();
@@ -52,7 +52,8 @@ public class TargetClass extends Target {
 			planNode = new UnorderedSelect(connection, null, RDF.TYPE, clazz,
 					UnorderedSelect.Mapper.SubjectScopedMapper.getFunction(scope));
 		} else {
-			planNode = new Select(connection, getQueryFragment("?a", "?c", null),
+			planNode = new Select(connection, connectionsGroup.getParsedQueryCache(),
+					getQueryFragment("?a", "?c", null),
 					"?a", b -> new ValidationTuple(b.getValue("a"), scope, false));
 		}
 
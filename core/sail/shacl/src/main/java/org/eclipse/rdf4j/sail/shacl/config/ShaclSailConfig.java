@@ -53,6 +53,7 @@ public class ShaclSailConfig extends AbstractDelegatingSailImplConfig {
 	public static final boolean DASH_DATA_SHAPES_DEFAULT = false;
 	public final static long VALIDATION_RESULTS_LIMIT_TOTAL_DEFAULT = -1;
 	public final static long VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT_DEFAULT = -1;
+	public final static int SORT_BUFFER_SIZE_DEFAULT = 1_000_000;
 
 	private boolean parallelValidation = PARALLEL_VALIDATION_DEFAULT;
 	private boolean undefinedTargetValidatesAllSubjects = UNDEFINED_TARGET_VALIDATES_ALL_SUBJECTS_DEFAULT;
@@ -69,6 +70,7 @@ public class ShaclSailConfig extends AbstractDelegatingSailImplConfig {
 	private boolean dashDataShapes = DASH_DATA_SHAPES_DEFAULT;
 	private long validationResultsLimitTotal = VALIDATION_RESULTS_LIMIT_TOTAL_DEFAULT;
 	private long validationResultsLimitPerConstraint = VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT_DEFAULT;
+	private int sortBufferSize = SORT_BUFFER_SIZE_DEFAULT;
 
 	public ShaclSailConfig() {
 		super(ShaclSailFactory.SAIL_TYPE);
@@ -206,6 +208,14 @@ public class ShaclSailConfig extends AbstractDelegatingSailImplConfig {
 		this.validationResultsLimitPerConstraint = validationResultsLimitPerConstraint;
 	}
 
+	public int getSortBufferSize() {
+		return sortBufferSize;
+	}
+
+	public void setSortBufferSize(int sortBufferSize) {
+		this.sortBufferSize = sortBufferSize;
+	}
+
 	@Override
 	public Resource export(Model m) {
 		Resource implNode = super.export(m);
@@ -231,6 +241,7 @@ public class ShaclSailConfig extends AbstractDelegatingSailImplConfig {
 				literal(getValidationResultsLimitTotal()));
 		m.add(implNode, ShaclSailSchema.VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT,
 				literal(getValidationResultsLimitPerConstraint()));
+		m.add(implNode, ShaclSailSchema.SORT_BUFFER_SIZE, literal(getSortBufferSize()));
 		return implNode;
 	}
 
@@ -285,6 +296,9 @@ public class ShaclSailConfig extends AbstractDelegatingSailImplConfig {
 					m.getStatements(implNode, ShaclSailSchema.VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT, null))
 					.ifPresent(l -> setValidationResultsLimitPerConstraint(l.longValue()));
 
+			Models.objectLiteral(m.getStatements(implNode, ShaclSailSchema.SORT_BUFFER_SIZE, null))
+					.ifPresent(l -> setSortBufferSize(l.intValue()));
+
 		} catch (IllegalArgumentException e) {
 			throw new SailConfigException("error parsing Sail configuration", e);
 		}
@@ -63,6 +63,9 @@ public class ShaclSailSchema {
 	public final static IRI VALIDATION_RESULTS_LIMIT_TOTAL = create("validationResultsLimitTotal");
 	public final static IRI VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT = create("validationResultsLimitPerConstraint");
 
+	/** <code>http://rdf4j.org/config/sail/shacl#sortBufferSize</code> */
+	public final static IRI SORT_BUFFER_SIZE = create("sortBufferSize");
+
 	private static IRI create(String localName) {
 		return iri(NAMESPACE, localName);
 	}
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.eclipse.rdf4j.query.algebra.Projection;
+import org.eclipse.rdf4j.query.parser.ParsedQuery;
+import org.junit.Test;
+
+public class ParsedQueryCacheTest {
+
+	@Test
+	public void testReturnsIndependentCopies() {
+		String query = "select * where { ?a <http://example.com/p> ?c }";
+
+		ParsedQueryCache cache = new ParsedQueryCache();
+		ParsedQuery first = cache.parseQuery(query);
+		ParsedQuery second = cache.parseQuery(query);
+
+		assertNotSame(first.getTupleExpr(), second.getTupleExpr());
+		assertEquals(first.getTupleExpr(), second.getTupleExpr());
+
+		// modifying one copy must not affect the other
+		((Projection) first.getTupleExpr()).getProjectionElemList().getElements().clear();
+		assertEquals(cache.parseQuery(query).getTupleExpr(), second.getTupleExpr());
+	}
+
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.XMLSchema;
+import org.eclipse.rdf4j.sail.shacl.ast.constraintcomponents.ConstraintComponent;
+import org.eclipse.rdf4j.sail.shacl.mock.MockConsumePlanNode;
+import org.eclipse.rdf4j.sail.shacl.mock.MockInputPlanNode;
+import org.junit.Test;
+
+public class SortTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@Test
+	public void testSpillingSortMatchesInMemorySort() throws Exception {
+		List<ValidationTuple> tuples = createTuples(5000);
+
+		List<ValidationTuple> expected = new ArrayList<>(tuples);
+		expected.sort(ValidationTuple::compareActiveTarget);
+
+		List<ValidationTuple> inMemory = Sort.withBufferSize(-1, () -> sort(tuples));
+		List<ValidationTuple> spilled = Sort.withBufferSize(100, () -> sort(tuples));
+
+		assertEquals(expected, inMemory);
+		assertEquals(expected, spilled);
+	}
+
+	@Test
+	public void testSpillingSortKeepsTuplesWithValidationResults() throws Exception {
+		List<ValidationTuple> tuples = new ArrayList<>(createTuples(50));
+		tuples.add(new ValidationTuple(tuples.get(0), Collections.singleton(tuples.get(1))));
+		Collections.shuffle(tuples, new Random(42));
+
+		List<ValidationTuple> expected = new ArrayList<>(tuples);
+		expected.sort(ValidationTuple::compareActiveTarget);
+
+		assertEquals(expected, Sort.withBufferSize(7, () -> sort(tuples)));
+	}
+
+	@Test
+	public void testSpillingSortWithTriples() throws Exception {
+		IRI predicate = vf.createIRI("http://example.com/p");
+		List<ValidationTuple> tuples = new ArrayList<>();
+		for (ValidationTuple tuple : createTuples(500)) {
+			Value target = tuple.getActiveTarget();
+			Value nested = vf.createTriple(vf.createBNode(), predicate, tuple.getValue());
+			if (target instanceof IRI) {
+				target = vf.createTriple((IRI) target, predicate, nested);
+			}
+			tuples.add(new ValidationTuple(Arrays.asList(target, nested), ConstraintComponent.Scope.propertyShape,
+					true));
+		}
+
+		List<ValidationTuple> expected = new ArrayList<>(tuples);
+		expected.sort(ValidationTuple::compareActiveTarget);
+
+		assertEquals(expected, Sort.withBufferSize(100, () -> sort(tuples)));
+	}
+
+	private static List<ValidationTuple> sort(List<ValidationTuple> tuples) {
+		return new MockConsumePlanNode(new Sort(new MockInputPlanNode(tuples))).asList();
+	}
+
+	private static List<ValidationTuple> createTuples(int count) {
+		Random random = new Random(1);
+		List<ValidationTuple> tuples = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Value target;
+			switch (i % 3) {
+			case 0:
+				target = vf.createIRI("http://example.com/", "s" + random.nextInt(1000));
+				break;
+			case 1:
+				target = vf.createBNode("b" + random.nextInt(1000));
+				break;
+			default:
+				target = vf.createLiteral(random.nextInt(1000));
+			}
+			Value value = i % 2 == 0 ? vf.createLiteral("v" + i, "en") : vf.createLiteral("v" + i, XMLSchema.STRING);
+			tuples.add(
+					new ValidationTuple(Arrays.asList(target, value), ConstraintComponent.Scope.propertyShape, true));
+		}
+		return tuples;
+	}
+}
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.shacl.ast.constraintcomponents.ConstraintComponent;
+import org.eclipse.rdf4j.sail.shacl.mock.MockConsumePlanNode;
+import org.eclipse.rdf4j.sail.shacl.mock.MockInputPlanNode;
+import org.junit.Test;
+
+public class TargetPartitionerTest {
+
+	@Test
+	public void testPartitionsAreDisjointAndComplete() {
+		List<ValidationTuple> tuples = getTuples(1000);
+
+		AtomicInteger parentIterations = new AtomicInteger();
+		PlanNode parent = new MockInputPlanNode(tuples) {
+			@Override
+			public CloseableIteration<ValidationTuple, SailException> iterator() {
+				parentIterations.incrementAndGet();
+				return super.iterator();
+			}
+		};
+
+		int partitions = 4;
+		TargetPartitioner partitioner = new TargetPartitioner(parent, partitions);
+		List<PlanNode> planNodes = new ArrayList<>();
+		for (int partition = 0; partition < partitions; partition++) {
+			planNodes.add(partitioner.getPlanNode(partition));
+		}
+
+		Set<ValidationTuple> seen = new HashSet<>();
+		int total = 0;
+		for (PlanNode planNode : planNodes) {
+			List<ValidationTuple> partitionTuples = new MockConsumePlanNode(planNode).asList();
+			assertNotEquals(0, partitionTuples.size());
+			total += partitionTuples.size();
+			seen.addAll(partitionTuples);
+		}
+
+		assertEquals(tuples.size(), total);
+		assertEquals(new HashSet<>(tuples), seen);
+		assertEquals(1, parentIterations.get());
+	}
+
+	@Test
+	public void testConcurrentPartitionsBufferBoundedNumberOfTuples() throws Exception {
+		List<ValidationTuple> tuples = getTuples(10000);
+
+		int partitions = 4;
+		int queueCapacity = 2;
+
+		AtomicInteger parentIterations = new AtomicInteger();
+		AtomicInteger produced = new AtomicInteger();
+		AtomicInteger consumed = new AtomicInteger();
+		AtomicInteger maxBuffered = new AtomicInteger();
+		PlanNode parent = new MockInputPlanNode(tuples) {
+			@Override
+			public CloseableIteration<ValidationTuple, SailException> iterator() {
+				parentIterations.incrementAndGet();
+				CloseableIteration<ValidationTuple, SailException> iterator = super.iterator();
+				return new CloseableIteration<ValidationTuple, SailException>() {
+					@Override
+					public boolean hasNext() throws SailException {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public ValidationTuple next() throws SailException {
+						int buffered = produced.incrementAndGet() - consumed.get();
+						maxBuffered.accumulateAndGet(buffered, Math::max);
+						return iterator.next();
+					}
+
+					@Override
+					public void remove() throws SailException {
+						throw new UnsupportedOperationException();
+					}
+
+					@Override
+					public void close() throws SailException {
+						iterator.close();
+					}
+				};
+			}
+		};
+
+		TargetPartitioner partitioner = new TargetPartitioner(parent, partitions, queueCapacity);
+		CyclicBarrier barrier = new CyclicBarrier(partitions);
+		ExecutorService executorService = Executors.newFixedThreadPool(partitions);
+		try {
+			List<Future<List<ValidationTuple>>> futures = new ArrayList<>();
+			for (int partition = 0; partition < partitions; partition++) {
+				PlanNode planNode = partitioner.getPlanNode(partition);
+				futures.add(executorService.submit(() -> {
+					try (CloseableIteration<? extends ValidationTuple, SailException> iterator = planNode
+							.iterator()) {
+						// every partition is iterated before the targets are retrieved
+						barrier.await();
+						List<ValidationTuple> partitionTuples = new ArrayList<>();
+						while (iterator.hasNext()) {
+							partitionTuples.add(iterator.next());
+							consumed.incrementAndGet();
+						}
+						return partitionTuples;
+					}
+				}));
+			}
+
+			Set<ValidationTuple> seen = new HashSet<>();
+			int total = 0;
+			for (Future<List<ValidationTuple>> future : futures) {
+				List<ValidationTuple> partitionTuples = future.get(1, TimeUnit.MINUTES);
+				total += partitionTuples.size();
+				seen.addAll(partitionTuples);
+			}
+
+			assertEquals(tuples.size(), total);
+			assertEquals(new HashSet<>(tuples), seen);
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		assertEquals(1, parentIterations.get());
+		// every queue is bounded, and every consumer may hold one tuple it has taken and one it has looked ahead at
+		assertTrue("buffered " + maxBuffered.get() + " tuples",
+				maxBuffered.get() <= partitions * (queueCapacity + 2) + 1);
+	}
+
+	@Test
+	public void testPartitionCanBeIteratedAgain() {
+		List<ValidationTuple> tuples = getTuples(100);
+
+		AtomicInteger parentIterations = new AtomicInteger();
+		PlanNode parent = new MockInputPlanNode(tuples) {
+			@Override
+			public CloseableIteration<ValidationTuple, SailException> iterator() {
+				parentIterations.incrementAndGet();
+				return super.iterator();
+			}
+		};
+
+		TargetPartitioner partitioner = new TargetPartitioner(parent, 2);
+		PlanNode planNode = partitioner.getPlanNode(1);
+
+		List<ValidationTuple> first = new MockConsumePlanNode(planNode).asList();
+		List<ValidationTuple> second = new MockConsumePlanNode(planNode).asList();
+
+		assertNotEquals(0, first.size());
+		assertEquals(first, second);
+		assertEquals(2, parentIterations.get());
+	}
+
+	private static List<ValidationTuple> getTuples(int count) {
+		List<ValidationTuple> tuples = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			tuples.add(new ValidationTuple(
+					Collections
+							.singletonList(SimpleValueFactory.getInstance().createIRI("http://example.com/", "s" + i)),
+					ConstraintComponent.Scope.nodeShape, false));
+		}
+		return tuples;
+	}
+
+}
@@ -19,6 +19,7 @@ import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.PARALLEL_VALID
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.PERFORMANCE_LOGGING;
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.RDFS_SUB_CLASS_REASONING;
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.SERIALIZABLE_VALIDATION;
+import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.SORT_BUFFER_SIZE;
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.UNDEFINED_TARGET_VALIDATES_ALL_SUBJECTS;
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.VALIDATION_ENABLED;
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT;
@@ -54,6 +55,7 @@ public class ShaclSailConfigTest {
 		assertThat(shaclSailConfig.isDashDataShapes()).isFalse();
 		assertThat(shaclSailConfig.getValidationResultsLimitTotal()).isEqualTo(-1);
 		assertThat(shaclSailConfig.getValidationResultsLimitPerConstraint()).isEqualTo(-1);
+		assertThat(shaclSailConfig.getSortBufferSize()).isEqualTo(ShaclSailConfig.SORT_BUFFER_SIZE_DEFAULT);
 
 	}
 
@@ -80,6 +82,7 @@ public class ShaclSailConfigTest {
 
 		mb.add(VALIDATION_RESULTS_LIMIT_TOTAL, 100);
 		mb.add(VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT, 3);
+		mb.add(SORT_BUFFER_SIZE, 5000);
 
 		shaclSailConfig.parse(mb.build(), implNode);
 
@@ -98,6 +101,7 @@ public class ShaclSailConfigTest {
 		assertThat(shaclSailConfig.isDashDataShapes()).isTrue();
 		assertThat(shaclSailConfig.getValidationResultsLimitTotal()).isEqualTo(100);
 		assertThat(shaclSailConfig.getValidationResultsLimitPerConstraint()).isEqualTo(3);
+		assertThat(shaclSailConfig.getSortBufferSize()).isEqualTo(5000);
 
 	}
 
@@ -63,6 +63,7 @@ public class ShaclSailFactoryTest {
 
 		config.setValidationResultsLimitTotal(100);
 		config.setValidationResultsLimitPerConstraint(3);
+		config.setSortBufferSize(5000);
 
 		ShaclSail sail = (ShaclSail) subject.getSail(config);
 		assertMatchesConfig(sail, config);
@@ -86,6 +87,7 @@ public class ShaclSailFactoryTest {
 		assertThat(sail.getValidationResultsLimitTotal()).isEqualTo(config.getValidationResultsLimitTotal());
 		assertThat(sail.getValidationResultsLimitPerConstraint())
 				.isEqualTo(config.getValidationResultsLimitPerConstraint());
+		assertThat(sail.getSortBufferSize()).isEqualTo(config.getSortBufferSize());
 
 	}
 
@@ -0,0 +1,396 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.common.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A timer for large numbers of short lived timeouts, most of which are cancelled before they expire, such as query
+ * timeouts. Timeouts are kept in a hashed timing wheel of buckets that is advanced by a single worker thread once every
+ * tick, so a timeout may expire up to one tick later than requested.
+ * <p>
+ * Unlike {@link java.util.Timer}, scheduling and cancelling a timeout never takes a lock shared with other threads:
+ * both only append to a lock-free queue that is drained by the worker thread. Cancelled timeouts are removed from the
+ * wheel on the next tick, so they don't hold on to their task until the original deadline. The worker thread is started
+ * when the first timeout is scheduled and parks while there are no pending timeouts.
+ * <p>
+ * Tasks are run by the worker thread and should be short, for example setting a flag or aborting a request.
+ */
+public class HashedWheelTimer {
+
+	private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+	private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+	private static final int WORKER_INIT = 0;
+
+	private static final int WORKER_STARTED = 1;
+
+	private static final int WORKER_STOPPED = 2;
+
+	private static volatile HashedWheelTimer defaultInstance;
+
+	private final String name;
+
+	private final long tickNanos;
+
+	private final Bucket[] wheel;
+
+	private final int mask;
+
+	private final long startTime = System.nanoTime();
+
+	private final Queue<Entry> newEntries = new ConcurrentLinkedQueue<>();
+
+	private final Queue<Entry> cancelledEntries = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Number of entries that have been scheduled but have not yet expired or been removed after cancellation.
+	 */
+	private final AtomicLong pending = new AtomicLong();
+
+	private final AtomicInteger workerState = new AtomicInteger(WORKER_INIT);
+
+	private volatile Thread worker;
+
+	/**
+	 * The tick the worker is processing. Only accessed by the worker thread.
+	 */
+	private long tick;
+
+	/**
+	 * Returns a timer that is shared by all users in this JVM. Its worker is a daemon thread that is never stopped.
+	 */
+	public static HashedWheelTimer getDefault() {
+		HashedWheelTimer result = defaultInstance;
+		if (result == null) {
+			synchronized (HashedWheelTimer.class) {
+				result = defaultInstance;
+				if (result == null) {
+					defaultInstance = result = new HashedWheelTimer("rdf4j-timeout", 10, TimeUnit.MILLISECONDS, 512);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param name          the name of the worker thread
+	 * @param tickDuration  the duration of a tick, the precision of the timer
+	 * @param unit          the unit of the tick duration
+	 * @param ticksPerWheel the number of buckets in the wheel, rounded up to a power of two
+	 */
+	public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+		if (tickDuration <= 0) {
+			throw new IllegalArgumentException("tick duration must be positive: " + tickDuration);
+		}
+		if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+			throw new IllegalArgumentException("ticks per wheel out of range: " + ticksPerWheel);
+		}
+		this.name = name;
+		this.tickNanos = unit.toNanos(tickDuration);
+		int size = Integer.highestOneBit(ticksPerWheel);
+		if (size < ticksPerWheel) {
+			size <<= 1;
+		}
+		this.wheel = new Bucket[size];
+		for (int i = 0; i < size; i++) {
+			wheel[i] = new Bucket();
+		}
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Schedules a task to be run once after the given delay.
+	 *
+	 * @param task  the task to run
+	 * @param delay the delay after which the task is run
+	 * @param unit  the unit of the delay
+	 * @return a handle that can be used to cancel the task
+	 * @throws IllegalStateException if the timer has been stopped
+	 */
+	public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+		if (task == null) {
+			throw new NullPointerException("task must not be null");
+		}
+		startWorker();
+
+		long delayNanos = Math.max(0, unit.toNanos(delay));
+		long deadline = System.nanoTime() - startTime + delayNanos;
+		if (delayNanos > 0 && deadline < 0) {
+			// guard against overflow
+			deadline = Long.MAX_VALUE;
+		}
+
+		Entry entry = new Entry(task, deadline);
+		newEntries.add(entry);
+		if (pending.getAndIncrement() == 0) {
+			LockSupport.unpark(worker);
+		}
+		return entry;
+	}
+
+	/**
+	 * Stops the worker thread. Timeouts that have not expired yet are not run. The default timer can not be stopped.
+	 */
+	public void stop() {
+		if (this == defaultInstance) {
+			throw new IllegalStateException("The default timer can not be stopped");
+		}
+		if (workerState.getAndSet(WORKER_STOPPED) == WORKER_STARTED) {
+			worker.interrupt();
+		}
+	}
+
+	private void startWorker() {
+		switch (workerState.get()) {
+		case WORKER_INIT:
+			synchronized (this) {
+				if (workerState.get() == WORKER_INIT) {
+					Thread thread = new Thread(this::runWorker, name);
+					thread.setDaemon(true);
+					worker = thread;
+					workerState.set(WORKER_STARTED);
+					thread.start();
+				}
+			}
+			if (workerState.get() == WORKER_STOPPED) {
+				throw new IllegalStateException("Timer has been stopped");
+			}
+			break;
+		case WORKER_STARTED:
+			break;
+		default:
+			throw new IllegalStateException("Timer has been stopped");
+		}
+	}
+
+	private void runWorker() {
+		tick = currentTick();
+		while (workerState.get() == WORKER_STARTED) {
+			if (pending.get() == 0) {
+				LockSupport.park(this);
+				if (Thread.interrupted()) {
+					break;
+				}
+				// nothing was scheduled while parked, so the skipped ticks had empty buckets
+				tick = Math.max(tick, currentTick());
+				continue;
+			}
+			if (!waitForTick(tick)) {
+				break;
+			}
+			removeCancelled();
+			transferNewEntries();
+			wheel[(int) (tick & mask)].expireEntries();
+			tick++;
+		}
+	}
+
+	private long currentTick() {
+		return (System.nanoTime() - startTime) / tickNanos;
+	}
+
+	/**
+	 * Sleeps until the end of the given tick.
+	 *
+	 * @return false if the worker was interrupted
+	 */
+	private boolean waitForTick(long tick) {
+		long deadline = (tick + 1) * tickNanos;
+		while (true) {
+			long sleepNanos = deadline - (System.nanoTime() - startTime);
+			if (sleepNanos <= 0) {
+				return true;
+			}
+			try {
+				TimeUnit.NANOSECONDS.sleep(sleepNanos);
+			} catch (InterruptedException e) {
+				return false;
+			}
+		}
+	}
+
+	private void removeCancelled() {
+		Entry entry;
+		while ((entry = cancelledEntries.poll()) != null) {
+			// entries that are not in a bucket yet are dropped by transferNewEntries
+			if (entry.bucket != null) {
+				entry.bucket.remove(entry);
+				pending.decrementAndGet();
+			}
+		}
+	}
+
+	private void transferNewEntries() {
+		for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+			Entry entry = newEntries.poll();
+			if (entry == null) {
+				break;
+			}
+			if (entry.state.get() == Entry.CANCELLED) {
+				pending.decrementAndGet();
+				continue;
+			}
+			long expiryTick = entry.deadline / tickNanos;
+			entry.remainingRounds = (expiryTick - tick) / wheel.length;
+			// entries that are already overdue expire in the current tick
+			long bucketTick = Math.max(expiryTick, tick);
+			wheel[(int) (bucketTick & mask)].add(entry);
+		}
+	}
+
+	/**
+	 * A handle to a scheduled task.
+	 */
+	public interface Timeout {
+
+		/**
+		 * Cancels the task if it has not been run yet.
+		 *
+		 * @return true if the task was cancelled, false if it already expired or was cancelled before
+		 */
+		boolean cancel();
+
+		/**
+		 * @return true if the timeout expired and its task was run, or is about to be run
+		 */
+		boolean isExpired();
+
+		/**
+		 * @return true if the timeout was cancelled before it expired
+		 */
+		boolean isCancelled();
+	}
+
+	private class Entry implements Timeout {
+
+		static final int INIT = 0;
+
+		static final int CANCELLED = 1;
+
+		static final int EXPIRED = 2;
+
+		final AtomicInteger state = new AtomicInteger(INIT);
+
+		final long deadline;
+
+		Runnable task;
+
+		long remainingRounds;
+
+		Bucket bucket;
+
+		Entry prev;
+
+		Entry next;
+
+		Entry(Runnable task, long deadline) {
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public boolean cancel() {
+			if (!state.compareAndSet(INIT, CANCELLED)) {
+				return false;
+			}
+			// let go of the task right away, the entry itself is unlinked by the worker
+			task = null;
+			cancelledEntries.add(this);
+			return true;
+		}
+
+		@Override
+		public boolean isExpired() {
+			return state.get() == EXPIRED;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return state.get() == CANCELLED;
+		}
+
+		void expire() {
+			if (!state.compareAndSet(INIT, EXPIRED)) {
+				return;
+			}
+			Runnable task = this.task;
+			this.task = null;
+			try {
+				task.run();
+			} catch (Throwable t) {
+				logger.warn("Timeout task threw an exception", t);
+			}
+		}
+	}
+
+	/**
+	 * A doubly linked list of entries, only accessed by the worker thread.
+	 */
+	private class Bucket {
+
+		private Entry head;
+
+		private Entry tail;
+
+		void add(Entry entry) {
+			entry.bucket = this;
+			if (head == null) {
+				head = tail = entry;
+			} else {
+				tail.next = entry;
+				entry.prev = tail;
+				tail = entry;
+			}
+		}
+
+		void expireEntries() {
+			Entry entry = head;
+			while (entry != null) {
+				Entry next = entry.next;
+				if (entry.state.get() == Entry.CANCELLED) {
+					// removed here rather than by removeCancelled
+					remove(entry);
+					pending.decrementAndGet();
+				} else if (entry.remainingRounds <= 0) {
+					remove(entry);
+					pending.decrementAndGet();
+					entry.expire();
+				} else {
+					entry.remainingRounds--;
+				}
+				entry = next;
+			}
+		}
+
+		void remove(Entry entry) {
+			if (entry.prev != null) {
+				entry.prev.next = entry.next;
+			} else {
+				head = entry.next;
+			}
+			if (entry.next != null) {
+				entry.next.prev = entry.prev;
+			} else {
+				tail = entry.prev;
+			}
+			entry.prev = null;
+			entry.next = null;
+			entry.bucket = null;
+		}
+	}
+}
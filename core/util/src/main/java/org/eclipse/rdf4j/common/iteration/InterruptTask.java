@@ -8,14 +8,13 @@
 package org.eclipse.rdf4j.common.iteration;
 
 import java.lang.ref.WeakReference;
-import java.util.TimerTask;
 
 /**
- * TimerTask that keeps a weak reference to the supplied iteration and when activated, interrupts it.
+ * Task that keeps a weak reference to the supplied iteration and when activated, interrupts it.
  *
  * @author Jeen Broekstra
  */
-class InterruptTask<E, X extends Exception> extends TimerTask {
+class InterruptTask<E, X extends Exception> implements Runnable {
 
 	private WeakReference<TimeLimitIteration<E, X>> iterationRef;
 
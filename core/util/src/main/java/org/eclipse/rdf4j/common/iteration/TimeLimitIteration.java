@@ -8,9 +8,10 @@
 package org.eclipse.rdf4j.common.iteration;
 
 import java.util.NoSuchElementException;
-import java.util.Timer;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.rdf4j.common.concurrent.HashedWheelTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,11 +20,9 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class TimeLimitIteration<E, X extends Exception> extends IterationWrapper<E, X> {
 
-	private static final Timer timer = new Timer("TimeLimitIteration", true);
-
 	private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-	private final InterruptTask<E, X> interruptTask;
+	private final HashedWheelTimer.Timeout timeout;
 
 	private final AtomicBoolean isInterrupted = new AtomicBoolean(false);
 
@@ -32,9 +31,8 @@ public abstract class TimeLimitIteration<E, X extends Exception> extends Iterati
 
 		assert timeLimit > 0 : "time limit must be a positive number, is: " + timeLimit;
 
-		interruptTask = new InterruptTask<>(this);
-
-		timer.schedule(interruptTask, timeLimit);
+		timeout = HashedWheelTimer.getDefault()
+				.schedule(new InterruptTask<>(this), timeLimit, TimeUnit.MILLISECONDS);
 	}
 
 	@Override
@@ -90,7 +88,7 @@ public abstract class TimeLimitIteration<E, X extends Exception> extends Iterati
 	@Override
 	protected void handleClose() throws X {
 		try {
-			interruptTask.cancel();
+			timeout.cancel();
 		} finally {
 			super.handleClose();
 		}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.common.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.rdf4j.common.concurrent.HashedWheelTimer.Timeout;
+import org.junit.After;
+import org.junit.Test;
+
+public class HashedWheelTimerTest {
+
+	private final HashedWheelTimer timer = new HashedWheelTimer("test-timer", 5, TimeUnit.MILLISECONDS, 8);
+
+	@After
+	public void tearDown() {
+		timer.stop();
+	}
+
+	@Test
+	public void testTimeoutExpires() throws Exception {
+		CountDownLatch expired = new CountDownLatch(1);
+		long start = System.nanoTime();
+		Timeout timeout = timer.schedule(expired::countDown, 50, TimeUnit.MILLISECONDS);
+
+		assertTrue(expired.await(10, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+		assertTrue(timeout.isExpired());
+		assertFalse(timeout.cancel());
+	}
+
+	@Test
+	public void testTimeoutLongerThanTheWheel() throws Exception {
+		CountDownLatch expired = new CountDownLatch(1);
+		long start = System.nanoTime();
+		// 8 buckets of 5 ms, so the timeout needs several rounds
+		timer.schedule(expired::countDown, 120, TimeUnit.MILLISECONDS);
+
+		assertTrue(expired.await(10, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(120));
+	}
+
+	@Test
+	public void testCancelledTimeoutDoesNotExpire() throws Exception {
+		AtomicInteger runs = new AtomicInteger();
+		List<Timeout> timeouts = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			timeouts.add(timer.schedule(runs::incrementAndGet, 20 + i % 50, TimeUnit.MILLISECONDS));
+		}
+		for (Timeout timeout : timeouts) {
+			assertTrue(timeout.cancel());
+			assertTrue(timeout.isCancelled());
+		}
+
+		CountDownLatch expired = new CountDownLatch(1);
+		timer.schedule(expired::countDown, 100, TimeUnit.MILLISECONDS);
+		assertTrue(expired.await(10, TimeUnit.SECONDS));
+		assertEquals(0, runs.get());
+	}
+
+	@Test
+	public void testScheduleAfterIdle() throws Exception {
+		CountDownLatch first = new CountDownLatch(1);
+		timer.schedule(first::countDown, 10, TimeUnit.MILLISECONDS);
+		assertTrue(first.await(10, TimeUnit.SECONDS));
+
+		// the worker parks when there is nothing to do
+		Thread.sleep(100);
+
+		CountDownLatch second = new CountDownLatch(1);
+		long start = System.nanoTime();
+		timer.schedule(second::countDown, 30, TimeUnit.MILLISECONDS);
+		assertTrue(second.await(10, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testScheduleAfterStop() {
+		timer.stop();
+		timer.schedule(() -> {
+		}, 10, TimeUnit.MILLISECONDS);
+	}
+}
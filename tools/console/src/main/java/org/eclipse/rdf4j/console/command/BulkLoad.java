@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.console.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.eclipse.rdf4j.console.ConsoleIO;
+import org.eclipse.rdf4j.console.Util;
+import org.eclipse.rdf4j.console.setting.ConsoleSetting;
+import org.eclipse.rdf4j.console.setting.WorkDir;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.UnsupportedRDFormatException;
+import org.eclipse.rdf4j.sail.SailLockedException;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStoreBulkLoader;
+import org.eclipse.rdf4j.sail.nativerdf.StoreNotEmptyException;
+
+/**
+ * Bulk load command, loads a data file into the data directory of a native store that is not in use.
+ *
+ * @see NativeStoreBulkLoader
+ */
+public class BulkLoad extends ConsoleCommand {
+	@Override
+	public String getName() {
+		return "bulkload";
+	}
+
+	@Override
+	public String getHelpShort() {
+		return "Bulk loads a data file into a new native store, takes a data directory and a file path or URL";
+	}
+
+	@Override
+	public String getHelpLong() {
+		return PrintHelp.USAGE
+				+ "bulkload <data-dir> <file-or-url> [from <base-uri>] [indexes <triple-indexes>]\n"
+				+ "  <data-dir>        The data directory of the native store, must not contain any statements\n"
+				+ "  <file-or-url>     The path or URL identifying the data file\n"
+				+ "  <base-uri>        The base URI to use for resolving relative references, defaults to <file-or-url>\n"
+				+ "  <triple-indexes>  The triple indexes to build, e.g. spoc,posc\n"
+				+ "Loads the specified data file into the native store, bypassing transactions.\n"
+				+ "The store must not be opened by any repository while it is being loaded.\n";
+	}
+
+	@Override
+	public String[] usesSettings() {
+		return new String[] { WorkDir.NAME };
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param consoleIO
+	 * @param settings
+	 */
+	public BulkLoad(ConsoleIO consoleIO, Map<String, ConsoleSetting> settings) {
+		super(consoleIO, null, settings);
+	}
+
+	@Override
+	public void execute(String... tokens) {
+		if (tokens.length < 3) {
+			writeln(getHelpLong());
+			return;
+		}
+
+		String baseURI = null;
+		String tripleIndexes = null;
+
+		int index = 3;
+		if (tokens.length >= index + 2 && tokens[index].equalsIgnoreCase("from")) {
+			baseURI = tokens[index + 1];
+			index += 2;
+		}
+		if (tokens.length >= index + 2 && tokens[index].equalsIgnoreCase("indexes")) {
+			tripleIndexes = tokens[index + 1];
+			index += 2;
+		}
+		if (index < tokens.length) {
+			writeln(getHelpLong());
+			return;
+		}
+
+		File dataDir = Util.getNormalizedPath(getWorkDir(), tokens[1]).toFile();
+		bulkLoad(dataDir, tokens[2], baseURI, tripleIndexes);
+	}
+
+	/**
+	 * Get working dir setting.
+	 *
+	 * @return path of working dir
+	 */
+	private Path getWorkDir() {
+		return ((WorkDir) settings.get(WorkDir.NAME)).get();
+	}
+
+	/**
+	 * Parse the data file and hand its statements to a bulk loader.
+	 *
+	 * @param dataDir       data directory of the native store
+	 * @param dataPath      file or URL of the data
+	 * @param baseURI       base URI, may be null
+	 * @param tripleIndexes triple indexes, may be null
+	 */
+	private void bulkLoad(File dataDir, String dataPath, String baseURI, String tripleIndexes) {
+		try {
+			URL dataURL = Util.isHttpOrFile(dataPath) ? new URL(dataPath)
+					: Util.getNormalizedPath(getWorkDir(), dataPath).toUri().toURL();
+			RDFFormat format = Rio.getParserFormatForFileName(dataURL.getPath())
+					.orElseThrow(Rio.unsupportedFormat(dataPath));
+			RDFParser parser = Rio.createParser(format);
+
+			writeln("Bulk loading data...");
+			final long startTime = System.nanoTime();
+
+			long statementCount;
+			try (NativeStoreBulkLoader loader = new NativeStoreBulkLoader(dataDir, tripleIndexes)) {
+				parser.setRDFHandler(loader);
+				try (InputStream dataStream = dataURL.openStream()) {
+					parser.parse(dataStream, baseURI == null ? dataURL.toString() : baseURI);
+				}
+				statementCount = loader.getStatementCount();
+				writeln("Building indexes...");
+			}
+
+			final long endTime = System.nanoTime();
+			writeln("Loaded " + statementCount + " statements into " + dataDir + " ("
+					+ (endTime - startTime) / 1_000_000 + " ms)");
+		} catch (MalformedURLException e) {
+			writeError("Malformed URL: " + dataPath);
+		} catch (SailLockedException e) {
+			writeError("Data directory is in use: " + dataDir);
+		} catch (StoreNotEmptyException e) {
+			writeError("Data directory already contains statements: " + dataDir);
+		} catch (IOException e) {
+			writeError("Failed to load data", e);
+		} catch (UnsupportedRDFormatException e) {
+			writeError("No parser available for this RDF format");
+		} catch (RDFParseException e) {
+			writeError("Malformed document", e);
+		} catch (RDFHandlerException e) {
+			writeError("Unable to store data", e);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.console.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.console.ConsoleIO;
+import org.eclipse.rdf4j.console.ConsoleState;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test bulk load command
+ */
+public class BulkLoadTest extends AbstractCommandTest {
+	private BulkLoad cmd;
+	private ConsoleIO io;
+
+	@Before
+	public void setUp() throws IOException, RDF4JException {
+		InputStream input = mock(InputStream.class);
+		OutputStream out = mock(OutputStream.class);
+		ConsoleState info = mock(ConsoleState.class);
+		when(info.getDataDirectory()).thenReturn(LOCATION.getRoot());
+
+		io = new ConsoleIO(input, out, info);
+
+		cmd = new BulkLoad(io, defaultSettings);
+	}
+
+	@Test
+	public final void testBulkLoad() throws IOException {
+		File data = LOCATION.newFile("alien.ttl");
+		copyFromResource("load/alien.ttl", data);
+		File dataDir = new File(LOCATION.getRoot(), "store");
+
+		cmd.execute("bulkload", dataDir.getAbsolutePath(), data.getAbsolutePath(), "indexes", "spoc,posc,cspo");
+		assertThat(io.wasErrorWritten()).isFalse();
+
+		SailRepository repo = new SailRepository(new NativeStore(dataDir, "spoc,posc,cspo"));
+		repo.init();
+		try (RepositoryConnection con = repo.getConnection()) {
+			assertThat(con.isEmpty()).isFalse();
+		} finally {
+			repo.shutDown();
+		}
+
+		// the store is no longer empty
+		cmd.execute("bulkload", dataDir.getAbsolutePath(), data.getAbsolutePath());
+		assertThat(io.wasErrorWritten()).isTrue();
+	}
+
+	@Test
+	public final void testBulkLoadWrongFormat() {
+		cmd.execute("bulkload", new File(LOCATION.getRoot(), "store").getAbsolutePath(), "does-not-exist.docx");
+		assertThat(io.wasErrorWritten()).isTrue();
+	}
+}
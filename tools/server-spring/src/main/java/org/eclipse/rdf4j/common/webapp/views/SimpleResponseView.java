@@ -24,6 +24,11 @@ public class SimpleResponseView implements View {
 
 	public static final String CONTENT_KEY = "content";
 
+	/**
+	 * Optional model key for the content type of the response, which defaults to text/plain.
+	 */
+	public static final String CONTENT_TYPE_KEY = "contentType";
+
 	private static final int DEFAULT_SC = HttpServletResponse.SC_OK;
 
 	private static final String CONTENT_TYPE = "text/plain; charset=UTF-8";
@@ -53,7 +58,8 @@ public class SimpleResponseView implements View {
 		}
 		response.setStatus(sc.intValue());
 
-		response.setContentType(getContentType());
+		String contentType = (String) model.get(CONTENT_TYPE_KEY);
+		response.setContentType(contentType != null ? contentType : getContentType());
 
 		if (model.containsKey(CUSTOM_HEADERS_KEY)) {
 			Map<String, String> customHeaders = (Map<String, String>) model.get(CUSTOM_HEADERS_KEY);
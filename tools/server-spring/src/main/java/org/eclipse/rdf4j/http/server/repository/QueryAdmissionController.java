@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.http.server.repository;
+
+import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.rdf4j.http.server.ClientHTTPException;
+import org.eclipse.rdf4j.http.server.ServerHTTPException;
+import org.eclipse.rdf4j.query.Query;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.explanation.Explanation;
+import org.eclipse.rdf4j.query.explanation.GenericPlanNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the number of queries that are evaluated at the same time on a repository, and by a single client on a
+ * repository. A query that exceeds a limit waits for a running query to finish; waiting queries are admitted in the
+ * order in which they arrived, so that a client that sends many queries can not starve the others. A query that has
+ * waited longer than the maximum queue time is rejected with status 503.
+ * <p>
+ * Queries whose estimated cost exceeds the maximum query cost are rejected with status 400 before they are queued.
+ * The estimate is taken from the optimized query plan, and is only available for repositories that can explain
+ * queries.
+ * <p>
+ * All limits are disabled by default, and should be set before the controller is used.
+ */
+public class QueryAdmissionController {
+
+	private static final Logger logger = LoggerFactory.getLogger(QueryAdmissionController.class);
+
+	private int maxConcurrentQueries;
+
+	private int maxConcurrentQueriesPerClient;
+
+	private long maxQueueTime = 30_000;
+
+	private double maxQueryCost;
+
+	private final Map<String, Gate> repositoryGates = new HashMap<>();
+
+	private final Map<String, Gate> clientGates = new HashMap<>();
+
+	/**
+	 * @return the maximum number of queries that are evaluated at the same time on a repository, or 0 if there is no
+	 *         limit
+	 */
+	public int getMaxConcurrentQueries() {
+		return maxConcurrentQueries;
+	}
+
+	public void setMaxConcurrentQueries(int maxConcurrentQueries) {
+		this.maxConcurrentQueries = Math.max(0, maxConcurrentQueries);
+	}
+
+	/**
+	 * @return the maximum number of queries that a single client can have evaluated at the same time on a repository,
+	 *         or 0 if there is no limit
+	 */
+	public int getMaxConcurrentQueriesPerClient() {
+		return maxConcurrentQueriesPerClient;
+	}
+
+	public void setMaxConcurrentQueriesPerClient(int maxConcurrentQueriesPerClient) {
+		this.maxConcurrentQueriesPerClient = Math.max(0, maxConcurrentQueriesPerClient);
+	}
+
+	/**
+	 * @return the time in milliseconds that a query waits to be admitted before it is rejected
+	 */
+	public long getMaxQueueTime() {
+		return maxQueueTime;
+	}
+
+	public void setMaxQueueTime(long maxQueueTime) {
+		this.maxQueueTime = Math.max(0, maxQueueTime);
+	}
+
+	/**
+	 * @return the highest estimated cost of a query that is admitted, or 0 if queries are not checked
+	 */
+	public double getMaxQueryCost() {
+		return maxQueryCost;
+	}
+
+	public void setMaxQueryCost(double maxQueryCost) {
+		this.maxQueryCost = Math.max(0, maxQueryCost);
+	}
+
+	/**
+	 * Rejects the query if its estimated cost is higher than the maximum query cost.
+	 *
+	 * @param query the query to check
+	 * @throws ClientHTTPException if the estimated cost of the query is too high
+	 */
+	public void checkCost(Query query) throws ClientHTTPException {
+		if (maxQueryCost <= 0) {
+			return;
+		}
+		GenericPlanNode plan;
+		try {
+			plan = query.explain(Explanation.Level.Optimized).toGenericPlanNode();
+		} catch (UnsupportedOperationException | QueryEvaluationException e) {
+			logger.debug("Could not estimate the cost of the query", e);
+			return;
+		}
+		double cost = getEstimatedCost(plan);
+		if (cost > maxQueryCost) {
+			throw new ClientHTTPException(SC_BAD_REQUEST,
+					"Query rejected: estimated cost " + Math.round(cost) + " exceeds the limit of "
+							+ Math.round(maxQueryCost));
+		}
+	}
+
+	/**
+	 * The estimated cost of a plan is the highest cost or result size estimate of any of its nodes, as the most
+	 * expensive operator dominates the evaluation time of the query.
+	 */
+	static double getEstimatedCost(GenericPlanNode plan) {
+		double cost = 0;
+		if (plan.getCostEstimate() != null) {
+			cost = plan.getCostEstimate();
+		}
+		if (plan.getResultSizeEstimate() != null) {
+			cost = Math.max(cost, plan.getResultSizeEstimate());
+		}
+		if (plan.getPlans() != null) {
+			for (GenericPlanNode child : plan.getPlans()) {
+				cost = Math.max(cost, getEstimatedCost(child));
+			}
+		}
+		return cost;
+	}
+
+	/**
+	 * Waits until a query of the client can be evaluated on the repository. The returned permit must be closed when
+	 * the evaluation of the query is finished.
+	 *
+	 * @param repositoryID the ID of the repository
+	 * @param clientID     a string that identifies the client, such as its user name or address
+	 * @return the permit to evaluate the query
+	 * @throws ServerHTTPException if the query was not admitted within the maximum queue time
+	 */
+	public Permit admit(String repositoryID, String clientID) throws ServerHTTPException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxQueueTime);
+
+		Permit permit = new Permit();
+		try {
+			if (maxConcurrentQueriesPerClient > 0) {
+				permit.clientGate = enter(clientGates, repositoryID + "\u0000" + clientID,
+						maxConcurrentQueriesPerClient, deadline);
+			}
+			if (maxConcurrentQueries > 0) {
+				permit.repositoryGate = enter(repositoryGates, repositoryID, maxConcurrentQueries, deadline);
+			}
+		} catch (ServerHTTPException e) {
+			permit.close();
+			logger.info("Rejected query of {} on repository {}: {}", clientID, repositoryID, e.getMessage());
+			throw e;
+		}
+		return permit;
+	}
+
+	private Gate enter(Map<String, Gate> gates, String key, int permits, long deadline) throws ServerHTTPException {
+		Gate gate;
+		synchronized (gates) {
+			gate = gates.computeIfAbsent(key, k -> new Gate(gates, k, permits));
+			gate.users++;
+		}
+		boolean acquired = false;
+		try {
+			acquired = gate.semaphore.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			if (!acquired) {
+				gate.leave(false);
+			}
+		}
+		if (!acquired) {
+			throw new ServerHTTPException(SC_SERVICE_UNAVAILABLE, "Too many concurrent queries, try again later");
+		}
+		return gate;
+	}
+
+	/**
+	 * A fair semaphore that is removed from the map it is stored in once no query holds or waits for it.
+	 */
+	private static class Gate {
+
+		final Map<String, Gate> gates;
+
+		final String key;
+
+		final Semaphore semaphore;
+
+		// queries that hold or wait for a permit, guarded by gates
+		int users;
+
+		Gate(Map<String, Gate> gates, String key, int permits) {
+			this.gates = gates;
+			this.key = key;
+			this.semaphore = new Semaphore(permits, true);
+		}
+
+		void leave(boolean release) {
+			if (release) {
+				semaphore.release();
+			}
+			synchronized (gates) {
+				if (--users == 0) {
+					gates.remove(key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Permission to evaluate a query. Closing the permit admits the next waiting query; closing it more than once has
+	 * no effect.
+	 */
+	public static class Permit implements AutoCloseable {
+
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private Gate clientGate;
+
+		private Gate repositoryGate;
+
+		@Override
+		public void close() {
+			if (closed.compareAndSet(false, true)) {
+				if (repositoryGate != null) {
+					repositoryGate.leave(true);
+				}
+				if (clientGate != null) {
+					clientGate.leave(true);
+				}
+			}
+		}
+	}
+}
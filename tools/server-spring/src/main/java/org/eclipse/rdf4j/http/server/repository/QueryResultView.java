@@ -54,6 +54,13 @@ public abstract class QueryResultView implements View {
 	 */
 	public static final String CONNECTION_KEY = "connection";
 
+	/**
+	 * Key by which the {@link QueryAdmissionController.Permit} of the query is stored in the Model. If this is present,
+	 * the {@link QueryResultView} will close it after processing the query result, so that the next query can be
+	 * admitted.
+	 */
+	public static final String PERMIT_KEY = "admissionPermit";
+
 	public static final String HEADERS_ONLY = "headersOnly";
 
 	@SuppressWarnings("rawtypes")
@@ -62,9 +69,16 @@ public abstract class QueryResultView implements View {
 		try {
 			renderInternal(model, request, response);
 		} finally {
-			RepositoryConnection conn = (RepositoryConnection) model.get(CONNECTION_KEY);
-			if (conn != null) {
-				conn.close();
+			try {
+				RepositoryConnection conn = (RepositoryConnection) model.get(CONNECTION_KEY);
+				if (conn != null) {
+					conn.close();
+				}
+			} finally {
+				QueryAdmissionController.Permit permit = (QueryAdmissionController.Permit) model.get(PERMIT_KEY);
+				if (permit != null) {
+					permit.close();
+				}
 			}
 		}
 	}
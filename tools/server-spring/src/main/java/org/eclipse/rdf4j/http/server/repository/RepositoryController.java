@@ -12,6 +12,7 @@ import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
 import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
 import static javax.servlet.http.HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE;
 
+import static org.eclipse.rdf4j.http.protocol.Protocol.ACCEPT_PARAM_NAME;
 import static org.eclipse.rdf4j.http.protocol.Protocol.BINDING_PREFIX;
 import static org.eclipse.rdf4j.http.protocol.Protocol.DEFAULT_GRAPH_PARAM_NAME;
 import static org.eclipse.rdf4j.http.protocol.Protocol.INCLUDE_INFERRED_PARAM_NAME;
@@ -34,6 +35,7 @@ import org.eclipse.rdf4j.common.lang.FileFormat;
 import org.eclipse.rdf4j.common.lang.service.FileFormatServiceRegistry;
 import org.eclipse.rdf4j.common.webapp.util.HttpServerUtil;
 import org.eclipse.rdf4j.common.webapp.views.EmptySuccessView;
+import org.eclipse.rdf4j.common.webapp.views.SimpleResponseView;
 import org.eclipse.rdf4j.http.protocol.Protocol;
 import org.eclipse.rdf4j.http.protocol.error.ErrorInfo;
 import org.eclipse.rdf4j.http.protocol.error.ErrorType;
@@ -57,6 +59,7 @@ import org.eclipse.rdf4j.query.QueryResults;
 import org.eclipse.rdf4j.query.TupleQuery;
 import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.query.UnsupportedQueryLanguageException;
+import org.eclipse.rdf4j.query.explanation.Explanation;
 import org.eclipse.rdf4j.query.impl.SimpleDataset;
 import org.eclipse.rdf4j.query.resultio.BooleanQueryResultWriterRegistry;
 import org.eclipse.rdf4j.query.resultio.TupleQueryResultWriterRegistry;
@@ -88,9 +91,15 @@ public class RepositoryController extends AbstractController {
 
 	private RepositoryManager repositoryManager;
 
+	private QueryAdmissionController queryAdmissionController;
+
 	private static final String METHOD_DELETE = "DELETE";
 	private static final String METHOD_PUT = "PUT";
 
+	private static final String EXPLANATION_JSON_MIME_TYPE = "application/json";
+
+	private static final String EXPLANATION_DOT_MIME_TYPE = "text/vnd.graphviz";
+
 	public RepositoryController() throws ApplicationContextException {
 		setSupportedMethods(new String[] { METHOD_GET, METHOD_POST, METHOD_PUT, METHOD_DELETE, METHOD_HEAD });
 	}
@@ -99,6 +108,14 @@ public class RepositoryController extends AbstractController {
 		repositoryManager = repMan;
 	}
 
+	/**
+	 * Sets the controller that decides whether and when a query is evaluated. If it is not set, queries are evaluated
+	 * as soon as they are received.
+	 */
+	public void setQueryAdmissionController(QueryAdmissionController queryAdmissionController) {
+		this.queryAdmissionController = queryAdmissionController;
+	}
+
 	@Override
 	protected ModelAndView handleRequestInternal(HttpServletRequest request, HttpServletResponse response)
 			throws Exception {
@@ -196,9 +213,29 @@ public class RepositoryController extends AbstractController {
 
 		if (queryStr != null) {
 			RepositoryConnection repositoryCon = RepositoryInterceptor.getRepositoryConnection(request);
+			QueryAdmissionController.Permit permit = null;
 			try {
 				Query query = getQuery(repository, repositoryCon, queryStr, request, response);
 
+				if (queryAdmissionController != null && !headersOnly) {
+					queryAdmissionController.checkCost(query);
+					permit = queryAdmissionController.admit(RepositoryInterceptor.getRepositoryID(request),
+							getClientID(request));
+				}
+
+				String explainLevel = request.getParameter(Protocol.EXPLAIN_PARAM_NAME);
+				if (explainLevel != null) {
+					ModelAndView explanation = explain(query, explainLevel, request, headersOnly);
+					try {
+						repositoryCon.close();
+					} finally {
+						if (permit != null) {
+							permit.close();
+						}
+					}
+					return explanation;
+				}
+
 				View view;
 				Object queryResult = null;
 				FileFormatServiceRegistry<? extends FileFormat, ?> registry;
@@ -264,12 +301,19 @@ public class RepositoryController extends AbstractController {
 				model.put(QueryResultView.FACTORY_KEY, factory);
 				model.put(QueryResultView.HEADERS_ONLY, headersOnly);
 				model.put(QueryResultView.CONNECTION_KEY, repositoryCon);
+				model.put(QueryResultView.PERMIT_KEY, permit);
 
 				return new ModelAndView(view, model);
 			} catch (Exception e) {
-				// only close the connection when an exception occurs. Otherwise, the QueryResultView will take care of
-				// closing it.
-				repositoryCon.close();
+				// only close the connection and release the permit when an exception occurs. Otherwise, the
+				// QueryResultView will take care of closing them.
+				try {
+					repositoryCon.close();
+				} finally {
+					if (permit != null) {
+						permit.close();
+					}
+				}
 				throw e;
 			}
 		} else {
@@ -277,6 +321,64 @@ public class RepositoryController extends AbstractController {
 		}
 	}
 
+	/**
+	 * Identifies the client that sent the request for the per-client query limit: its user name if it is
+	 * authenticated, and its address otherwise.
+	 */
+	private static String getClientID(HttpServletRequest request) {
+		String user = request.getRemoteUser();
+		return user != null ? user : request.getRemoteAddr();
+	}
+
+	/**
+	 * Renders the explanation of the query plan at the requested level. The plan is rendered as JSON or in the DOT
+	 * format of Graphviz if the client accepts that, and as human readable text otherwise.
+	 */
+	private ModelAndView explain(Query query, String levelName, HttpServletRequest request, boolean headersOnly)
+			throws HTTPException {
+		Explanation.Level level;
+		try {
+			level = Explanation.Level.valueOf(levelName);
+		} catch (IllegalArgumentException e) {
+			throw new ClientHTTPException(SC_BAD_REQUEST, "Unknown explanation level: " + levelName);
+		}
+
+		String accept = request.getHeader(ACCEPT_PARAM_NAME);
+		String contentType;
+		if (accept != null && accept.contains(EXPLANATION_JSON_MIME_TYPE)) {
+			contentType = EXPLANATION_JSON_MIME_TYPE;
+		} else if (accept != null && accept.contains(EXPLANATION_DOT_MIME_TYPE)) {
+			contentType = EXPLANATION_DOT_MIME_TYPE;
+		} else {
+			contentType = "text/plain";
+		}
+
+		String content = null;
+		if (!headersOnly) {
+			Explanation explanation;
+			try {
+				explanation = query.explain(level);
+			} catch (UnsupportedOperationException e) {
+				throw new ClientHTTPException(SC_BAD_REQUEST, "Query explanation is not supported by this repository");
+			} catch (QueryEvaluationException e) {
+				logger.info("Query evaluation error", e);
+				throw new ServerHTTPException("Query evaluation error: " + e.getMessage());
+			}
+			if (EXPLANATION_JSON_MIME_TYPE.equals(contentType)) {
+				content = explanation.toJson();
+			} else if (EXPLANATION_DOT_MIME_TYPE.equals(contentType)) {
+				content = explanation.toDot();
+			} else {
+				content = explanation.toString();
+			}
+		}
+
+		Map<String, Object> model = new HashMap<>();
+		model.put(SimpleResponseView.CONTENT_KEY, content);
+		model.put(SimpleResponseView.CONTENT_TYPE_KEY, contentType + "; charset=UTF-8");
+		return new ModelAndView(SimpleResponseView.getInstance(), model);
+	}
+
 	private Query getQuery(Repository repository, RepositoryConnection repositoryCon, String queryStr,
 			HttpServletRequest request, HttpServletResponse response) throws IOException, ClientHTTPException {
 		Query result = null;
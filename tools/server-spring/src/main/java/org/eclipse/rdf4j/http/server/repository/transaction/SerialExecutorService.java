@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.http.server.repository.transaction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} that executes its tasks one at a time, in submission order, without
+ * owning a thread. A task is executed directly by the submitting thread if no other task is running or queued,
+ * otherwise it is queued and executed by a thread borrowed from a shared {@link Executor}.
+ * <p>
+ * This gives a {@link Transaction} the same guarantees as a single thread executor, every operation on its connection
+ * happens-before the next one and no two operations run concurrently, while an idle transaction does not hold on to a
+ * thread.
+ */
+class SerialExecutorService extends AbstractExecutorService {
+
+	private final Executor sharedExecutor;
+
+	private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+	private final CountDownLatch terminated = new CountDownLatch(1);
+
+	/**
+	 * The thread that is executing a task, or null if no task is running. Guarded by this.
+	 */
+	private Thread runner;
+
+	/**
+	 * True if the runner was interrupted by {@link #shutdownNow()}. Guarded by this.
+	 */
+	private boolean runnerInterrupted;
+
+	private boolean shutdown;
+
+	SerialExecutorService(Executor sharedExecutor) {
+		this.sharedExecutor = sharedExecutor;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		synchronized (this) {
+			if (shutdown) {
+				throw new RejectedExecutionException("Executor has been shut down");
+			}
+			if (runner != null || !tasks.isEmpty()) {
+				tasks.add(command);
+				return;
+			}
+			runner = Thread.currentThread();
+		}
+
+		// run on the submitting thread, the caller is going to wait for the result anyway
+		try {
+			command.run();
+		} finally {
+			boolean clearInterrupt;
+			synchronized (this) {
+				clearInterrupt = runnerInterrupted;
+				runnerInterrupted = false;
+				runner = null;
+				scheduleNext();
+			}
+			if (clearInterrupt) {
+				// don't leak the interrupt meant for the task to the submitting thread
+				Thread.interrupted();
+			}
+		}
+	}
+
+	/**
+	 * Hands the next queued task to the shared executor, or signals termination. Must be called while holding the
+	 * monitor and with no task running.
+	 */
+	private void scheduleNext() {
+		if (!tasks.isEmpty()) {
+			try {
+				sharedExecutor.execute(this::runQueued);
+			} catch (RejectedExecutionException e) {
+				List<Runnable> rejected = new ArrayList<>(tasks);
+				tasks.clear();
+				for (Runnable task : rejected) {
+					if (task instanceof Future) {
+						((Future<?>) task).cancel(false);
+					}
+				}
+				if (shutdown) {
+					terminated.countDown();
+				}
+			}
+		} else if (shutdown) {
+			terminated.countDown();
+		}
+	}
+
+	private void runQueued() {
+		Runnable task;
+		synchronized (this) {
+			task = tasks.poll();
+			if (task == null) {
+				return;
+			}
+			runner = Thread.currentThread();
+		}
+		try {
+			task.run();
+		} finally {
+			synchronized (this) {
+				runnerInterrupted = false;
+				runner = null;
+				scheduleNext();
+			}
+			// pool threads are reused by other transactions
+			Thread.interrupted();
+		}
+	}
+
+	@Override
+	public synchronized void shutdown() {
+		shutdown = true;
+		if (runner == null && tasks.isEmpty()) {
+			terminated.countDown();
+		}
+	}
+
+	@Override
+	public synchronized List<Runnable> shutdownNow() {
+		shutdown = true;
+		List<Runnable> pending = new ArrayList<>(tasks);
+		tasks.clear();
+		if (runner != null) {
+			runnerInterrupted = true;
+			runner.interrupt();
+		} else {
+			terminated.countDown();
+		}
+		return pending;
+	}
+
+	@Override
+	public synchronized boolean isShutdown() {
+		return shutdown;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return terminated.getCount() == 0;
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return terminated.await(timeout, unit);
+	}
+}
@@ -53,10 +53,14 @@ import org.slf4j.LoggerFactory;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
- * A transaction encapsulates a single {@link Thread} and a {@link RepositoryConnection}, to enable executing all
- * operations that are part of the transaction from a single, dedicated thread. This is necessary because
+ * A transaction encapsulates a {@link SerialExecutorService} and a {@link RepositoryConnection}, to enable executing
+ * all operations that are part of the transaction one at a time and in order. This is necessary because
  * {@link RepositoryConnection} is not guaranteed thread-safe and we may run into concurrency issues if we attempt to
  * share it between the various HTTP Request worker threads.
+ * <p>
+ * Operations normally run on the HTTP Request worker thread that submits them. Only when operations of the same
+ * transaction overlap is a thread borrowed from a pool that is shared by all transactions, so the number of threads
+ * does not grow with the number of open transactions.
  *
  * @author Jeen Broekstra
  */
@@ -81,11 +85,17 @@ class Transaction implements AutoCloseable {
 
 	private final RepositoryConnection txnConnection;
 
+	/**
+	 * Threads that execute overlapping operations, shared by all transactions. Idle threads are released after a
+	 * minute.
+	 */
+	private static final ExecutorService SHARED_EXECUTOR = Executors.newCachedThreadPool(
+			new ThreadFactoryBuilder().setNameFormat("rdf4j-transaction-%d").setDaemon(true).build());
+
 	/**
 	 * The {@link ExecutorService} that performs all of the operations related to this Transaction.
 	 */
-	private final ExecutorService executor = Executors
-			.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("rdf4j-transaction-%d").build());
+	private final ExecutorService executor = new SerialExecutorService(SHARED_EXECUTOR);
 
 	/**
 	 * Counter of the active operations submitted to the executor
@@ -256,7 +266,8 @@ class Transaction implements AutoCloseable {
 	}
 
 	/**
-	 * Adds RDF data from an {@link InputStream} to the transaction.
+	 * Adds RDF data from an {@link InputStream} to the transaction. The data is parsed and added while it is read, so
+	 * a streamed request body is applied as it arrives and is never buffered as a whole.
 	 *
 	 * @param inputStream
 	 * @param baseURI
@@ -434,11 +445,15 @@ class Transaction implements AutoCloseable {
 	 * @return A {@link Future} that can be used to track whether the operation has succeeded and get the result.
 	 */
 	private <T> Future<T> submit(final Callable<T> callable) {
-		final Future<T> result = executor.submit(callable);
-		// increment the counter of the active operations
-		// note that it need to be decremented once the Future completes
+		// increment the counter of the active operations before submitting, as the executor may run the task on the
+		// calling thread. Note that it needs to be decremented once the Future completes
 		activeOperations.incrementAndGet();
-		return result;
+		try {
+			return executor.submit(callable);
+		} catch (RuntimeException | Error e) {
+			activeOperations.decrementAndGet();
+			throw e;
+		}
 	}
 
 	/**
@@ -450,10 +465,16 @@ class Transaction implements AutoCloseable {
 	 * @return A {@link Future} that can be used to track whether the operation has succeeded and get the result.
 	 */
 	private <T> Future<T> submitAndShutdown(final Callable<T> callable) {
-		final Future<T> result = executor.submit(callable);
-		// increment the counter of the active operations
-		// note that it need to be decremented once the Future completes
+		// increment the counter of the active operations before submitting, as the executor may run the task on the
+		// calling thread. Note that it needs to be decremented once the Future completes
 		activeOperations.incrementAndGet();
+		final Future<T> result;
+		try {
+			result = executor.submit(callable);
+		} catch (RuntimeException | Error e) {
+			activeOperations.decrementAndGet();
+			throw e;
+		}
 		executor.shutdown();
 		return result;
 	}
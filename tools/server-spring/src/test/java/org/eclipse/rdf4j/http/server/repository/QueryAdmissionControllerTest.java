@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.http.server.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.http.server.ClientHTTPException;
+import org.eclipse.rdf4j.http.server.ServerHTTPException;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryAdmissionControllerTest {
+
+	private final QueryAdmissionController controller = new QueryAdmissionController();
+
+	@Before
+	public void setUp() {
+		controller.setMaxQueueTime(100);
+	}
+
+	@Test
+	public void testConcurrentQueriesPerRepository() throws Exception {
+		controller.setMaxConcurrentQueries(2);
+
+		QueryAdmissionController.Permit first = controller.admit("repo", "a");
+		controller.admit("repo", "b");
+		assertRejected("repo", "c");
+
+		// other repositories have their own limit
+		controller.admit("other", "c").close();
+
+		first.close();
+		// closing a permit twice does not admit an extra query
+		first.close();
+		controller.admit("repo", "c");
+		assertRejected("repo", "d");
+	}
+
+	@Test
+	public void testConcurrentQueriesPerClient() throws Exception {
+		controller.setMaxConcurrentQueries(3);
+		controller.setMaxConcurrentQueriesPerClient(1);
+
+		QueryAdmissionController.Permit first = controller.admit("repo", "a");
+		assertRejected("repo", "a");
+		controller.admit("repo", "b");
+
+		first.close();
+		controller.admit("repo", "a");
+	}
+
+	@Test
+	public void testWaitingQueryIsAdmitted() throws Exception {
+		controller.setMaxConcurrentQueries(1);
+		controller.setMaxQueueTime(10_000);
+
+		QueryAdmissionController.Permit first = controller.admit("repo", "a");
+		CompletableFuture<QueryAdmissionController.Permit> waiting = CompletableFuture.supplyAsync(() -> {
+			try {
+				return controller.admit("repo", "b");
+			} catch (ServerHTTPException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		Thread.sleep(50);
+		assertFalse(waiting.isDone());
+
+		first.close();
+		assertNotNull(waiting.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testQueryCost() throws Exception {
+		SailRepository repository = new SailRepository(new MemoryStore());
+		try (RepositoryConnection con = repository.getConnection()) {
+			ValueFactory vf = con.getValueFactory();
+			for (int i = 0; i < 100; i++) {
+				con.add(vf.createIRI("urn:s" + i), RDF.TYPE, vf.createIRI("urn:type" + i % 10));
+			}
+
+			String query = "SELECT * WHERE { ?s a ?type . ?t a ?type }";
+
+			// not checked by default
+			controller.checkCost(con.prepareTupleQuery(query));
+
+			controller.setMaxQueryCost(1_000_000);
+			controller.checkCost(con.prepareTupleQuery(query));
+
+			controller.setMaxQueryCost(10);
+			try {
+				controller.checkCost(con.prepareTupleQuery(query));
+				fail("expected exception");
+			} catch (ClientHTTPException e) {
+				assertEquals(400, e.getStatusCode());
+			}
+		} finally {
+			repository.shutDown();
+		}
+	}
+
+	private void assertRejected(String repositoryID, String clientID) {
+		try {
+			controller.admit(repositoryID, clientID);
+			fail("expected exception");
+		} catch (ServerHTTPException e) {
+			assertEquals(503, e.getStatusCode());
+		}
+	}
+}
@@ -14,17 +14,25 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.commons.codec.Charsets;
+import org.eclipse.rdf4j.common.webapp.views.SimpleResponseView;
+import org.eclipse.rdf4j.http.protocol.Protocol;
 import org.eclipse.rdf4j.http.server.ClientHTTPException;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.config.RepositoryConfig;
 import org.eclipse.rdf4j.repository.config.RepositoryConfigSchema;
 import org.eclipse.rdf4j.repository.manager.RepositoryManager;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.http.HttpMethod;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
 
 public class RepositoryControllerTest {
 
@@ -79,4 +87,51 @@ public class RepositoryControllerTest {
 			assertThat(e.getStatusCode()).isEqualTo(409);
 		}
 	}
+
+	@Test
+	public void explainReturnsQueryPlan() throws Exception {
+		SailRepository repository = new SailRepository(new MemoryStore());
+		try (RepositoryConnection con = repository.getConnection()) {
+			con.add(RDF.TYPE, RDF.TYPE, RDF.PROPERTY);
+			con.add(RDFS.LABEL, RDF.TYPE, RDF.PROPERTY);
+		}
+
+		request.setMethod(HttpMethod.GET.name());
+		request.setAttribute("repository", repository);
+		request.addParameter(Protocol.QUERY_PARAM_NAME, "SELECT ?p WHERE { ?p a ?type }");
+		request.addParameter(Protocol.EXPLAIN_PARAM_NAME, "Timed");
+		request.addHeader(Protocol.ACCEPT_PARAM_NAME, "application/json");
+
+		try {
+			ModelAndView result = controller.handleRequest(request, response);
+
+			assertThat(result.getView()).isSameAs(SimpleResponseView.getInstance());
+			assertThat((String) result.getModel().get(SimpleResponseView.CONTENT_TYPE_KEY))
+					.startsWith("application/json");
+			assertThat((String) result.getModel().get(SimpleResponseView.CONTENT_KEY))
+					.contains("\"type\" : \"StatementPattern\"")
+					.contains("\"resultSizeActual\" : 2")
+					.contains("totalTimeActual");
+		} finally {
+			repository.shutDown();
+		}
+	}
+
+	@Test
+	public void explainWithUnknownLevelFails() throws Exception {
+		SailRepository repository = new SailRepository(new MemoryStore());
+		request.setMethod(HttpMethod.GET.name());
+		request.setAttribute("repository", repository);
+		request.addParameter(Protocol.QUERY_PARAM_NAME, "ASK { ?s ?p ?o }");
+		request.addParameter(Protocol.EXPLAIN_PARAM_NAME, "Everything");
+
+		try {
+			controller.handleRequest(request, response);
+			fail("expected exception");
+		} catch (ClientHTTPException e) {
+			assertThat(e.getStatusCode()).isEqualTo(400);
+		} finally {
+			repository.shutDown();
+		}
+	}
 }
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.http.server.repository.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SerialExecutorServiceTest {
+
+	private final ExecutorService shared = Executors.newCachedThreadPool();
+
+	private final SerialExecutorService executor = new SerialExecutorService(shared);
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+		shared.shutdownNow();
+	}
+
+	@Test
+	public void testIdleExecutorRunsOnCallingThread() throws Exception {
+		Future<Thread> result = executor.submit(Thread::currentThread);
+		assertTrue(result.isDone());
+		assertSame(Thread.currentThread(), result.get());
+	}
+
+	@Test
+	public void testOverlappingTasksRunInOrder() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+
+		Thread blocker = new Thread(() -> executor.submit(() -> {
+			started.countDown();
+			release.await();
+			order.add(0);
+			return null;
+		}));
+		blocker.start();
+		started.await();
+
+		List<Future<Thread>> results = new ArrayList<>();
+		for (int i = 1; i <= 10; i++) {
+			int task = i;
+			results.add(executor.submit(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				order.add(task);
+				running.decrementAndGet();
+				return Thread.currentThread();
+			}));
+		}
+		assertFalse(results.get(0).isDone());
+
+		release.countDown();
+		for (Future<Thread> result : results) {
+			assertNotSame(Thread.currentThread(), result.get(10, TimeUnit.SECONDS));
+		}
+		blocker.join();
+
+		assertEquals(1, maxRunning.get());
+		for (int i = 0; i <= 10; i++) {
+			assertEquals(i, (int) order.get(i));
+		}
+	}
+
+	@Test
+	public void testShutdown() throws Exception {
+		executor.submit(() -> true).get();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		try {
+			executor.submit(() -> true);
+		} catch (RejectedExecutionException e) {
+			return;
+		}
+		throw new AssertionError("Expected RejectedExecutionException");
+	}
+
+	@Test
+	public void testShutdownNowDoesNotLeakInterrupt() throws Exception {
+		Future<Boolean> result = executor.submit(() -> {
+			executor.shutdownNow();
+			return Thread.currentThread().isInterrupted();
+		});
+		assertTrue(result.get());
+		assertFalse(Thread.currentThread().isInterrupted());
+		assertTrue(executor.isTerminated());
+	}
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse RDF4J contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *******************************************************************************/
+package org.eclipse.rdf4j.http.server.repository.transaction;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.rio.ParserConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TransactionTest {
+
+	static {
+		// only effective if the registry has not been initialized by an earlier test
+		System.setProperty(ActiveTransactionRegistry.CACHE_TIMEOUT_PROPERTY, "1");
+	}
+
+	private final CountDownLatch started = new CountDownLatch(1);
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	private Transaction txn;
+
+	@Before
+	public void setUp() throws Exception {
+		RepositoryConnection connection = mock(RepositoryConnection.class);
+		when(connection.getParserConfig()).thenReturn(new ParserConfig());
+		doAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return null;
+		}).when(connection).commit();
+		doAnswer(invocation -> {
+			closed.set(true);
+			return null;
+		}).when(connection).close();
+
+		Repository repository = mock(Repository.class);
+		when(repository.getConnection()).thenReturn(connection);
+
+		txn = new Transaction(repository);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		release.countDown();
+		txn.close();
+	}
+
+	@Test
+	public void testRunningOperationIsActive() throws Exception {
+		assertFalse(txn.hasActiveOperations());
+
+		CompletableFuture<Void> commit = runCommit();
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		assertTrue(txn.hasActiveOperations());
+
+		release.countDown();
+		commit.get(10, TimeUnit.SECONDS);
+		assertFalse(txn.hasActiveOperations());
+	}
+
+	@Test
+	public void testTimeoutShorterThanRunningOperation() throws Exception {
+		ActiveTransactionRegistry registry = ActiveTransactionRegistry.INSTANCE;
+		assumeTrue(registry.getTimeout(TimeUnit.SECONDS) <= 2);
+		registry.register(txn);
+		try {
+			CompletableFuture<Void> commit = runCommit();
+			assertTrue(started.await(10, TimeUnit.SECONDS));
+
+			// let the registry entry expire while the operation is still running
+			Thread.sleep(registry.getTimeout(TimeUnit.MILLISECONDS) + 500);
+			// registering a transaction triggers the cleanup of expired entries, which must neither close the running
+			// transaction nor block until its operation has finished
+			Transaction other = new Transaction(otherRepository());
+			CompletableFuture.runAsync(() -> registry.register(other)).get(5, TimeUnit.SECONDS);
+			registry.deregister(other);
+
+			assertSame(txn, registry.getTransaction(txn.getID()));
+			assertFalse(closed.get());
+
+			release.countDown();
+			commit.get(10, TimeUnit.SECONDS);
+		} finally {
+			release.countDown();
+			registry.deregister(txn);
+		}
+	}
+
+	private CompletableFuture<Void> runCommit() {
+		return CompletableFuture.runAsync(() -> {
+			try {
+				txn.commit();
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+	}
+
+	private static Repository otherRepository() {
+		RepositoryConnection connection = mock(RepositoryConnection.class);
+		when(connection.getParserConfig()).thenReturn(new ParserConfig());
+		Repository repository = mock(Repository.class);
+		when(repository.getConnection()).thenReturn(connection);
+		return repository;
+	}
+}